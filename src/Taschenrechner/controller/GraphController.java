@@ -1,26 +1,51 @@
 package Taschenrechner.controller;
 
+import Taschenrechner.model.DataSeries;
 import Taschenrechner.model.Function;
+import Taschenrechner.model.Function2D;
+import Taschenrechner.model.GraphFunction;
 import Taschenrechner.model.GraphModel;
+import Taschenrechner.model.ParameterSet;
+import Taschenrechner.model.PlotLayer;
+import Taschenrechner.model.SurfaceMesh;
+import Taschenrechner.util.CsvDataReader;
 import Taschenrechner.util.FunctionParser;
 import Taschenrechner.view.GraphPanel;
 import Taschenrechner.view.GraphViewPanel;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Controller für die Graphen‐Ansicht.
  * Reagiert auf Button-Klicks, parst die eingegebene Funktion und aktualisiert das GraphPanel.
+ * "Plot" ersetzt alle Kurven, "Hinzufügen" legt die Funktion zusätzlich über die bisherigen.
+ * Freie Parameter in den Eingaben (z.B. "a*sin(b*x)") werden über Schieberegler gesteuert; eine
+ * Änderung setzt nur den Wert im {@link Taschenrechner.model.ParameterSet} und zeichnet neu.
+ * "Fläche ∫…" berechnet das Integral einer Funktion über [a, b] und schattiert die Fläche.
  * Enthält auch einen Easter-Egg-Modus, der aktiviert wird, wenn das Schlüsselwort "easteregg" eingegeben wird.
  */
-public class GraphController {
+public class GraphController implements GraphViewPanel.FunctionListListener, GraphViewPanel.ParameterListener {
     private final GraphViewPanel graphViewPanel;
     private GraphModel graphModel;
     private final GraphPanel graphPanel;
 
+    /** Gitterpunkte je Achse für 3D-Flächen. */
+    private static final int SURFACE_RESOLUTION = 256;
+
     public GraphController(GraphViewPanel graphViewPanel, GraphPanel graphPanel) {
         this.graphViewPanel = graphViewPanel;
         this.graphPanel = graphPanel;
+        this.graphModel = graphPanel.getGraphModel();
+        if (graphModel != null) {
+            refreshLists();
+        }
         initializeListeners();
     }
 
@@ -45,11 +70,17 @@ public class GraphController {
             graphPanel.setShowEasterEgg(false);
 
             try {
-                Function f = FunctionParser.parse(input);
-                graphModel = new GraphModel(f);
+                if (GraphViewPanel.MODE_SURFACE.equals(graphViewPanel.getPlotMode())) {
+                    plotSurface(input);
+                    return;
+                }
+                GraphModel model = new GraphModel();
+                addInput(model, input);
+                graphModel = model;
                 // Setze den Ableitungsflag nur, wenn das Kontrollkästchen ausgewählt ist
                 graphModel.setShowDerivative(graphViewPanel.isDerivativeSelected());
                 graphPanel.updateGraphModel(graphModel);
+                refreshLists();
             } catch (IllegalArgumentException ex) {
                 graphPanel.setShowEasterEgg(false);
                 JOptionPane.showMessageDialog(graphViewPanel,
@@ -58,6 +89,32 @@ public class GraphController {
             }
         });
 
+        // Weitere Funktion über die vorhandenen legen (Ausschnitt bleibt erhalten)
+        graphViewPanel.addAddButtonListener(_event -> {
+            String input = graphViewPanel.getFunctionInput().trim();
+            try {
+                if (graphModel == null) {
+                    GraphModel model = new GraphModel();
+                    addInput(model, input);
+                    graphModel = model;
+                    graphModel.setShowDerivative(graphViewPanel.isDerivativeSelected());
+                    graphPanel.updateGraphModel(graphModel);
+                } else {
+                    addInput(graphModel, input);
+                    graphPanel.repaint();
+                }
+                graphPanel.setShowEasterEgg(false);
+                refreshLists();
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(graphViewPanel,
+                        "Ungültige Funktion: " + ex.getMessage(),
+                        "Fehler", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        graphViewPanel.addLoadDataButtonListener(_event -> loadData());
+        graphViewPanel.addIntegrateButtonListener(_event -> integrateArea());
+
         // Checkbox‐Listener bleibt unverändert
         graphViewPanel.addDerivativeCheckboxListener(_event -> {
             if (graphModel != null) {
@@ -66,4 +123,213 @@ public class GraphController {
             }
         });
     }
+
+    /**
+     * Parst die Eingabe gemäß dem gewählten Modus und fügt sie dem Modell hinzu.
+     * @throws IllegalArgumentException bei ungültiger Eingabe (Modell bleibt dann unverändert)
+     */
+    private void addInput(GraphModel model, String input) {
+        ParameterSet params = model.getParameters();
+        int parameterCount = params.size();
+        try {
+            addInput(model, params, input);
+        } catch (IllegalArgumentException ex) {
+            // beim Parsen bereits angelegte Parameter wieder verwerfen
+            params.truncate(parameterCount);
+            throw ex;
+        }
+    }
+
+    private void addInput(GraphModel model, ParameterSet params, String input) {
+        switch (graphViewPanel.getPlotMode()) {
+            case GraphViewPanel.MODE_IMPLICIT -> {
+                Function2D f = FunctionParser.parse2D(input, params);
+                model.addImplicitCurve(input + " = 0", f);
+            }
+            case GraphViewPanel.MODE_PARAMETRIC -> {
+                String[] parts = input.split(";");
+                if (parts.length != 2 && parts.length != 4) {
+                    throw new IllegalArgumentException("Erwartet \"x(t); y(t)\" oder \"x(t); y(t); tMin; tMax\"");
+                }
+                Function x = FunctionParser.parse(parts[0], "t", params);
+                Function y = FunctionParser.parse(parts[1], "t", params);
+                double[] range = parseRange(parts, 2);
+                model.addParametricCurve("(" + parts[0].trim() + ", " + parts[1].trim() + ")", x, y, range[0], range[1]);
+            }
+            case GraphViewPanel.MODE_POLAR -> {
+                String[] parts = input.split(";");
+                if (parts.length != 1 && parts.length != 3) {
+                    throw new IllegalArgumentException("Erwartet \"r(t)\" oder \"r(t); tMin; tMax\"");
+                }
+                Function r = FunctionParser.parse(parts[0], "t", params);
+                double[] range = parseRange(parts, 1);
+                model.addPolarCurve("r(t) = " + parts[0].trim(), r, range[0], range[1]);
+            }
+            default -> {
+                Function f = FunctionParser.parse(input, "x", params);
+                model.addFunction("f(x) = " + input, f);
+            }
+        }
+    }
+
+    /**
+     * Lädt eine Messreihe aus einer CSV-Datei (erste Spalte x, zweite Spalte y) und legt sie über
+     * die vorhandenen Kurven. Einlesen, Sortieren und Aufbau der Min/Max-Pyramide laufen im
+     * Hintergrund; ist der Graph noch leer, wird der Ausschnitt an die Daten angepasst.
+     */
+    private void loadData() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV-Dateien (*.csv, *.tsv, *.txt)", "csv", "tsv", "txt"));
+        if (chooser.showOpenDialog(graphViewPanel) != JFileChooser.APPROVE_OPTION) return;
+        Path file = chooser.getSelectedFile().toPath();
+        if (graphModel == null) {
+            graphModel = new GraphModel();
+            graphPanel.updateGraphModel(graphModel);
+        }
+        Color color = graphModel.nextColor();
+        graphViewPanel.setLoadingData(true);
+        new SwingWorker<DataSeries, Void>() {
+            @Override
+            protected DataSeries doInBackground() throws IOException {
+                CsvDataReader.Columns columns = CsvDataReader.read(file);
+                if (columns.size() == 0) {
+                    throw new IllegalArgumentException("Keine Zahlenpaare in " + file.getFileName());
+                }
+                return new DataSeries(file.getFileName().toString(), columns.x(), columns.y(),
+                        columns.size(), color);
+            }
+
+            @Override
+            protected void done() {
+                graphViewPanel.setLoadingData(false);
+                DataSeries series;
+                try {
+                    series = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(graphViewPanel,
+                            "Datei konnte nicht geladen werden: " + cause.getMessage(),
+                            "Fehler", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                boolean fit = graphModel.getLayers().isEmpty();
+                graphModel.addDataSeries(series);
+                if (fit) {
+                    fitToData(series);
+                    graphPanel.updateGraphModel(graphModel);
+                } else {
+                    graphPanel.repaint();
+                }
+                refreshLists();
+            }
+        }.execute();
+    }
+
+    /**
+     * Fragt Funktion (bei mehreren sichtbaren) und Grenzen "a; b" ab und legt die Fläche
+     * unter dem Graphen an. Die Grenzen dürfen Ausdrücke sein, z.B. "0; 2*3.14159".
+     */
+    private void integrateArea() {
+        List<GraphFunction> candidates = new ArrayList<>();
+        if (graphModel != null) {
+            for (GraphFunction gf : graphModel.getFunctions()) {
+                if (gf.isVisible()) candidates.add(gf);
+            }
+        }
+        if (candidates.isEmpty()) {
+            JOptionPane.showMessageDialog(graphViewPanel,
+                    "Zuerst eine Funktion f(x) zeichnen.", "Fläche", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        GraphFunction function = candidates.get(0);
+        if (candidates.size() > 1) {
+            function = (GraphFunction) JOptionPane.showInputDialog(graphViewPanel, "Funktion:", "Fläche",
+                    JOptionPane.QUESTION_MESSAGE, null, candidates.toArray(), function);
+            if (function == null) return;
+        }
+        String input = JOptionPane.showInputDialog(graphViewPanel, "Grenzen a; b:", "0; 1");
+        if (input == null) return;
+        try {
+            String[] parts = input.split(";");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Erwartet \"a; b\"");
+            }
+            double[] range = parseRange(parts, 0);
+            graphModel.addIntegralArea(function, range[0], range[1]);
+        } catch (IllegalArgumentException | ArithmeticException ex) {
+            JOptionPane.showMessageDialog(graphViewPanel,
+                    "Ungültige Grenzen: " + ex.getMessage(),
+                    "Fehler", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        refreshLists();
+        graphPanel.repaint();
+    }
+
+    /** Passt den Wertebereich des Modells mit etwas Rand an die Messreihe an. */
+    private void fitToData(DataSeries series) {
+        double xMin = series.getX(0), xMax = series.getX(series.size() - 1);
+        double[] y = series.getYRange();
+        double xPad = xMax > xMin ? 0.05 * (xMax - xMin) : 1;
+        double yPad = y[1] > y[0] ? 0.05 * (y[1] - y[0]) : 1;
+        graphModel.setxRange(xMin - xPad, xMax + xPad);
+        graphModel.setyRange(y[0] - yPad, y[1] + yPad);
+    }
+
+    /**
+     * Tastet z = f(x, y) über dem quadratischen Bereich "min; max" (Standard: -5 bis 5) ab
+     * und übergibt die Fläche an das SurfacePanel.
+     */
+    private void plotSurface(String input) {
+        String[] parts = input.split(";");
+        if (parts.length != 1 && parts.length != 3) {
+            throw new IllegalArgumentException("Erwartet \"f(x, y)\" oder \"f(x, y); min; max\"");
+        }
+        Function2D f = FunctionParser.parse2D(parts[0]);
+        double min = -5, max = 5;
+        if (parts.length == 3) {
+            min = FunctionParser.parse(parts[1]).evaluate(0);
+            max = FunctionParser.parse(parts[2]).evaluate(0);
+        }
+        graphViewPanel.getSurfacePanel().setMesh(new SurfaceMesh(f, min, max, min, max, SURFACE_RESOLUTION));
+    }
+
+    /** Liest den optionalen Parameterbereich "tMin; tMax" ab Index from (Standard: 0 bis 2π). */
+    private static double[] parseRange(String[] parts, int from) {
+        if (parts.length <= from) {
+            return new double[]{0, 2 * Math.PI};
+        }
+        // Grenzen dürfen selbst Ausdrücke sein, z.B. "2*3.14159"
+        double tMin = FunctionParser.parse(parts[from]).evaluate(0);
+        double tMax = FunctionParser.parse(parts[from + 1]).evaluate(0);
+        return new double[]{tMin, tMax};
+    }
+
+    /** Baut Funktionsliste und Parameter-Schieberegler für das aktuelle Modell neu auf. */
+    private void refreshLists() {
+        graphViewPanel.showFunctions(graphModel.getLayers(), this);
+        graphViewPanel.showParameters(graphModel.getParameters(), this);
+    }
+
+    @Override
+    public void parameterChanged(int slot, double value) {
+        if (graphModel == null) return;
+        graphModel.getParameters().set(slot, value);
+        graphModel.parametersChanged();
+        graphPanel.repaint();
+    }
+
+    @Override
+    public void visibilityChanged(PlotLayer layer, boolean visible) {
+        layer.setVisible(visible);
+        graphPanel.repaint();
+    }
+
+    @Override
+    public void removeRequested(PlotLayer layer) {
+        if (graphModel == null) return;
+        graphModel.removeLayer(layer);
+        refreshLists();
+        graphPanel.repaint();
+    }
 }
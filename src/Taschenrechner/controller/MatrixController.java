@@ -1,5 +1,6 @@
 package Taschenrechner.controller;
 
+import Taschenrechner.model.LUDecomposition;
 import Taschenrechner.model.Matrix;
 import Taschenrechner.view.MatrixPanel;
 
@@ -13,12 +14,30 @@ import java.util.Arrays;
  */
 public class MatrixController {
     private final MatrixPanel view;
+    // zuletzt zerlegte Matrix A und ihre LU-Zerlegung (für wiederholtes Lösen mit gleichem A)
+    private double[][] cachedA;
+    private LUDecomposition cachedLU;
 
     public MatrixController(MatrixPanel view) {
         this.view = view;
         view.addComputeListener(new ComputeListener());
     }
 
+    /**
+     * LU-Zerlegung der quadratischen Matrix a. Solange sich die Einträge von A nicht ändern,
+     * wird die vorhandene Zerlegung wiederverwendet und jede weitere Lösung kostet nur O(n²).
+     */
+    private LUDecomposition luOf(double[][] a) {
+        if (a.length == 0 || a[0].length != a.length) {
+            throw new IllegalArgumentException("Matrix A muss quadratisch sein.");
+        }
+        if (cachedLU == null || !Arrays.deepEquals(a, cachedA)) {
+            cachedLU = new LUDecomposition(new Matrix(a.length, a.length, a));
+            cachedA = a; // getMatrixA liefert bei jedem Aufruf ein neues Array
+        }
+        return cachedLU;
+    }
+
     /**
      * Listener für die Berechnungs-Buttons.
      * Führt die entsprechende Matrix-Operation aus.
@@ -34,7 +53,12 @@ public class MatrixController {
                     case "A × B" -> computeMultiply();
                     case "Zeilen-Stufen-Form (A)" -> computeRowEchelon();
                     case "LGS lösen (A|b)"       -> computeSolveLGS();
+                    case "A·X = B lösen"         -> computeSolveMatrix();
+                    case "Ausgleichsrechnung (A|b)" -> computeLeastSquares();
                     case "Transponieren (A)"     -> computeTranspose();
+                    case "Determinante (A)"      -> computeDeterminant();
+                    case "Inverse (A)"           -> computeInverse();
+                    case "Rang (A)"              -> computeRank();
                     default -> throw new IllegalStateException("Unbekannte Operation: " + op);
                 }
             } catch (IllegalArgumentException ex) {
@@ -71,10 +95,10 @@ public class MatrixController {
             if (a.length != b.length || a[0].length != b[0].length) {
                 throw new IllegalArgumentException("Matrizen müssen die gleichen Dimensionen haben.");
             }
-            Matrix mA = new Matrix(a.length, a[0].length, deepCopy(a));
-            Matrix mB = new Matrix(b.length, b[0].length, deepCopy(b));
+            Matrix mA = new Matrix(a.length, a[0].length, a);
+            Matrix mB = new Matrix(b.length, b[0].length, b);
             Matrix res = isAdd ? mA.add(mB) : mA.sub(mB);
-            view.showResult(res.getData());
+            view.showResult(res.toArray());
         }
 
         /** A × B */
@@ -87,10 +111,10 @@ public class MatrixController {
             if (a[0].length != b.length) {
                 throw new IllegalArgumentException("Spalten von A müssen gleich Zeilen von B sein.");
             }
-            Matrix mA = new Matrix(a.length, a[0].length, deepCopy(a));
-            Matrix mB = new Matrix(b.length, b[0].length, deepCopy(b));
+            Matrix mA = new Matrix(a.length, a[0].length, a);
+            Matrix mB = new Matrix(b.length, b[0].length, b);
             Matrix res = mA.mult(mB);
-            view.showResult(res.getData());
+            view.showResult(res.toArray());
         }
 
         /** Zeilen‐Stufen‐Form von A */
@@ -99,12 +123,16 @@ public class MatrixController {
             if (a.length == 0) {
                 throw new IllegalArgumentException("Matrix A darf nicht leer sein.");
             }
-            Matrix mA = new Matrix(a.length, a[0].length, deepCopy(a));
+            Matrix mA = new Matrix(a.length, a[0].length, a);
             Matrix ref = mA.rowEchelonForm();
-            view.showResult(ref.getData());
+            view.showResult(ref.toArray());
         }
 
-        /** LGS lösen, A muss augmentierte Matrix (n×(n+1)) sein. */
+        /**
+         * LGS lösen, A muss augmentierte Matrix (n×(n+1)) sein. Eine rechte Seite: über
+         * {@link Matrix#solve(double[])}, damit Struktur (Band, Dreieck, ...) und Cholesky
+         * genutzt werden.
+         */
         private void computeSolveLGS() {
             double[][] a = view.getMatrixA();
             int rows = a.length;
@@ -112,31 +140,94 @@ public class MatrixController {
             if (cols != rows+1) {
                 throw new IllegalArgumentException("LGS‐Matrix muss n x (n+1) sein.");
             }
-            Matrix mA = new Matrix(rows, cols, deepCopy(a));
-            double[] sol = mA.solve();
-            view.showResultVector(sol);
+            Matrix square = new Matrix(rows, rows);
+            double[] b = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < rows; j++) square.set(i, j, a[i][j]);
+                b[i] = a[i][rows];
+            }
+            view.showResultVector(square.solve(b));
         }
 
-        /** Transponieren von A */
-        private void computeTranspose() {
+        /**
+         * A·X = B für alle Spalten von B mit einer (zwischengespeicherten) Zerlegung von A;
+         * eine einzelne Spalte wie bei {@link #computeSolveLGS()} über Matrix.solve.
+         */
+        private void computeSolveMatrix() {
+            double[][] a = view.getMatrixA();
+            double[][] b = view.getMatrixB();
+            if (a.length == 0 || b.length == 0) {
+                throw new IllegalArgumentException("Beide Matrizen müssen existieren.");
+            }
+            if (b.length != a.length) {
+                throw new IllegalArgumentException("B muss so viele Zeilen haben wie A.");
+            }
+            Matrix mB = new Matrix(b.length, b[0].length, b);
+            Matrix x;
+            if (mB.getCols() == 1) {
+                double[] sol = new Matrix(a.length, a[0].length, a).solve(mB.toFlatArray());
+                x = Matrix.wrap(sol.length, 1, sol);
+            } else {
+                x = luOf(a).solve(mB);
+            }
+            view.showResult(x.toArray());
+        }
+
+        /**
+         * Überbestimmtes System im Sinne der kleinsten Quadrate lösen: A ist augmentiert
+         * (m×(n+1)) mit m ≥ n, Ergebnis ist x mit minimalem ‖A·x - b‖ (QR, kein AᵀA).
+         */
+        private void computeLeastSquares() {
+            double[][] a = view.getMatrixA();
+            if (a.length == 0 || a[0].length < 2) {
+                throw new IllegalArgumentException("Matrix muss m x (n+1) mit n ≥ 1 sein.");
+            }
+            int rows = a.length;
+            int n = a[0].length - 1;
+            if (rows < n) {
+                throw new IllegalArgumentException("Mindestens so viele Gleichungen wie Unbekannte nötig.");
+            }
+            Matrix mA = new Matrix(rows, n);
+            double[] b = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < n; j++) mA.set(i, j, a[i][j]);
+                b[i] = a[i][n];
+            }
+            view.showResultVector(mA.leastSquares(b));
+        }
+
+        /** Determinante von A (als 1×1-Ergebnis) */
+        private void computeDeterminant() {
+            double det = luOf(view.getMatrixA()).determinant();
+            view.showResult(new double[][]{{det}});
+        }
+
+        /** Inverse von A */
+        private void computeInverse() {
+            Matrix inv = luOf(view.getMatrixA()).inverse();
+            view.showResult(inv.toArray());
+        }
+
+        /** Rang von A (als 1×1-Ergebnis) über QR mit Spaltenpivotisierung */
+        private void computeRank() {
             double[][] a = view.getMatrixA();
             if (a.length == 0) {
                 throw new IllegalArgumentException("Matrix A darf nicht leer sein.");
             }
-            Matrix mA = new Matrix(a.length, a[0].length, deepCopy(a));
-            Matrix t = mA.transpose();
-            view.showResult(t.getData());
+            // rangaufdeckende QR-Zerlegung, für jede Form mit derselben Toleranz
+            int rank = new Matrix(a.length, a[0].length, a).qr().rank();
+            view.showResult(new double[][]{{rank}});
         }
 
-        /** Hilfsmethode: Deep Copy von double[][] */
-        private double[][] deepCopy(double[][] orig) {
-            int r = orig.length;
-            int c = orig[0].length;
-            double[][] copy = new double[r][c];
-            for (int i = 0; i < r; i++) {
-                copy[i] = Arrays.copyOf(orig[i], c);
+        /** Transponieren von A */
+        private void computeTranspose() {
+            double[][] a = view.getMatrixA();
+            if (a.length == 0) {
+                throw new IllegalArgumentException("Matrix A darf nicht leer sein.");
             }
-            return copy;
+            Matrix mA = new Matrix(a.length, a[0].length, a);
+            Matrix t = mA.transpose();
+            view.showResult(t.toArray());
         }
     }
 }
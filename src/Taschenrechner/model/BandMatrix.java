@@ -0,0 +1,254 @@
+package Taschenrechner.model;
+
+/**
+ * Quadratische Bandmatrix mit unterer Bandbreite p und oberer Bandbreite q in kompakter
+ * Speicherung: Zeile i hält nur die Spalten i - p … i + q, zusammen n · (p + q + 1) Einträge
+ * statt n².
+ * <p>
+ * {@link #solve} nutzt die Struktur aus: Diagonal- und Dreiecksmatrizen werden direkt durch
+ * Einsetzen gelöst (O(n · Bandbreite)), allgemeine Bandmatrizen mit einer LU-Zerlegung mit
+ * partieller Pivotisierung, bei der die Vertauschungen das obere Band um höchstens p
+ * verbreitern (O(n · p · (p + q))).
+ */
+public class BandMatrix {
+    // Pivots bis zu EPSILON · max|a_ij| gelten als 0
+    private static final double EPSILON = 1e-12;
+
+    private final int n;
+    private final int lower, upper;
+    private final int width;
+    private final double[] band;   // Eintrag (i, j) an i * width + (j - i + lower)
+
+    /** Nullmatrix der Größe n × n mit den angegebenen Bandbreiten. */
+    public BandMatrix(int n, int lower, int upper) {
+        if (n <= 0 || lower < 0 || upper < 0 || lower >= n || upper >= n) {
+            throw new IllegalArgumentException("Ungültige Bandmatrix: n = " + n + ", Bandbreiten " + lower + "/" + upper);
+        }
+        this.n = n;
+        this.lower = lower;
+        this.upper = upper;
+        this.width = lower + upper + 1;
+        if ((long) n * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Bandmatrix ist zu groß");
+        }
+        this.band = new double[n * width];
+    }
+
+    /**
+     * Übernimmt das Band von a. Einträge außerhalb werden nicht geprüft, die Bandbreiten
+     * kommen üblicherweise aus {@link MatrixStructure#of}.
+     */
+    public static BandMatrix from(Matrix a, int lower, int upper) {
+        if (a.getRows() != a.getCols()) {
+            throw new IllegalArgumentException("Bandmatrix muss quadratisch sein");
+        }
+        int n = a.getRows();
+        BandMatrix b = new BandMatrix(n, lower, upper);
+        for (int i = 0; i < n; i++) {
+            int from = Math.max(0, i - lower), to = Math.min(n - 1, i + upper);
+            for (int j = from; j <= to; j++) {
+                b.band[i * b.width + j - i + lower] = a.get(i, j);
+            }
+        }
+        return b;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public int getLowerBandwidth() {
+        return lower;
+    }
+
+    public int getUpperBandwidth() {
+        return upper;
+    }
+
+    public double get(int i, int j) {
+        checkIndex(i, j);
+        return inBand(i, j) ? band[i * width + j - i + lower] : 0.0;
+    }
+
+    /** @throws IllegalArgumentException wenn (i, j) außerhalb des Bandes liegt und value ≠ 0 ist */
+    public void set(int i, int j, double value) {
+        checkIndex(i, j);
+        if (!inBand(i, j)) {
+            if (value == 0.0) return;
+            throw new IllegalArgumentException("Eintrag (" + i + ", " + j + ") liegt außerhalb des Bandes");
+        }
+        band[i * width + j - i + lower] = value;
+    }
+
+    private boolean inBand(int i, int j) {
+        return j - i <= upper && i - j <= lower;
+    }
+
+    private void checkIndex(int i, int j) {
+        if (i < 0 || j < 0 || i >= n || j >= n) {
+            throw new IndexOutOfBoundsException("(" + i + ", " + j + ") außerhalb von " + n + " × " + n);
+        }
+    }
+
+    /** A · x in O(n · (p + q)). */
+    public double[] multiply(double[] x) {
+        checkLength(x);
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            int from = Math.max(0, i - lower), to = Math.min(n - 1, i + upper);
+            int row = i * width - i + lower;
+            double sum = 0;
+            for (int j = from; j <= to; j++) {
+                sum += band[row + j] * x[j];
+            }
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    /** Dichte Kopie (nur für kleine Matrizen sinnvoll). */
+    public Matrix toMatrix() {
+        Matrix m = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            int from = Math.max(0, i - lower), to = Math.min(n - 1, i + upper);
+            for (int j = from; j <= to; j++) {
+                m.set(i, j, band[i * width + j - i + lower]);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Löst A·x = b.
+     * @throws IllegalArgumentException wenn b nicht die Länge n hat
+     * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
+     */
+    public double[] solve(double[] b) {
+        checkLength(b);
+        double tol = EPSILON * maxAbs();
+        if (lower == 0) return solveUpper(b, tol);
+        if (upper == 0) return solveLower(b, tol);
+        return solveLU(b, tol);
+    }
+
+    /** Vorwärtseinsetzen (auch Diagonalmatrizen). */
+    private double[] solveLower(double[] b, double tol) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            int from = Math.max(0, i - lower);
+            int row = i * width - i + lower;
+            double sum = b[i];
+            for (int j = from; j < i; j++) {
+                sum -= band[row + j] * x[j];
+            }
+            x[i] = sum / pivot(band[row + i], tol);
+        }
+        return x;
+    }
+
+    /** Rückwärtseinsetzen. */
+    private double[] solveUpper(double[] b, double tol) {
+        double[] x = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int to = Math.min(n - 1, i + upper);
+            int row = i * width - i + lower;
+            double sum = b[i];
+            for (int j = i + 1; j <= to; j++) {
+                sum -= band[row + j] * x[j];
+            }
+            x[i] = sum / pivot(band[row + i], tol);
+        }
+        return x;
+    }
+
+    /**
+     * Band-LU mit partieller Pivotisierung (wie LAPACK dgbtrf/dgbtrs): die Zeilen der Kopie
+     * haben Platz für p zusätzliche Einträge rechts, weil eine Vertauschung eine Zeile mit
+     * bis zu p weiter rechts reichenden Einträgen nach oben holen kann. Die Vertauschungen
+     * werden beim Vorwärtseinsetzen Schritt für Schritt auf b angewendet.
+     */
+    private double[] solveLU(double[] b, double tol) {
+        int p = lower, uu = upper + lower;      // Bandbreiten von L und U
+        int w = p + uu + 1;
+        double[] lu = new double[n * w];        // (i, j) an i * w + (j - i + p)
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(band, i * width, lu, i * w, width);
+        }
+        int[] ipiv = new int[n];
+        for (int k = 0; k < n; k++) {
+            int last = Math.min(n - 1, k + p);
+            int right = Math.min(n - 1, k + uu);
+            int r = k;
+            double max = Math.abs(lu[k * w + p]);
+            for (int i = k + 1; i <= last; i++) {
+                double v = Math.abs(lu[i * w + k - i + p]);
+                if (v > max) {
+                    max = v;
+                    r = i;
+                }
+            }
+            ipiv[k] = r;
+            if (r != k) {
+                for (int j = k; j <= right; j++) {
+                    int a = k * w + j - k + p, c = r * w + j - r + p;
+                    double t = lu[a];
+                    lu[a] = lu[c];
+                    lu[c] = t;
+                }
+            }
+            double piv = pivot(lu[k * w + p], tol);
+            int kRow = k * w - k + p;
+            for (int i = k + 1; i <= last; i++) {
+                int iRow = i * w - i + p;
+                double f = lu[iRow + k] / piv;
+                lu[iRow + k] = f;
+                if (f == 0.0) continue;
+                for (int j = k + 1; j <= right; j++) {
+                    lu[iRow + j] -= f * lu[kRow + j];
+                }
+            }
+        }
+        double[] x = b.clone();
+        for (int k = 0; k < n; k++) {
+            int r = ipiv[k];
+            if (r != k) {
+                double t = x[k];
+                x[k] = x[r];
+                x[r] = t;
+            }
+            int last = Math.min(n - 1, k + p);
+            for (int i = k + 1; i <= last; i++) {
+                x[i] -= lu[i * w + k - i + p] * x[k];
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int right = Math.min(n - 1, i + uu);
+            int row = i * w - i + p;
+            double sum = x[i];
+            for (int j = i + 1; j <= right; j++) {
+                sum -= lu[row + j] * x[j];
+            }
+            x[i] = sum / lu[row + i];
+        }
+        return x;
+    }
+
+    private static double pivot(double value, double tol) {
+        if (Math.abs(value) <= tol) {
+            throw new ArithmeticException("Matrix ist singulär oder nahe singulär");
+        }
+        return value;
+    }
+
+    private double maxAbs() {
+        double max = 0;
+        for (double v : band) max = Math.max(max, Math.abs(v));
+        return max;
+    }
+
+    private void checkLength(double[] x) {
+        if (x == null || x.length != n) {
+            throw new IllegalArgumentException("Der Vektor muss " + n + " Einträge haben");
+        }
+    }
+}
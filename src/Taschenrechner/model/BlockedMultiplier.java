@@ -0,0 +1,234 @@
+package Taschenrechner.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matrixmultiplikation C += α · A · B mit Cache-Kacheln, gepackten Blöcken und
+ * registerblockiertem Mikrokern (Aufbau wie bei GotoBLAS/BLIS).
+ * <p>
+ * B wird in Streifen von {@value #KC} × {@value #NC} Einträgen so umkopiert ("gepackt"), dass
+ * je {@value #NR} Spalten fortlaufend hintereinander liegen; ebenso A in Blöcken von
+ * {@value #MC} × {@value #KC} mit je {@value #MR} Zeilen. Der Mikrokern berechnet daraus einen
+ * {@value #MR} × {@value #NR}-Block von C vollständig in lokalen Variablen (Registern) und
+ * liest dabei beide gepackten Blöcke streng fortlaufend. Der gepackte A-Block bleibt im
+ * L2-Cache, der B-Streifen im L3-Cache.
+ * <p>
+ * Die Zeilenblöcke von A sind unabhängig voneinander und werden im Fork-Join-Pool parallel
+ * bearbeitet; jeder Thread packt seinen eigenen A-Block und schreibt in eigene Zeilen von C.
+ * Kleine Produkte werden ohne Packen mit einer einfachen i-k-j-Schleife berechnet.
+ */
+final class BlockedMultiplier {
+    static final int MR = 4;
+    static final int NR = 4;
+    static final int MC = 64;
+    static final int KC = 256;
+    static final int NC = 2048;
+
+    // darunter lohnt sich das Packen nicht (Anzahl Multiplikationen)
+    private static final long SMALL_PRODUCT = 48L * 48 * 48;
+
+    private BlockedMultiplier() {
+    }
+
+    /** A · B als neue Matrix. */
+    static Matrix multiply(Matrix a, Matrix b) {
+        Matrix c = new Matrix(a.getRows(), b.getCols());
+        multiplyAdd(1.0, a, b, c);
+        return c;
+    }
+
+    /**
+     * C += α · A · B. A, B und C dürfen Ausschnitte sein, C darf sich aber nicht mit A oder B
+     * überschneiden.
+     * @throws IllegalArgumentException bei unpassenden Dimensionen
+     */
+    static void multiplyAdd(double alpha, Matrix a, Matrix b, Matrix c) {
+        int m = a.getRows(), k = a.getCols(), n = b.getCols();
+        if (b.getRows() != k || c.getRows() != m || c.getCols() != n) {
+            throw new IllegalArgumentException("Die Matrizen sind nicht kompatibel für die Multiplikation.");
+        }
+        if (m == 0 || n == 0 || k == 0 || alpha == 0) return;
+        if ((long) m * n * k <= SMALL_PRODUCT) {
+            simple(alpha, a, b, c);
+            return;
+        }
+        double[] bPacked = new double[KC * roundUp(Math.min(n, NC), NR)];
+        int rowBlocks = (m + MC - 1) / MC;
+        for (int jc = 0; jc < n; jc += NC) {
+            int nc = Math.min(NC, n - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                int kc = Math.min(KC, k - pc);
+                packB(b, pc, jc, kc, nc, bPacked);
+                RowBlocks task = new RowBlocks(alpha, a, c, bPacked, pc, jc, kc, nc, 0, rowBlocks);
+                if (rowBlocks > 1 && ForkJoinPool.getCommonPoolParallelism() > 1) {
+                    ForkJoinPool.commonPool().invoke(task);
+                } else {
+                    task.compute();
+                }
+            }
+        }
+    }
+
+    /** Bearbeitet die Zeilenblöcke [from, to) für einen gepackten B-Streifen. */
+    private static final class RowBlocks extends RecursiveAction {
+        private final double alpha;
+        private final Matrix a, c;
+        private final double[] bPacked;
+        private final int pc, jc, kc, nc, from, to;
+
+        RowBlocks(double alpha, Matrix a, Matrix c, double[] bPacked,
+                  int pc, int jc, int kc, int nc, int from, int to) {
+            this.alpha = alpha;
+            this.a = a;
+            this.c = c;
+            this.bPacked = bPacked;
+            this.pc = pc;
+            this.jc = jc;
+            this.kc = kc;
+            this.nc = nc;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RowBlocks(alpha, a, c, bPacked, pc, jc, kc, nc, from, mid),
+                        new RowBlocks(alpha, a, c, bPacked, pc, jc, kc, nc, mid, to));
+                return;
+            }
+            double[] aPacked = new double[MC * kc];
+            int ic = from * MC;
+            int mc = Math.min(MC, a.getRows() - ic);
+            packA(a, ic, pc, mc, kc, aPacked);
+            macroKernel(alpha, aPacked, bPacked, mc, nc, kc, c, ic, jc);
+        }
+    }
+
+    /**
+     * Packt A[ic .. ic+mc, pc .. pc+kc] in Streifen zu je MR Zeilen: innerhalb eines Streifens
+     * liegen für jedes p die MR Einträge der Spalte p hintereinander. Fehlende Zeilen am Rand
+     * werden mit 0 aufgefüllt.
+     */
+    private static void packA(Matrix a, int ic, int pc, int mc, int kc, double[] out) {
+        double[] data = a.array();
+        int stride = a.stride();
+        int base = a.offset() + ic * stride + pc;
+        int idx = 0;
+        for (int ir = 0; ir < mc; ir += MR) {
+            int mr = Math.min(MR, mc - ir);
+            for (int p = 0; p < kc; p++) {
+                int src = base + ir * stride + p;
+                for (int i = 0; i < mr; i++) {
+                    out[idx++] = data[src + i * stride];
+                }
+                for (int i = mr; i < MR; i++) {
+                    out[idx++] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Packt B[pc .. pc+kc, jc .. jc+nc] in Streifen zu je NR Spalten: innerhalb eines Streifens
+     * liegen für jedes p die NR Einträge der Zeile p hintereinander.
+     */
+    private static void packB(Matrix b, int pc, int jc, int kc, int nc, double[] out) {
+        double[] data = b.array();
+        int stride = b.stride();
+        int base = b.offset() + pc * stride + jc;
+        int idx = 0;
+        for (int jr = 0; jr < nc; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+            for (int p = 0; p < kc; p++) {
+                int src = base + p * stride + jr;
+                for (int j = 0; j < nr; j++) {
+                    out[idx++] = data[src + j];
+                }
+                for (int j = nr; j < NR; j++) {
+                    out[idx++] = 0;
+                }
+            }
+        }
+    }
+
+    /** Alle MR × NR-Blöcke eines gepackten A-Blocks mit einem gepackten B-Streifen. */
+    private static void macroKernel(double alpha, double[] aPacked, double[] bPacked,
+                                    int mc, int nc, int kc, Matrix c, int ic, int jc) {
+        double[] cData = c.array();
+        int cStride = c.stride();
+        int cBase = c.offset() + ic * cStride + jc;
+        double[] edge = new double[MR * NR];
+        for (int jr = 0; jr < nc; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+            int bOff = jr * kc;
+            for (int ir = 0; ir < mc; ir += MR) {
+                int mr = Math.min(MR, mc - ir);
+                int aOff = ir * kc;
+                int cOff = cBase + ir * cStride + jr;
+                if (mr == MR && nr == NR) {
+                    microKernel(kc, alpha, aPacked, aOff, bPacked, bOff, cData, cOff, cStride);
+                } else {
+                    // Randblock: in einen Zwischenpuffer rechnen und nur den gültigen Teil addieren
+                    Arrays.fill(edge, 0);
+                    microKernel(kc, alpha, aPacked, aOff, bPacked, bOff, edge, 0, NR);
+                    for (int i = 0; i < mr; i++) {
+                        for (int j = 0; j < nr; j++) {
+                            cData[cOff + i * cStride + j] += edge[i * NR + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** C[4×4] += α · A-Streifen · B-Streifen, mit 16 Summen in lokalen Variablen. */
+    private static void microKernel(int kc, double alpha, double[] a, int aOff, double[] b, int bOff,
+                                    double[] c, int cOff, int cStride) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+        int ai = aOff, bi = bOff;
+        for (int p = 0; p < kc; p++, ai += MR, bi += NR) {
+            double a0 = a[ai], a1 = a[ai + 1], a2 = a[ai + 2], a3 = a[ai + 3];
+            double b0 = b[bi], b1 = b[bi + 1], b2 = b[bi + 2], b3 = b[bi + 3];
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+        }
+        int r = cOff;
+        c[r] += alpha * c00; c[r + 1] += alpha * c01; c[r + 2] += alpha * c02; c[r + 3] += alpha * c03;
+        r += cStride;
+        c[r] += alpha * c10; c[r + 1] += alpha * c11; c[r + 2] += alpha * c12; c[r + 3] += alpha * c13;
+        r += cStride;
+        c[r] += alpha * c20; c[r + 1] += alpha * c21; c[r + 2] += alpha * c22; c[r + 3] += alpha * c23;
+        r += cStride;
+        c[r] += alpha * c30; c[r + 1] += alpha * c31; c[r + 2] += alpha * c32; c[r + 3] += alpha * c33;
+    }
+
+    /** Einfache i-k-j-Schleife für kleine Produkte. */
+    private static void simple(double alpha, Matrix a, Matrix b, Matrix c) {
+        double[] ad = a.array(), bd = b.array(), cd = c.array();
+        int m = a.getRows(), k = a.getCols(), n = b.getCols();
+        for (int i = 0; i < m; i++) {
+            int ai = a.offset() + i * a.stride();
+            int ci = c.offset() + i * c.stride();
+            for (int p = 0; p < k; p++) {
+                double aip = alpha * ad[ai + p];
+                int bp = b.offset() + p * b.stride();
+                for (int j = 0; j < n; j++) {
+                    cd[ci + j] += aip * bd[bp + j];
+                }
+            }
+        }
+    }
+
+    private static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+}
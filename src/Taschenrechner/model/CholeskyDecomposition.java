@@ -0,0 +1,227 @@
+package Taschenrechner.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cholesky-Zerlegung A = L·Lᵀ einer symmetrischen, positiv definiten Matrix.
+ * <p>
+ * Gelesen wird nur das untere Dreieck von A, und gerechnet wird nur das untere Dreieck von L:
+ * gegenüber der LU-Zerlegung etwa die Hälfte an Rechenoperationen und Speicherverkehr, ohne
+ * Pivotisierung. Wie bei {@link LUDecomposition} läuft die Zerlegung blockweise; die
+ * Aktualisierung der Restmatrix A22 -= L21·L21ᵀ wird dabei zeilenblockweise nur bis zur
+ * Diagonale ausgeführt und auf die Kerne verteilt.
+ * <p>
+ * Ist A nicht positiv definit (ein Diagonalelement wird ≤ 0), bricht die Zerlegung ab;
+ * {@link #isPositiveDefinite()} liefert dann false, und der Aufrufer kann auf LU oder
+ * {@link LDLTDecomposition} ausweichen.
+ */
+public class CholeskyDecomposition {
+    // Spaltenzahl eines Panels
+    static final int BLOCK = 64;
+    // Zeilen je Teilaufgabe bei der Aktualisierung der Restmatrix
+    private static final int UPDATE_ROWS = 128;
+
+    private final int n;
+    private final double[] l;      // L im unteren Dreieck, zeilenweise n × n
+    private final boolean positiveDefinite;
+
+    /**
+     * Zerlegt a (wird nicht verändert; nur das untere Dreieck wird gelesen).
+     * @throws IllegalArgumentException wenn a nicht quadratisch oder leer ist
+     */
+    public CholeskyDecomposition(Matrix a) {
+        if (a == null || a.getRows() == 0) {
+            throw new IllegalArgumentException("Matrix darf nicht leer sein");
+        }
+        if (a.getRows() != a.getCols()) {
+            throw new IllegalArgumentException("Die Cholesky-Zerlegung braucht eine quadratische Matrix");
+        }
+        n = a.getRows();
+        l = a.toFlatArray();
+        positiveDefinite = factor();
+        // oberes Dreieck leeren, damit l genau L enthält
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(l, i * n + i + 1, (i + 1) * n, 0.0);
+        }
+    }
+
+    /** Blockweise Zerlegung; false, sobald ein Pivot nicht positiv ist. */
+    private boolean factor() {
+        for (int k0 = 0; k0 < n; k0 += BLOCK) {
+            int k1 = Math.min(n, k0 + BLOCK);
+            if (!factorDiagonalBlock(k0, k1)) return false;
+            if (k1 == n) break;
+            solveBelow(k0, k1);
+            updateTrailing(k0, k1);
+        }
+        return true;
+    }
+
+    /** Klassische Cholesky-Zerlegung des Diagonalblocks [k0, k1) (zeilenorientiert). */
+    private boolean factorDiagonalBlock(int k0, int k1) {
+        for (int i = k0; i < k1; i++) {
+            int iRow = i * n;
+            for (int j = k0; j <= i; j++) {
+                int jRow = j * n;
+                double sum = l[iRow + j];
+                for (int p = k0; p < j; p++) {
+                    sum -= l[iRow + p] * l[jRow + p];
+                }
+                if (j < i) {
+                    l[iRow + j] = sum / l[jRow + j];
+                } else {
+                    if (!(sum > 0)) return false; // auch NaN
+                    l[iRow + i] = Math.sqrt(sum);
+                }
+            }
+        }
+        return true;
+    }
+
+    /** L21 = A21 · L11⁻ᵀ: jede Zeile unterhalb des Blocks durch Vorwärtseinsetzen. */
+    private void solveBelow(int k0, int k1) {
+        for (int i = k1; i < n; i++) {
+            int iRow = i * n;
+            for (int j = k0; j < k1; j++) {
+                int jRow = j * n;
+                double sum = l[iRow + j];
+                for (int p = k0; p < j; p++) {
+                    sum -= l[iRow + p] * l[jRow + p];
+                }
+                l[iRow + j] = sum / l[jRow + j];
+            }
+        }
+    }
+
+    /**
+     * A22 -= L21 · L21ᵀ, nur bis zur Diagonale: Zeilenblock I wird mit den Spalten 0 … Ende
+     * von I aktualisiert. L21ᵀ wird dafür einmal umkopiert, die Zeilenblöcke laufen parallel.
+     */
+    private void updateTrailing(int k0, int k1) {
+        int m = n - k1, kb = k1 - k0;
+        Matrix l21 = new Matrix(m, kb, l, k1 * n + k0, n);
+        Matrix l21t = l21.transpose();
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (int r0 = 0; r0 < m; r0 += UPDATE_ROWS) {
+            int rows = Math.min(UPDATE_ROWS, m - r0), end = r0 + rows;
+            Matrix lRows = l21.subMatrix(r0, 0, rows, kb);
+            Matrix lCols = l21t.subMatrix(0, 0, kb, end);
+            Matrix target = new Matrix(rows, end, l, (k1 + r0) * n + k1, n);
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    BlockedMultiplier.multiplyAdd(-1.0, lRows, lCols, target);
+                }
+            });
+        }
+        if (tasks.size() > 1 && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } else {
+            for (RecursiveAction task : tasks) task.invoke();
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** false, wenn die Zerlegung an einem nicht positiven Pivot abgebrochen ist. */
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    /** det(A) = Produkt der Diagonale von L zum Quadrat. */
+    public double determinant() {
+        checkPositiveDefinite();
+        double det = 1.0;
+        for (int i = 0; i < n; i++) {
+            double d = l[i * n + i];
+            det *= d * d;
+        }
+        return det;
+    }
+
+    /**
+     * Löst A·x = b durch L·y = b und Lᵀ·x = y.
+     * @throws IllegalArgumentException wenn b nicht die Länge n hat
+     * @throws ArithmeticException falls A nicht positiv definit ist
+     */
+    public double[] solve(double[] b) {
+        if (b == null || b.length != n) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + n + " Einträge haben");
+        }
+        return solveFlat(b.clone(), 1);
+    }
+
+    /**
+     * Löst A·X = B für alle Spalten von B gleichzeitig.
+     * @throws IllegalArgumentException wenn B nicht n Zeilen hat
+     * @throws ArithmeticException falls A nicht positiv definit ist
+     */
+    public Matrix solve(Matrix b) {
+        if (b == null || b.getRows() != n) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + n + " Zeilen haben");
+        }
+        int k = b.getCols();
+        return Matrix.wrap(n, k, solveFlat(b.toFlatArray(), k));
+    }
+
+    /** Unteres Dreieck L. */
+    public Matrix getL() {
+        return Matrix.wrap(n, n, l.clone());
+    }
+
+    private void checkPositiveDefinite() {
+        if (!positiveDefinite) {
+            throw new ArithmeticException("Matrix ist nicht positiv definit");
+        }
+    }
+
+    /** Vorwärts- und Rückwärtseinsetzen für k rechte Seiten in x (n × k, wird überschrieben). */
+    private double[] solveFlat(double[] x, int k) {
+        checkPositiveDefinite();
+        // L·Y = B
+        for (int i = 0; i < n; i++) {
+            int iRow = i * k;
+            for (int p = 0; p < i; p++) {
+                double lip = l[i * n + p];
+                if (lip == 0.0) continue;
+                int pRow = p * k;
+                for (int j = 0; j < k; j++) {
+                    x[iRow + j] -= lip * x[pRow + j];
+                }
+            }
+            double d = l[i * n + i];
+            for (int j = 0; j < k; j++) {
+                x[iRow + j] /= d;
+            }
+        }
+        // Lᵀ·X = Y: Zeile i von X ist fertig, sobald sie durch l_ii geteilt ist, und wird dann
+        // von den Zeilen p < i abgezogen (spaltenweise über L, aber zeilenweise über X)
+        for (int i = n - 1; i >= 0; i--) {
+            int iRow = i * k;
+            double d = l[i * n + i];
+            for (int j = 0; j < k; j++) {
+                x[iRow + j] /= d;
+            }
+            for (int p = 0; p < i; p++) {
+                double lip = l[i * n + p];
+                if (lip == 0.0) continue;
+                int pRow = p * k;
+                for (int j = 0; j < k; j++) {
+                    x[pRow + j] -= lip * x[iRow + j];
+                }
+            }
+        }
+        return x;
+    }
+}
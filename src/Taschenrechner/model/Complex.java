@@ -2,8 +2,8 @@ package Taschenrechner.model;
 
 /**
  * Repräsentiert eine komplexe Zahl a + b i.
- * Unterstützt nur: Addition, Subtraktion, Multiplikation,
- * Division, Konjugation und Betrag
+ * Unterstützt: Addition, Subtraktion, Multiplikation, Division, Konjugation, Betrag
+ * sowie die elementaren Funktionen exp, log (Hauptzweig), pow, sqrt, sin und cos.
  */
 public class Complex {
     private final double re;
@@ -60,6 +60,52 @@ public class Complex {
         return Math.hypot(re, im);
     }
 
+    /** Argument (Winkel) in (-π, π] */
+    public double arg() {
+        return Math.atan2(im, re);
+    }
+
+    /** exp(a+bi) = e^a (cos b + i sin b) */
+    public Complex exp() {
+        double m = Math.exp(re);
+        return new Complex(m * Math.cos(im), m * Math.sin(im));
+    }
+
+    /** Hauptzweig des Logarithmus: log z = ln|z| + i arg z */
+    public Complex log() {
+        return new Complex(Math.log(abs()), arg());
+    }
+
+    /** z^w = exp(w log z), mit 0^w = 0 für Re(w) > 0 */
+    public Complex pow(Complex w) {
+        if (re == 0 && im == 0) {
+            return w.re > 0 ? new Complex(0, 0) : new Complex(Double.NaN, Double.NaN);
+        }
+        return w.mul(log()).exp();
+    }
+
+    /** Hauptwert der Wurzel (Re ≥ 0), numerisch stabil ohne Umweg über log */
+    public Complex sqrt() {
+        if (re == 0 && im == 0) {
+            return this;
+        }
+        double t = Math.sqrt((Math.abs(re) + abs()) / 2);
+        if (re >= 0) {
+            return new Complex(t, im / (2 * t));
+        }
+        return new Complex(Math.abs(im) / (2 * t), Math.copySign(t, im));
+    }
+
+    /** sin(a+bi) = sin a cosh b + i cos a sinh b */
+    public Complex sin() {
+        return new Complex(Math.sin(re) * Math.cosh(im), Math.cos(re) * Math.sinh(im));
+    }
+
+    /** cos(a+bi) = cos a cosh b - i sin a sinh b */
+    public Complex cos() {
+        return new Complex(Math.cos(re) * Math.cosh(im), -Math.sin(re) * Math.sinh(im));
+    }
+
     /**
      * String-Repräsentation der komplexen Zahl.
      * Die Ausgabe erfolgt im Format "a + b i" oder "a - b i",
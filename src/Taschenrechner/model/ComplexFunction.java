@@ -0,0 +1,8 @@
+package Taschenrechner.model;
+
+/**
+ * Interface für komplexe Funktionen w = f(z), z.B. für Domain-Coloring-Darstellungen.
+ */
+public interface ComplexFunction {
+    Complex evaluate(Complex z);
+}
@@ -0,0 +1,145 @@
+package Taschenrechner.model;
+
+import java.util.Arrays;
+
+/**
+ * Adaptive Abtastung parametrischer Kurven im Bildschirmraum.
+ * <p>
+ * Ausgehend von einem groben, gleichmäßigen t-Raster wird jedes Intervall so lange halbiert,
+ * bis das Teilstück auf dem Bildschirm kürzer als {@link #MAX_SEGMENT_PX} ist und der
+ * Mittelpunkt höchstens {@link #FLATNESS_PX} von der Sehne abweicht (Krümmung). Gerade,
+ * langsam durchlaufene Abschnitte kosten so nur wenige Auswertungen, enge Windungen von
+ * Spiralen oder Lissajous-Figuren werden fein aufgelöst. Abschnitte, die vollständig auf einer
+ * Seite außerhalb des Ausschnitts liegen, werden nicht weiter verfeinert.
+ */
+public final class CurveSampler {
+    private static final int INITIAL_INTERVALS = 128;
+    private static final int MAX_DEPTH = 16;
+    private static final double MAX_SEGMENT_PX = 4.0;
+    private static final double FLATNESS_PX = 0.25;
+    private static final int MAX_EVALUATIONS = 500_000;
+
+    /** Punktfunktion t -> (x, y); schreibt das Ergebnis nach out[0], out[1]. */
+    public interface PointFunction {
+        void evaluate(double t, double[] out);
+    }
+
+    private final PointFunction f;
+    private final double xMin, yMax, sx, sy;
+    private final int width, height;
+    private final double[] tmp = new double[2];
+    private double[] out = new double[1024];
+    private int size;
+    private boolean broken = true; // true -> nächster Punkt beginnt einen neuen Abschnitt
+    private int evaluations;
+
+    private CurveSampler(PointFunction f, double xMin, double xMax, double yMin, double yMax, int width, int height) {
+        this.f = f;
+        this.xMin = xMin;
+        this.yMax = yMax;
+        this.sx = width / (xMax - xMin);
+        this.sy = height / (yMax - yMin);
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Tastet die Kurve für t in [tMin, tMax] ab.
+     *
+     * @return Polygonzug (x, y paarweise in Weltkoordinaten); ein NaN-Paar trennt Abschnitte
+     */
+    public static double[] sample(PointFunction f, double tMin, double tMax,
+                                  double xMin, double xMax, double yMin, double yMax,
+                                  int width, int height) {
+        if (width <= 0 || height <= 0 || !(xMax > xMin) || !(yMax > yMin)) {
+            return new double[0];
+        }
+        CurveSampler s = new CurveSampler(f, xMin, xMax, yMin, yMax, width, height);
+        s.run(tMin, tMax);
+        return Arrays.copyOf(s.out, s.size);
+    }
+
+    private void run(double tMin, double tMax) {
+        double dt = (tMax - tMin) / INITIAL_INTERVALS;
+        double[] a = eval(tMin);
+        emit(a);
+        for (int i = 1; i <= INITIAL_INTERVALS; i++) {
+            double tb = i == INITIAL_INTERVALS ? tMax : tMin + i * dt;
+            double[] b = eval(tb);
+            subdivide(tMin + (i - 1) * dt, a, tb, b, 0);
+            a = b;
+        }
+    }
+
+    /** Punkt in Welt- und Bildschirmkoordinaten: {x, y, px, py}. */
+    private double[] eval(double t) {
+        evaluations++;
+        f.evaluate(t, tmp);
+        double x = tmp[0], y = tmp[1];
+        return new double[]{x, y, (x - xMin) * sx, (yMax - y) * sy};
+    }
+
+    private void subdivide(double ta, double[] a, double tb, double[] b, int depth) {
+        double tm = 0.5 * (ta + tb);
+        double[] m = eval(tm);
+        if (depth < MAX_DEPTH && evaluations < MAX_EVALUATIONS && needsSplit(a, m, b)) {
+            subdivide(ta, a, tm, m, depth + 1);
+            subdivide(tm, m, tb, b, depth + 1);
+            return;
+        }
+        emit(m);
+        // Trotz maximaler Verfeinerung noch ein großer Sprung -> Unstetigkeit, nicht verbinden
+        if (finite(m) && finite(b) && Math.hypot(b[2] - m[2], b[3] - m[3]) > 0.5 * Math.max(width, height)) {
+            breakPath();
+        }
+        emit(b);
+    }
+
+    private boolean needsSplit(double[] a, double[] m, double[] b) {
+        boolean fa = finite(a), fm = finite(m), fb = finite(b);
+        if (!fa && !fm && !fb) return false;
+        if (!fa || !fm || !fb) return true; // Rand des Definitionsbereichs eingrenzen
+        if (outsideSameSide(a, m, b)) return false;
+        double cx = b[2] - a[2], cy = b[3] - a[3];
+        double chord = Math.hypot(cx, cy);
+        if (chord > MAX_SEGMENT_PX) return true;
+        // Abstand des Mittelpunkts von der Sehnenmitte (misst die Krümmung des Teilstücks)
+        double dx = m[2] - 0.5 * (a[2] + b[2]);
+        double dy = m[3] - 0.5 * (a[3] + b[3]);
+        return dx * dx + dy * dy > FLATNESS_PX * FLATNESS_PX;
+    }
+
+    private boolean outsideSameSide(double[] a, double[] m, double[] b) {
+        return (a[2] < 0 && m[2] < 0 && b[2] < 0)
+                || (a[2] > width && m[2] > width && b[2] > width)
+                || (a[3] < 0 && m[3] < 0 && b[3] < 0)
+                || (a[3] > height && m[3] > height && b[3] > height);
+    }
+
+    private static boolean finite(double[] p) {
+        return Double.isFinite(p[0]) && Double.isFinite(p[1]);
+    }
+
+    private void emit(double[] p) {
+        if (!finite(p)) {
+            breakPath();
+            return;
+        }
+        if (size + 4 > out.length) {
+            out = Arrays.copyOf(out, out.length * 2);
+        }
+        out[size++] = p[0];
+        out[size++] = p[1];
+        broken = false;
+    }
+
+    private void breakPath() {
+        if (broken) return;
+        if (size + 2 > out.length) {
+            out = Arrays.copyOf(out, out.length * 2);
+        }
+        out[size++] = Double.NaN;
+        out[size++] = Double.NaN;
+        broken = true;
+    }
+}
@@ -0,0 +1,334 @@
+package Taschenrechner.model;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Messreihe (x, y) als Ebene im Graphen, z.B. aus einer CSV-Datei (siehe
+ * {@link Taschenrechner.util.CsvDataReader}). Die Punkte liegen in zwei primitiven Arrays und
+ * werden beim Erzeugen nach x sortiert, falls nötig.
+ * <p>
+ * Für große Reihen (zig Millionen Punkte) wird einmalig eine Min/Max-Pyramide aufgebaut:
+ * Stufe 1 fasst je {@value #BASE_BLOCK} Punkte zusammen, jede weitere Stufe je
+ * {@value #FANOUT} Blöcke der vorigen. Damit kostet das Minimum/Maximum eines beliebigen
+ * Indexbereichs nur O(FANOUT · Stufen) statt O(Bereichslänge).
+ * <p>
+ * Die Geometrie ist wie bei {@link ParametricCurve} ein Polygonzug und hängt nur von der
+ * Anzahl sichtbarer Punkte ab:
+ * <ul>
+ *   <li>wenige Punkte: unverändert,</li>
+ *   <li>mittlere Dichte: Largest-Triangle-Three-Buckets (LTTB) auf etwa zwei Punkte je Pixel,</li>
+ *   <li>hohe Dichte: Minimum und Maximum je Pixelspalte aus der Pyramide.</li>
+ * </ul>
+ * Der Aufwand je Bild ist dadurch durch die Bildbreite begrenzt, nicht durch die Datenmenge.
+ */
+public class DataSeries extends ViewportLayer {
+    static final int BASE_BLOCK = 8;
+    static final int FANOUT = 4;
+
+    // Grenzen für die Wahl des Verfahrens (sichtbare Punkte je Pixelspalte)
+    private static final int RAW_PER_PIXEL = 2;
+    private static final int LTTB_PER_PIXEL = 32;
+
+    private final double[] xs, ys;
+    private final int size;
+    // mins[k], maxs[k]: Stufe k+1 mit Blockgröße BASE_BLOCK * FANOUT^k
+    private final double[][] mins, maxs;
+
+    /**
+     * Erzeugt eine Reihe aus den ersten {@code size} Einträgen von x und y. Die Arrays werden
+     * übernommen (nicht kopiert) und gegebenenfalls in-place nach x sortiert.
+     */
+    public DataSeries(String label, double[] x, double[] y, int size, Color color) {
+        super(label, color);
+        if (size < 0 || size > x.length || size > y.length) {
+            throw new IllegalArgumentException("Ungültige Anzahl Datenpunkte: " + size);
+        }
+        this.xs = x;
+        this.ys = y;
+        this.size = size;
+        if (!isSorted()) {
+            sort(0, size - 1);
+        }
+        int levels = 0;
+        for (long block = BASE_BLOCK; block < size; block *= FANOUT) {
+            levels++;
+        }
+        mins = new double[levels][];
+        maxs = new double[levels][];
+        buildPyramid();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int i) {
+        return xs[i];
+    }
+
+    public double getY(int i) {
+        return ys[i];
+    }
+
+    /** Kleinstes und größtes y der ganzen Reihe, z.B. um den Ausschnitt anzupassen. */
+    public double[] getYRange() {
+        double[] acc = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        rangeMinMax(0, size, acc);
+        return acc;
+    }
+
+    @Override
+    protected double[] compute(double xMin, double xMax, double yMin, double yMax, int width, int height) {
+        if (size == 0 || width < 1) return new double[0];
+        // je einen Punkt links und rechts außerhalb mitnehmen, damit die Linie bis zum Rand reicht
+        int lo = Math.max(0, lowerBound(xMin) - 1);
+        int hi = Math.min(size, upperBound(xMax) + 1);
+        int count = hi - lo;
+        if (count <= 0) return new double[0];
+        if (count <= RAW_PER_PIXEL * width) {
+            double[] out = new double[2 * count];
+            for (int i = 0; i < count; i++) {
+                out[2 * i] = xs[lo + i];
+                out[2 * i + 1] = ys[lo + i];
+            }
+            return out;
+        }
+        if (count <= LTTB_PER_PIXEL * width) {
+            return lttb(lo, hi, 2 * width);
+        }
+        return columnMinMax(lo, hi, xMin, xMax, width);
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: behält ersten und letzten Punkt und wählt aus jedem der
+     * übrigen Eimer den Punkt, der mit dem zuletzt gewählten Punkt und dem Mittelwert des
+     * nächsten Eimers das größte Dreieck bildet.
+     */
+    private double[] lttb(int lo, int hi, int threshold) {
+        int count = hi - lo;
+        double[] out = new double[2 * threshold];
+        int n = 0;
+        double bucket = (count - 2) / (double) (threshold - 2);
+        int a = lo;
+        out[n++] = xs[a];
+        out[n++] = ys[a];
+        for (int b = 0; b < threshold - 2; b++) {
+            // Mittelwert des nächsten Eimers
+            int nextStart = lo + 1 + (int) ((b + 1) * bucket);
+            int nextEnd = Math.min(hi, lo + 1 + (int) ((b + 2) * bucket));
+            double avgX = 0, avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += xs[i];
+                avgY += ys[i];
+            }
+            avgX /= nextEnd - nextStart;
+            avgY /= nextEnd - nextStart;
+
+            int start = lo + 1 + (int) (b * bucket);
+            int end = lo + 1 + (int) ((b + 1) * bucket);
+            double ax = xs[a], ay = ys[a];
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((ax - avgX) * (ys[i] - ay) - (ax - xs[i]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            out[n++] = xs[chosen];
+            out[n++] = ys[chosen];
+            a = chosen;
+        }
+        out[n++] = xs[hi - 1];
+        out[n++] = ys[hi - 1];
+        return out;
+    }
+
+    /**
+     * Minimum und Maximum je Pixelspalte (als senkrechte Linie in der Spaltenmitte). Die
+     * Reihenfolge innerhalb einer Spalte wird so gewählt, dass die Linie am Wert beginnt, der
+     * dem Ende der vorigen Spalte am nächsten liegt.
+     */
+    private double[] columnMinMax(int lo, int hi, double xMin, double xMax, int width) {
+        double[] out = new double[4 * width + 4];
+        int n = 0;
+        double colWidth = (xMax - xMin) / width;
+        double[] acc = new double[2];
+        double lastY = ys[lo];
+        int start = lowerBound(xMin);
+        if (lo < start) {
+            out[n++] = xs[lo];
+            out[n++] = ys[lo];
+        }
+        for (int c = 0; c < width; c++) {
+            int end = c == width - 1 ? upperBound(xMax)
+                    : Math.max(start, lowerBound(xMin + (c + 1) * colWidth));
+            if (end > start) {
+                acc[0] = Double.POSITIVE_INFINITY;
+                acc[1] = Double.NEGATIVE_INFINITY;
+                rangeMinMax(start, end, acc);
+                double px = xMin + (c + 0.5) * colWidth;
+                boolean maxFirst = Math.abs(acc[1] - lastY) < Math.abs(acc[0] - lastY);
+                double first = maxFirst ? acc[1] : acc[0];
+                double second = maxFirst ? acc[0] : acc[1];
+                out[n++] = px;
+                out[n++] = first;
+                if (second != first) {
+                    out[n++] = px;
+                    out[n++] = second;
+                }
+                lastY = second;
+            }
+            start = end;
+        }
+        if (start < hi) {
+            out[n++] = xs[hi - 1];
+            out[n++] = ys[hi - 1];
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /** Erweitert acc = {min, max} um die Werte ys[from, to). */
+    private void rangeMinMax(int from, int to, double[] acc) {
+        int level = mins.length;
+        while (level > 0 && blockSize(level) > to - from) {
+            level--;
+        }
+        rangeMinMax(level, from, to, acc);
+    }
+
+    private void rangeMinMax(int level, int from, int to, double[] acc) {
+        if (from >= to) return;
+        if (level == 0) {
+            double min = acc[0], max = acc[1];
+            for (int i = from; i < to; i++) {
+                double y = ys[i];
+                if (y < min) min = y;
+                if (y > max) max = y;
+            }
+            acc[0] = min;
+            acc[1] = max;
+            return;
+        }
+        long block = blockSize(level);
+        int firstBlock = (int) ((from + block - 1) / block);
+        int lastBlock = (int) (to / block); // exklusiv
+        if (firstBlock >= lastBlock) {
+            rangeMinMax(level - 1, from, to, acc);
+            return;
+        }
+        rangeMinMax(level - 1, from, (int) (firstBlock * block), acc);
+        double[] lmin = mins[level - 1], lmax = maxs[level - 1];
+        for (int b = firstBlock; b < lastBlock; b++) {
+            if (lmin[b] < acc[0]) acc[0] = lmin[b];
+            if (lmax[b] > acc[1]) acc[1] = lmax[b];
+        }
+        rangeMinMax(level - 1, (int) (lastBlock * block), to, acc);
+    }
+
+    /** Blockgröße der Stufe level (1 = BASE_BLOCK) */
+    private static long blockSize(int level) {
+        long block = BASE_BLOCK;
+        for (int k = 1; k < level; k++) block *= FANOUT;
+        return block;
+    }
+
+    private void buildPyramid() {
+        for (int k = 0; k < mins.length; k++) {
+            // nur vollständige Blöcke; Reste am Ende werden aus der Stufe darunter gelesen
+            int blocks = (int) (size / blockSize(k + 1));
+            double[] min = new double[blocks], max = new double[blocks];
+            int group = k == 0 ? BASE_BLOCK : FANOUT;
+            for (int b = 0; b < blocks; b++) {
+                double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+                for (int i = b * group, end = i + group; i < end; i++) {
+                    double vMin = k == 0 ? ys[i] : mins[k - 1][i];
+                    double vMax = k == 0 ? ys[i] : maxs[k - 1][i];
+                    if (vMin < lo) lo = vMin;
+                    if (vMax > hi) hi = vMax;
+                }
+                min[b] = lo;
+                max[b] = hi;
+            }
+            mins[k] = min;
+            maxs[k] = max;
+        }
+    }
+
+    /** Erster Index mit xs[i] >= x (size, falls keiner). */
+    private int lowerBound(double x) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Erster Index mit xs[i] > x (size, falls keiner). */
+    private int upperBound(double x) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] <= x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private boolean isSorted() {
+        for (int i = 1; i < size; i++) {
+            if (xs[i] < xs[i - 1]) return false;
+        }
+        return true;
+    }
+
+    /** Quicksort der Paare (x, y) nach x; rekursiv nur über die kleinere Hälfte. */
+    private void sort(int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            // Median aus drei als Pivot
+            if (xs[mid] < xs[lo]) swap(mid, lo);
+            if (xs[hi] < xs[lo]) swap(hi, lo);
+            if (xs[hi] < xs[mid]) swap(hi, mid);
+            double pivot = xs[mid];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (xs[i] < pivot) i++;
+                while (xs[j] > pivot) j--;
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (j - lo < hi - i) {
+                sort(lo, j);
+                lo = i;
+            } else {
+                sort(i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            double x = xs[i], y = ys[i];
+            int j = i - 1;
+            while (j >= lo && xs[j] > x) {
+                xs[j + 1] = xs[j];
+                ys[j + 1] = ys[j];
+                j--;
+            }
+            xs[j + 1] = x;
+            ys[j + 1] = y;
+        }
+    }
+
+    private void swap(int i, int j) {
+        double tx = xs[i], ty = ys[i];
+        xs[i] = xs[j];
+        ys[i] = ys[j];
+        xs[j] = tx;
+        ys[j] = ty;
+    }
+}
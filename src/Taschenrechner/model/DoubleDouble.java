@@ -0,0 +1,335 @@
+package Taschenrechner.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Zahl in "Double-Double"-Darstellung: Summe zweier doubles hi + lo mit |lo| ≤ ulp(hi)/2.
+ * Das ergibt etwa 106 Bit (≈ 32 Dezimalstellen) Genauigkeit und wird für das Zoomen weit
+ * über die Auflösung eines doubles hinaus verwendet.
+ * <p>
+ * Die Grundrechenarten beruhen auf den fehlerfreien Transformationen TwoSum und TwoProd
+ * (über {@link Math#fma}); die elementaren Funktionen auf Argumentreduktion mit
+ * Taylor-Reihen bzw. einem Newton-Schritt ausgehend vom double-Ergebnis.
+ */
+public final class DoubleDouble implements Comparable<DoubleDouble> {
+    public static final DoubleDouble ZERO = new DoubleDouble(0, 0);
+    public static final DoubleDouble ONE = new DoubleDouble(1, 0);
+    public static final DoubleDouble PI = new DoubleDouble(3.141592653589793, 1.2246467991473532e-16);
+    public static final DoubleDouble TWO_PI = new DoubleDouble(6.283185307179586, 2.4492935982947064e-16);
+    public static final DoubleDouble HALF_PI = new DoubleDouble(1.5707963267948966, 6.123233995736766e-17);
+    public static final DoubleDouble E = new DoubleDouble(2.718281828459045, 1.4456468917292502e-16);
+    public static final DoubleDouble LN2 = new DoubleDouble(0.6931471805599453, 2.3190468138462996e-17);
+    public static final DoubleDouble LN10 = new DoubleDouble(2.302585092994046, -2.1707562233822494e-16);
+    public static final DoubleDouble NaN = new DoubleDouble(Double.NaN, Double.NaN);
+
+    /** 1/n! für die Taylor-Reihen */
+    private static final int TAYLOR_TERMS = 30;
+    private static final DoubleDouble[] INV_FACTORIAL = new DoubleDouble[TAYLOR_TERMS];
+
+    static {
+        INV_FACTORIAL[0] = ONE;
+        for (int n = 1; n < TAYLOR_TERMS; n++) {
+            INV_FACTORIAL[n] = INV_FACTORIAL[n - 1].div(n);
+        }
+    }
+
+    private final double hi;
+    private final double lo;
+
+    private DoubleDouble(double hi, double lo) {
+        this.hi = hi;
+        this.lo = lo;
+    }
+
+    public static DoubleDouble valueOf(double v) {
+        return new DoubleDouble(v, 0);
+    }
+
+    public double hi() {
+        return hi;
+    }
+
+    public double lo() {
+        return lo;
+    }
+
+    public double doubleValue() {
+        return hi + lo;
+    }
+
+    public boolean isNaN() {
+        return Double.isNaN(hi);
+    }
+
+    public boolean isFinite() {
+        return Double.isFinite(hi);
+    }
+
+    public int signum() {
+        return hi > 0 ? 1 : hi < 0 ? -1 : (int) Math.signum(lo);
+    }
+
+    // --- fehlerfreie Transformationen ----------------------------------------------------
+
+    /** s + e = a + b exakt (Knuth) */
+    private static DoubleDouble twoSum(double a, double b) {
+        double s = a + b;
+        double bb = s - a;
+        double e = (a - (s - bb)) + (b - bb);
+        return new DoubleDouble(s, e);
+    }
+
+    /** wie twoSum, setzt aber |a| ≥ |b| voraus */
+    private static DoubleDouble quickTwoSum(double a, double b) {
+        double s = a + b;
+        if (!Double.isFinite(s)) {
+            return new DoubleDouble(s, 0);
+        }
+        return new DoubleDouble(s, b - (s - a));
+    }
+
+    // --- Grundrechenarten ----------------------------------------------------------------
+
+    public DoubleDouble negate() {
+        return new DoubleDouble(-hi, -lo);
+    }
+
+    public DoubleDouble add(DoubleDouble b) {
+        DoubleDouble s = twoSum(hi, b.hi);
+        DoubleDouble t = twoSum(lo, b.lo);
+        if (!Double.isFinite(s.hi)) {
+            return new DoubleDouble(s.hi, 0);
+        }
+        DoubleDouble u = quickTwoSum(s.hi, s.lo + t.hi);
+        return quickTwoSum(u.hi, u.lo + t.lo);
+    }
+
+    public DoubleDouble add(double b) {
+        DoubleDouble s = twoSum(hi, b);
+        if (!Double.isFinite(s.hi)) {
+            return new DoubleDouble(s.hi, 0);
+        }
+        return quickTwoSum(s.hi, s.lo + lo);
+    }
+
+    public DoubleDouble sub(DoubleDouble b) {
+        return add(b.negate());
+    }
+
+    public DoubleDouble sub(double b) {
+        return add(-b);
+    }
+
+    public DoubleDouble mul(DoubleDouble b) {
+        double p = hi * b.hi;
+        if (!Double.isFinite(p)) {
+            return new DoubleDouble(p, 0);
+        }
+        double e = Math.fma(hi, b.hi, -p);
+        return quickTwoSum(p, e + (hi * b.lo + lo * b.hi));
+    }
+
+    public DoubleDouble mul(double b) {
+        double p = hi * b;
+        if (!Double.isFinite(p)) {
+            return new DoubleDouble(p, 0);
+        }
+        double e = Math.fma(hi, b, -p);
+        return quickTwoSum(p, e + lo * b);
+    }
+
+    public DoubleDouble div(DoubleDouble b) {
+        double q1 = hi / b.hi;
+        if (!Double.isFinite(q1) || b.hi == 0) {
+            return new DoubleDouble(q1, 0);
+        }
+        DoubleDouble r = sub(b.mul(q1));
+        double q2 = r.hi / b.hi;
+        r = r.sub(b.mul(q2));
+        double q3 = r.hi / b.hi;
+        return quickTwoSum(q1, q2).add(q3);
+    }
+
+    public DoubleDouble div(double b) {
+        return div(valueOf(b));
+    }
+
+    /** x^n durch binäres Potenzieren */
+    public DoubleDouble pow(int n) {
+        DoubleDouble result = ONE;
+        DoubleDouble base = this;
+        for (long k = Math.abs((long) n); k > 0; k >>= 1) {
+            if ((k & 1) != 0) {
+                result = result.mul(base);
+            }
+            base = base.mul(base);
+        }
+        return n < 0 ? ONE.div(result) : result;
+    }
+
+    /** x^y wie {@link Math#pow}: ganzzahlige Exponenten exakt, sonst exp(y·ln x) für x ≥ 0 */
+    public DoubleDouble pow(DoubleDouble y) {
+        if (y.lo == 0 && y.hi == Math.rint(y.hi) && Math.abs(y.hi) <= Integer.MAX_VALUE) {
+            return pow((int) y.hi);
+        }
+        if (isNaN() || y.isNaN() || hi < 0) return NaN;
+        if (hi == 0) {
+            return valueOf(y.hi > 0 ? 0 : Double.POSITIVE_INFINITY);
+        }
+        return y.mul(ln()).exp();
+    }
+
+    // --- elementare Funktionen -----------------------------------------------------------
+
+    public DoubleDouble sqrt() {
+        if (hi == 0) return ZERO;
+        if (hi < 0 || isNaN()) return NaN;
+        if (hi == Double.POSITIVE_INFINITY) return this;
+        // Newton-Schritt ausgehend von 1/sqrt(hi) (Karp)
+        double x = 1 / Math.sqrt(hi);
+        double ax = hi * x;
+        DoubleDouble ax2 = valueOf(ax).mul(ax);
+        return twoSum(ax, sub(ax2).hi * (x * 0.5));
+    }
+
+    public DoubleDouble exp() {
+        if (isNaN()) return NaN;
+        if (hi > 709.8) return valueOf(Double.POSITIVE_INFINITY);
+        if (hi < -745.2) return ZERO;
+        if (hi == 0) return ONE;
+        // exp(x) = 2^k · exp(r)^1024 mit r = (x - k·ln2) / 1024
+        double k = Math.rint(hi / LN2.hi);
+        DoubleDouble r = sub(LN2.mul(k)).mul(1.0 / 1024);
+        // s = exp(r) - 1 über die Taylor-Reihe, danach 10-mal (1+s)^2 - 1 = s·(2 + s)
+        DoubleDouble s = r;
+        DoubleDouble power = r;
+        for (int n = 2; n < TAYLOR_TERMS; n++) {
+            power = power.mul(r);
+            DoubleDouble term = power.mul(INV_FACTORIAL[n]);
+            s = s.add(term);
+            if (Math.abs(term.hi) < 1e-33 * Math.abs(s.hi)) break;
+        }
+        for (int i = 0; i < 10; i++) {
+            s = s.mul(s.add(2));
+        }
+        DoubleDouble e = s.add(1);
+        int ki = (int) k;
+        return new DoubleDouble(Math.scalb(e.hi, ki), Math.scalb(e.lo, ki));
+    }
+
+    /** Natürlicher Logarithmus (ein Newton-Schritt: y + x·exp(-y) - 1) */
+    public DoubleDouble ln() {
+        if (isNaN() || hi < 0) return NaN;
+        if (hi == 0) return valueOf(Double.NEGATIVE_INFINITY);
+        if (hi == Double.POSITIVE_INFINITY) return this;
+        DoubleDouble y = valueOf(Math.log(hi));
+        return y.add(mul(y.negate().exp())).sub(1);
+    }
+
+    /** Logarithmus zur Basis 2 */
+    public DoubleDouble lg() {
+        return ln().div(LN2);
+    }
+
+    /** Logarithmus zur Basis 10 */
+    public DoubleDouble log10() {
+        return ln().div(LN10);
+    }
+
+    public DoubleDouble sin() {
+        return sinCos()[0];
+    }
+
+    public DoubleDouble cos() {
+        return sinCos()[1];
+    }
+
+    public DoubleDouble tan() {
+        DoubleDouble[] sc = sinCos();
+        return sc[0].div(sc[1]);
+    }
+
+    /** Newton-Schritt für tan(y) = x ausgehend von Math.atan: y + (x·cos y - sin y)·cos y */
+    public DoubleDouble atan() {
+        if (isNaN()) return NaN;
+        if (Double.isInfinite(hi)) return hi > 0 ? HALF_PI : HALF_PI.negate();
+        DoubleDouble y = valueOf(Math.atan(hi));
+        DoubleDouble[] sc = y.sinCos();
+        return y.add(mul(sc[1]).sub(sc[0]).mul(sc[1]));
+    }
+
+    public DoubleDouble asin() {
+        int c = compareAbs(1);
+        if (c > 0 || isNaN()) return NaN;
+        if (c == 0) return hi > 0 ? HALF_PI : HALF_PI.negate();
+        return div(ONE.sub(mul(this)).sqrt()).atan();
+    }
+
+    public DoubleDouble acos() {
+        DoubleDouble a = asin();
+        return a.isNaN() ? NaN : HALF_PI.sub(a);
+    }
+
+    /**
+     * Sinus und Kosinus gemeinsam: Reduktion auf t = x - k·π/2 mit |t| ≤ π/4,
+     * dann Taylor-Reihen für sin t und cos t.
+     */
+    private DoubleDouble[] sinCos() {
+        if (!isFinite()) return new DoubleDouble[]{NaN, NaN};
+        DoubleDouble r = sub(TWO_PI.mul(Math.rint(hi / TWO_PI.hi)));
+        double j = Math.rint(r.hi / HALF_PI.hi);
+        DoubleDouble t = r.sub(HALF_PI.mul(j));
+
+        DoubleDouble sin = t, cos = ONE;
+        DoubleDouble power = t; // t^n
+        for (int n = 2; n < TAYLOR_TERMS; n++) {
+            power = power.mul(t);
+            DoubleDouble term = power.mul(INV_FACTORIAL[n]);
+            if ((n & 1) == 0) {
+                cos = (n & 2) == 0 ? cos.add(term) : cos.sub(term);
+            } else {
+                sin = (n & 2) == 0 ? sin.add(term) : sin.sub(term);
+            }
+            if (Math.abs(term.hi) < 1e-34) break;
+        }
+        return switch ((int) j & 3) {
+            case 0 -> new DoubleDouble[]{sin, cos};
+            case 1 -> new DoubleDouble[]{cos, sin.negate()};
+            case 2 -> new DoubleDouble[]{sin.negate(), cos.negate()};
+            default -> new DoubleDouble[]{cos.negate(), sin};
+        };
+    }
+
+    private int compareAbs(double v) {
+        return (signum() < 0 ? negate() : this).compareTo(valueOf(v));
+    }
+
+    @Override
+    public int compareTo(DoubleDouble o) {
+        int c = Double.compare(hi, o.hi);
+        return c != 0 ? c : Double.compare(lo, o.lo);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DoubleDouble d && Double.compare(hi, d.hi) == 0 && Double.compare(lo, d.lo) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(hi) * 31 + Double.hashCode(lo);
+    }
+
+    /** Dezimaldarstellung mit der angegebenen Zahl signifikanter Stellen */
+    public String toString(int digits) {
+        if (!isFinite()) return Double.toString(hi);
+        BigDecimal v = new BigDecimal(hi).add(new BigDecimal(lo));
+        return v.round(new MathContext(digits)).toString();
+    }
+
+    @Override
+    public String toString() {
+        return toString(32);
+    }
+}
@@ -0,0 +1,9 @@
+package Taschenrechner.model;
+
+/**
+ * Funktion, die sich in {@link DoubleDouble}-Genauigkeit auswerten lässt. Wird vom GraphPanel
+ * verwendet, sobald der Ausschnitt kleiner wird, als doubles auflösen können.
+ */
+public interface DoubleDoubleFunction {
+    DoubleDouble evaluate(DoubleDouble x);
+}
@@ -0,0 +1,8 @@
+package Taschenrechner.model;
+
+/**
+ * Interface für Funktionen zweier Variablen f(x, y), z.B. für implizite Kurven f(x, y) = 0.
+ */
+public interface Function2D {
+    double evaluate(double x, double y);
+}
@@ -0,0 +1,9 @@
+package Taschenrechner.model;
+
+/**
+ * Interface für Funktionen mehrerer Variablen f(x1, …, xn), z.B. für mehrdimensionale
+ * Integrale. Die Werte werden als Array in der beim Parsen angegebenen Reihenfolge übergeben.
+ */
+public interface FunctionND {
+    double evaluate(double[] vars);
+}
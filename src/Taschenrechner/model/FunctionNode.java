@@ -0,0 +1,437 @@
+package Taschenrechner.model;
+
+/**
+ * Knoten eines vom {@link Taschenrechner.util.FunctionParser} erzeugten Funktionsbaums.
+ * Variablen werden über ihren Index angesprochen (z.B. x = 0, y = 1), sodass derselbe Baum
+ * für Funktionen mit einer oder mehreren Variablen verwendet werden kann.
+ * <p>
+ * Neben der punktweisen Auswertung gibt es eine Intervallauswertung ({@link Interval}), die
+ * einen sicheren Einschluss aller Funktionswerte über einem Argumentbereich liefert, und eine
+ * Auswertung in {@link DoubleDouble}-Genauigkeit für sehr starke Vergrößerungen.
+ * <p>
+ * Für die häufige punktweise Auswertung in einer Variablen kann der Baum mit {@link #compile()}
+ * in verschachtelte Lambdas übersetzt werden: Operator- und Funktionsauswahl erfolgen dann
+ * einmalig beim Übersetzen statt bei jeder Auswertung, und es wird kein Variablen-Array angelegt.
+ */
+public abstract class FunctionNode {
+
+    /**
+     * Wertet den Teilbaum aus.
+     * @param vars Variablenwerte, indiziert wie beim Parsen angegeben
+     */
+    public abstract double evaluate(double[] vars);
+
+    /**
+     * Wertet den Teilbaum in Intervallarithmetik aus.
+     * @param vars Wertebereiche der Variablen, indiziert wie beim Parsen angegeben
+     * @return Einschluss aller Funktionswerte für Argumente aus den Bereichen
+     */
+    public abstract Interval evaluate(Interval[] vars);
+
+    /**
+     * Wertet den Teilbaum mit etwa 106 Bit Genauigkeit aus.
+     * @param vars Variablenwerte, indiziert wie beim Parsen angegeben
+     */
+    public abstract DoubleDouble evaluate(DoubleDouble[] vars);
+
+    /**
+     * Übersetzt den Teilbaum in eine Funktion der Variablen mit Index 0.
+     * @throws IllegalStateException wenn der Baum weitere Variablen enthält
+     */
+    public abstract Function compile();
+
+    /** true, wenn der Teilbaum von keiner Variablen und keinem Parameter abhängt. */
+    private static boolean isConstant(FunctionNode node) {
+        return node instanceof Polynomial p && p.getIndex() < 0;
+    }
+
+    /** Unterstützte Funktionsaufrufe wie sin(arg), ln(arg) usw. */
+    public enum UnaryFunction {
+        SQRT("sqrt") {
+            @Override
+            public double apply(double x) { return Math.sqrt(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.sqrt(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.sqrt(); }
+        },
+        LN("ln") {
+            @Override
+            public double apply(double x) { return Math.log(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.ln(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.ln(); }
+        },
+        LG("lg") {
+            @Override
+            public double apply(double x) { return Math.log(x) / Math.log(2); }
+
+            @Override
+            public Interval apply(Interval x) { return x.lg(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.lg(); }
+        },
+        LOG("log") {
+            @Override
+            public double apply(double x) { return Math.log10(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.log10(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.log10(); }
+        },
+        SIN("sin") {
+            @Override
+            public double apply(double x) { return Math.sin(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.sin(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.sin(); }
+        },
+        COS("cos") {
+            @Override
+            public double apply(double x) { return Math.cos(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.cos(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.cos(); }
+        },
+        TAN("tan") {
+            @Override
+            public double apply(double x) { return Math.tan(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.tan(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.tan(); }
+        },
+        ARCSIN("arcsin") {
+            @Override
+            public double apply(double x) { return Math.asin(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.asin(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.asin(); }
+        },
+        ARCCOS("arccos") {
+            @Override
+            public double apply(double x) { return Math.acos(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.acos(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.acos(); }
+        },
+        ARCTAN("arctan") {
+            @Override
+            public double apply(double x) { return Math.atan(x); }
+
+            @Override
+            public Interval apply(Interval x) { return x.atan(); }
+
+            @Override
+            public DoubleDouble apply(DoubleDouble x) { return x.atan(); }
+        };
+
+        private final String symbol;
+
+        UnaryFunction(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public abstract double apply(double x);
+
+        public abstract Interval apply(Interval x);
+
+        public abstract DoubleDouble apply(DoubleDouble x);
+    }
+
+    /**
+     * Polynom in einer Variablen. Der Parser fasst rein polynomiale Teilausdrücke zusammen,
+     * damit z.B. die exakte Ableitung erhalten bleibt. Index -1 steht für ein konstantes Polynom.
+     */
+    public static final class Polynomial extends FunctionNode {
+        private final PolynomialFunction polynomial;
+        private final int index;
+
+        public Polynomial(PolynomialFunction polynomial, int index) {
+            this.polynomial = polynomial;
+            this.index = index;
+        }
+
+        public PolynomialFunction getPolynomial() {
+            return polynomial;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public double evaluate(double[] vars) {
+            return polynomial.evaluate(index < 0 ? 0.0 : vars[index]);
+        }
+
+        @Override
+        public Interval evaluate(Interval[] vars) {
+            return polynomial.evaluate(index < 0 ? Interval.point(0) : vars[index]);
+        }
+
+        @Override
+        public DoubleDouble evaluate(DoubleDouble[] vars) {
+            return polynomial.evaluate(index < 0 ? DoubleDouble.ZERO : vars[index]);
+        }
+
+        @Override
+        public Function compile() {
+            if (index < 0) {
+                double v = polynomial.evaluate(0.0);
+                return x -> v;
+            }
+            if (index != 0) {
+                throw new IllegalStateException("Mehrere Variablen können nicht übersetzt werden");
+            }
+            return polynomial;
+        }
+    }
+
+    /** Vorzeichenwechsel -arg. */
+    public static final class Negation extends FunctionNode {
+        private final FunctionNode argument;
+
+        public Negation(FunctionNode argument) {
+            this.argument = argument;
+        }
+
+        public FunctionNode getArgument() {
+            return argument;
+        }
+
+        @Override
+        public double evaluate(double[] vars) {
+            return -argument.evaluate(vars);
+        }
+
+        @Override
+        public Interval evaluate(Interval[] vars) {
+            return argument.evaluate(vars).negate();
+        }
+
+        @Override
+        public DoubleDouble evaluate(DoubleDouble[] vars) {
+            return argument.evaluate(vars).negate();
+        }
+
+        @Override
+        public Function compile() {
+            Function a = argument.compile();
+            return x -> -a.evaluate(x);
+        }
+    }
+
+    /** Binäre Operation mit einem der Operatoren +, -, *, /, ^. */
+    public static final class Binary extends FunctionNode {
+        private final char operator;
+        private final FunctionNode left;
+        private final FunctionNode right;
+
+        public Binary(char operator, FunctionNode left, FunctionNode right) {
+            if ("+-*/^".indexOf(operator) < 0) {
+                throw new IllegalArgumentException("Unbekannter Operator: " + operator);
+            }
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        public char getOperator() {
+            return operator;
+        }
+
+        public FunctionNode getLeft() {
+            return left;
+        }
+
+        public FunctionNode getRight() {
+            return right;
+        }
+
+        @Override
+        public double evaluate(double[] vars) {
+            double a = left.evaluate(vars);
+            double b = right.evaluate(vars);
+            return switch (operator) {
+                case '+' -> a + b;
+                case '-' -> a - b;
+                case '*' -> a * b;
+                case '/' -> a / b;
+                default -> Math.pow(a, b);
+            };
+        }
+
+        @Override
+        public Interval evaluate(Interval[] vars) {
+            Interval a = left.evaluate(vars);
+            Interval b = right.evaluate(vars);
+            return switch (operator) {
+                case '+' -> a.add(b);
+                case '-' -> a.sub(b);
+                case '*' -> a.mul(b);
+                case '/' -> a.div(b);
+                default -> a.pow(b);
+            };
+        }
+
+        @Override
+        public DoubleDouble evaluate(DoubleDouble[] vars) {
+            DoubleDouble a = left.evaluate(vars);
+            DoubleDouble b = right.evaluate(vars);
+            return switch (operator) {
+                case '+' -> a.add(b);
+                case '-' -> a.sub(b);
+                case '*' -> a.mul(b);
+                case '/' -> a.div(b);
+                default -> a.pow(b);
+            };
+        }
+
+        @Override
+        public Function compile() {
+            Function a = left.compile();
+            if (isConstant(right)) {
+                // häufiger Fall "Ausdruck op Zahl": rechte Seite als Konstante einsetzen
+                double c = right.evaluate(new double[1]);
+                return switch (operator) {
+                    case '+' -> x -> a.evaluate(x) + c;
+                    case '-' -> x -> a.evaluate(x) - c;
+                    case '*' -> x -> a.evaluate(x) * c;
+                    case '/' -> x -> a.evaluate(x) / c;
+                    default -> c == 2 ? x -> { double v = a.evaluate(x); return v * v; }
+                                      : x -> Math.pow(a.evaluate(x), c);
+                };
+            }
+            Function b = right.compile();
+            return switch (operator) {
+                case '+' -> x -> a.evaluate(x) + b.evaluate(x);
+                case '-' -> x -> a.evaluate(x) - b.evaluate(x);
+                case '*' -> x -> a.evaluate(x) * b.evaluate(x);
+                case '/' -> x -> a.evaluate(x) / b.evaluate(x);
+                default -> x -> Math.pow(a.evaluate(x), b.evaluate(x));
+            };
+        }
+    }
+
+    /** Funktionsaufruf wie sin(arg). */
+    public static final class Call extends FunctionNode {
+        private final UnaryFunction function;
+        private final FunctionNode argument;
+
+        public Call(UnaryFunction function, FunctionNode argument) {
+            this.function = function;
+            this.argument = argument;
+        }
+
+        public UnaryFunction getFunction() {
+            return function;
+        }
+
+        public FunctionNode getArgument() {
+            return argument;
+        }
+
+        @Override
+        public double evaluate(double[] vars) {
+            return function.apply(argument.evaluate(vars));
+        }
+
+        @Override
+        public Interval evaluate(Interval[] vars) {
+            return function.apply(argument.evaluate(vars));
+        }
+
+        @Override
+        public DoubleDouble evaluate(DoubleDouble[] vars) {
+            return function.apply(argument.evaluate(vars));
+        }
+
+        @Override
+        public Function compile() {
+            Function a = argument.compile();
+            return switch (function) {
+                case SIN -> x -> Math.sin(a.evaluate(x));
+                case COS -> x -> Math.cos(a.evaluate(x));
+                case TAN -> x -> Math.tan(a.evaluate(x));
+                case SQRT -> x -> Math.sqrt(a.evaluate(x));
+                case LN -> x -> Math.log(a.evaluate(x));
+                case LOG -> x -> Math.log10(a.evaluate(x));
+                default -> {
+                    UnaryFunction f = function;
+                    yield x -> f.apply(a.evaluate(x));
+                }
+            };
+        }
+    }
+
+    /**
+     * Freier Parameter (z.B. a in "a*sin(x)"), dessen aktueller Wert bei jeder Auswertung
+     * aus dem {@link ParameterSet} gelesen wird.
+     */
+    public static final class Parameter extends FunctionNode {
+        private final ParameterSet parameters;
+        private final int slot;
+
+        public Parameter(ParameterSet parameters, int slot) {
+            this.parameters = parameters;
+            this.slot = slot;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        public String getName() {
+            return parameters.getName(slot);
+        }
+
+        @Override
+        public double evaluate(double[] vars) {
+            return parameters.get(slot);
+        }
+
+        @Override
+        public Interval evaluate(Interval[] vars) {
+            return Interval.point(parameters.get(slot));
+        }
+
+        @Override
+        public DoubleDouble evaluate(DoubleDouble[] vars) {
+            return DoubleDouble.valueOf(parameters.get(slot));
+        }
+
+        @Override
+        public Function compile() {
+            ParameterSet p = parameters;
+            int s = slot;
+            return x -> p.get(s);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package Taschenrechner.model;
 
+/**
+ * Gauß-Algorithmus mit partieller Pivotisierung für ein Gleichungssystem in augmentierter
+ * Form (n × (n+1)). Die augmentierte Matrix liegt zeilenweise in einem einzigen Array
+ * (Zeilenlänge n + 1), sodass die Elimination fortlaufend über den Speicher läuft.
+ */
 public class GaussianSolver {
     private static final double EPSILON = 1e-10;
     private final int n;              // Anzahl der Gleichungen
-    private final double[][] aug;     // Augmentierte Matrix (n x (n+1))
+    private final double[] aug;       // Augmentierte Matrix (n x (n+1)), zeilenweise
 
     /**
      * Konstruktor: erwartet eine augmentierte Matrix m mit n Zeilen und n+1 Spalten.
@@ -27,12 +32,30 @@ public class GaussianSolver {
             }
         }
         // Kopiere Matrix, um das Original nicht zu verändern
-        aug = new double[n][n + 1];
+        aug = new double[n * (n + 1)];
         for (int i = 0; i < n; i++) {
-            System.arraycopy(m[i], 0, aug[i], 0, n + 1);
+            System.arraycopy(m[i], 0, aug, i * (n + 1), n + 1);
         }
     }
 
+    /**
+     * Wie {@link #GaussianSolver(double[][])}, für eine augmentierte {@link Matrix}.
+     * @throws IllegalArgumentException falls m keine n x (n+1)-Matrix ist
+     */
+    public GaussianSolver(Matrix m) {
+        if (m == null) {
+            throw new IllegalArgumentException("Matrix darf nicht null sein");
+        }
+        n = m.getRows();
+        if (n == 0) {
+            throw new IllegalArgumentException("Matrix darf nicht leer sein");
+        }
+        if (m.getCols() != n + 1) {
+            throw new IllegalArgumentException("Die augmentierte Matrix muss Größe n x (n+1) haben");
+        }
+        aug = m.toFlatArray();
+    }
+
     /**
      * Liefert die Zeilen-Stufen-Form (Row Echelon Form) der augmentierten Matrix.
      * Das Original bleibt unverändert; zurückgegeben wird eine neue Matrix in Stufenform.
@@ -41,11 +64,13 @@ public class GaussianSolver {
      * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
      */
     public double[][] toRowEchelon() {
+        return Matrix.wrap(n, n + 1, rowEchelonFlat()).toArray();
+    }
+
+    /** Zeilen-Stufen-Form als neues, zeilenweise belegtes Array (für {@link Matrix#rowEchelonForm()}). */
+    double[] rowEchelonFlat() {
         // Kopie erstellen
-        double[][] mat = new double[n][n + 1];
-        for (int i = 0; i < n; i++) {
-            System.arraycopy(aug[i], 0, mat[i], 0, n + 1);
-        }
+        double[] mat = aug.clone();
         // Vorwärtselimination
         forwardElimination(mat);
         return mat;
@@ -53,68 +78,67 @@ public class GaussianSolver {
 
     /**
      * Löst das Gleichungssystem Ax = b mittels Gauß-Algorithmus mit partieller Pivotisierung.
-     * Dabei wird zuerst Vorwärtselimination durchgeführt, anschließend Rückwärtseinsetzen.
+     * Gerechnet wird über {@link Matrix#solve(double[])}: bei symmetrisch positiv definitem A
+     * mit Cholesky, sonst mit der blockweisen {@link LUDecomposition} von A (Panel-Zerlegung
+     * plus paralleles Matrixprodukt für die Restmatrix).
      *
      * @return double[] x mit Länge n, die eindeutige Lösung des Systems
      * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
      */
     public double[] solve() {
-        // Kopie erstellen
-        double[][] mat = new double[n][n + 1];
+        int width = n + 1;
+        double[] b = new double[n];
         for (int i = 0; i < n; i++) {
-            System.arraycopy(aug[i], 0, mat[i], 0, n + 1);
-        }
-        // Vorwärtselimination
-        forwardElimination(mat);
-
-        // Rückwärtseinsetzen
-        double[] x = new double[n];
-        for (int i = n - 1; i >= 0; i--) {
-            double sum = 0.0;
-            for (int j = i + 1; j < n; j++) {
-                sum += mat[i][j] * x[j];
-            }
-            if (Math.abs(mat[i][i]) <= EPSILON) {
-                throw new ArithmeticException("Matrix ist singulär oder nahe singulär");
-            }
-            x[i] = (mat[i][n] - sum) / mat[i][i];
+            b[i] = aug[i * width + n];
         }
-        return x;
+        // A als Ausschnitt der augmentierten Matrix; die Zerlegungen kopieren ihn selbst
+        Matrix a = new Matrix(n, n, aug, 0, width);
+        return a.solve(b);
     }
 
     /**
      * Führt Vorwärtselimination auf der augmentierten Matrix mat durch.
      * Am Ende ist mat in Zeilen-Stufen-Form (Row Echelon Form).
      *
-     * @param mat augmentierte Matrix (n x (n+1)), wird in-place umgeformt
+     * @param mat augmentierte Matrix (n x (n+1), zeilenweise), wird in-place umgeformt
      * @throws ArithmeticException falls ein Pivot-Element ≈ 0 ist
      */
-    private void forwardElimination(double[][] mat) {
+    private void forwardElimination(double[] mat) {
+        int width = n + 1;
+        double[] tempRow = new double[width];
         for (int p = 0; p < n; p++) {
+            int pRow = p * width;
             // Pivot-Zeile suchen (maximales abs. Element in Spalte p ab Zeile p)
             int max = p;
             for (int i = p + 1; i < n; i++) {
-                if (Math.abs(mat[i][p]) > Math.abs(mat[max][p])) {
+                if (Math.abs(mat[i * width + p]) > Math.abs(mat[max * width + p])) {
                     max = i;
                 }
             }
-            // Zeilen tauschen
-            double[] tempRow = mat[p];
-            mat[p] = mat[max];
-            mat[max] = tempRow;
+            // Zeilen tauschen (nur der Teil ab Spalte p ist noch nicht null)
+            if (max != p) {
+                int maxRow = max * width;
+                int len = width - p;
+                System.arraycopy(mat, pRow + p, tempRow, 0, len);
+                System.arraycopy(mat, maxRow + p, mat, pRow + p, len);
+                System.arraycopy(tempRow, 0, mat, maxRow + p, len);
+            }
 
             // Pivot-Element prüfen
-            if (Math.abs(mat[p][p]) <= EPSILON) {
+            double pivot = mat[pRow + p];
+            if (Math.abs(pivot) <= EPSILON) {
                 throw new ArithmeticException("Matrix ist singulär oder nahe singulär");
             }
 
             // Elimination für Zeilen unterhalb p
             for (int i = p + 1; i < n; i++) {
-                double alpha = mat[i][p] / mat[p][p];
-                mat[i][p] = 0.0; // sicherstellen, dass 0 wird
+                int iRow = i * width;
+                double alpha = mat[iRow + p] / pivot;
+                mat[iRow + p] = 0.0; // sicherstellen, dass 0 wird
+                if (alpha == 0.0) continue;
                 // restliche Spalten (p+1 ... n) und RHS (Spalte n) anpassen
                 for (int j = p + 1; j <= n; j++) {
-                    mat[i][j] -= alpha * mat[p][j];
+                    mat[iRow + j] -= alpha * mat[pRow + j];
                 }
             }
         }
@@ -0,0 +1,99 @@
+package Taschenrechner.model;
+
+import java.awt.Color;
+
+/**
+ * Eine einzelne Kurve im Graphen: Funktion, Ableitung, Farbe, Sichtbarkeit und die
+ * zwischengespeicherten Abtastwerte (Funktion und Ableitung getrennt).
+ */
+public class GraphFunction extends PlotLayer {
+    private final Function function;
+    private final Function derivative;
+    private final Color derivativeColor;
+
+    private final SampleCache functionSamples = new SampleCache();
+    private final SampleCache derivativeSamples = new SampleCache();
+
+    // Intervall-Darstellung für den zuletzt angefragten Ausschnitt
+    private double iXMin, iXMax, iYMin, iYMax;
+    private int iWidth = -1, iHeight = -1;
+    private int[] intervalSpans;
+
+    public GraphFunction(String label, Function function, Color color, Color derivativeColor) {
+        super(label, color);
+        this.function = function;
+        this.derivativeColor = derivativeColor;
+
+        if (function instanceof PolynomialFunction) {
+            // exakte polynomiale Ableitung
+            derivative = ((PolynomialFunction) function).derivative();
+        } else {
+            // numerische Ableitung für alle anderen (z.B. Trig-Lambdas, Kombinationen, …)
+            derivative = (double x) -> {
+                double h = 1e-5; // oder 1e-6, je nach gewünschter Genauigkeit
+                return (function.evaluate(x + h) - function.evaluate(x - h)) / (2 * h);
+            };
+        }
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    public Function getDerivative() {
+        return derivative;
+    }
+
+    public Color getDerivativeColor() {
+        return derivativeColor;
+    }
+
+    SampleCache getFunctionSamples() {
+        return functionSamples;
+    }
+
+    SampleCache getDerivativeSamples() {
+        return derivativeSamples;
+    }
+
+    /** Zuletzt abgetastete Funktionswerte (gültig nach {@link GraphModel#sample}). */
+    public double[] getSampledValues() {
+        return functionSamples.values();
+    }
+
+    /** Verwirft alle zwischengespeicherten Werte, z.B. nach einer Parameteränderung. */
+    public synchronized void invalidate() {
+        functionSamples.invalidate();
+        derivativeSamples.invalidate();
+        intervalSpans = null;
+    }
+
+    /** true, wenn die Funktion in Intervallarithmetik ausgewertet werden kann. */
+    public boolean supportsIntervals() {
+        return function instanceof IntervalFunction;
+    }
+
+    /**
+     * Garantierte Pixelbereiche des Graphen (siehe {@link IntervalPlotter#plot}), für den
+     * zuletzt angefragten Ausschnitt zwischengespeichert.
+     * @throws IllegalStateException wenn die Funktion keine Intervallauswertung unterstützt
+     */
+    public synchronized int[] getIntervalSpans(double xMin, double xMax, double yMin, double yMax,
+                                               int width, int height) {
+        if (!(function instanceof IntervalFunction f)) {
+            throw new IllegalStateException("Funktion unterstützt keine Intervallauswertung");
+        }
+        if (intervalSpans == null || xMin != iXMin || xMax != iXMax || yMin != iYMin || yMax != iYMax
+                || width != iWidth || height != iHeight) {
+            intervalSpans = IntervalPlotter.plot(f, xMin, xMax, yMin, yMax, width, height);
+            iXMin = xMin; iXMax = xMax; iYMin = yMin; iYMax = yMax;
+            iWidth = width; iHeight = height;
+        }
+        return intervalSpans;
+    }
+
+    /** Zuletzt abgetastete Werte der Ableitung (gültig nach {@link GraphModel#sample} mit Ableitungen). */
+    public double[] getSampledDerivativeValues() {
+        return derivativeSamples.values();
+    }
+}
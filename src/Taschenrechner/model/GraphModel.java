@@ -1,39 +1,320 @@
 package Taschenrechner.model;
 
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Modell für den Graphen im Taschenrechner.
- * Stellt die Funktion, ihre Ableitung und den Wertebereich dar.
+ * Stellt die Funktionen (jeweils mit Ableitung, Farbe und Sichtbarkeit), implizite Kurven
+ * f(x, y) = 0, parametrische und Polarkurven, Messreihen ({@link DataSeries}) sowie den
+ * Wertebereich dar.
+ * Alle Kurven werden auf einem gemeinsamen x-Gitter in einem einzigen Durchlauf abgetastet;
+ * jede Kurve behält ihre Werte, sodass eine neu hinzugefügte Kurve die anderen nicht neu berechnet.
+ * Freie Parameter der Kurven (siehe {@link ParameterSet}) gehören zum Modell; nach einer
+ * Wertänderung verwirft {@link #parametersChanged()} die zwischengespeicherten Werte.
  */
 public class GraphModel {
-    private final Function function;
-    private final Function derivative;
+    // Farbpaare (Funktion, Ableitung) in der Reihenfolge, in der Kurven hinzugefügt werden
+    private static final Color[][] PALETTE = {
+            {new Color(68, 175, 240), new Color(240, 65, 65)},
+            {new Color(120, 220, 110), new Color(60, 150, 60)},
+            {new Color(250, 190, 60), new Color(200, 120, 30)},
+            {new Color(200, 120, 240), new Color(140, 70, 190)},
+            {new Color(80, 220, 210), new Color(40, 150, 145)},
+            {new Color(245, 130, 180), new Color(190, 70, 120)},
+            {new Color(230, 230, 120), new Color(170, 170, 60)},
+            {new Color(160, 160, 250), new Color(100, 100, 200)},
+    };
+
+    private final List<GraphFunction> functions = new ArrayList<>();
+    private final List<ImplicitCurve> implicitCurves = new ArrayList<>();
+    private final List<ParametricCurve> parametricCurves = new ArrayList<>();
+    private final List<DataSeries> dataSeries = new ArrayList<>();
+    private final List<IntegralArea> integralAreas = new ArrayList<>();
+    private final ParameterSet parameters = new ParameterSet();
+    private int colorIndex = 0;
     private boolean showDerivative = false; // standardmäßig nicht anzeigen
 
+    // Bezugspunkt der zuletzt abgetasteten Werte (null = absolute Koordinaten)
+    private DoubleDouble sampleOriginX, sampleOriginY;
+
     // Wertebereich (default)
     private double xMin = -10, xMax = 10;
     private double yMin = -10, yMax = 10;
 
+    /** Leerer Graph ohne Kurven. */
+    public GraphModel() {
+    }
+
     public GraphModel(Function function) {
-        this.function = function;
-
-        if (function instanceof PolynomialFunction) {
-            // exakte polynomiale Ableitung
-            derivative = ((PolynomialFunction) function).derivative();
-        } else {
-            // numerische Ableitung für alle anderen (z.B. Trig-Lambdas, Kombinationen, …)
-            derivative = (double x) -> {
-                double h = 1e-5; // oder 1e-6, je nach gewünschter Genauigkeit
-                return (function.evaluate(x + h) - function.evaluate(x - h)) / (2 * h);
-            };
+        this(function, "f(x)");
+    }
+
+    public GraphModel(Function function, String label) {
+        addFunction(label, function);
+    }
+
+    /**
+     * Fügt eine weitere Kurve hinzu; die Farbe wird aus der Palette vergeben.
+     * @return die neue Kurve
+     */
+    public GraphFunction addFunction(String label, Function function) {
+        Color[] colors = nextColors();
+        GraphFunction gf = new GraphFunction(label, function, colors[0], colors[1]);
+        functions.add(gf);
+        return gf;
+    }
+
+    /**
+     * Fügt eine implizite Kurve f(x, y) = 0 hinzu.
+     * @return die neue Kurve
+     */
+    public ImplicitCurve addImplicitCurve(String label, Function2D function) {
+        Color[] colors = nextColors();
+        ImplicitCurve curve = new ImplicitCurve(label, function, colors[0]);
+        implicitCurves.add(curve);
+        return curve;
+    }
+
+    /**
+     * Fügt eine parametrische Kurve (x(t), y(t)) mit t in [tMin, tMax] hinzu.
+     * @return die neue Kurve
+     */
+    public ParametricCurve addParametricCurve(String label, Function x, Function y, double tMin, double tMax) {
+        Color[] colors = nextColors();
+        ParametricCurve curve = ParametricCurve.parametric(label, x, y, tMin, tMax, colors[0]);
+        parametricCurves.add(curve);
+        return curve;
+    }
+
+    /**
+     * Fügt eine Polarkurve r(t) mit Winkel t in [tMin, tMax] hinzu.
+     * @return die neue Kurve
+     */
+    public ParametricCurve addPolarCurve(String label, Function r, double tMin, double tMax) {
+        Color[] colors = nextColors();
+        ParametricCurve curve = ParametricCurve.polar(label, r, tMin, tMax, colors[0]);
+        parametricCurves.add(curve);
+        return curve;
+    }
+
+    /**
+     * Fügt eine Messreihe aus den ersten {@code size} Punkten von x und y hinzu
+     * (die Arrays werden übernommen, siehe {@link DataSeries}).
+     * @return die neue Messreihe
+     */
+    public DataSeries addDataSeries(String label, double[] x, double[] y, int size) {
+        return addDataSeries(new DataSeries(label, x, y, size, nextColor()));
+    }
+
+    /**
+     * Fügt eine bereits aufgebaute Messreihe hinzu, z.B. wenn Sortierung und Pyramide im
+     * Hintergrund erstellt wurden (Farbe vorher über {@link #nextColor()} holen).
+     */
+    public DataSeries addDataSeries(DataSeries series) {
+        dataSeries.add(series);
+        return series;
+    }
+
+    /**
+     * Schattiert die Fläche unter dem Funktionsgraphen über [a, b] und berechnet ihr Integral.
+     * @return die neue Fläche
+     * @throws IllegalArgumentException bei NaN-Grenzen
+     */
+    public IntegralArea addIntegralArea(GraphFunction function, double a, double b) {
+        IntegralArea area = new IntegralArea(function, a, b);
+        area.getResult();
+        integralAreas.add(area);
+        return area;
+    }
+
+    /** Vergibt die nächste Farbe aus der Palette, z.B. für eine extern erzeugte Ebene. */
+    public Color nextColor() {
+        return nextColors()[0];
+    }
+
+    private Color[] nextColors() {
+        return PALETTE[colorIndex++ % PALETTE.length];
+    }
+
+    public void removeFunction(GraphFunction function) {
+        removeLayer(function);
+    }
+
+    /** Entfernt eine beliebige Ebene; mit einem Funktionsgraphen auch dessen Flächen. */
+    public void removeLayer(PlotLayer layer) {
+        functions.remove(layer);
+        integralAreas.remove(layer);
+        integralAreas.removeIf(area -> area.getFunction() == layer);
+        implicitCurves.remove(layer);
+        parametricCurves.remove(layer);
+        dataSeries.remove(layer);
+    }
+
+    /** Alle Funktionsgraphen y = f(x) (nicht veränderbare Sicht). */
+    public List<GraphFunction> getFunctions() {
+        return Collections.unmodifiableList(functions);
+    }
+
+    /** Alle impliziten Kurven (nicht veränderbare Sicht). */
+    public List<ImplicitCurve> getImplicitCurves() {
+        return Collections.unmodifiableList(implicitCurves);
+    }
+
+    /** Alle parametrischen und Polarkurven (nicht veränderbare Sicht). */
+    public List<ParametricCurve> getParametricCurves() {
+        return Collections.unmodifiableList(parametricCurves);
+    }
+
+    /** Alle Messreihen (nicht veränderbare Sicht). */
+    public List<DataSeries> getDataSeries() {
+        return Collections.unmodifiableList(dataSeries);
+    }
+
+    /** Alle schattierten Integralflächen (nicht veränderbare Sicht). */
+    public List<IntegralArea> getIntegralAreas() {
+        return Collections.unmodifiableList(integralAreas);
+    }
+
+    /** Alle Ebenen in Anzeigereihenfolge, z.B. für die Legende. */
+    public List<PlotLayer> getLayers() {
+        List<PlotLayer> layers = new ArrayList<>(functions);
+        layers.addAll(implicitCurves);
+        layers.addAll(parametricCurves);
+        layers.addAll(dataSeries);
+        layers.addAll(integralAreas);
+        return layers;
+    }
+
+    /** Freie Parameter, an die beim Parsen der Kurven dieses Modells gebunden wird. */
+    public ParameterSet getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Muss nach einer Änderung von Parameterwerten aufgerufen werden: verwirft alle
+     * zwischengespeicherten Abtastwerte und Geometrien. Die Funktionen selbst bleiben
+     * unverändert und werden beim nächsten Zeichnen mit den neuen Werten ausgewertet.
+     */
+    public void parametersChanged() {
+        for (GraphFunction gf : functions) {
+            gf.invalidate();
+        }
+        for (ImplicitCurve curve : implicitCurves) {
+            curve.invalidate();
+        }
+        for (ParametricCurve curve : parametricCurves) {
+            curve.invalidate();
+        }
+        for (IntegralArea area : integralAreas) {
+            area.invalidate();
         }
     }
 
+    /** Die erste Kurve (für Aufrufer, die nur eine Funktion kennen). */
     public Function getFunction() {
-        return function;
+        return functions.isEmpty() ? null : functions.get(0).getFunction();
     }
 
     public Function getDerivative() {
-        return derivative;
+        return functions.isEmpty() ? null : functions.get(0).getDerivative();
+    }
+
+    /**
+     * Tastet alle sichtbaren Kurven (und auf Wunsch ihre Ableitungen) auf dem gemeinsamen
+     * Gitter ab. Die x-Werte werden einmal durchlaufen und an jeder Stelle alle Funktionen
+     * ausgewertet, deren Cache dort keinen gültigen Wert hat. Danach liefern
+     * {@link GraphFunction#getSampledValues()} bzw. {@link GraphFunction#getSampledDerivativeValues()}
+     * die Werte passend zu {@code grid}.
+     */
+    public void sample(SampleGrid grid, boolean withDerivatives) {
+        sample(grid, withDerivatives, null, null);
+    }
+
+    /**
+     * Wie {@link #sample(SampleGrid, boolean)}, aber in Koordinaten relativ zum Bezugspunkt
+     * (originX, originY): Die Gitterwerte sind Abstände zu originX, die gelieferten Werte
+     * f(originX + x) - originY. Funktionen mit {@link DoubleDoubleFunction} werden dabei in
+     * DoubleDouble-Genauigkeit ausgewertet, sodass auch Ausschnitte weit unterhalb der
+     * double-Auflösung noch aufgelöst werden. Ändert sich der Bezugspunkt, werden alle
+     * zwischengespeicherten Werte verworfen.
+     *
+     * @param originX Bezugspunkt oder null für absolute Koordinaten (dann auch originY null)
+     */
+    public void sample(SampleGrid grid, boolean withDerivatives, DoubleDouble originX, DoubleDouble originY) {
+        if (!Objects.equals(originX, sampleOriginX) || !Objects.equals(originY, sampleOriginY)) {
+            for (GraphFunction gf : functions) {
+                gf.getFunctionSamples().invalidate();
+                gf.getDerivativeSamples().invalidate();
+            }
+            sampleOriginX = originX;
+            sampleOriginY = originY;
+        }
+        List<Function> pending = new ArrayList<>();
+        List<SampleCache> caches = new ArrayList<>();
+        for (GraphFunction gf : functions) {
+            if (!gf.isVisible()) continue;
+            pending.add(relative(gf.getFunction(), originX, originY));
+            caches.add(gf.getFunctionSamples());
+            if (withDerivatives) {
+                pending.add(relative(gf.getDerivative(), originX, originY));
+                caches.add(gf.getDerivativeSamples());
+            }
+        }
+
+        int jobs = pending.size();
+        Function[] fs = new Function[jobs];
+        double[][] out = new double[jobs][];
+        int[][] stale = new int[jobs][];
+        int[] cursor = new int[jobs]; // aktueller Bereich je Funktion
+        int count = 0;
+        for (int j = 0; j < jobs; j++) {
+            int[] ranges = caches.get(j).prepare(grid);
+            if (ranges.length == 0) continue;
+            fs[count] = pending.get(j);
+            out[count] = caches.get(j).values();
+            stale[count] = ranges;
+            caches.get(j).countEvaluations(totalLength(ranges));
+            count++;
+        }
+        if (count == 0) return;
+
+        double[] x = grid.xs();
+        for (int i = 0; i < x.length; i++) {
+            double xi = x[i];
+            for (int j = 0; j < count; j++) {
+                int[] r = stale[j];
+                int c = cursor[j];
+                while (c < r.length && i >= r[c + 1]) c += 2;
+                cursor[j] = c;
+                if (c < r.length && i >= r[c]) {
+                    out[j][i] = fs[j].evaluate(xi);
+                }
+            }
+        }
+    }
+
+    /** f in Koordinaten relativ zum Bezugspunkt: x -> f(originX + x) - originY */
+    private static Function relative(Function f, DoubleDouble originX, DoubleDouble originY) {
+        if (originX == null) {
+            return f;
+        }
+        if (f instanceof DoubleDoubleFunction dd) {
+            return x -> dd.evaluate(originX.add(x)).sub(originY).doubleValue();
+        }
+        double ox = originX.doubleValue();
+        return x -> DoubleDouble.valueOf(f.evaluate(ox + x)).sub(originY).doubleValue();
+    }
+
+    private static int totalLength(int[] ranges) {
+        int sum = 0;
+        for (int r = 0; r < ranges.length; r += 2) {
+            sum += ranges[r + 1] - ranges[r];
+        }
+        return sum;
     }
 
     public boolean isShowDerivative() {
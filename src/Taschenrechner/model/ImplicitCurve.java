@@ -0,0 +1,25 @@
+package Taschenrechner.model;
+
+import java.awt.Color;
+
+/**
+ * Implizite Kurve f(x, y) = 0 im Graphen. Die Geometrie sind mit {@link MarchingSquares}
+ * berechnete Liniensegmente, je vier Werte (x1, y1, x2, y2) in Weltkoordinaten.
+ */
+public class ImplicitCurve extends ViewportLayer {
+    private final Function2D function;
+
+    public ImplicitCurve(String label, Function2D function, Color color) {
+        super(label, color);
+        this.function = function;
+    }
+
+    public Function2D getFunction() {
+        return function;
+    }
+
+    @Override
+    protected double[] compute(double xMin, double xMax, double yMin, double yMax, int width, int height) {
+        return MarchingSquares.contour(function, xMin, xMax, yMin, yMax, width, height);
+    }
+}
@@ -0,0 +1,51 @@
+package Taschenrechner.model;
+
+/**
+ * Fläche zwischen einem Funktionsgraphen und der x-Achse über [a, b], gezeichnet als
+ * halbtransparente Füllung in der Farbe der Kurve. Der Wert des Integrals wird mit dem
+ * {@link Integrator} berechnet und bis zur nächsten Parameteränderung zwischengespeichert.
+ */
+public class IntegralArea extends PlotLayer {
+    private final GraphFunction function;
+    private final double a, b;
+    private Integrator.Result result;
+
+    public IntegralArea(GraphFunction function, double a, double b) {
+        super("∫ " + function.getLabel() + " von " + format(a) + " bis " + format(b), function.getColor());
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+            throw new IllegalArgumentException("Integrationsgrenzen müssen Zahlen sein");
+        }
+        this.function = function;
+        this.a = a;
+        this.b = b;
+    }
+
+    public GraphFunction getFunction() {
+        return function;
+    }
+
+    public double getA() {
+        return a;
+    }
+
+    public double getB() {
+        return b;
+    }
+
+    /** Wert des Integrals (wird beim ersten Aufruf nach einer Änderung berechnet). */
+    public Integrator.Result getResult() {
+        if (result == null) {
+            result = Integrator.integrate(function.getFunction(), a, b);
+        }
+        return result;
+    }
+
+    /** Verwirft den gespeicherten Wert, z.B. nach einer Parameteränderung. */
+    public void invalidate() {
+        result = null;
+    }
+
+    private static String format(double v) {
+        return v == Math.rint(v) && Math.abs(v) < 1e15 ? String.valueOf((long) v) : String.valueOf(v);
+    }
+}
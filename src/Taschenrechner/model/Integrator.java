@@ -0,0 +1,298 @@
+package Taschenrechner.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Numerische Integration ∫ f(x) dx über [a, b].
+ * <p>
+ * Standardverfahren ist adaptive Gauss-Kronrod-Quadratur (7/15 Punkte) mit globaler
+ * Fehlerschätzung: Der Fehler eines Teilintervalls ist die Differenz zwischen Gauss- und
+ * Kronrod-Ergebnis, der Gesamtfehler die Summe. Solange er über der Toleranz liegt, werden in
+ * jeder Runde alle Teilintervalle halbiert, deren Fehler mehr als ihren Längenanteil an der
+ * Toleranz ausmacht. Die Halbierungen einer Runde sind unabhängig voneinander und laufen per
+ * Fork-Join parallel.
+ * <p>
+ * Für Singularitäten an den Intervallgrenzen (z.B. 1/√x oder ln x bei 0) und für unendliche
+ * Grenzen wird die Tanh-Sinh-Quadratur (doppelt exponentielle Substitution) verwendet: Sie
+ * wertet nie an den Grenzen selbst aus und konvergiert auch bei solchen Integranden sehr schnell.
+ * Sie wird auch versucht, wenn Gauss-Kronrod die Toleranz nicht erreicht; es gilt dann das
+ * Ergebnis mit der kleineren Fehlerschätzung.
+ */
+public final class Integrator {
+    /** Standardtoleranz (absolut und relativ) */
+    public static final double DEFAULT_TOLERANCE = 1e-12;
+
+    private static final int MAX_INTERVALS = 4096;
+    private static final int MAX_DE_LEVEL = 12;
+    // ab so vielen Halbierungen je Runde lohnt sich die Verteilung auf mehrere Threads
+    private static final int PARALLEL_THRESHOLD = 8;
+
+    // Gauss-Kronrod 7/15: Knoten (nichtnegativ, absteigend) und Gewichte
+    private static final double[] XGK = {
+            0.991455371120812639206854697526329,
+            0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926,
+            0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013,
+            0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245,
+            0.000000000000000000000000000000000
+    };
+    private static final double[] WGK = {
+            0.022935322010529224963732008058970,
+            0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518,
+            0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550,
+            0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649,
+            0.209482141084727828012999174891714
+    };
+    // Gauss-Gewichte zu den Knoten XGK[1], XGK[3], XGK[5], XGK[7]
+    private static final double[] WG = {
+            0.129484966168869693270611432679082,
+            0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975,
+            0.417959183673469387755102040816327
+    };
+
+    /**
+     * Ergebnis der Integration.
+     * @param error     geschätzter absoluter Fehler
+     * @param converged ob die Toleranz erreicht wurde
+     */
+    public record Result(double value, double error, long evaluations, boolean converged) {
+    }
+
+    private Integrator() {
+    }
+
+    public static Result integrate(Function f, double a, double b) {
+        return integrate(f, a, b, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Integriert f über [a, b] (Grenzen dürfen ±∞ sein) bis zum Fehler
+     * max(tolerance, tolerance · |Integral|).
+     * @throws IllegalArgumentException bei NaN-Grenzen oder nicht positiver Toleranz
+     */
+    public static Result integrate(Function f, double a, double b, double tolerance) {
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+            throw new IllegalArgumentException("Integrationsgrenzen müssen Zahlen sein");
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Toleranz muss positiv sein");
+        }
+        if (a == b) {
+            return new Result(0, 0, 0, true);
+        }
+        if (a > b) {
+            Result r = integrate(f, b, a, tolerance);
+            return new Result(-r.value(), r.error(), r.evaluations(), r.converged());
+        }
+        if (Double.isInfinite(a) || Double.isInfinite(b)
+                || !Double.isFinite(evaluate(f, a)) || !Double.isFinite(evaluate(f, b))) {
+            return tanhSinh(f, a, b, tolerance);
+        }
+        Result gk = gaussKronrod(f, a, b, tolerance);
+        if (gk.converged()) {
+            return gk;
+        }
+        Result de = tanhSinh(f, a, b, tolerance);
+        long evaluations = gk.evaluations() + de.evaluations();
+        Result best = de.error() < gk.error() ? de : gk;
+        return new Result(best.value(), best.error(), evaluations, best.converged());
+    }
+
+    /** Teilintervall mit Kronrod-Ergebnis und Fehlerschätzung */
+    private record Segment(double a, double b, double value, double error) {
+    }
+
+    /** Adaptive Gauss-Kronrod-Quadratur mit paralleler Verfeinerung. */
+    public static Result gaussKronrod(Function f, double a, double b, double tolerance) {
+        List<Segment> segments = new ArrayList<>();
+        segments.add(gk15(f, a, b));
+        long evaluations = 15;
+        while (true) {
+            double value = 0, error = 0;
+            for (Segment s : segments) {
+                value += s.value();
+                error += s.error();
+            }
+            double target = Math.max(tolerance, tolerance * Math.abs(value));
+            if (error <= target) {
+                return new Result(value, error, evaluations, true);
+            }
+            // alle Teilintervalle verfeinern, die mehr als ihren Anteil an der Toleranz verbrauchen
+            List<Segment> keep = new ArrayList<>(), split = new ArrayList<>();
+            double perLength = target / (b - a);
+            for (Segment s : segments) {
+                boolean divisible = 0.5 * (s.a() + s.b()) > s.a() && 0.5 * (s.a() + s.b()) < s.b();
+                if (s.error() > perLength * (s.b() - s.a()) && divisible) split.add(s);
+                else keep.add(s);
+            }
+            if (split.isEmpty() || segments.size() + split.size() > MAX_INTERVALS) {
+                return new Result(value, error, evaluations, false);
+            }
+            Segment[] halves = new Segment[2 * split.size()];
+            RefineTask task = new RefineTask(f, split, halves, 0, split.size());
+            if (split.size() >= PARALLEL_THRESHOLD) {
+                ForkJoinPool.commonPool().invoke(task);
+            } else {
+                task.compute();
+            }
+            evaluations += 15L * halves.length;
+            keep.addAll(List.of(halves));
+            segments = keep;
+        }
+    }
+
+    /** Halbiert die Segmente [from, to) und bewertet beide Hälften neu. */
+    private static final class RefineTask extends RecursiveAction {
+        private final Function f;
+        private final List<Segment> split;
+        private final Segment[] out;
+        private final int from, to;
+
+        RefineTask(Function f, List<Segment> split, Segment[] out, int from, int to) {
+            this.f = f;
+            this.split = split;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD / 2) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RefineTask(f, split, out, from, mid), new RefineTask(f, split, out, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                Segment s = split.get(i);
+                double m = 0.5 * (s.a() + s.b());
+                out[2 * i] = gk15(f, s.a(), m);
+                out[2 * i + 1] = gk15(f, m, s.b());
+            }
+        }
+    }
+
+    /** Gauss-Kronrod 7/15 auf [a, b]; nicht endliche Werte ergeben einen unendlichen Fehler. */
+    private static Segment gk15(Function f, double a, double b) {
+        double center = 0.5 * (a + b);
+        double half = 0.5 * (b - a);
+        double fc = evaluate(f, center);
+        double kronrod = fc * WGK[7];
+        double gauss = fc * WG[3];
+        for (int j = 0; j < 7; j++) {
+            double dx = half * XGK[j];
+            double sum = evaluate(f, center - dx) + evaluate(f, center + dx);
+            kronrod += WGK[j] * sum;
+            if ((j & 1) == 1) {
+                gauss += WG[j / 2] * sum;
+            }
+        }
+        double value = kronrod * half;
+        double error = Math.abs((kronrod - gauss) * half);
+        if (!Double.isFinite(value) || !Double.isFinite(error)) {
+            return new Segment(a, b, Double.isFinite(value) ? value : 0, Double.POSITIVE_INFINITY);
+        }
+        // Rundungsfehler der Summation als Untergrenze der Fehlerschätzung
+        error = Math.max(error, 50 * Math.ulp(Math.abs(value)));
+        return new Segment(a, b, value, error);
+    }
+
+    /**
+     * Tanh-Sinh-Quadratur: x = Mitte + Halbbreite · tanh(π/2 · sinh t), mit halbierter
+     * Schrittweite je Stufe. Die Abstände zu den Grenzen werden direkt berechnet, damit Knoten
+     * nahe einer Singularität nicht auf die Grenze gerundet werden. Unendliche Grenzen werden
+     * vorher auf ein endliches Intervall transformiert.
+     */
+    public static Result tanhSinh(Function f, double a, double b, double tolerance) {
+        if (Double.isInfinite(a) && Double.isInfinite(b)) {
+            // x = t / (1 - t²), t in (-1, 1)
+            Function g = t -> {
+                double d = 1 - t * t;
+                return f.evaluate(t / d) * (1 + t * t) / (d * d);
+            };
+            return tanhSinh(g, -1, 1, tolerance);
+        }
+        if (Double.isInfinite(b)) {
+            // x = a + t / (1 - t), t in [0, 1)
+            Function g = t -> {
+                double d = 1 - t;
+                return f.evaluate(a + t / d) / (d * d);
+            };
+            return tanhSinh(g, 0, 1, tolerance);
+        }
+        if (Double.isInfinite(a)) {
+            // x = b - t / (1 - t), t in [0, 1)
+            Function g = t -> {
+                double d = 1 - t;
+                return f.evaluate(b - t / d) / (d * d);
+            };
+            return tanhSinh(g, 0, 1, tolerance);
+        }
+
+        double center = 0.5 * (a + b), half = 0.5 * (b - a);
+        double h = 1.0;
+        double sum = evaluate(f, center) * Math.PI / 2; // Knoten t = 0
+        long[] evaluations = {1};
+        sum += deTerms(f, a, b, half, h, 1, 1, evaluations);
+        double previous = sum * h * half;
+        double error = Double.POSITIVE_INFINITY;
+        for (int level = 1; level <= MAX_DE_LEVEL; level++) {
+            h /= 2;
+            // nur die neuen (ungeraden) Knoten auswerten
+            sum += deTerms(f, a, b, half, h, 1, 2, evaluations);
+            double value = sum * h * half;
+            error = Math.abs(value - previous);
+            if (!Double.isFinite(value)) {
+                return new Result(previous, Double.POSITIVE_INFINITY, evaluations[0], false);
+            }
+            if (level >= 3 && error <= Math.max(tolerance, tolerance * Math.abs(value))) {
+                return new Result(value, error, evaluations[0], true);
+            }
+            previous = value;
+        }
+        return new Result(previous, error, evaluations[0], false);
+    }
+
+    /**
+     * Summe der Gewichte · f über die Knoten t = k · h (k = first, first + step, …) in beide
+     * Richtungen, bis die Beiträge vernachlässigbar werden. Zählt die Auswertungen in count[0].
+     */
+    private static double deTerms(Function f, double a, double b, double half, double h,
+                                  int first, int step, long[] count) {
+        double sum = 0;
+        for (int k = first; ; k += step) {
+            double t = k * h;
+            double u = Math.PI / 2 * Math.sinh(t);
+            double cosh = Math.cosh(u);
+            double weight = Math.PI / 2 * Math.cosh(t) / (cosh * cosh);
+            // Abstand zur Grenze: half · (1 - tanh u) = half · 2 / (e^{2u} + 1)
+            double distance = half * 2 / (Math.exp(2 * u) + 1);
+            if (weight == 0 || distance == 0) break;
+            double left = evaluate(f, a + distance);
+            double right = evaluate(f, b - distance);
+            count[0] += 2;
+            double term = weight * ((Double.isFinite(left) ? left : 0) + (Double.isFinite(right) ? right : 0));
+            sum += term;
+            if (t > 1 && Math.abs(term) <= 1e-18 * Math.abs(sum)) break;
+            if (t > 6.5) break;
+        }
+        return sum;
+    }
+
+    private static double evaluate(Function f, double x) {
+        try {
+            return f.evaluate(x);
+        } catch (ArithmeticException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package Taschenrechner.model;
+
+/**
+ * Abgeschlossenes Intervall [lo, hi] über den erweiterten reellen Zahlen für die
+ * Intervallarithmetik. Alle Operationen runden nach außen (um mindestens eine Stelle der
+ * letzten Ziffer), sodass das Ergebnis jeden Funktionswert für Argumente aus den
+ * Eingangsintervallen sicher einschließt.
+ * <p>
+ * Zusätzlich wird vermerkt, ob die Funktion auf dem gesamten Argumentbereich definiert und
+ * stetig ist. Nur dann darf z.B. per Zwischenwertsatz auf getroffene Werte geschlossen werden.
+ * Ein leeres Intervall ({@link #EMPTY}) steht für "nirgends definiert".
+ */
+public final class Interval {
+    public static final Interval EMPTY = new Interval(Double.NaN, Double.NaN, false);
+    /** Ganze Zahlengerade mit möglicher Unstetigkeit (z.B. Division durch ein Intervall um 0) */
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, false);
+
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final double LOG2 = Math.log(2);
+
+    private final double lo;
+    private final double hi;
+    private final boolean continuous;
+
+    public Interval(double lo, double hi) {
+        this(lo, hi, true);
+    }
+
+    public Interval(double lo, double hi, boolean continuous) {
+        if (lo > hi) {
+            throw new IllegalArgumentException("Ungültiges Intervall: [" + lo + ", " + hi + "]");
+        }
+        this.lo = lo;
+        this.hi = hi;
+        this.continuous = continuous;
+    }
+
+    /** Punktintervall [v, v] */
+    public static Interval point(double v) {
+        return Double.isNaN(v) ? EMPTY : new Interval(v, v, true);
+    }
+
+    public double lo() {
+        return lo;
+    }
+
+    public double hi() {
+        return hi;
+    }
+
+    public boolean isEmpty() {
+        return Double.isNaN(lo);
+    }
+
+    /** true, wenn die Funktion auf dem ganzen Argumentbereich definiert und stetig ist. */
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    public boolean contains(double v) {
+        return lo <= v && v <= hi;
+    }
+
+    /** Dasselbe Intervall, aber als unstetig/teilweise undefiniert markiert. */
+    public Interval discontinuous() {
+        return continuous ? new Interval(lo, hi, false) : this;
+    }
+
+    // --- Grundrechenarten ----------------------------------------------------------------
+
+    public Interval negate() {
+        return isEmpty() ? EMPTY : new Interval(-hi, -lo, continuous);
+    }
+
+    public Interval add(Interval o) {
+        if (isEmpty() || o.isEmpty()) return EMPTY;
+        return outward(lo + o.lo, hi + o.hi, continuous && o.continuous);
+    }
+
+    public Interval sub(Interval o) {
+        if (isEmpty() || o.isEmpty()) return EMPTY;
+        return outward(lo - o.hi, hi - o.lo, continuous && o.continuous);
+    }
+
+    public Interval mul(Interval o) {
+        if (isEmpty() || o.isEmpty()) return EMPTY;
+        double a = mulBound(lo, o.lo), b = mulBound(lo, o.hi);
+        double c = mulBound(hi, o.lo), d = mulBound(hi, o.hi);
+        return outward(Math.min(Math.min(a, b), Math.min(c, d)),
+                Math.max(Math.max(a, b), Math.max(c, d)), continuous && o.continuous);
+    }
+
+    public Interval div(Interval o) {
+        if (isEmpty() || o.isEmpty()) return EMPTY;
+        if (o.lo > 0 || o.hi < 0) {
+            return mul(new Interval(Math.nextDown(1 / o.hi), Math.nextUp(1 / o.lo), o.continuous));
+        }
+        if (o.lo == 0 && o.hi == 0) {
+            return EMPTY;
+        }
+        // Nenner berührt 0 nur am Rand: einseitiger Pol, Kehrwert bleibt ein Intervall
+        if (o.lo == 0) {
+            return mul(new Interval(Math.nextDown(1 / o.hi), Double.POSITIVE_INFINITY)).discontinuous();
+        }
+        if (o.hi == 0) {
+            return mul(new Interval(Double.NEGATIVE_INFINITY, Math.nextUp(1 / o.lo))).discontinuous();
+        }
+        return ENTIRE;
+    }
+
+    /** this^o wie {@link Math#pow}: ganzzahlige Punkt-Exponenten exakt, sonst nur für Basis ≥ 0 */
+    public Interval pow(Interval o) {
+        if (isEmpty() || o.isEmpty()) return EMPTY;
+        if (o.lo == o.hi && o.lo == Math.rint(o.lo) && Math.abs(o.lo) <= Integer.MAX_VALUE) {
+            return integerPower((int) o.lo);
+        }
+        if (hi < 0) return EMPTY;
+        Interval base = lo < 0 ? new Interval(0, hi, false) : this;
+        // x^y ist für x ≥ 0 in jedem Argument monoton, die Extrema liegen also in den Ecken
+        double a = Math.pow(base.lo, o.lo), b = Math.pow(base.lo, o.hi);
+        double c = Math.pow(base.hi, o.lo), d = Math.pow(base.hi, o.hi);
+        boolean cont = base.continuous && o.continuous && !(base.lo == 0 && o.lo <= 0);
+        return outward(Math.min(Math.min(a, b), Math.min(c, d)),
+                Math.max(Math.max(a, b), Math.max(c, d)), cont);
+    }
+
+    /** this^n für ganzzahliges n, mit engem Einschluss für gerade Potenzen */
+    public Interval integerPower(int n) {
+        if (isEmpty()) return EMPTY;
+        if (n == 0) return new Interval(1, 1, continuous);
+        if (n < 0) return point(1).div(integerPower(-n));
+        double a = Math.pow(lo, n), b = Math.pow(hi, n);
+        if ((n & 1) == 1) {
+            return outward(a, b, continuous);
+        }
+        if (lo >= 0) return outward(a, b, continuous);
+        if (hi <= 0) return outward(b, a, continuous);
+        return outward(0, Math.max(a, b), continuous);
+    }
+
+    // --- elementare Funktionen -----------------------------------------------------------
+
+    public Interval sqrt() {
+        if (isEmpty() || hi < 0) return EMPTY;
+        if (lo < 0) return outward(0, Math.sqrt(hi), false);
+        return outward(Math.sqrt(lo), Math.sqrt(hi), continuous);
+    }
+
+    /** Natürlicher Logarithmus */
+    public Interval ln() {
+        if (isEmpty() || hi <= 0) return EMPTY;
+        if (lo <= 0) return outward(Double.NEGATIVE_INFINITY, Math.log(hi), false);
+        return outward(Math.log(lo), Math.log(hi), continuous);
+    }
+
+    /** Logarithmus zur Basis 2 */
+    public Interval lg() {
+        Interval l = ln();
+        return l.isEmpty() ? EMPTY : outward(l.lo / LOG2, l.hi / LOG2, l.continuous);
+    }
+
+    /** Logarithmus zur Basis 10 */
+    public Interval log10() {
+        if (isEmpty() || hi <= 0) return EMPTY;
+        if (lo <= 0) return outward(Double.NEGATIVE_INFINITY, Math.log10(hi), false);
+        return outward(Math.log10(lo), Math.log10(hi), continuous);
+    }
+
+    public Interval sin() {
+        return periodic(Math.PI / 2, -Math.PI / 2, Math.sin(lo), Math.sin(hi));
+    }
+
+    public Interval cos() {
+        return periodic(0, Math.PI, Math.cos(lo), Math.cos(hi));
+    }
+
+    public Interval tan() {
+        if (isEmpty()) return EMPTY;
+        if (hi - lo >= Math.PI || !Double.isFinite(lo) || !Double.isFinite(hi)
+                || containsPhase(Math.PI / 2, Math.PI)) {
+            return ENTIRE;
+        }
+        return outward(Math.tan(lo), Math.tan(hi), continuous);
+    }
+
+    public Interval asin() {
+        if (isEmpty() || hi < -1 || lo > 1) return EMPTY;
+        boolean inside = lo >= -1 && hi <= 1;
+        return outward(Math.asin(Math.max(lo, -1)), Math.asin(Math.min(hi, 1)), continuous && inside);
+    }
+
+    public Interval acos() {
+        if (isEmpty() || hi < -1 || lo > 1) return EMPTY;
+        boolean inside = lo >= -1 && hi <= 1;
+        return outward(Math.acos(Math.min(hi, 1)), Math.acos(Math.max(lo, -1)), continuous && inside);
+    }
+
+    public Interval atan() {
+        if (isEmpty()) return EMPTY;
+        return outward(Math.atan(lo), Math.atan(hi), continuous);
+    }
+
+    /**
+     * Einschluss einer 2π-periodischen Funktion mit Werten in [-1, 1], deren Maximum bei
+     * maxPhase + 2kπ und Minimum bei minPhase + 2kπ liegt; fa, fb sind die Randwerte.
+     */
+    private Interval periodic(double maxPhase, double minPhase, double fa, double fb) {
+        if (isEmpty()) return EMPTY;
+        // Für sehr große Argumente ist die Periode nicht mehr auflösbar
+        if (hi - lo >= TWO_PI || Math.abs(lo) > 1e15 || Math.abs(hi) > 1e15) {
+            return new Interval(-1, 1, continuous);
+        }
+        double rLo = containsPhase(minPhase, TWO_PI) ? -1 : Math.max(-1, Math.nextDown(Math.min(fa, fb)));
+        double rHi = containsPhase(maxPhase, TWO_PI) ? 1 : Math.min(1, Math.nextUp(Math.max(fa, fb)));
+        return new Interval(rLo, rHi, continuous);
+    }
+
+    /**
+     * Prüft (konservativ), ob [lo, hi] einen Punkt phase + k·period enthält. Im Zweifel
+     * wird true geliefert, was den Einschluss nur vergrößert.
+     */
+    private boolean containsPhase(double phase, double period) {
+        double k = Math.ceil((lo - phase) / period - 1e-9);
+        return phase + k * period <= hi + 1e-9 * (1 + Math.abs(hi));
+    }
+
+    // --- Hilfsfunktionen -----------------------------------------------------------------
+
+    /** Produkt zweier Schranken mit 0 · ∞ = 0 */
+    private static double mulBound(double a, double b) {
+        return (a == 0 || b == 0) ? 0 : a * b;
+    }
+
+    /** Erzeugt [lo, hi] um eine Stelle nach außen gerundet; NaN-Schranken werden zu ±∞. */
+    private static Interval outward(double lo, double hi, boolean continuous) {
+        double l = Double.isNaN(lo) ? Double.NEGATIVE_INFINITY : Math.nextDown(lo);
+        double h = Double.isNaN(hi) ? Double.POSITIVE_INFINITY : Math.nextUp(hi);
+        return new Interval(l, h, continuous);
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "[]" : "[" + lo + ", " + hi + "]";
+    }
+}
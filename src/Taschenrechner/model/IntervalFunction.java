@@ -0,0 +1,10 @@
+package Taschenrechner.model;
+
+/**
+ * Funktion, die sich in Intervallarithmetik auswerten lässt (siehe {@link Interval}).
+ * Wird vom {@link IntervalPlotter} für garantierte Darstellungen verwendet.
+ */
+public interface IntervalFunction {
+    /** Einschluss aller Funktionswerte f(x) für x aus dem Intervall. */
+    Interval evaluate(Interval x);
+}
@@ -0,0 +1,149 @@
+package Taschenrechner.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Garantierte Darstellung eines Funktionsgraphen y = f(x) mit Intervallarithmetik.
+ * <p>
+ * Für jede Pixelspalte wird f über dem x-Intervall der Spalte eingeschlossen. Liegt der
+ * Einschluss außerhalb des Ausschnitts, wird die Spalte (bzw. der Teilbereich) ohne weitere
+ * Auswertung verworfen. Ist er höchstens zwei Pixelzeilen hoch, sind diese Zeilen bestätigt.
+ * Ist f auf dem Bereich stetig und decken die Werte an den Rändern bereits alle Zeilen des
+ * Einschlusses ab, sind nach dem Zwischenwertsatz ebenfalls alle diese Zeilen getroffen.
+ * Andernfalls wird das x-Intervall halbiert.
+ * <p>
+ * Da nur Bereiche verworfen werden, deren Einschluss sicher außerhalb liegt, geht kein Teil
+ * des Graphen verloren (auch keine schmalen Spitzen zwischen zwei Stützstellen). Über Polstellen
+ * wird keine senkrechte Linie gezogen: Ein Teilbereich mit unbeschränktem, unstetigem Einschluss
+ * wird auf der feinsten Stufe weggelassen.
+ */
+public final class IntervalPlotter {
+    /** Feinste Unterteilung einer Spalte: 2^-MAX_DEPTH Pixel */
+    private static final int MAX_DEPTH = 10;
+    /** Höchstzahl an Intervallauswertungen je Spalte; danach wird der Einschluss gezeichnet */
+    private static final int COLUMN_BUDGET = 512;
+
+    private IntervalPlotter() {
+    }
+
+    /**
+     * Berechnet die Pixelbereiche, die der Graph sicher berühren kann.
+     *
+     * @return Tripel (Spalte, obere Zeile, untere Zeile) mit 0 ≤ Spalte < width,
+     *         0 ≤ obere Zeile ≤ untere Zeile < height; je Spalte ohne Überlappung
+     */
+    public static int[] plot(IntervalFunction f, double xMin, double xMax, double yMin, double yMax,
+                             int width, int height) {
+        double colWidth = (xMax - xMin) / width;
+        double rowScale = height / (yMax - yMin);
+        int[][] columns = IntStream.range(0, width).parallel().mapToObj(col -> {
+            Column c = new Column(f, yMin, yMax, rowScale, height);
+            double lo = xMin + col * colWidth;
+            double hi = col == width - 1 ? xMax : xMin + (col + 1) * colWidth;
+            c.refine(lo, hi, 0);
+            return c.spans(col);
+        }).toArray(int[][]::new);
+
+        int total = 0;
+        for (int[] c : columns) total += c.length;
+        int[] result = new int[total];
+        int pos = 0;
+        for (int[] c : columns) {
+            System.arraycopy(c, 0, result, pos, c.length);
+            pos += c.length;
+        }
+        return result;
+    }
+
+    /** Unterteilung einer einzelnen Spalte */
+    private static final class Column {
+        private final IntervalFunction f;
+        private final double yMin, yMax, rowScale;
+        private final int height;
+        private int budget = COLUMN_BUDGET;
+        private int[] rows = new int[8]; // Paare (oben, unten)
+        private int count;
+
+        Column(IntervalFunction f, double yMin, double yMax, double rowScale, int height) {
+            this.f = f;
+            this.yMin = yMin;
+            this.yMax = yMax;
+            this.rowScale = rowScale;
+            this.height = height;
+        }
+
+        void refine(double lo, double hi, int depth) {
+            budget--;
+            Interval y = f.evaluate(new Interval(lo, hi));
+            if (y.isEmpty() || y.hi() < yMin || y.lo() > yMax) {
+                return; // sicher außerhalb des Ausschnitts oder nicht definiert
+            }
+            int top = row(y.hi()), bottom = row(y.lo());
+            if (bottom - top <= 1) {
+                add(top, bottom);
+                return;
+            }
+            if (y.isContinuous() && budget >= 2) {
+                // Zwischenwertsatz: Randwerte decken alle Zeilen des Einschlusses ab
+                budget -= 2;
+                Interval a = f.evaluate(Interval.point(lo));
+                Interval b = f.evaluate(Interval.point(hi));
+                if (!a.isEmpty() && !b.isEmpty()
+                        && Math.min(row(a.hi()), row(b.hi())) <= top
+                        && Math.max(row(a.lo()), row(b.lo())) >= bottom) {
+                    add(top, bottom);
+                    return;
+                }
+            }
+            double mid = 0.5 * (lo + hi);
+            if (depth >= MAX_DEPTH || budget <= 0 || !(mid > lo && mid < hi)) {
+                // Polstelle im Bereich: keine senkrechte Linie über den ganzen Ausschnitt
+                boolean pole = !y.isContinuous()
+                        && (y.lo() == Double.NEGATIVE_INFINITY || y.hi() == Double.POSITIVE_INFINITY);
+                if (!pole) {
+                    add(top, bottom);
+                }
+                return;
+            }
+            refine(lo, mid, depth + 1);
+            refine(mid, hi, depth + 1);
+        }
+
+        private int row(double y) {
+            double r = Math.floor((yMax - y) * rowScale);
+            return (int) Math.max(0, Math.min(height - 1, r));
+        }
+
+        private void add(int top, int bottom) {
+            if (count + 2 > rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[count++] = top;
+            rows[count++] = bottom;
+        }
+
+        /** Vereinigt überlappende und angrenzende Zeilenbereiche zu Tripeln (Spalte, oben, unten). */
+        int[] spans(int col) {
+            int n = count / 2;
+            long[] packed = new long[n];
+            for (int i = 0; i < n; i++) {
+                packed[i] = ((long) rows[2 * i] << 32) | rows[2 * i + 1];
+            }
+            Arrays.sort(packed);
+            int[] out = new int[3 * n];
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                int top = (int) (packed[i] >>> 32), bottom = (int) packed[i];
+                if (m > 0 && top <= out[m - 1] + 1) {
+                    out[m - 1] = Math.max(out[m - 1], bottom);
+                } else {
+                    out[m++] = col;
+                    out[m++] = top;
+                    out[m++] = bottom;
+                }
+            }
+            return Arrays.copyOf(out, m);
+        }
+    }
+}
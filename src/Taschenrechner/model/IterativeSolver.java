@@ -0,0 +1,291 @@
+package Taschenrechner.model;
+
+import java.util.Arrays;
+
+/**
+ * Iterative Krylov-Verfahren für große, meist dünn besetzte Systeme A·x = b, bei denen eine
+ * Zerlegung zu viel Speicher oder Zeit kostet. A wird nur über Matrix-Vektor-Produkte
+ * benutzt ({@link LinearOperator}), daher funktionieren die Verfahren für dichte und dünn
+ * besetzte Matrizen gleichermaßen.
+ * <ul>
+ *   <li>{@link #cg}: konjugierte Gradienten, nur für symmetrisch positiv definites A;
+ *       ein Produkt je Iteration und kein zusätzlicher Speicher außer vier Vektoren.</li>
+ *   <li>{@link #bicgstab}: für beliebige A, zwei Produkte je Iteration, feste Speichergröße.</li>
+ *   <li>{@link #gmres}: für beliebige A, minimiert das Residuum über den Krylov-Raum; nach
+ *       restart Schritten wird neu gestartet, um Speicher und Aufwand zu begrenzen.</li>
+ * </ul>
+ * Abgebrochen wird, sobald ‖b - A·x‖ ≤ tolerance · ‖b‖ gilt oder maxIterations erreicht ist.
+ * Vorkonditioniert wird bei CG symmetrisch, bei BiCGSTAB und GMRES von rechts, sodass das
+ * geprüfte Residuum immer das echte (nicht vorkonditionierte) ist.
+ */
+public final class IterativeSolver {
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+    public static final int DEFAULT_RESTART = 50;
+
+    private IterativeSolver() {
+    }
+
+    /**
+     * Ergebnis eines Lösungsversuchs.
+     * @param solution         Näherungslösung x
+     * @param iterations       Anzahl der Iterationen (bei GMRES: innere Schritte insgesamt)
+     * @param relativeResidual ‖b - A·x‖ / ‖b‖ am Ende
+     * @param converged        true, wenn die Toleranz erreicht wurde
+     * @param history          relatives Residuum vor der ersten und nach jeder Iteration
+     */
+    public record Result(double[] solution, int iterations, double relativeResidual,
+                         boolean converged, double[] history) {
+    }
+
+    /** Sammelt die Residuen der Iterationen. */
+    private static final class History {
+        private double[] values = new double[64];
+        private int size;
+
+        void add(double v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Konjugierte Gradienten mit Vorkonditionierer (A und M symmetrisch positiv definit).
+     * @param x0 Startwert oder null für 0
+     */
+    public static Result cg(LinearOperator a, double[] b, double[] x0, Preconditioner m,
+                            double tolerance, int maxIterations) {
+        int n = check(a, b, x0, tolerance, maxIterations);
+        double[] x = start(n, x0);
+        double[] r = residual(a, b, x);
+        double bNorm = norm(b);
+        History history = new History();
+        double res = VectorOps.norm(r) / bNorm;
+        history.add(res);
+        if (res <= tolerance) return new Result(x, 0, res, true, history.toArray());
+
+        double[] z = new double[n], p = new double[n], q = new double[n];
+        m.apply(r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rz = VectorOps.dot(r, z);
+        int it = 0;
+        while (it < maxIterations) {
+            a.apply(p, q);
+            double pq = VectorOps.dot(p, q);
+            if (pq <= 0 || !Double.isFinite(pq)) break; // A (oder M) ist nicht positiv definit
+            double alpha = rz / pq;
+            VectorOps.axpy(alpha, p, x);
+            VectorOps.axpy(-alpha, q, r);
+            it++;
+            res = VectorOps.norm(r) / bNorm;
+            history.add(res);
+            if (res <= tolerance) break;
+            m.apply(r, z);
+            double rzNew = VectorOps.dot(r, z);
+            VectorOps.xpby(z, rzNew / rz, p);
+            rz = rzNew;
+        }
+        return finish(a, b, x, bNorm, it, tolerance, history);
+    }
+
+    /** BiCGSTAB (van der Vorst) mit Vorkonditionierer von rechts. */
+    public static Result bicgstab(LinearOperator a, double[] b, double[] x0, Preconditioner m,
+                                  double tolerance, int maxIterations) {
+        int n = check(a, b, x0, tolerance, maxIterations);
+        double[] x = start(n, x0);
+        double[] r = residual(a, b, x);
+        double bNorm = norm(b);
+        History history = new History();
+        double res = VectorOps.norm(r) / bNorm;
+        history.add(res);
+        if (res <= tolerance) return new Result(x, 0, res, true, history.toArray());
+
+        double[] rHat = r.clone();
+        double[] p = new double[n], v = new double[n], pHat = new double[n];
+        double[] s = new double[n], sHat = new double[n], t = new double[n];
+        double rho = 1, alpha = 1, omega = 1;
+        int it = 0;
+        while (it < maxIterations) {
+            double rhoNew = VectorOps.dot(rHat, r);
+            if (rhoNew == 0 || !Double.isFinite(rhoNew)) break; // Zusammenbruch
+            double beta = (rhoNew / rho) * (alpha / omega);
+            // p = r + β (p - ω v)
+            VectorOps.axpy(-omega, v, p);
+            VectorOps.xpby(r, beta, p);
+            m.apply(p, pHat);
+            a.apply(pHat, v);
+            double rv = VectorOps.dot(rHat, v);
+            if (rv == 0) break;
+            alpha = rhoNew / rv;
+            // s = r - α v
+            System.arraycopy(r, 0, s, 0, n);
+            VectorOps.axpy(-alpha, v, s);
+            it++;
+            double sNorm = VectorOps.norm(s) / bNorm;
+            if (sNorm <= tolerance) {
+                VectorOps.axpy(alpha, pHat, x);
+                System.arraycopy(s, 0, r, 0, n);
+                history.add(sNorm);
+                break;
+            }
+            m.apply(s, sHat);
+            a.apply(sHat, t);
+            double tt = VectorOps.dot(t, t);
+            omega = tt == 0 ? 0 : VectorOps.dot(t, s) / tt;
+            VectorOps.axpy(alpha, pHat, x);
+            VectorOps.axpy(omega, sHat, x);
+            // r = s - ω t
+            System.arraycopy(s, 0, r, 0, n);
+            VectorOps.axpy(-omega, t, r);
+            res = VectorOps.norm(r) / bNorm;
+            history.add(res);
+            if (res <= tolerance || omega == 0) break;
+            rho = rhoNew;
+        }
+        return finish(a, b, x, bNorm, it, tolerance, history);
+    }
+
+    /**
+     * GMRES(restart) mit Vorkonditionierer von rechts: Arnoldi mit modifiziertem
+     * Gram-Schmidt, Givens-Rotationen für das kleine Ausgleichsproblem, sodass das Residuum
+     * in jedem Schritt ohne zusätzliches Produkt bekannt ist.
+     */
+    public static Result gmres(LinearOperator a, double[] b, double[] x0, Preconditioner m,
+                               int restart, double tolerance, int maxIterations) {
+        int n = check(a, b, x0, tolerance, maxIterations);
+        if (restart < 1) {
+            throw new IllegalArgumentException("restart muss mindestens 1 sein");
+        }
+        int k = Math.min(restart, n);
+        double[] x = start(n, x0);
+        double bNorm = norm(b);
+        History history = new History();
+
+        double[][] v = new double[k + 1][n];
+        double[][] h = new double[k + 1][k];
+        double[] cs = new double[k], sn = new double[k], g = new double[k + 1];
+        double[] w = new double[n], tmp = new double[n];
+        int it = 0;
+        double[] r = residual(a, b, x);
+        double beta = VectorOps.norm(r);
+        history.add(beta / bNorm);
+        while (beta / bNorm > tolerance && it < maxIterations) {
+            System.arraycopy(r, 0, v[0], 0, n);
+            VectorOps.scale(1 / beta, v[0]);
+            Arrays.fill(g, 0);
+            g[0] = beta;
+            int j = 0;
+            boolean breakdown = false;
+            for (; j < k && it < maxIterations; j++) {
+                m.apply(v[j], tmp);
+                a.apply(tmp, w);
+                for (int i = 0; i <= j; i++) {
+                    h[i][j] = VectorOps.dot(w, v[i]);
+                    VectorOps.axpy(-h[i][j], v[i], w);
+                }
+                h[j + 1][j] = VectorOps.norm(w);
+                // frühere Rotationen auf die neue Spalte anwenden
+                for (int i = 0; i < j; i++) {
+                    double t = cs[i] * h[i][j] + sn[i] * h[i + 1][j];
+                    h[i + 1][j] = -sn[i] * h[i][j] + cs[i] * h[i + 1][j];
+                    h[i][j] = t;
+                }
+                double hjj = h[j][j], hj1 = h[j + 1][j];
+                double rho = Math.hypot(hjj, hj1);
+                if (rho == 0) {
+                    breakdown = true;
+                    break;
+                }
+                cs[j] = hjj / rho;
+                sn[j] = hj1 / rho;
+                h[j][j] = rho;
+                h[j + 1][j] = 0;
+                g[j + 1] = -sn[j] * g[j];
+                g[j] = cs[j] * g[j];
+                it++;
+                history.add(Math.abs(g[j + 1]) / bNorm);
+                if (Math.abs(g[j + 1]) / bNorm <= tolerance) {
+                    j++;
+                    break;
+                }
+                if (hj1 == 0) { // glücklicher Zusammenbruch: exakte Lösung im Krylov-Raum
+                    j++;
+                    break;
+                }
+                System.arraycopy(w, 0, v[j + 1], 0, n);
+                VectorOps.scale(1 / hj1, v[j + 1]);
+            }
+            // H(0..j-1, 0..j-1) · y = g, dann x += M⁻¹ · (V · y)
+            double[] y = new double[j];
+            for (int i = j - 1; i >= 0; i--) {
+                double sum = g[i];
+                for (int l = i + 1; l < j; l++) sum -= h[i][l] * y[l];
+                y[i] = sum / h[i][i];
+            }
+            Arrays.fill(tmp, 0);
+            for (int i = 0; i < j; i++) VectorOps.axpy(y[i], v[i], tmp);
+            m.apply(tmp, w);
+            VectorOps.axpy(1, w, x);
+            r = residual(a, b, x);
+            beta = VectorOps.norm(r);
+            if (breakdown || j == 0) break;
+        }
+        return finish(a, b, x, bNorm, it, tolerance, history);
+    }
+
+    /** CG mit Standardtoleranz, ohne Startwert. */
+    public static Result cg(LinearOperator a, double[] b, Preconditioner m) {
+        return cg(a, b, null, m, DEFAULT_TOLERANCE, 10 * a.size());
+    }
+
+    /** BiCGSTAB mit Standardtoleranz, ohne Startwert. */
+    public static Result bicgstab(LinearOperator a, double[] b, Preconditioner m) {
+        return bicgstab(a, b, null, m, DEFAULT_TOLERANCE, 10 * a.size());
+    }
+
+    /** GMRES(50) mit Standardtoleranz, ohne Startwert. */
+    public static Result gmres(LinearOperator a, double[] b, Preconditioner m) {
+        return gmres(a, b, null, m, DEFAULT_RESTART, DEFAULT_TOLERANCE, 10 * a.size());
+    }
+
+    private static int check(LinearOperator a, double[] b, double[] x0, double tolerance, int maxIterations) {
+        int n = a.size();
+        if (b == null || b.length != n) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + n + " Einträge haben");
+        }
+        if (x0 != null && x0.length != n) {
+            throw new IllegalArgumentException("Der Startwert muss " + n + " Einträge haben");
+        }
+        if (!(tolerance > 0) || maxIterations < 0) {
+            throw new IllegalArgumentException("Toleranz muss positiv und die Iterationszahl nicht negativ sein");
+        }
+        return n;
+    }
+
+    private static double[] start(int n, double[] x0) {
+        return x0 == null ? new double[n] : x0.clone();
+    }
+
+    private static double norm(double[] b) {
+        double bNorm = VectorOps.norm(b);
+        // b = 0: absolute statt relativer Residuen
+        return bNorm == 0 ? 1 : bNorm;
+    }
+
+    private static double[] residual(LinearOperator a, double[] b, double[] x) {
+        double[] r = new double[b.length];
+        a.apply(x, r);
+        VectorOps.xpby(b, -1, r);
+        return r;
+    }
+
+    /** Prüft das echte Residuum am Ende (die Rekursionen können davon abweichen). */
+    private static Result finish(LinearOperator a, double[] b, double[] x, double bNorm,
+                                 int iterations, double tolerance, History history) {
+        double res = VectorOps.norm(residual(a, b, x)) / bNorm;
+        return new Result(x, iterations, res, res <= tolerance, history.toArray());
+    }
+}
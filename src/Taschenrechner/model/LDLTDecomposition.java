@@ -0,0 +1,308 @@
+package Taschenrechner.model;
+
+/**
+ * Zerlegung P·A·Pᵀ = L·D·Lᵀ einer symmetrischen (auch indefiniten) Matrix nach Bunch und
+ * Kaufman: D besteht aus 1×1- und 2×2-Blöcken, L ist ein unteres Dreieck mit Einsen auf der
+ * Diagonale. Die symmetrische Pivotsuche (α = (1 + √17) / 8) hält die Einträge von L beschränkt,
+ * ohne die Symmetrie aufzugeben; wie bei Cholesky wird nur das untere Dreieck gelesen und
+ * aktualisiert, also etwa halb so viel gerechnet wie bei LU.
+ * <p>
+ * Für positiv definite Matrizen ist {@link CholeskyDecomposition} schneller, weil sie
+ * blockweise arbeitet; diese Zerlegung deckt die symmetrischen Matrizen ab, bei denen Cholesky
+ * scheitert.
+ */
+public class LDLTDecomposition {
+    private static final double ALPHA = (1 + Math.sqrt(17)) / 8;
+    // Pivots bis zu EPSILON · max|a_ij| gelten als 0
+    private static final double EPSILON = 1e-12;
+
+    private final int n;
+    private final double[] ld;         // L unterhalb der Diagonale, D auf (und bei 2×2 direkt unter) der Diagonale
+    private final int[] perm;          // Zeile i von P·A·Pᵀ ist Zeile perm[i] von A
+    private final boolean[] twoByTwo;  // twoByTwo[k]: ein 2×2-Block von D beginnt in Zeile k
+    private final double tolerance;
+    private boolean singular;
+
+    /**
+     * Zerlegt a (wird nicht verändert; nur das untere Dreieck wird gelesen).
+     * @throws IllegalArgumentException wenn a nicht quadratisch oder leer ist
+     */
+    public LDLTDecomposition(Matrix a) {
+        if (a == null || a.getRows() == 0) {
+            throw new IllegalArgumentException("Matrix darf nicht leer sein");
+        }
+        if (a.getRows() != a.getCols()) {
+            throw new IllegalArgumentException("Die LDLᵀ-Zerlegung braucht eine quadratische Matrix");
+        }
+        n = a.getRows();
+        ld = a.toFlatArray();
+        perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        twoByTwo = new boolean[n];
+        double max = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) max = Math.max(max, Math.abs(ld[i * n + j]));
+        }
+        tolerance = EPSILON * max;
+        factor();
+    }
+
+    /** Eintrag (i, j) der symmetrischen Restmatrix aus dem unteren Dreieck. */
+    private double sym(int i, int j) {
+        return i >= j ? ld[i * n + j] : ld[j * n + i];
+    }
+
+    private void factor() {
+        double[] c0 = new double[n], c1 = new double[n];
+        int k = 0;
+        while (k < n) {
+            double absakk = Math.abs(ld[k * n + k]);
+            int imax = k;
+            double colmax = 0;
+            for (int i = k + 1; i < n; i++) {
+                double v = Math.abs(ld[i * n + k]);
+                if (v > colmax) {
+                    colmax = v;
+                    imax = i;
+                }
+            }
+            if (Math.max(absakk, colmax) <= tolerance) {
+                // Spalte ist (nahezu) null: 1×1-Pivot 0, nichts zu eliminieren
+                singular = true;
+                for (int i = k + 1; i < n; i++) ld[i * n + k] = 0.0;
+                k++;
+                continue;
+            }
+            int kp, kstep;
+            if (absakk >= ALPHA * colmax) {
+                kp = k;
+                kstep = 1;
+            } else {
+                double rowmax = 0;
+                for (int j = k; j < n; j++) {
+                    if (j != imax) rowmax = Math.max(rowmax, Math.abs(sym(imax, j)));
+                }
+                if (absakk * rowmax >= ALPHA * colmax * colmax) {
+                    kp = k;
+                    kstep = 1;
+                } else if (Math.abs(ld[imax * n + imax]) >= ALPHA * rowmax) {
+                    kp = imax;
+                    kstep = 1;
+                } else {
+                    kp = imax;
+                    kstep = 2;
+                }
+            }
+            int kk = k + kstep - 1;
+            if (kp != kk) {
+                swapSymmetric(k, kk, kp);
+            }
+
+            if (kstep == 1) {
+                double d = ld[k * n + k];
+                if (Math.abs(d) <= tolerance) singular = true;
+                for (int i = k + 1; i < n; i++) c0[i] = ld[i * n + k];
+                // A22 -= c·cᵀ / d, dann L-Spalte = c / d
+                for (int i = k + 1; i < n; i++) {
+                    double f = c0[i] / d;
+                    int iRow = i * n;
+                    if (f != 0.0) {
+                        for (int j = k + 1; j <= i; j++) {
+                            ld[iRow + j] -= f * c0[j];
+                        }
+                    }
+                    ld[iRow + k] = f;
+                }
+            } else {
+                twoByTwo[k] = true;
+                double d11 = ld[k * n + k], d21 = ld[(k + 1) * n + k], d22 = ld[(k + 1) * n + k + 1];
+                double det = d11 * d22 - d21 * d21;
+                if (Math.abs(det) <= tolerance * tolerance) singular = true;
+                for (int i = k + 2; i < n; i++) {
+                    c0[i] = ld[i * n + k];
+                    c1[i] = ld[i * n + k + 1];
+                }
+                // [w0 w1] = [c0 c1] · D⁻¹; A22 -= w0·c0ᵀ + w1·c1ᵀ
+                for (int i = k + 2; i < n; i++) {
+                    double w0 = (c0[i] * d22 - c1[i] * d21) / det;
+                    double w1 = (c1[i] * d11 - c0[i] * d21) / det;
+                    int iRow = i * n;
+                    for (int j = k + 2; j <= i; j++) {
+                        ld[iRow + j] -= w0 * c0[j] + w1 * c1[j];
+                    }
+                    ld[iRow + k] = w0;
+                    ld[iRow + k + 1] = w1;
+                }
+            }
+            k += kstep;
+        }
+    }
+
+    /**
+     * Vertauscht Zeile und Spalte kk mit kp (kp > kk) in der Restmatrix ab Spalte k und die
+     * schon berechneten Zeilen von L links davon. Nur das untere Dreieck wird angefasst.
+     */
+    private void swapSymmetric(int k, int kk, int kp) {
+        int kkRow = kk * n, kpRow = kp * n;
+        // L-Teil (Spalten < k) sowie bei 2×2 das Element in Spalte k
+        int leftEnd = kk > k ? k + 1 : k;
+        for (int j = 0; j < leftEnd; j++) {
+            double t = ld[kkRow + j];
+            ld[kkRow + j] = ld[kpRow + j];
+            ld[kpRow + j] = t;
+        }
+        // Spaltenteile unterhalb von kp
+        for (int i = kp + 1; i < n; i++) {
+            double t = ld[i * n + kk];
+            ld[i * n + kk] = ld[i * n + kp];
+            ld[i * n + kp] = t;
+        }
+        // zwischen kk und kp: Spalte kk gegen Zeile kp
+        for (int j = kk + 1; j < kp; j++) {
+            double t = ld[j * n + kk];
+            ld[j * n + kk] = ld[kpRow + j];
+            ld[kpRow + j] = t;
+        }
+        double t = ld[kkRow + kk];
+        ld[kkRow + kk] = ld[kpRow + kp];
+        ld[kpRow + kp] = t;
+        int p = perm[kk];
+        perm[kk] = perm[kp];
+        perm[kp] = p;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** true, wenn ein Block von D (relativ zu A) praktisch singulär ist. */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /** det(A) = Produkt der Determinanten der Blöcke von D (P·Pᵀ hebt sich auf). */
+    public double determinant() {
+        double det = 1.0;
+        for (int k = 0; k < n; k++) {
+            if (twoByTwo[k]) {
+                double d21 = ld[(k + 1) * n + k];
+                det *= ld[k * n + k] * ld[(k + 1) * n + k + 1] - d21 * d21;
+                k++;
+            } else {
+                det *= ld[k * n + k];
+            }
+        }
+        return det;
+    }
+
+    /**
+     * Trägheit von A: Anzahl positiver, negativer und verschwindender Eigenwerte (nach dem
+     * Trägheitssatz von Sylvester dieselbe wie die von D).
+     */
+    public int[] inertia() {
+        int pos = 0, neg = 0, zero = 0;
+        for (int k = 0; k < n; k++) {
+            if (twoByTwo[k]) {
+                // det < 0: ein positiver und ein negativer Eigenwert
+                double d11 = ld[k * n + k], d21 = ld[(k + 1) * n + k], d22 = ld[(k + 1) * n + k + 1];
+                double det = d11 * d22 - d21 * d21;
+                if (det < 0) {
+                    pos++;
+                    neg++;
+                } else if (d11 + d22 > 0) {
+                    pos += 2;
+                } else {
+                    neg += 2;
+                }
+                k++;
+            } else {
+                double d = ld[k * n + k];
+                if (Math.abs(d) <= tolerance) zero++;
+                else if (d > 0) pos++;
+                else neg++;
+            }
+        }
+        return new int[]{pos, neg, zero};
+    }
+
+    /**
+     * Löst A·x = b.
+     * @throws IllegalArgumentException wenn b nicht die Länge n hat
+     * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
+     */
+    public double[] solve(double[] b) {
+        if (b == null || b.length != n) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + n + " Einträge haben");
+        }
+        return solveFlat(b, 1);
+    }
+
+    /**
+     * Löst A·X = B für alle Spalten von B gleichzeitig.
+     * @throws IllegalArgumentException wenn B nicht n Zeilen hat
+     * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
+     */
+    public Matrix solve(Matrix b) {
+        if (b == null || b.getRows() != n) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + n + " Zeilen haben");
+        }
+        int k = b.getCols();
+        return Matrix.wrap(n, k, solveFlat(b.toFlatArray(), k));
+    }
+
+    /** Multiplikator L(i, j) für j < i; das Element unter einem 2×2-Block gehört zu D. */
+    private double lower(int i, int j) {
+        return j == i - 1 && twoByTwo[j] ? 0.0 : ld[i * n + j];
+    }
+
+    /** P·A·Pᵀ = L·D·Lᵀ: y = P·b, L·z = y, D·w = z, Lᵀ·v = w, x = Pᵀ·v. */
+    private double[] solveFlat(double[] rhs, int k) {
+        if (singular) {
+            throw new ArithmeticException("Matrix ist singulär oder nahe singulär");
+        }
+        double[] x = new double[n * k];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(rhs, perm[i] * k, x, i * k, k);
+        }
+        for (int i = 1; i < n; i++) {
+            int iRow = i * k;
+            for (int p = 0; p < i; p++) {
+                double l = lower(i, p);
+                if (l == 0.0) continue;
+                int pRow = p * k;
+                for (int j = 0; j < k; j++) x[iRow + j] -= l * x[pRow + j];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            int iRow = i * k;
+            if (twoByTwo[i]) {
+                double d11 = ld[i * n + i], d21 = ld[(i + 1) * n + i], d22 = ld[(i + 1) * n + i + 1];
+                double det = d11 * d22 - d21 * d21;
+                int nextRow = iRow + k;
+                for (int j = 0; j < k; j++) {
+                    double z0 = x[iRow + j], z1 = x[nextRow + j];
+                    x[iRow + j] = (d22 * z0 - d21 * z1) / det;
+                    x[nextRow + j] = (d11 * z1 - d21 * z0) / det;
+                }
+                i++;
+            } else {
+                double d = ld[i * n + i];
+                for (int j = 0; j < k; j++) x[iRow + j] /= d;
+            }
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int iRow = i * k;
+            for (int p = 0; p < i; p++) {
+                double l = lower(i, p);
+                if (l == 0.0) continue;
+                int pRow = p * k;
+                for (int j = 0; j < k; j++) x[pRow + j] -= l * x[iRow + j];
+            }
+        }
+        double[] result = new double[n * k];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(x, i * k, result, perm[i] * k, k);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,300 @@
+package Taschenrechner.model;
+
+/**
+ * LU-Zerlegung P·A = L·U einer quadratischen Matrix mit partieller Pivotisierung.
+ * <p>
+ * Die Zerlegung kostet einmalig O(n³); danach kostet jede rechte Seite nur noch zwei
+ * Dreieckslösungen in O(n²). Die Determinante fällt direkt aus der Diagonale von U ab,
+ * die Inverse entsteht durch Lösen mit der Einheitsmatrix. L (mit Einsen auf der Diagonale,
+ * nicht gespeichert) und U liegen zusammen in einem zeilenweisen Array, die Vertauschungen
+ * als Permutationsvektor.
+ * <p>
+ * Singuläre Matrizen werden vollständig zerlegt (eine Spalte ohne brauchbares Pivot wird
+ * übersprungen), sodass {@link #determinant()} auch dann funktioniert; erst {@link #solve}
+ * und {@link #inverse()} melden den Fehler. Die Zahl der Pivots ist dann aber nicht der
+ * Rang: {@link #rank()} bringt U dafür erst auf Zeilenstufenform.
+ * <p>
+ * Die Zerlegung selbst läuft blockweise, sodass der Großteil der Arbeit als Matrixprodukt
+ * parallel erledigt wird (siehe {@link #factor()}).
+ */
+public class LUDecomposition {
+    // Pivots bis zu EPSILON · max|a_ij| gelten als 0 (relativ, damit die Skalierung von A egal ist)
+    private static final double EPSILON = 1e-12;
+    // Spaltenzahl eines Panels bei der blockweisen Zerlegung
+    static final int BLOCK = 64;
+
+    private final int n;
+    private final double[] lu;     // L unterhalb, U ab der Diagonale, zeilenweise n × n
+    private final int[] piv;       // Zeile i von L·U ist Zeile piv[i] von A
+    private final int pivSign;     // Vorzeichen der Permutation
+    private final double tolerance;
+
+    /**
+     * Zerlegt a (wird nicht verändert).
+     * @throws IllegalArgumentException wenn a nicht quadratisch oder leer ist
+     */
+    public LUDecomposition(Matrix a) {
+        if (a == null || a.getRows() == 0) {
+            throw new IllegalArgumentException("Matrix darf nicht leer sein");
+        }
+        if (a.getRows() != a.getCols()) {
+            throw new IllegalArgumentException("Die LU-Zerlegung braucht eine quadratische Matrix");
+        }
+        n = a.getRows();
+        lu = a.toFlatArray();
+        piv = new int[n];
+        for (int i = 0; i < n; i++) piv[i] = i;
+
+        double max = 0;
+        for (double v : lu) max = Math.max(max, Math.abs(v));
+        tolerance = EPSILON * max;
+        pivSign = factor();
+    }
+
+    /**
+     * Blockweise rechtsgerichtete Zerlegung; liefert das Vorzeichen von P.
+     * <p>
+     * Je Schritt wird ein Streifen von {@value #BLOCK} Spalten (Panel) klassisch zerlegt, dann
+     * der Block rechts davon mit L11 aufgelöst (U12 = L11⁻¹ · A12) und zuletzt die gesamte
+     * Restmatrix mit einem einzigen Matrixprodukt A22 -= L21 · U12 aktualisiert. Dieses Produkt
+     * enthält fast alle Rechenoperationen und läuft über den {@link BlockedMultiplier}
+     * (gekachelt und auf allen Kernen), statt die Restmatrix wie beim Lehrbuchverfahren für
+     * jedes Pivot einmal komplett durch den Speicher zu ziehen.
+     */
+    private int factor() {
+        int sign = 1;
+        for (int k0 = 0; k0 < n; k0 += BLOCK) {
+            int k1 = Math.min(n, k0 + BLOCK);
+            sign *= factorPanel(k0, k1);
+            if (k1 == n) break;
+            solveUpperBlock(k0, k1);
+            Matrix l21 = new Matrix(n - k1, k1 - k0, lu, k1 * n + k0, n);
+            Matrix u12 = new Matrix(k1 - k0, n - k1, lu, k0 * n + k1, n);
+            Matrix a22 = new Matrix(n - k1, n - k1, lu, k1 * n + k1, n);
+            BlockedMultiplier.multiplyAdd(-1.0, l21, u12, a22);
+        }
+        return sign;
+    }
+
+    /**
+     * Zerlegt die Spalten [k0, k1) ab Zeile k0 mit partieller Pivotisierung. Vertauscht werden
+     * ganze Zeilen, damit L links und der noch offene Teil rechts mitwandern.
+     */
+    private int factorPanel(int k0, int k1) {
+        int sign = 1;
+        double[] tempRow = new double[n];
+        for (int p = k0; p < k1; p++) {
+            int pRow = p * n;
+            int max = p;
+            for (int i = p + 1; i < n; i++) {
+                if (Math.abs(lu[i * n + p]) > Math.abs(lu[max * n + p])) {
+                    max = i;
+                }
+            }
+            if (max != p) {
+                int maxRow = max * n;
+                System.arraycopy(lu, pRow, tempRow, 0, n);
+                System.arraycopy(lu, maxRow, lu, pRow, n);
+                System.arraycopy(tempRow, 0, lu, maxRow, n);
+                int t = piv[p];
+                piv[p] = piv[max];
+                piv[max] = t;
+                sign = -sign;
+            }
+            double pivot = lu[pRow + p];
+            boolean zeroColumn = Math.abs(pivot) <= tolerance;
+            for (int i = p + 1; i < n; i++) {
+                int iRow = i * n;
+                if (zeroColumn) {
+                    // Spalte ist (nahezu) null: nichts zu eliminieren, Faktoren sind 0
+                    lu[iRow + p] = 0.0;
+                    continue;
+                }
+                double factor = lu[iRow + p] / pivot;
+                lu[iRow + p] = factor;
+                if (factor == 0.0) continue;
+                for (int j = p + 1; j < k1; j++) {
+                    lu[iRow + j] -= factor * lu[pRow + j];
+                }
+            }
+        }
+        return sign;
+    }
+
+    /** U12 = L11⁻¹ · A12 für die Zeilen [k0, k1) rechts vom Panel (L11 mit Einsen auf der Diagonale). */
+    private void solveUpperBlock(int k0, int k1) {
+        for (int i = k0 + 1; i < k1; i++) {
+            int iRow = i * n;
+            for (int p = k0; p < i; p++) {
+                double l = lu[iRow + p];
+                if (l == 0.0) continue;
+                int pRow = p * n;
+                for (int j = k1; j < n; j++) {
+                    lu[iRow + j] -= l * lu[pRow + j];
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** true, wenn ein Pivot von U (relativ zu A) praktisch 0 ist. */
+    public boolean isSingular() {
+        for (int i = 0; i < n; i++) {
+            if (Math.abs(lu[i * n + i]) <= tolerance) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rang von A. Da L regulär ist, gilt rang(A) = rang(U); die Diagonale von U allein reicht
+     * aber nicht, weil bei einer übersprungenen Nullspalte die Pivotzeile nicht weiterrückt
+     * (z.B. hat die Verschiebungsmatrix ((0,1,0),(0,0,1),(0,0,0)) lauter Nullen auf der
+     * Diagonale, aber Rang 2). Deshalb wird eine Kopie von U auf Zeilenstufenform gebracht:
+     * Eine Nullspalte wird übersprungen, die Pivotzeile bleibt dabei stehen. Für einen streng
+     * rangaufdeckenden Wert siehe {@link QRDecomposition#rank()}.
+     */
+    public int rank() {
+        double[] u = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(lu, i * n + i, u, i * n + i, n - i);
+        }
+        int row = 0;
+        for (int col = 0; col < n && row < n; col++) {
+            int max = row;
+            for (int i = row + 1; i < n; i++) {
+                if (Math.abs(u[i * n + col]) > Math.abs(u[max * n + col])) max = i;
+            }
+            if (Math.abs(u[max * n + col]) <= tolerance) continue;
+            if (max != row) {
+                for (int j = col; j < n; j++) {
+                    double t = u[row * n + j];
+                    u[row * n + j] = u[max * n + j];
+                    u[max * n + j] = t;
+                }
+            }
+            double pivot = u[row * n + col];
+            for (int i = row + 1; i < n; i++) {
+                double factor = u[i * n + col] / pivot;
+                if (factor == 0.0) continue;
+                for (int j = col; j < n; j++) u[i * n + j] -= factor * u[row * n + j];
+            }
+            row++;
+        }
+        return row;
+    }
+
+    /** det(A) = sign(P) · Produkt der Diagonale von U. */
+    public double determinant() {
+        double det = pivSign;
+        for (int i = 0; i < n; i++) {
+            det *= lu[i * n + i];
+        }
+        return det;
+    }
+
+    /**
+     * Löst A·x = b in O(n²).
+     * @throws IllegalArgumentException wenn b nicht die Länge n hat
+     * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
+     */
+    public double[] solve(double[] b) {
+        if (b == null || b.length != n) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + n + " Einträge haben");
+        }
+        return solveFlat(b, 1);
+    }
+
+    /**
+     * Löst A·X = B für alle Spalten von B gleichzeitig.
+     * @throws IllegalArgumentException wenn B nicht n Zeilen hat
+     * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
+     */
+    public Matrix solve(Matrix b) {
+        if (b == null || b.getRows() != n) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + n + " Zeilen haben");
+        }
+        int k = b.getCols();
+        return Matrix.wrap(n, k, solveFlat(b.toFlatArray(), k));
+    }
+
+    /**
+     * A⁻¹ durch Lösen mit der Einheitsmatrix.
+     * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
+     */
+    public Matrix inverse() {
+        double[] id = new double[n * n];
+        for (int i = 0; i < n; i++) id[i * n + i] = 1.0;
+        return Matrix.wrap(n, n, solveFlat(id, n));
+    }
+
+    /** Unteres Dreieck L mit Einsen auf der Diagonale. */
+    public Matrix getL() {
+        Matrix l = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) l.set(i, j, lu[i * n + j]);
+            l.set(i, i, 1.0);
+        }
+        return l;
+    }
+
+    /** Oberes Dreieck U. */
+    public Matrix getU() {
+        Matrix u = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) u.set(i, j, lu[i * n + j]);
+        }
+        return u;
+    }
+
+    /** Permutationsvektor: Zeile i von L·U entspricht Zeile getPivot()[i] von A. */
+    public int[] getPivot() {
+        return piv.clone();
+    }
+
+    /**
+     * Vorwärts- und Rückwärtseinsetzen für k rechte Seiten, die zeilenweise in rhs (n × k)
+     * liegen. Die Zeilen werden einmal permutiert; danach laufen alle Schleifen über ganze
+     * Zeilen von X, also fortlaufend durch den Speicher.
+     */
+    private double[] solveFlat(double[] rhs, int k) {
+        if (isSingular()) {
+            throw new ArithmeticException("Matrix ist singulär oder nahe singulär");
+        }
+        double[] x = new double[n * k];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(rhs, piv[i] * k, x, i * k, k);
+        }
+        // L·Y = P·B
+        for (int i = 1; i < n; i++) {
+            int iRow = i * k;
+            for (int p = 0; p < i; p++) {
+                double l = lu[i * n + p];
+                if (l == 0.0) continue;
+                int pRow = p * k;
+                for (int j = 0; j < k; j++) {
+                    x[iRow + j] -= l * x[pRow + j];
+                }
+            }
+        }
+        // U·X = Y
+        for (int i = n - 1; i >= 0; i--) {
+            int iRow = i * k;
+            for (int p = i + 1; p < n; p++) {
+                double u = lu[i * n + p];
+                if (u == 0.0) continue;
+                int pRow = p * k;
+                for (int j = 0; j < k; j++) {
+                    x[iRow + j] -= u * x[pRow + j];
+                }
+            }
+            double d = lu[i * n + i];
+            for (int j = 0; j < k; j++) {
+                x[iRow + j] /= d;
+            }
+        }
+        return x;
+    }
+}
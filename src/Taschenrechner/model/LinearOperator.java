@@ -0,0 +1,63 @@
+package Taschenrechner.model;
+
+/**
+ * Lineare Abbildung x ↦ A·x einer quadratischen Matrix, wie sie die iterativen Löser
+ * brauchen: Sie greifen auf A nur über Matrix-Vektor-Produkte zu. Dadurch funktionieren
+ * dieselben Verfahren für dichte {@link Matrix}, {@link SparseMatrix} und matrixfreie
+ * Operatoren (z.B. als Lambda).
+ */
+public interface LinearOperator {
+    /** Anzahl der Zeilen und Spalten. */
+    int size();
+
+    /** y = A · x (y wird überschrieben, x bleibt unverändert). */
+    void apply(double[] x, double[] y);
+
+    /** Operator einer dünn besetzten Matrix (parallele SpMV). */
+    static LinearOperator of(SparseMatrix a) {
+        if (a.getRows() != a.getCols()) {
+            throw new IllegalArgumentException("Die Matrix muss quadratisch sein");
+        }
+        return new LinearOperator() {
+            @Override
+            public int size() {
+                return a.getRows();
+            }
+
+            @Override
+            public void apply(double[] x, double[] y) {
+                a.multiply(x, y);
+            }
+        };
+    }
+
+    /** Operator einer dichten Matrix; die Zeilen werden parallel berechnet. */
+    static LinearOperator of(Matrix a) {
+        if (a.getRows() != a.getCols()) {
+            throw new IllegalArgumentException("Die Matrix muss quadratisch sein");
+        }
+        int n = a.getRows();
+        double[] data = a.array();
+        int offset = a.offset(), stride = a.stride();
+        return new LinearOperator() {
+            @Override
+            public int size() {
+                return n;
+            }
+
+            @Override
+            public void apply(double[] x, double[] y) {
+                // so viele Zeilen je Stück, dass ein Stück etwa VectorOps.CHUNK Einträge liest
+                int rowsPerChunk = Math.max(1, VectorOps.CHUNK / n);
+                VectorOps.forRange(n, rowsPerChunk, (long) n * n, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        int row = offset + i * stride;
+                        double sum = 0;
+                        for (int j = 0; j < n; j++) sum += data[row + j] * x[j];
+                        y[i] = sum;
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package Taschenrechner.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Konturverfolgung für implizite Kurven f(x, y) = 0 mit Marching Squares.
+ * <p>
+ * Ablauf:
+ * <ol>
+ *   <li>f wird auf einem groben Gitter (8 Pixel Zellgröße) ausgewertet, zeilenweise parallel.</li>
+ *   <li>Das Gitter wird in Kacheln aufgeteilt, die parallel bearbeitet werden. Nur Zellen mit
+ *       Vorzeichenwechsel (an den Ecken oder zur Zellmitte) werden per Quadtree bis auf
+ *       Pixelgröße verfeinert; alle anderen Zellen kosten keine weiteren Auswertungen.</li>
+ *   <li>In den Blattzellen werden die Kurvenstücke linear interpoliert; mehrdeutige Sattelzellen
+ *       werden über den Mittelwert aufgelöst.</li>
+ * </ol>
+ */
+public final class MarchingSquares {
+    private static final int COARSE_CELL_PX = 8;  // Zellgröße des Grobgitters in Pixeln
+    private static final int TILE_CELLS = 8;      // Kachel = TILE_CELLS x TILE_CELLS Grobzellen
+    private static final double LEAF_CELL_PX = 1.0;
+
+    private MarchingSquares() {
+    }
+
+    /**
+     * Berechnet die Nullstellenkurve von f im angegebenen Ausschnitt.
+     *
+     * @param width  Breite des Ausschnitts in Pixeln
+     * @param height Höhe des Ausschnitts in Pixeln
+     * @return Liniensegmente in Weltkoordinaten, je vier Werte (x1, y1, x2, y2) hintereinander
+     */
+    public static double[] contour(Function2D f, double xMin, double xMax, double yMin, double yMax,
+                                   int width, int height) {
+        if (width <= 0 || height <= 0 || !(xMax > xMin) || !(yMax > yMin)) {
+            return new double[0];
+        }
+        Viewport vp = new Viewport(f, xMin, yMax, (xMax - xMin) / width, (yMax - yMin) / height);
+
+        int cellsX = (width + COARSE_CELL_PX - 1) / COARSE_CELL_PX;
+        int cellsY = (height + COARSE_CELL_PX - 1) / COARSE_CELL_PX;
+        int stride = cellsX + 1;
+        double[] corners = new double[stride * (cellsY + 1)];
+        IntStream.rangeClosed(0, cellsY).parallel().forEach(cy -> {
+            for (int cx = 0; cx <= cellsX; cx++) {
+                corners[cy * stride + cx] = vp.eval(cx * COARSE_CELL_PX, cy * COARSE_CELL_PX);
+            }
+        });
+
+        int tilesX = (cellsX + TILE_CELLS - 1) / TILE_CELLS;
+        int tilesY = (cellsY + TILE_CELLS - 1) / TILE_CELLS;
+        List<double[]> parts = IntStream.range(0, tilesX * tilesY).parallel()
+                .mapToObj(tile -> {
+                    Segments out = new Segments();
+                    int tx = tile % tilesX, ty = tile / tilesX;
+                    int cxEnd = Math.min(cellsX, (tx + 1) * TILE_CELLS);
+                    int cyEnd = Math.min(cellsY, (ty + 1) * TILE_CELLS);
+                    for (int cy = ty * TILE_CELLS; cy < cyEnd; cy++) {
+                        for (int cx = tx * TILE_CELLS; cx < cxEnd; cx++) {
+                            double f00 = corners[cy * stride + cx];
+                            double f10 = corners[cy * stride + cx + 1];
+                            double f01 = corners[(cy + 1) * stride + cx];
+                            double f11 = corners[(cy + 1) * stride + cx + 1];
+                            double px = cx * COARSE_CELL_PX, py = cy * COARSE_CELL_PX;
+                            boolean crossing = signChange(f00, f10, f01, f11);
+                            if (!crossing) {
+                                // kleine geschlossene Kurven innerhalb der Zelle: Mitte prüfen
+                                double fc = vp.eval(px + COARSE_CELL_PX / 2.0, py + COARSE_CELL_PX / 2.0);
+                                crossing = signChange(f00, fc, fc, fc);
+                            }
+                            if (crossing) {
+                                refine(vp, out, px, py, COARSE_CELL_PX, f00, f10, f01, f11);
+                            }
+                        }
+                    }
+                    return out.toArray();
+                })
+                .filter(a -> a.length > 0)
+                .collect(Collectors.toList());
+
+        int total = 0;
+        for (double[] part : parts) total += part.length;
+        double[] result = new double[total];
+        int offset = 0;
+        for (double[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    /**
+     * Quadtree-Verfeinerung einer Zelle (Pixelkoordinaten, y nach unten).
+     * f00 = oben links, f10 = oben rechts, f01 = unten links, f11 = unten rechts.
+     */
+    private static void refine(Viewport vp, Segments out, double px, double py, double size,
+                               double f00, double f10, double f01, double f11) {
+        if (size <= LEAF_CELL_PX) {
+            march(vp, out, px, py, size, f00, f10, f01, f11);
+            return;
+        }
+        double h = size / 2;
+        double top = vp.eval(px + h, py);
+        double left = vp.eval(px, py + h);
+        double center = vp.eval(px + h, py + h);
+        double right = vp.eval(px + size, py + h);
+        double bottom = vp.eval(px + h, py + size);
+
+        if (signChange(f00, top, left, center)) refine(vp, out, px, py, h, f00, top, left, center);
+        if (signChange(top, f10, center, right)) refine(vp, out, px + h, py, h, top, f10, center, right);
+        if (signChange(left, center, f01, bottom)) refine(vp, out, px, py + h, h, left, center, f01, bottom);
+        if (signChange(center, right, bottom, f11)) refine(vp, out, px + h, py + h, h, center, right, bottom, f11);
+    }
+
+    /** Marching-Squares-Fall einer Blattzelle: bis zu zwei Segmente. */
+    private static void march(Viewport vp, Segments out, double px, double py, double s,
+                              double f00, double f10, double f01, double f11) {
+        if (Double.isNaN(f00) || Double.isNaN(f10) || Double.isNaN(f01) || Double.isNaN(f11)) {
+            return;
+        }
+        boolean p00 = f00 > 0, p10 = f10 > 0, p01 = f01 > 0, p11 = f11 > 0;
+        // Schnittpunkte auf den vier Kanten (NaN = kein Schnitt)
+        double topX = p00 != p10 ? px + s * f00 / (f00 - f10) : Double.NaN;
+        double bottomX = p01 != p11 ? px + s * f01 / (f01 - f11) : Double.NaN;
+        double leftY = p00 != p01 ? py + s * f00 / (f00 - f01) : Double.NaN;
+        double rightY = p10 != p11 ? py + s * f10 / (f10 - f11) : Double.NaN;
+
+        int crossings = (Double.isNaN(topX) ? 0 : 1) + (Double.isNaN(bottomX) ? 0 : 1)
+                + (Double.isNaN(leftY) ? 0 : 1) + (Double.isNaN(rightY) ? 0 : 1);
+        if (crossings == 4) {
+            // Sattelzelle: Vorzeichen der Mitte entscheidet, welche Ecken abgetrennt werden
+            boolean centerPositive = (f00 + f10 + f01 + f11) > 0;
+            if (centerPositive == p00) {
+                out.add(vp, topX, py, px + s, rightY);      // Ecke oben rechts abtrennen
+                out.add(vp, px, leftY, bottomX, py + s);    // Ecke unten links abtrennen
+            } else {
+                out.add(vp, topX, py, px, leftY);           // Ecke oben links abtrennen
+                out.add(vp, px + s, rightY, bottomX, py + s); // Ecke unten rechts abtrennen
+            }
+            return;
+        }
+        if (crossings != 2) return;
+        double[] pts = new double[4];
+        int k = 0;
+        if (!Double.isNaN(topX)) { pts[k++] = topX; pts[k++] = py; }
+        if (!Double.isNaN(rightY)) { pts[k++] = px + s; pts[k++] = rightY; }
+        if (!Double.isNaN(bottomX)) { pts[k++] = bottomX; pts[k++] = py + s; }
+        if (!Double.isNaN(leftY)) { pts[k++] = px; pts[k++] = leftY; }
+        out.add(vp, pts[0], pts[1], pts[2], pts[3]);
+    }
+
+    /** true, wenn unter den endlichen Werten beide Vorzeichen vorkommen. */
+    private static boolean signChange(double a, double b, double c, double d) {
+        boolean pos = a > 0 || b > 0 || c > 0 || d > 0;
+        boolean neg = a <= 0 || b <= 0 || c <= 0 || d <= 0;
+        return pos && neg;
+    }
+
+    /** Umrechnung Pixel -> Welt und Auswertung. */
+    private record Viewport(Function2D f, double xMin, double yMax, double dx, double dy) {
+        double eval(double px, double py) {
+            return f.evaluate(xMin + px * dx, yMax - py * dy);
+        }
+    }
+
+    /** Wachsende Liste von Segmenten (Weltkoordinaten). */
+    private static final class Segments {
+        private double[] data = new double[64];
+        private int size;
+
+        void add(Viewport vp, double px1, double py1, double px2, double py2) {
+            if (size + 4 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = vp.xMin + px1 * vp.dx;
+            data[size++] = vp.yMax - py1 * vp.dy;
+            data[size++] = vp.xMin + px2 * vp.dx;
+            data[size++] = vp.yMax - py2 * vp.dy;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
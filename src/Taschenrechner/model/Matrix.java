@@ -1,29 +1,85 @@
 package Taschenrechner.model;
 
+import java.util.Arrays;
+
 /**
  * Modell für Matrizen im Taschenrechner.
+ * <p>
+ * Die Einträge liegen zeilenweise in einem einzigen double-Array: Eintrag (i, j) steht an
+ * {@code offset + i * stride + j}. Gegenüber einem double[][] entfallen Objektkopf und
+ * Verweis je Zeile, die Zeilen liegen direkt hintereinander im Speicher, und die inneren
+ * Schleifen laufen fortlaufend über das Array. Über {@link #subMatrix} entstehen Ausschnitte,
+ * die denselben Speicher mit größerem Zeilenabstand (stride) verwenden.
+ * <p>
+ * Das interne Array wird nicht herausgegeben; {@link #toArray()} und {@link #toFlatArray()}
+ * liefern Kopien.
  */
 public class Matrix {
-    private final double[][] data;
+    // Kantenlänge der Kacheln beim Transponieren
+    private static final int TRANSPOSE_TILE = 32;
+    // erlaubte Abweichung |a_ij - a_ji| relativ zu max|a| für isSymmetric()
+    private static final double SYMMETRY_TOLERANCE = 1e-13;
+
+    private final double[] data;
     private final int rows;
     private final int cols;
+    private final int offset;
+    private final int stride;
+
+    /** Nullmatrix mit rows Zeilen und cols Spalten. */
+    public Matrix(int rows, int cols) {
+        this(rows, cols, new double[checkedSize(rows, cols)], 0, cols);
+    }
 
+    /**
+     * Matrix mit den Einträgen aus data (wird kopiert).
+     * @throws IllegalArgumentException wenn data nicht rows × cols groß ist
+     */
     public Matrix(int rows, int cols, double[][] data) {
+        this(rows, cols);
+        if (data == null || data.length != rows) {
+            throw new IllegalArgumentException("Die Daten müssen " + rows + " Zeilen haben");
+        }
+        for (int i = 0; i < rows; i++) {
+            if (data[i] == null || data[i].length != cols) {
+                throw new IllegalArgumentException("Zeile " + i + " muss " + cols + " Spalten haben");
+            }
+            System.arraycopy(data[i], 0, this.data, i * cols, cols);
+        }
+    }
+
+    Matrix(int rows, int cols, double[] data, int offset, int stride) {
         this.rows = rows;
         this.cols = cols;
         this.data = data;
+        this.offset = offset;
+        this.stride = stride;
     }
 
-    public double get(int row, int col) {
-        return data[row][col];
+    /**
+     * Matrix über einem zeilenweise belegten Array der Länge rows · cols. Das Array wird
+     * übernommen, nicht kopiert, und darf danach nicht mehr verändert werden.
+     */
+    public static Matrix wrap(int rows, int cols, double[] data) {
+        if (data.length != checkedSize(rows, cols)) {
+            throw new IllegalArgumentException("Das Array muss " + rows + " × " + cols + " Einträge haben");
+        }
+        return new Matrix(rows, cols, data, 0, cols);
     }
 
-    public double[][] getData() {
-        return data;
+    private static int checkedSize(int rows, int cols) {
+        if (rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Ungültige Matrixgröße: " + rows + " × " + cols);
+        }
+        return rows * cols;
+    }
+
+    public double get(int row, int col) {
+        return data[offset + row * stride + col];
     }
 
     public void set(int row, int col, double value) {
-        data[row][col] = value;
+        data[offset + row * stride + col] = value;
     }
 
     public int getRows() {
@@ -34,7 +90,56 @@ public class Matrix {
         return cols;
     }
 
-    // Weitere Methoden wie Addition
+    // Zugriff auf den Speicher für die Rechenkerne im selben Paket (z.B. BlockedMultiplier)
+    double[] array() {
+        return data;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    int stride() {
+        return stride;
+    }
+
+    /**
+     * Ausschnitt ab (row, col) mit der angegebenen Größe. Der Ausschnitt teilt sich den
+     * Speicher mit dieser Matrix: Änderungen wirken in beide Richtungen.
+     */
+    public Matrix subMatrix(int row, int col, int rows, int cols) {
+        if (row < 0 || col < 0 || rows < 0 || cols < 0 || row + rows > this.rows || col + cols > this.cols) {
+            throw new IllegalArgumentException("Ausschnitt liegt nicht innerhalb der Matrix");
+        }
+        return new Matrix(rows, cols, data, offset + row * stride + col, stride);
+    }
+
+    /** Kopie mit eigenem, lückenlosem Speicher. */
+    public Matrix copy() {
+        return wrap(rows, cols, toFlatArray());
+    }
+
+    /** Einträge als neues double[rows][cols]. */
+    public double[][] toArray() {
+        double[][] result = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            int start = offset + i * stride;
+            result[i] = Arrays.copyOfRange(data, start, start + cols);
+        }
+        return result;
+    }
+
+    /** Einträge zeilenweise als neues Array der Länge rows · cols. */
+    public double[] toFlatArray() {
+        if (stride == cols) {
+            return Arrays.copyOfRange(data, offset, offset + rows * cols);
+        }
+        double[] result = new double[rows * cols];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(data, offset + i * stride, result, i * cols, cols);
+        }
+        return result;
+    }
 
     /**
      * Addiert zwei Matrizen.
@@ -45,16 +150,17 @@ public class Matrix {
         if(this.getRows() != matrix2.getRows() || this.getCols() != matrix2.getCols()) {
             throw new IllegalArgumentException("Die Matrizen sind nicht kompatibel für die Addition.");
         }
-        double[][] mat1 = this.getData();
-        double[][] mat2 = matrix2.getData();
-        double[][] d = new double[this.getRows()][this.getCols()];
-        Matrix result = new Matrix(this.getRows(), this.getCols(), d);
+        double[] d = new double[rows * cols];
+        double[] a = this.data, b = matrix2.data;
         for (int i = 0; i < rows; i++) {
+            int ai = this.offset + i * this.stride;
+            int bi = matrix2.offset + i * matrix2.stride;
+            int ri = i * cols;
             for (int j = 0; j < cols; j++) {
-                result.set(i, j, mat1[i][j] + mat2[i][j]);
+                d[ri + j] = a[ai + j] + b[bi + j];
             }
         }
-        return result;
+        return wrap(rows, cols, d);
     }
 
     /**
@@ -66,56 +172,60 @@ public class Matrix {
         if(this.getRows() != matrix2.getRows() || this.getCols() != matrix2.getCols()) {
             throw new IllegalArgumentException("Die Matrizen sind nicht kompatibel für die Addition.");
         }
-        double[][] mat1 = this.getData();
-        double[][] mat2 = matrix2.getData();
-        double[][] d = new double[this.getRows()][this.getCols()];
-        Matrix result = new Matrix(this.getRows(), this.getCols(), d);
+        double[] d = new double[rows * cols];
+        double[] a = this.data, b = matrix2.data;
         for (int i = 0; i < rows; i++) {
+            int ai = this.offset + i * this.stride;
+            int bi = matrix2.offset + i * matrix2.stride;
+            int ri = i * cols;
             for (int j = 0; j < cols; j++) {
-                result.set(i, j, mat1[i][j] - mat2[i][j]);
+                d[ri + j] = a[ai + j] - b[bi + j];
             }
         }
-        return result;
+        return wrap(rows, cols, d);
     }
 
     /**
      * Multipliziert zwei Matrizen.
+     * Gerechnet wird mit Cache-Kacheln und gepackten Blöcken, parallel über Zeilenblöcke
+     * (siehe {@link BlockedMultiplier}). Quadratische Produkte ab
+     * {@value StrassenMultiplier#THRESHOLD} Zeilen laufen über Strassen-Winograd
+     * ({@link StrassenMultiplier}); deren Rundungsfehler ist nur normweise beschränkt.
      * @param m2 Die zweite Matrix, die multipliziert werden soll.
      * @return Die resultierende Matrix nach der Multiplikation.
+     * @throws IllegalArgumentException wenn die Spaltenzahl dieser Matrix nicht der Zeilenzahl von m2 entspricht
      */
     public Matrix mult(Matrix m2) {
-        if(this.getRows() != m2.getCols()){
+        if(this.getCols() != m2.getRows()){
             throw new IllegalArgumentException("Die Matrizen sind nicht kompatibel für die Multiplikation.");
         }
-        double[][] mat1 = this.getData();
-        double[][] mat2 = m2.getData();
-        double[][] d = new double[this.getRows()][m2.getCols()];
-        Matrix result = new Matrix(this.getRows(), m2.getCols(), d);
-        for(int i=0; i<this.getRows(); i++){
-            for(int j=0; j<m2.getCols(); j++){
-                double sum = 0;
-                for(int k=0; k<this.getCols(); k++){
-                    sum += mat1[i][k] * mat2[k][j];
-                }
-                result.set(i, j, sum);
-            }
+        if (rows == cols && m2.rows == m2.cols && rows >= StrassenMultiplier.THRESHOLD) {
+            return StrassenMultiplier.multiply(this, m2);
         }
-        return result;
+        return BlockedMultiplier.multiply(this, m2);
     }
 
     /**
      * Transponiert die Matrix.
+     * Kachelweise, damit sowohl Lesen als auch Schreiben innerhalb einer Kachel im Cache bleibt.
      * @return Die transponierte Matrix.
      */
     public Matrix transpose() {
         // Für die transponierte Matrix brauchen wir cols Zeilen und rows Spalten
-        double[][] d = new double[cols][rows];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                d[j][i] = this.get(i, j);
+        double[] d = new double[rows * cols];
+        for (int i0 = 0; i0 < rows; i0 += TRANSPOSE_TILE) {
+            int i1 = Math.min(rows, i0 + TRANSPOSE_TILE);
+            for (int j0 = 0; j0 < cols; j0 += TRANSPOSE_TILE) {
+                int j1 = Math.min(cols, j0 + TRANSPOSE_TILE);
+                for (int i = i0; i < i1; i++) {
+                    int src = offset + i * stride;
+                    for (int j = j0; j < j1; j++) {
+                        d[j * rows + i] = data[src + j];
+                    }
+                }
             }
         }
-        return new Matrix(cols, rows, d);
+        return wrap(cols, rows, d);
     }
 
     /**
@@ -123,20 +233,142 @@ public class Matrix {
      * @return Die Matrix in Zeilen-Stufen-Form.
      */
     public Matrix rowEchelonForm() {
-        double[][] mat1 = this.getData();
-        GaussianSolver solver = new GaussianSolver(mat1);
-        return new Matrix(this.getRows(), this.getCols(), solver.toRowEchelon());
+        GaussianSolver solver = new GaussianSolver(this);
+        return wrap(this.getRows(), this.getCols(), solver.rowEchelonFlat());
     }
 
     /**
-     * Löst das Gleichungssystem Ax = b, wobei A die Matrix ist und b der rechte Vektor.
-     * Dies geschieht mittels des Gauß-Algorithmus mit partieller Pivotisierung im GaussianSolver.
+     * Löst das Gleichungssystem Ax = b, wobei diese Matrix die augmentierte Form (A|b) hat
+     * (siehe {@link #solve(double[])}).
      * @return Der Lösungsvektor x.
+     * @throws IllegalArgumentException falls die Matrix nicht n x (n+1) groß ist
      * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
      */
     public double[] solve() {
-        GaussianSolver solver = new GaussianSolver(this.getData());
-        return solver.solve();
+        if (cols != rows + 1) {
+            throw new IllegalArgumentException("Die augmentierte Matrix muss Größe n x (n+1) haben");
+        }
+        double[] b = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            b[i] = get(i, rows);
+        }
+        return subMatrix(0, 0, rows, rows).solve(b);
+    }
+
+    /**
+     * Löst A·x = b für diese quadratische Matrix A. Zuerst wird die Besetzungsstruktur
+     * bestimmt ({@link #structure()}): Diagonal-, Dreiecks-, Tridiagonal- und schmale
+     * Bandmatrizen werden kompakt gespeichert und in O(n) bis O(n · Bandbreite²) gelöst.
+     * Für dicht besetzte Matrizen gilt: Ist A symmetrisch, wird zuerst die
+     * Cholesky-Zerlegung versucht (halber Aufwand); scheitert sie, weil A nicht positiv
+     * definit ist, oder ist A nicht symmetrisch, wird mit LU und partieller Pivotisierung
+     * gerechnet. Für mehrere rechte Seiten besser die Zerlegung selbst aufheben.
+     * @throws IllegalArgumentException wenn A nicht quadratisch ist oder b nicht passt
+     * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
+     */
+    public double[] solve(double[] b) {
+        if (rows != cols) {
+            throw new IllegalArgumentException("Die Koeffizientenmatrix muss quadratisch sein");
+        }
+        MatrixStructure structure = structure();
+        if (structure.type() == MatrixStructure.Type.TRIDIAGONAL) {
+            return TridiagonalMatrix.from(this).solve(b);
+        }
+        if (structure.isStructured()) {
+            return BandMatrix.from(this, structure.lowerBandwidth(), structure.upperBandwidth()).solve(b);
+        }
+        if (isSymmetric()) {
+            CholeskyDecomposition cholesky = cholesky();
+            if (cholesky.isPositiveDefinite()) {
+                return cholesky.solve(b);
+            }
+        }
+        return lu().solve(b);
+    }
+
+    /** Dünn besetzte Kopie mit allen Einträgen ≠ 0 (siehe {@link SparseMatrix}). */
+    public SparseMatrix toSparse() {
+        return SparseMatrix.fromDense(this);
+    }
+
+    /** Besetzungsstruktur (Bandbreiten und Typ), siehe {@link MatrixStructure}. */
+    public MatrixStructure structure() {
+        return MatrixStructure.of(this);
+    }
+
+    /**
+     * true, wenn die Matrix quadratisch ist und |a_ij - a_ji| für alle Einträge höchstens
+     * {@value #SYMMETRY_TOLERANCE} · max|a| beträgt (Rundungsfehler etwa aus AᵀA sind
+     * erlaubt). Nach einem Durchlauf für max|a| wird kachelweise verglichen, mit Abbruch beim
+     * ersten zu großen Unterschied.
+     */
+    public boolean isSymmetric() {
+        if (rows != cols) return false;
+        // Toleranz gegen die Skalierung der ganzen Matrix, nicht gegen den einzelnen Eintrag:
+        // Rundungsrauschen in fast verschwindenden Einträgen neben großen ist erlaubt
+        double max = 0;
+        for (int i = 0; i < rows; i++) {
+            int row = offset + i * stride;
+            for (int j = 0; j < cols; j++) max = Math.max(max, Math.abs(data[row + j]));
+        }
+        double tol = SYMMETRY_TOLERANCE * max;
+        for (int i0 = 0; i0 < rows; i0 += TRANSPOSE_TILE) {
+            int i1 = Math.min(rows, i0 + TRANSPOSE_TILE);
+            for (int j0 = 0; j0 <= i0; j0 += TRANSPOSE_TILE) {
+                for (int i = i0; i < i1; i++) {
+                    int jEnd = Math.min(i, j0 + TRANSPOSE_TILE);
+                    for (int j = j0; j < jEnd; j++) {
+                        double lower = data[offset + i * stride + j];
+                        double upper = data[offset + j * stride + i];
+                        if (Math.abs(lower - upper) > tol) return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cholesky-Zerlegung A = L·Lᵀ (nur das untere Dreieck wird gelesen); ob sie gelungen ist,
+     * sagt {@link CholeskyDecomposition#isPositiveDefinite()}.
+     * @throws IllegalArgumentException wenn die Matrix nicht quadratisch ist
+     */
+    public CholeskyDecomposition cholesky() {
+        return new CholeskyDecomposition(this);
+    }
+
+    /**
+     * Zerlegung P·A·Pᵀ = L·D·Lᵀ für symmetrische, auch indefinite Matrizen (Bunch-Kaufman).
+     * @throws IllegalArgumentException wenn die Matrix nicht quadratisch ist
+     */
+    public LDLTDecomposition ldlt() {
+        return new LDLTDecomposition(this);
+    }
+
+    /**
+     * LU-Zerlegung dieser (quadratischen) Matrix. Einmal berechnet, löst sie beliebig viele
+     * rechte Seiten in O(n²) und liefert Determinante, Rang und Inverse.
+     * @throws IllegalArgumentException wenn die Matrix nicht quadratisch ist
+     */
+    public LUDecomposition lu() {
+        return new LUDecomposition(this);
+    }
+
+    /**
+     * Householder-QR-Zerlegung mit Spaltenpivotisierung (beliebiges m × n); liefert den
+     * numerischen Rang und Kleinste-Quadrate-Lösungen.
+     */
+    public QRDecomposition qr() {
+        return new QRDecomposition(this);
+    }
+
+    /**
+     * Kleinste-Quadrate-Lösung von A·x ≈ b für überbestimmte Systeme (m ≥ n), ohne AᵀA zu
+     * bilden. Bei Rangdefekt die Basislösung, siehe {@link QRDecomposition#solve(double[])}.
+     * @throws IllegalArgumentException wenn b nicht m Einträge hat
+     */
+    public double[] leastSquares(double[] b) {
+        return qr().solve(b);
     }
 
     /**
@@ -145,10 +377,9 @@ public class Matrix {
     public void printMatrix() {
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
-                System.out.printf("%8.2f ", data[i][j]);
+                System.out.printf("%8.2f ", get(i, j));
             }
             System.out.println();
         }
     }
 }
-
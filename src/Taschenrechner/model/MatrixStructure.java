@@ -0,0 +1,61 @@
+package Taschenrechner.model;
+
+/**
+ * Besetzungsstruktur einer Matrix: untere Bandbreite p (größtes i - j mit a_ij ≠ 0) und obere
+ * Bandbreite q (größtes j - i mit a_ij ≠ 0), daraus abgeleitet der Typ. Danach richtet sich,
+ * welches Lösungsverfahren {@link Matrix#solve(double[])} nimmt:
+ * <ul>
+ *   <li>Diagonal: O(n)</li>
+ *   <li>Dreieck: Einsetzen in O(n · Bandbreite), höchstens O(n²)</li>
+ *   <li>Tridiagonal: Thomas-Algorithmus in O(n)</li>
+ *   <li>Band: Band-LU in O(n · p · (p + q))</li>
+ *   <li>Dicht: Cholesky bzw. LU in O(n³)</li>
+ * </ul>
+ */
+public record MatrixStructure(Type type, int lowerBandwidth, int upperBandwidth) {
+
+    public enum Type {
+        DIAGONAL, LOWER_TRIANGULAR, UPPER_TRIANGULAR, TRIDIAGONAL, BANDED, DENSE
+    }
+
+    /**
+     * Bestimmt die Bandbreiten von a. Jede Zeile wird von links bis zum ersten und von rechts
+     * bis zum letzten Eintrag ≠ 0 gelesen; bei dicht besetzten Matrizen sind das nur wenige
+     * Einträge je Zeile.
+     */
+    public static MatrixStructure of(Matrix a) {
+        int rows = a.getRows(), cols = a.getCols();
+        int p = 0, q = 0;
+        for (int i = 0; i < rows; i++) {
+            // nur Spalten außerhalb des bisher gefundenen Bandes können p bzw. q vergrößern
+            for (int j = 0; j < Math.min(cols, i - p); j++) {
+                if (a.get(i, j) != 0.0) {
+                    p = i - j;
+                    break;
+                }
+            }
+            for (int j = cols - 1; j > i + q; j--) {
+                if (a.get(i, j) != 0.0) {
+                    q = j - i;
+                    break;
+                }
+            }
+        }
+        return new MatrixStructure(classify(rows, cols, p, q), p, q);
+    }
+
+    private static Type classify(int rows, int cols, int p, int q) {
+        if (p == 0 && q == 0) return Type.DIAGONAL;
+        if (p == 0) return Type.UPPER_TRIANGULAR;
+        if (q == 0) return Type.LOWER_TRIANGULAR;
+        if (p == 1 && q == 1) return Type.TRIDIAGONAL;
+        // Band-LU lohnt sich nur, solange das Band deutlich schmaler als die Matrix ist
+        if (rows == cols && p + q < rows / 4) return Type.BANDED;
+        return Type.DENSE;
+    }
+
+    /** true, wenn es ein Verfahren gibt, das schneller als dichtes LU ist. */
+    public boolean isStructured() {
+        return type != Type.DENSE;
+    }
+}
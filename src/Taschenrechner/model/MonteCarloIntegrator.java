@@ -0,0 +1,328 @@
+package Taschenrechner.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Monte-Carlo-Integration von f(x1, …, xn) über einen Quader [lower, upper], für Dimensionen,
+ * in denen Quadraturformeln wie beim {@link Integrator} zu viele Auswertungen bräuchten.
+ * <p>
+ * Die Stichprobe wird auf mehrere unabhängige Ströme verteilt, die im Fork-Join-Pool parallel
+ * laufen. Jeder Strom summiert seine Funktionswerte mit Kahan-Summation; nach jeder Runde werden
+ * die Teilsummen (ebenfalls kompensiert) zusammengeführt und der Standardfehler geschätzt. Die
+ * Rundengröße verdoppelt sich, bis der Standardfehler unter der gewünschten Schranke liegt
+ * oder die Höchstzahl an Auswertungen erreicht ist.
+ * <ul>
+ *   <li>{@link Method#PSEUDO_RANDOM}: jeder Strom hat einen eigenen, per
+ *       {@link SplittableRandom#split()} abgeleiteten Zufallszahlengenerator; der Fehler
+ *       sinkt wie 1/√N.</li>
+ *   <li>{@link Method#SOBOL}: jeder Strom durchläuft die Sobol-Folge mit einer eigenen
+ *       zufälligen digitalen Verschiebung (randomisiertes Quasi-Monte-Carlo). Für glatte
+ *       Integranden sinkt der Fehler fast wie 1/N; der Standardfehler wird aus der Streuung der
+ *       Strom-Mittelwerte geschätzt. Unterstützt bis zu {@value #MAX_SOBOL_DIMENSION} Variablen.</li>
+ * </ul>
+ */
+public final class MonteCarloIntegrator {
+    /** Höchste Dimension für {@link Method#SOBOL} */
+    public static final int MAX_SOBOL_DIMENSION = 21;
+    /** Standard-Höchstzahl an Auswertungen */
+    public static final long DEFAULT_MAX_SAMPLES = 1L << 26;
+
+    // Mindestzahl Ströme, damit die Streuung der Strom-Mittelwerte (Sobol) aussagekräftig ist
+    private static final int MIN_STREAMS = 8;
+    private static final int FIRST_BATCH = 256;
+    private static final int MAX_BATCH = 1 << 16;
+    private static final int BITS = 32;
+
+    // Richtungszahlen nach Joe und Kuo (new-joe-kuo-6.21201) für die Dimensionen 2 bis 21:
+    // Grad s des primitiven Polynoms, dessen Koeffizienten a, Startwerte m1 … ms
+    private static final int[][] SOBOL_PARAMETERS = {
+            {1, 0, 1},
+            {2, 1, 1, 3},
+            {3, 1, 1, 3, 1},
+            {3, 2, 1, 1, 1},
+            {4, 1, 1, 1, 3, 3},
+            {4, 4, 1, 3, 5, 13},
+            {5, 2, 1, 1, 5, 5, 17},
+            {5, 4, 1, 1, 5, 5, 5},
+            {5, 7, 1, 1, 7, 11, 19},
+            {5, 11, 1, 1, 5, 1, 1},
+            {5, 13, 1, 1, 1, 3, 11},
+            {5, 14, 1, 3, 5, 5, 31},
+            {6, 1, 1, 3, 3, 9, 7, 49},
+            {6, 13, 1, 1, 1, 15, 21, 21},
+            {6, 16, 1, 3, 1, 13, 27, 49},
+            {6, 19, 1, 1, 1, 15, 7, 5},
+            {6, 22, 1, 3, 1, 15, 13, 25},
+            {6, 25, 1, 1, 5, 5, 19, 61},
+            {7, 1, 1, 3, 7, 11, 23, 15, 103},
+            {7, 4, 1, 3, 7, 13, 13, 15, 69}
+    };
+    private static final int[][] DIRECTIONS = directionNumbers();
+
+    public enum Method { PSEUDO_RANDOM, SOBOL }
+
+    /**
+     * Ergebnis der Integration.
+     * @param standardError geschätzter Standardfehler des Werts
+     * @param samples       Anzahl der Funktionsauswertungen
+     * @param converged     ob der Standardfehler die Schranke erreicht hat
+     */
+    public record Result(double value, double standardError, long samples, boolean converged) {
+    }
+
+    private MonteCarloIntegrator() {
+    }
+
+    /** Quasi-Monte-Carlo (Sobol) mit höchstens {@link #DEFAULT_MAX_SAMPLES} Auswertungen. */
+    public static Result integrate(FunctionND f, double[] lower, double[] upper, double maxError) {
+        Method method = lower.length <= MAX_SOBOL_DIMENSION ? Method.SOBOL : Method.PSEUDO_RANDOM;
+        return integrate(f, lower, upper, maxError, DEFAULT_MAX_SAMPLES, method, System.nanoTime());
+    }
+
+    /**
+     * Integriert f über den Quader, bis der Standardfehler höchstens maxError beträgt.
+     * Gleicher seed ergibt bei gleicher Anzahl Ströme dasselbe Ergebnis.
+     * @throws IllegalArgumentException bei ungültigen Grenzen oder Einstellungen
+     */
+    public static Result integrate(FunctionND f, double[] lower, double[] upper, double maxError,
+                                   long maxSamples, Method method, long seed) {
+        int dimension = lower.length;
+        if (dimension == 0 || upper.length != dimension) {
+            throw new IllegalArgumentException("Grenzen müssen dieselbe, positive Dimension haben");
+        }
+        double volume = 1;
+        for (int i = 0; i < dimension; i++) {
+            if (!Double.isFinite(lower[i]) || !Double.isFinite(upper[i])) {
+                throw new IllegalArgumentException("Integrationsgrenzen müssen endlich sein");
+            }
+            volume *= upper[i] - lower[i];
+        }
+        if (!(maxError > 0) || maxSamples < 1) {
+            throw new IllegalArgumentException("Fehlerschranke und Höchstzahl müssen positiv sein");
+        }
+        if (method == Method.SOBOL && dimension > MAX_SOBOL_DIMENSION) {
+            throw new IllegalArgumentException("Sobol-Folge nur bis Dimension " + MAX_SOBOL_DIMENSION);
+        }
+        if (volume == 0) {
+            return new Result(0, 0, 0, true);
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int streamCount = Math.max(MIN_STREAMS, pool.getParallelism());
+        SplittableRandom root = new SplittableRandom(seed);
+        SampleStream[] streams = new SampleStream[streamCount];
+        for (int s = 0; s < streamCount; s++) {
+            streams[s] = new SampleStream(f, lower, upper, method, root.split());
+        }
+
+        long samples = 0;
+        int batch = FIRST_BATCH;
+        double value = Double.NaN, error = Double.POSITIVE_INFINITY;
+        while (true) {
+            int n = batch;
+            List<Callable<Void>> round = new ArrayList<>(streamCount);
+            for (SampleStream stream : streams) {
+                round.add(() -> {
+                    stream.run(n);
+                    return null;
+                });
+            }
+            for (Future<Void> done : pool.invokeAll(round)) {
+                join(done);
+            }
+            samples += (long) n * streamCount;
+
+            double[] estimate = method == Method.SOBOL ? replicateEstimate(streams) : pooledEstimate(streams);
+            value = volume * estimate[0];
+            error = Math.abs(volume) * estimate[1];
+            if (!Double.isFinite(value)) {
+                return new Result(value, Double.POSITIVE_INFINITY, samples, false);
+            }
+            // mindestens zwei Runden, damit die Fehlerschätzung nicht auf einer Runde beruht
+            if (error <= maxError && samples > (long) FIRST_BATCH * streamCount) {
+                return new Result(value, error, samples, true);
+            }
+            long remaining = maxSamples - samples;
+            if (remaining < streamCount) {
+                return new Result(value, error, samples, false);
+            }
+            batch = (int) Math.min(Math.min(2L * batch, MAX_BATCH), remaining / streamCount);
+        }
+    }
+
+    /** Mittelwert und Standardfehler aller Stichproben gemeinsam (Pseudozufall). */
+    private static double[] pooledEstimate(SampleStream[] streams) {
+        // Summen um den ersten Wert des ersten Stroms verschoben, gegen Auslöschung in der Varianz
+        double shift = streams[0].shift;
+        KahanSum sum = new KahanSum(), sumSquares = new KahanSum();
+        long n = 0;
+        for (SampleStream s : streams) {
+            // jeder Strom summiert um seinen eigenen Verschiebewert; auf den gemeinsamen umrechnen
+            double d = s.shift - shift;
+            double s1 = s.sum.value(), s2 = s.sumSquares.value();
+            sum.add(s1 + s.count * d);
+            sumSquares.add(s2 + 2 * d * s1 + s.count * d * d);
+            n += s.count;
+        }
+        double mean = sum.value() / n;
+        double variance = Math.max(0, (sumSquares.value() - sum.value() * mean) / (n - 1));
+        return new double[]{shift + mean, Math.sqrt(variance / n)};
+    }
+
+    /** Mittelwert der Strom-Mittelwerte und dessen Standardfehler (randomisiertes QMC). */
+    private static double[] replicateEstimate(SampleStream[] streams) {
+        int r = streams.length;
+        double[] means = new double[r];
+        KahanSum total = new KahanSum();
+        for (int i = 0; i < r; i++) {
+            means[i] = streams[i].shift + streams[i].sum.value() / streams[i].count;
+            total.add(means[i]);
+        }
+        double mean = total.value() / r;
+        KahanSum squares = new KahanSum();
+        for (double m : means) {
+            squares.add((m - mean) * (m - mean));
+        }
+        return new double[]{mean, Math.sqrt(squares.value() / (r - 1) / r)};
+    }
+
+    private static void join(Future<Void> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Integration unterbrochen", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Ein Stichprobenstrom mit eigenem Zustand; wird je Runde von genau einem Thread
+     * fortgesetzt. Summiert f - shift (shift = erster Funktionswert des Stroms).
+     */
+    private static final class SampleStream {
+        private final FunctionND f;
+        private final double[] lower, upper, point;
+        private final SplittableRandom random;
+        private final int[] sobol;       // aktueller Sobol-Punkt (null bei Pseudozufall)
+        private final int[] scramble;    // zufällige digitale Verschiebung je Dimension
+        private long index;              // Index des nächsten Sobol-Punkts
+        final KahanSum sum = new KahanSum(), sumSquares = new KahanSum();
+        long count;
+        double shift = Double.NaN;
+
+        SampleStream(FunctionND f, double[] lower, double[] upper, Method method, SplittableRandom random) {
+            this.f = f;
+            this.lower = lower;
+            this.upper = upper;
+            this.point = new double[lower.length];
+            this.random = random;
+            if (method == Method.SOBOL) {
+                sobol = new int[lower.length];
+                scramble = new int[lower.length];
+                for (int i = 0; i < scramble.length; i++) {
+                    scramble[i] = random.nextInt();
+                }
+            } else {
+                sobol = null;
+                scramble = null;
+            }
+        }
+
+        void run(int n) {
+            for (int k = 0; k < n; k++) {
+                if (sobol != null) nextSobol();
+                else nextRandom();
+                double y;
+                try {
+                    y = f.evaluate(point);
+                } catch (ArithmeticException e) {
+                    y = Double.NaN;
+                }
+                if (Double.isNaN(shift)) shift = y;
+                double d = y - shift;
+                sum.add(d);
+                sumSquares.add(d * d);
+            }
+            count += n;
+        }
+
+        private void nextRandom() {
+            for (int i = 0; i < point.length; i++) {
+                point[i] = lower[i] + random.nextDouble() * (upper[i] - lower[i]);
+            }
+        }
+
+        /**
+         * Nächster Punkt der Sobol-Folge in Gray-Code-Reihenfolge: gegenüber dem Vorgänger
+         * ändert sich je Dimension nur eine Richtungszahl (XOR). Die Verschiebung um eine halbe
+         * Einheit der letzten Stelle hält die Punkte von den Rändern fern.
+         */
+        private void nextSobol() {
+            if (index > 0) {
+                int c = Long.numberOfTrailingZeros(~(index - 1));
+                for (int i = 0; i < sobol.length; i++) {
+                    sobol[i] ^= DIRECTIONS[i][c];
+                }
+            }
+            index++;
+            for (int i = 0; i < point.length; i++) {
+                double u = (Integer.toUnsignedLong(sobol[i] ^ scramble[i]) + 0.5) / 0x1p32;
+                point[i] = lower[i] + u * (upper[i] - lower[i]);
+            }
+        }
+    }
+
+    /** Kompensierte Summation nach Kahan (Neumaier-Variante, auch für Summanden größer als die Summe). */
+    private static final class KahanSum {
+        private double sum, compensation;
+
+        void add(double v) {
+            double t = sum + v;
+            if (Math.abs(sum) >= Math.abs(v)) {
+                compensation += (sum - t) + v;
+            } else {
+                compensation += (v - t) + sum;
+            }
+            sum = t;
+        }
+
+        double value() {
+            return sum + compensation;
+        }
+    }
+
+    /** Richtungszahlen V[j][k] (als 32-Bit-Brüche) aller unterstützten Dimensionen. */
+    private static int[][] directionNumbers() {
+        int[][] v = new int[MAX_SOBOL_DIMENSION][BITS];
+        // erste Dimension: van-der-Corput-Folge
+        for (int k = 0; k < BITS; k++) {
+            v[0][k] = 1 << (BITS - 1 - k);
+        }
+        for (int j = 1; j < MAX_SOBOL_DIMENSION; j++) {
+            int[] p = SOBOL_PARAMETERS[j - 1];
+            int s = p[0], a = p[1];
+            for (int k = 0; k < s && k < BITS; k++) {
+                v[j][k] = p[2 + k] << (BITS - 1 - k);
+            }
+            for (int k = s; k < BITS; k++) {
+                int value = v[j][k - s] ^ (v[j][k - s] >>> s);
+                for (int i = 1; i < s; i++) {
+                    if (((a >>> (s - 1 - i)) & 1) != 0) {
+                        value ^= v[j][k - i];
+                    }
+                }
+                v[j][k] = value;
+            }
+        }
+        return v;
+    }
+}
@@ -0,0 +1,72 @@
+package Taschenrechner.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Freie Parameter (z.B. a, b, c in "a*sin(b*x)+c"), die der {@link Taschenrechner.util.FunctionParser}
+ * an feste Plätze (Slots) bindet. Die geparsten Funktionen lesen den aktuellen Wert bei jeder
+ * Auswertung, sodass eine Wertänderung ohne erneutes Parsen sofort wirkt.
+ */
+public class ParameterSet {
+    /** Startwert eines neu angelegten Parameters */
+    public static final double DEFAULT_VALUE = 1.0;
+
+    private final List<String> names = new ArrayList<>();
+    private double[] values = new double[4];
+
+    /**
+     * Liefert den Slot des Parameters und legt ihn bei Bedarf mit {@link #DEFAULT_VALUE} an.
+     */
+    public int slot(String name) {
+        int index = names.indexOf(name);
+        if (index >= 0) {
+            return index;
+        }
+        if (names.size() == values.length) {
+            double[] grown = new double[values.length * 2];
+            System.arraycopy(values, 0, grown, 0, values.length);
+            values = grown;
+        }
+        names.add(name);
+        values[names.size() - 1] = DEFAULT_VALUE;
+        return names.size() - 1;
+    }
+
+    /** Slot des Parameters oder -1, falls er nicht existiert. */
+    public int indexOf(String name) {
+        return names.indexOf(name);
+    }
+
+    public double get(int slot) {
+        return values[slot];
+    }
+
+    public void set(int slot, double value) {
+        if (slot < 0 || slot >= names.size()) {
+            throw new IllegalArgumentException("Ungültiger Parameter-Slot: " + slot);
+        }
+        values[slot] = value;
+    }
+
+    /** Entfernt alle Parameter ab Slot {@code size}, z.B. nach einer fehlgeschlagenen Eingabe. */
+    public void truncate(int size) {
+        while (names.size() > size) {
+            names.remove(names.size() - 1);
+        }
+    }
+
+    public String getName(int slot) {
+        return names.get(slot);
+    }
+
+    /** Alle Parameternamen in Slot-Reihenfolge (nicht veränderbare Sicht). */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,55 @@
+package Taschenrechner.model;
+
+import java.awt.Color;
+
+/**
+ * Parametrische Kurve (x(t), y(t)) bzw. Polarkurve r(t) mit t als Winkel.
+ * Die Geometrie ist ein mit {@link CurveSampler} adaptiv abgetasteter Polygonzug
+ * (x, y paarweise in Weltkoordinaten, ein NaN-Paar trennt Abschnitte).
+ */
+public class ParametricCurve extends ViewportLayer {
+    private final CurveSampler.PointFunction function;
+    private final double tMin, tMax;
+
+    private ParametricCurve(String label, CurveSampler.PointFunction function,
+                            double tMin, double tMax, Color color) {
+        super(label, color);
+        if (!(tMax > tMin)) {
+            throw new IllegalArgumentException("Parameterbereich ungültig: tMin muss kleiner als tMax sein");
+        }
+        this.function = function;
+        this.tMin = tMin;
+        this.tMax = tMax;
+    }
+
+    /** Kurve t -> (x(t), y(t)) für t in [tMin, tMax]. */
+    public static ParametricCurve parametric(String label, Function x, Function y,
+                                             double tMin, double tMax, Color color) {
+        return new ParametricCurve(label, (t, out) -> {
+            out[0] = x.evaluate(t);
+            out[1] = y.evaluate(t);
+        }, tMin, tMax, color);
+    }
+
+    /** Polarkurve t -> r(t) * (cos t, sin t) für t in [tMin, tMax]. */
+    public static ParametricCurve polar(String label, Function r, double tMin, double tMax, Color color) {
+        return new ParametricCurve(label, (t, out) -> {
+            double radius = r.evaluate(t);
+            out[0] = radius * Math.cos(t);
+            out[1] = radius * Math.sin(t);
+        }, tMin, tMax, color);
+    }
+
+    public double getTMin() {
+        return tMin;
+    }
+
+    public double getTMax() {
+        return tMax;
+    }
+
+    @Override
+    protected double[] compute(double xMin, double xMax, double yMin, double yMax, int width, int height) {
+        return CurveSampler.sample(function, tMin, tMax, xMin, xMax, yMin, yMax, width, height);
+    }
+}
@@ -0,0 +1,55 @@
+package Taschenrechner.model;
+
+/**
+ * Vom {@link Taschenrechner.util.FunctionParser} erzeugte Funktion, die ihren Funktionsbaum
+ * behält. Dadurch kann dieselbe Funktion später auch auf andere Arten ausgewertet werden,
+ * z.B. in Intervallarithmetik oder in {@link DoubleDouble}-Genauigkeit.
+ * Die Variablen sind in der beim Parsen angegebenen Reihenfolge indiziert (x = 0, y = 1).
+ */
+public class ParsedFunction implements Function, Function2D, FunctionND, IntervalFunction, DoubleDoubleFunction {
+    private final FunctionNode root;
+    private final String[] variables;
+    private final Function compiled; // übersetzter Baum, nur bei einer Variablen
+
+    public ParsedFunction(FunctionNode root, String... variables) {
+        this.root = root;
+        this.variables = variables.clone();
+        this.compiled = variables.length == 1 ? root.compile() : null;
+    }
+
+    public FunctionNode getRoot() {
+        return root;
+    }
+
+    public String[] getVariables() {
+        return variables.clone();
+    }
+
+    /** Wertet die Funktion mit allen Variablen aus (Reihenfolge wie {@link #getVariables()}). */
+    @Override
+    public double evaluate(double[] vars) {
+        return root.evaluate(vars);
+    }
+
+    @Override
+    public double evaluate(double x) {
+        return compiled != null ? compiled.evaluate(x) : root.evaluate(new double[]{x});
+    }
+
+    /** Intervallauswertung in der ersten Variablen. */
+    @Override
+    public Interval evaluate(Interval x) {
+        return root.evaluate(new Interval[]{x});
+    }
+
+    /** Auswertung in der ersten Variablen mit {@link DoubleDouble}-Genauigkeit. */
+    @Override
+    public DoubleDouble evaluate(DoubleDouble x) {
+        return root.evaluate(new DoubleDouble[]{x});
+    }
+
+    @Override
+    public double evaluate(double x, double y) {
+        return root.evaluate(new double[]{x, y});
+    }
+}
@@ -0,0 +1,39 @@
+package Taschenrechner.model;
+
+import java.awt.Color;
+
+/**
+ * Gemeinsame Basis aller Ebenen im Graphen (Funktionsgraphen, implizite Kurven, …):
+ * Beschriftung, Farbe und Sichtbarkeit.
+ */
+public abstract class PlotLayer {
+    private final String label;
+    private final Color color;
+    private boolean visible = true;
+
+    protected PlotLayer(String label, Color color) {
+        this.label = label;
+        this.color = color;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -3,7 +3,7 @@ package Taschenrechner.model;
 /**
  * Repräsentiert Polynomfunktionen im Taschenrechner.
  */
-public class PolynomialFunction implements Function {
+public class PolynomialFunction implements Function, IntervalFunction, DoubleDoubleFunction {
     // coefficients[0] * x^(n-1) + coefficients[1] * x^(n-2) + ... + coefficients[n-1] * x^0
     private final double[] coefficients;
 
@@ -27,6 +27,31 @@ public class PolynomialFunction implements Function {
         return result;
     }
 
+    /**
+     * Intervallauswertung als Summe der Monome a_k·x^k. Anders als beim Horner-Schema wird
+     * jede Potenz einzeln eng eingeschlossen (z.B. x^2 über [-1, 1] ergibt [0, 1]).
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        int degree = coefficients.length - 1;
+        Interval result = Interval.point(0);
+        for (int i = 0; i <= degree; i++) {
+            if (coefficients[i] == 0) continue;
+            result = result.add(Interval.point(coefficients[i]).mul(x.integerPower(degree - i)));
+        }
+        return x.isEmpty() ? Interval.EMPTY : result;
+    }
+
+    /** Horner-Schema in {@link DoubleDouble}-Genauigkeit. */
+    @Override
+    public DoubleDouble evaluate(DoubleDouble x) {
+        DoubleDouble result = DoubleDouble.ZERO;
+        for (double coeff : coefficients) {
+            result = result.mul(x).add(coeff);
+        }
+        return result;
+    }
+
     /** Exakte Ableitung des Polynoms. */
     public PolynomialFunction derivative() {
         int n = coefficients.length;
@@ -0,0 +1,463 @@
+package Taschenrechner.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Householder-QR-Zerlegung A·P = Q·R einer m × n-Matrix mit Spaltenpivotisierung und darauf
+ * aufbauend die Lösung überbestimmter Systeme im Sinne der kleinsten Quadrate
+ * (min ‖A·x - b‖₂), ohne AᵀA zu bilden. AᵀA würde die Kondition quadrieren; die QR-Zerlegung
+ * arbeitet direkt auf A und ist rückwärtsstabil.
+ * <p>
+ * Die Spaltenpivotisierung wählt in jedem Schritt die Spalte mit der größten Restnorm. Dadurch
+ * fallen die Diagonalelemente von R betragsmäßig ab, und der numerische Rang lässt sich an
+ * ihnen ablesen ({@link #rank()}). Bei Rangdefekt liefert {@link #solve} die Basislösung, in
+ * der die Unbekannten zu den abhängigen Spalten 0 sind.
+ * <p>
+ * Große, schmale Matrizen (m ≫ n, z.B. 1 000 000 × 50 aus einer Datenanpassung) werden
+ * zeilenblockweise zerlegt (TSQR): Jeder Block von etwa {@value #LEAF_ENTRIES} Einträgen passt
+ * in den Cache und wird unabhängig – und parallel – mit Householder zerlegt; die n × n großen
+ * R-Faktoren der Blöcke werden übereinandergelegt und auf dieselbe Weise weiter zerlegt, bis
+ * ein einziges R übrig ist. Erst dieses kleine R wird mit Spaltenpivotisierung zerlegt: Da
+ * A = Q₁·R₁ mit orthogonalem Q₁, trifft die Pivotsuche auf R₁ genau dieselben Entscheidungen
+ * wie auf A. So wird A nur einmal aus dem Hauptspeicher gelesen, statt für jede Spalte
+ * erneut.
+ */
+public class QRDecomposition {
+    // Einträge je Zeilenblock bei der blockweisen Zerlegung (≈ 2 MB)
+    static final int LEAF_ENTRIES = 1 << 18;
+
+    private final int m, n;
+    private final Tsqr tree;         // null, wenn A direkt zerlegt wurde
+    private final Householder top;   // pivotisierte Zerlegung von A bzw. des R aus tree
+    private final int rank;
+
+    /**
+     * Zerlegt a (wird nicht verändert).
+     * @throws IllegalArgumentException wenn a leer ist
+     */
+    public QRDecomposition(Matrix a) {
+        if (a == null || a.getRows() == 0 || a.getCols() == 0) {
+            throw new IllegalArgumentException("Matrix darf nicht leer sein");
+        }
+        m = a.getRows();
+        n = a.getCols();
+        int leafRows = leafRows(n);
+        if (m >= 2 * leafRows) {
+            tree = Tsqr.build(a, leafRows);
+            top = Householder.factor(tree.r(), true);
+        } else {
+            tree = null;
+            top = Householder.factor(a.toFlatArray(), m, n, true);
+        }
+        rank = computeRank();
+    }
+
+    private static int leafRows(int n) {
+        return Math.max(2 * n, LEAF_ENTRIES / n);
+    }
+
+    private int computeRank() {
+        int k = Math.min(m, n);
+        double r00 = Math.abs(top.a[0]);
+        double tol = Math.max(m, n) * Math.ulp(1.0) * r00;
+        int r = 0;
+        while (r < k && Math.abs(top.a[r * n + r]) > tol) r++;
+        return r;
+    }
+
+    public int getRows() {
+        return m;
+    }
+
+    public int getCols() {
+        return n;
+    }
+
+    /** Numerischer Rang: Anzahl der |r_kk| > max(m, n) · ε · |r_00|. */
+    public int rank() {
+        return rank;
+    }
+
+    /** true, wenn die Spalten von A linear unabhängig sind (Rang n). */
+    public boolean isFullRank() {
+        return rank == n;
+    }
+
+    /** Spaltenpermutation: Spalte j von A·P ist Spalte getPivot()[j] von A. */
+    public int[] getPivot() {
+        return top.perm.clone();
+    }
+
+    /** R (min(m, n) × n, obere Trapezform) zu A·P. */
+    public Matrix getR() {
+        int k = Math.min(m, n);
+        Matrix r = new Matrix(k, n);
+        for (int i = 0; i < k; i++) {
+            for (int j = i; j < n; j++) r.set(i, j, top.a[i * n + j]);
+        }
+        return r;
+    }
+
+    /** Q mit orthonormalen Spalten (m × min(m, n)), sodass A·P = Q·R. */
+    public Matrix getQ() {
+        int k = Math.min(m, n);
+        double[] q = new double[m * k];
+        for (int i = 0; i < k; i++) q[i * k + i] = 1.0;
+        applyQ(q, k);
+        return Matrix.wrap(m, k, q);
+    }
+
+    /**
+     * Kleinste-Quadrate-Lösung von A·x ≈ b (bei m < n oder Rangdefekt die Basislösung).
+     * @throws IllegalArgumentException wenn b nicht m Einträge hat
+     */
+    public double[] solve(double[] b) {
+        if (b == null || b.length != m) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + m + " Einträge haben");
+        }
+        return solveFlat(b.clone(), 1);
+    }
+
+    /**
+     * Kleinste-Quadrate-Lösung für alle Spalten von B (m × k) gleichzeitig.
+     * @throws IllegalArgumentException wenn B nicht m Zeilen hat
+     */
+    public Matrix solve(Matrix b) {
+        if (b == null || b.getRows() != m) {
+            throw new IllegalArgumentException("Die rechte Seite muss " + m + " Zeilen haben");
+        }
+        int k = b.getCols();
+        return Matrix.wrap(n, k, solveFlat(b.toFlatArray(), k));
+    }
+
+    /** c = Qᵀ·B, dann R₁₁·y = c₁ (Rang r) und x = P·(y, 0). */
+    private double[] solveFlat(double[] x, int k) {
+        double[] c = applyQt(x, k);
+        double[] y = new double[n * k];
+        for (int i = rank - 1; i >= 0; i--) {
+            int iRow = i * n;
+            for (int j = 0; j < k; j++) {
+                double sum = c[i * k + j];
+                for (int l = i + 1; l < rank; l++) sum -= top.a[iRow + l] * y[l * k + j];
+                y[i * k + j] = sum / top.a[iRow + i];
+            }
+        }
+        double[] result = new double[n * k];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(y, i * k, result, top.perm[i] * k, k);
+        }
+        return result;
+    }
+
+    /** Qᵀ·X für X (m × k, zeilenweise, wird überschrieben); liefert die ersten min(m, n) Zeilen. */
+    private double[] applyQt(double[] x, int k) {
+        if (tree == null) {
+            top.applyQt(x, 0, k);
+            return x;
+        }
+        tree.applyQt(x, 0, k);
+        top.applyQt(x, 0, k);   // die ersten n Zeilen enthalten jetzt Q₁ᵀ·X, darauf Q₂ᵀ
+        return x;
+    }
+
+    /** Q·X für X (m × k), dessen Zeilen ab min(m, n) Null sind. */
+    private void applyQ(double[] x, int k) {
+        top.applyQ(x, 0, k);
+        if (tree != null) tree.applyQ(x, 0, k);
+    }
+
+    /**
+     * Householder-Zerlegung einer zeilenweise gespeicherten Matrix, auf Wunsch mit
+     * Spaltenpivotisierung. Unterhalb der Diagonale stehen die Householder-Vektoren v (mit
+     * v_j = 1 nicht gespeichert), darüber R.
+     */
+    private static final class Householder {
+        final int rows, cols, reflectors;
+        final double[] a;
+        final double[] tau;
+        final int[] perm;
+
+        private Householder(double[] a, int rows, int cols, boolean pivot) {
+            this.a = a;
+            this.rows = rows;
+            this.cols = cols;
+            this.reflectors = Math.min(rows, cols);
+            this.tau = new double[reflectors];
+            this.perm = new int[cols];
+            for (int j = 0; j < cols; j++) perm[j] = j;
+            factor(pivot);
+        }
+
+        static Householder factor(double[] a, int rows, int cols, boolean pivot) {
+            return new Householder(a, rows, cols, pivot);
+        }
+
+        /** Zerlegt eine quadratische n × n-Matrix (oberes Dreieck eines R). */
+        static Householder factor(Matrix r, boolean pivot) {
+            return new Householder(r.toFlatArray(), r.getRows(), r.getCols(), pivot);
+        }
+
+        private void factor(boolean pivot) {
+            int n = cols;
+            // Restnormen der Spalten (vn1) und Referenz für die Neuberechnung (vn2)
+            double[] vn1 = new double[n], vn2 = new double[n];
+            double tol3z = Math.sqrt(Math.ulp(1.0));
+            if (pivot) {
+                for (int c = 0; c < n; c++) {
+                    vn1[c] = columnNorm(c, 0);
+                    vn2[c] = vn1[c];
+                }
+            }
+            double[] w = new double[n];
+            for (int j = 0; j < reflectors; j++) {
+                if (pivot) {
+                    int p = j;
+                    for (int c = j + 1; c < n; c++) {
+                        if (vn1[c] > vn1[p]) p = c;
+                    }
+                    if (p != j) {
+                        for (int i = 0; i < rows; i++) {
+                            double t = a[i * n + j];
+                            a[i * n + j] = a[i * n + p];
+                            a[i * n + p] = t;
+                        }
+                        int t = perm[j];
+                        perm[j] = perm[p];
+                        perm[p] = t;
+                        vn1[p] = vn1[j];
+                        vn2[p] = vn2[j];
+                    }
+                }
+                // Householder-Vektor für a[j.., j]
+                double alpha = a[j * n + j];
+                double sigma = 0;
+                for (int i = j + 1; i < rows; i++) {
+                    double v = a[i * n + j];
+                    sigma += v * v;
+                }
+                if (sigma == 0) {
+                    tau[j] = 0;
+                } else {
+                    double norm = Math.hypot(alpha, Math.sqrt(sigma));
+                    double beta = alpha >= 0 ? -norm : norm;
+                    tau[j] = (beta - alpha) / beta;
+                    double scale = 1 / (alpha - beta);
+                    for (int i = j + 1; i < rows; i++) a[i * n + j] *= scale;
+                    a[j * n + j] = beta;
+                    // auf die restlichen Spalten anwenden: w = vᵀ·A, A -= τ·v·wᵀ (zeilenweise)
+                    int width = n - j - 1;
+                    if (width > 0) {
+                        System.arraycopy(a, j * n + j + 1, w, 0, width);
+                        for (int i = j + 1; i < rows; i++) {
+                            double vi = a[i * n + j];
+                            if (vi == 0) continue;
+                            int row = i * n + j + 1;
+                            for (int c = 0; c < width; c++) w[c] += vi * a[row + c];
+                        }
+                        double t = tau[j];
+                        int row = j * n + j + 1;
+                        for (int c = 0; c < width; c++) a[row + c] -= t * w[c];
+                        for (int i = j + 1; i < rows; i++) {
+                            double f = t * a[i * n + j];
+                            if (f == 0) continue;
+                            row = i * n + j + 1;
+                            for (int c = 0; c < width; c++) a[row + c] -= f * w[c];
+                        }
+                    }
+                }
+                if (pivot) {
+                    // Restnormen ohne Zeile j nachführen; bei Auslöschung neu berechnen
+                    for (int c = j + 1; c < n; c++) {
+                        if (vn1[c] == 0) continue;
+                        double ratio = Math.abs(a[j * n + c]) / vn1[c];
+                        double temp = Math.max(0, 1 - ratio * ratio);
+                        double temp2 = temp * (vn1[c] / vn2[c]) * (vn1[c] / vn2[c]);
+                        if (temp2 <= tol3z) {
+                            vn1[c] = columnNorm(c, j + 1);
+                            vn2[c] = vn1[c];
+                        } else {
+                            vn1[c] *= Math.sqrt(temp);
+                        }
+                    }
+                }
+            }
+        }
+
+        private double columnNorm(int c, int from) {
+            double scale = 0, ssq = 1;
+            for (int i = from; i < rows; i++) {
+                double v = Math.abs(a[i * cols + c]);
+                if (v == 0) continue;
+                if (scale < v) {
+                    ssq = 1 + ssq * (scale / v) * (scale / v);
+                    scale = v;
+                } else {
+                    ssq += (v / scale) * (v / scale);
+                }
+            }
+            return scale * Math.sqrt(ssq);
+        }
+
+        /** X := Qᵀ·X = H_{r-1} ⋯ H_0 · X für X mit rows Zeilen ab offset (Zeilenlänge k). */
+        void applyQt(double[] x, int offset, int k) {
+            for (int j = 0; j < reflectors; j++) reflect(j, x, offset, k);
+        }
+
+        /** X := Q·X = H_0 ⋯ H_{r-1} · X. */
+        void applyQ(double[] x, int offset, int k) {
+            for (int j = reflectors - 1; j >= 0; j--) reflect(j, x, offset, k);
+        }
+
+        /** X := (I - τ_j v vᵀ)·X, zeilenweise über X. */
+        private void reflect(int j, double[] x, int offset, int k) {
+            double t = tau[j];
+            if (t == 0) return;
+            double[] w = new double[k];
+            System.arraycopy(x, offset + j * k, w, 0, k);
+            for (int i = j + 1; i < rows; i++) {
+                double vi = a[i * cols + j];
+                if (vi == 0) continue;
+                int row = offset + i * k;
+                for (int c = 0; c < k; c++) w[c] += vi * x[row + c];
+            }
+            int row = offset + j * k;
+            for (int c = 0; c < k; c++) x[row + c] -= t * w[c];
+            for (int i = j + 1; i < rows; i++) {
+                double f = t * a[i * cols + j];
+                if (f == 0) continue;
+                row = offset + i * k;
+                for (int c = 0; c < k; c++) x[row + c] -= f * w[c];
+            }
+        }
+
+        /** Oberes Dreieck der ersten cols Zeilen als n × n-Matrix. */
+        Matrix r() {
+            Matrix r = new Matrix(cols, cols);
+            for (int i = 0; i < Math.min(rows, cols); i++) {
+                for (int j = i; j < cols; j++) r.set(i, j, a[i * cols + j]);
+            }
+            return r;
+        }
+    }
+
+    /**
+     * Zeilenblockweise QR (TSQR): Blätter sind Householder-Zerlegungen von Zeilenblöcken;
+     * ihre R-Faktoren werden gestapelt und wieder zerlegt (rekursiv, falls der Stapel selbst
+     * noch groß ist). Zeilenanzahl jedes Blattes ≥ n, damit jedes Blatt ein volles n × n-R hat.
+     */
+    private static final class Tsqr {
+        private final int n;
+        private final Householder leaf;      // bei einem Blatt
+        private final int[] starts;          // sonst: erste Zeile jedes Blocks
+        private final Householder[] blocks;
+        private final Tsqr stacked;          // Zerlegung der gestapelten R-Faktoren
+
+        private Tsqr(int n, Householder leaf, int[] starts, Householder[] blocks, Tsqr stacked) {
+            this.n = n;
+            this.leaf = leaf;
+            this.starts = starts;
+            this.blocks = blocks;
+            this.stacked = stacked;
+        }
+
+        static Tsqr build(Matrix a, int leafRows) {
+            int m = a.getRows(), n = a.getCols();
+            if (m < 2 * leafRows) {
+                return new Tsqr(n, Householder.factor(a.toFlatArray(), m, n, false), null, null, null);
+            }
+            int count = m / leafRows;
+            int[] starts = new int[count + 1];
+            for (int b = 0; b < count; b++) starts[b] = b * leafRows;
+            starts[count] = m; // der letzte Block übernimmt den Rest
+            Householder[] blocks = new Householder[count];
+            forBlocks(count, b -> {
+                Matrix rows = a.subMatrix(starts[b], 0, starts[b + 1] - starts[b], n);
+                blocks[b] = Householder.factor(rows.toFlatArray(), rows.getRows(), n, false);
+            });
+            double[] stack = new double[count * n * n];
+            for (int b = 0; b < count; b++) {
+                Householder h = blocks[b];
+                for (int i = 0; i < n; i++) {
+                    System.arraycopy(h.a, i * n + i, stack, (b * n + i) * n + i, n - i);
+                }
+            }
+            Tsqr stacked = build(Matrix.wrap(count * n, n, stack), leafRows);
+            return new Tsqr(n, null, starts, blocks, stacked);
+        }
+
+        /** R-Faktor (n × n) dieses Knotens. */
+        Matrix r() {
+            return leaf != null ? leaf.r() : stacked.r();
+        }
+
+        /** Qᵀ·X; danach stehen die zu R gehörenden Komponenten in den ersten n Zeilen. */
+        void applyQt(double[] x, int offset, int k) {
+            if (leaf != null) {
+                leaf.applyQt(x, offset, k);
+                return;
+            }
+            forBlocks(blocks.length, b -> blocks[b].applyQt(x, offset + starts[b] * k, k));
+            double[] top = gatherTops(x, offset, k);
+            stacked.applyQt(top, 0, k);
+            scatterTops(top, x, offset, k);
+        }
+
+        /** Q·X (Umkehrung von {@link #applyQt}). */
+        void applyQ(double[] x, int offset, int k) {
+            if (leaf != null) {
+                leaf.applyQ(x, offset, k);
+                return;
+            }
+            double[] top = gatherTops(x, offset, k);
+            stacked.applyQ(top, 0, k);
+            scatterTops(top, x, offset, k);
+            forBlocks(blocks.length, b -> blocks[b].applyQ(x, offset + starts[b] * k, k));
+        }
+
+        /** Die ersten n Zeilen jedes Blocks übereinander. */
+        private double[] gatherTops(double[] x, int offset, int k) {
+            double[] top = new double[blocks.length * n * k];
+            for (int b = 0; b < blocks.length; b++) {
+                System.arraycopy(x, offset + starts[b] * k, top, b * n * k, n * k);
+            }
+            return top;
+        }
+
+        private void scatterTops(double[] top, double[] x, int offset, int k) {
+            for (int b = 0; b < blocks.length; b++) {
+                System.arraycopy(top, b * n * k, x, offset + starts[b] * k, n * k);
+            }
+        }
+    }
+
+    private interface BlockTask {
+        void run(int block);
+    }
+
+    /** Führt task für alle Blöcke aus, bei mehreren Kernen parallel. */
+    private static void forBlocks(int count, BlockTask task) {
+        if (count < 2 || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            for (int b = 0; b < count; b++) task.run(b);
+            return;
+        }
+        List<RecursiveAction> actions = new ArrayList<>();
+        for (int b = 0; b < count; b++) {
+            int block = b;
+            actions.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    task.run(block);
+                }
+            });
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(actions);
+            }
+        });
+    }
+}
@@ -0,0 +1,259 @@
+package Taschenrechner.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sucht Nullstellen, Extrema und Schnittpunkte der Funktionsgraphen im sichtbaren Bereich.
+ * <p>
+ * Die Suche wertet nicht neu ab, sondern nutzt die beim Zeichnen bereits abgetasteten Werte
+ * (siehe {@link GraphModel#sample}): Vorzeichenwechsel zwischen benachbarten Stützstellen
+ * liefern Einschließungsintervalle für Nullstellen bzw. Schnittpunkte, lokale Maxima/Minima
+ * der Stützwerte solche für Extrema. Nur diese wenigen Intervalle werden anschließend
+ * verfeinert:
+ * <ul>
+ *   <li>Nullstellen mit gesichertem Newton-Verfahren (Newton-Schritt mit der Ableitung aus
+ *       {@link GraphFunction#getDerivative()}, bei Polynomen exakt; verlässt der Schritt das
+ *       Intervall oder konvergiert er zu langsam, wird halbiert),</li>
+ *   <li>Extrema als Nullstellen von f' und Schnittpunkte als Nullstellen von f - g mit dem
+ *       Verfahren von Brent.</li>
+ * </ul>
+ * Vorzeichenwechsel an Polstellen (z.B. bei tan oder 1/x) werden verworfen, weil dort der
+ * Betrag nach der Verfeinerung größer ist als an beiden Intervallgrenzen. Gibt es in einer
+ * Kategorie mehr als {@value #MAX_POINTS} Kandidaten (stark oszillierende Funktionen), wird sie
+ * für diese Kurve übersprungen, damit die Suche innerhalb eines Frames bleibt.
+ */
+public final class RootFinder {
+    /** Höchstzahl Kandidaten je Kurve und Art */
+    public static final int MAX_POINTS = 32;
+
+    private static final int MAX_ITERATIONS = 100;
+
+    public enum Kind { ROOT, MAXIMUM, MINIMUM, INTERSECTION }
+
+    /** Gefundener Punkt (x, y) und die beteiligten Kurven (second nur bei Schnittpunkten). */
+    public record Point(Kind kind, double x, double y, GraphFunction first, GraphFunction second) {
+    }
+
+    private RootFinder() {
+    }
+
+    /**
+     * Analysiert alle sichtbaren Funktionsgraphen des Modells. Voraussetzung ist ein
+     * vorheriger Aufruf von {@link GraphModel#sample} mit demselben Gitter in absoluten
+     * Koordinaten (ohne Bezugspunkt).
+     */
+    public static List<Point> analyze(GraphModel model, SampleGrid grid) {
+        List<Point> points = new ArrayList<>();
+        List<GraphFunction> visible = new ArrayList<>();
+        for (GraphFunction gf : model.getFunctions()) {
+            if (gf.isVisible()) visible.add(gf);
+        }
+        for (GraphFunction gf : visible) {
+            double[] v = gf.getSampledValues();
+            roots(gf, grid, v, points);
+            extrema(gf, grid, v, points);
+        }
+        for (int i = 0; i < visible.size(); i++) {
+            for (int j = i + 1; j < visible.size(); j++) {
+                intersections(visible.get(i), visible.get(j), grid, points);
+            }
+        }
+        return points;
+    }
+
+    private static void roots(GraphFunction gf, SampleGrid grid, double[] v, List<Point> out) {
+        int[] brackets = signChanges(v, null, grid.size());
+        if (brackets == null) return;
+        Function f = gf.getFunction();
+        Function df = gf.getDerivative();
+        for (int b : brackets) {
+            double root;
+            if (v[b] == 0) {
+                root = grid.x(b);
+            } else {
+                root = safeNewton(f, df, grid.x(b), grid.x(b + 1), v[b], v[b + 1]);
+                if (!isRoot(f, root, v[b], v[b + 1])) continue;
+            }
+            out.add(new Point(Kind.ROOT, root, 0, gf, null));
+        }
+    }
+
+    private static void extrema(GraphFunction gf, SampleGrid grid, double[] v, List<Point> out) {
+        int n = grid.size();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 1; i + 1 < n; i++) {
+            double a = v[i - 1], m = v[i], c = v[i + 1];
+            if (!Double.isFinite(a) || !Double.isFinite(m) || !Double.isFinite(c)) continue;
+            if ((m > a && m >= c) || (m < a && m <= c)) {
+                candidates.add(i);
+                if (candidates.size() > MAX_POINTS) return;
+            }
+        }
+        Function f = gf.getFunction();
+        Function df = gf.getDerivative();
+        for (int i : candidates) {
+            boolean max = v[i] > v[i - 1];
+            double lo = grid.x(i - 1), hi = grid.x(i + 1);
+            double dLo = evaluate(df, lo), dHi = evaluate(df, hi);
+            double x;
+            if (dLo == 0) {
+                x = lo;
+            } else if (dHi == 0) {
+                x = hi;
+            } else if (dLo * dHi < 0) {
+                x = brent(df, lo, hi, dLo, dHi);
+                // Vorzeichenwechsel von f' über eine Polstelle hinweg (z.B. 1/x²)
+                if (!isRoot(df, x, dLo, dHi)) continue;
+            } else {
+                // Ableitung zu ungenau für eine Einschließung: Stützstelle übernehmen
+                x = grid.x(i);
+            }
+            double y = evaluate(f, x);
+            if (!Double.isFinite(y)) continue;
+            out.add(new Point(max ? Kind.MAXIMUM : Kind.MINIMUM, x, y, gf, null));
+        }
+    }
+
+    private static void intersections(GraphFunction g1, GraphFunction g2, SampleGrid grid, List<Point> out) {
+        double[] v1 = g1.getSampledValues(), v2 = g2.getSampledValues();
+        int[] brackets = signChanges(v1, v2, grid.size());
+        if (brackets == null) return;
+        Function f1 = g1.getFunction(), f2 = g2.getFunction();
+        Function diff = x -> f1.evaluate(x) - f2.evaluate(x);
+        for (int b : brackets) {
+            double da = v1[b] - v2[b], db = v1[b + 1] - v2[b + 1];
+            double x = da == 0 ? grid.x(b) : brent(diff, grid.x(b), grid.x(b + 1), da, db);
+            if (da != 0 && !isRoot(diff, x, da, db)) continue;
+            double y = evaluate(f1, x);
+            if (!Double.isFinite(y)) continue;
+            out.add(new Point(Kind.INTERSECTION, x, y, g1, g2));
+        }
+    }
+
+    /**
+     * Indizes i, an denen (a - b) zwischen Stützstelle i und i + 1 das Vorzeichen wechselt
+     * oder an i genau 0 ist (b = null bedeutet 0); null bei mehr als MAX_POINTS Treffern.
+     */
+    private static int[] signChanges(double[] a, double[] b, int n) {
+        int[] hits = new int[MAX_POINTS];
+        int count = 0;
+        for (int i = 0; i + 1 < n; i++) {
+            double d0 = b == null ? a[i] : a[i] - b[i];
+            double d1 = b == null ? a[i + 1] : a[i + 1] - b[i + 1];
+            if (!Double.isFinite(d0) || !Double.isFinite(d1)) continue;
+            // exakte Null nur einmal zählen (nicht noch einmal als rechte Grenze)
+            if (d0 == 0 || (d0 < 0 && d1 > 0) || (d0 > 0 && d1 < 0)) {
+                if (count == MAX_POINTS) return null;
+                hits[count++] = i;
+            }
+        }
+        return Arrays.copyOf(hits, count);
+    }
+
+    /**
+     * Echte Nullstelle statt Polstelle: der Restwert ist kleiner als an den Intervallgrenzen
+     * (an einer Polstelle wächst der Betrag zur Mitte hin).
+     */
+    private static boolean isRoot(Function f, double x, double fa, double fb) {
+        double fx = evaluate(f, x);
+        return Double.isFinite(fx) && Math.abs(fx) < Math.max(Math.abs(fa), Math.abs(fb));
+    }
+
+    /**
+     * Gesichertes Newton-Verfahren auf [a, b] mit f(a), f(b) verschiedenen Vorzeichens: das
+     * Einschließungsintervall wird in jedem Schritt verkleinert; ein Newton-Schritt, der es
+     * verlässt oder den Fehler nicht mindestens halbiert, wird durch Halbierung ersetzt.
+     */
+    public static double safeNewton(Function f, Function df, double a, double b, double fa, double fb) {
+        // lo: f < 0, hi: f > 0
+        double lo = fa < 0 ? a : b, hi = fa < 0 ? b : a;
+        double x = 0.5 * (a + b);
+        double dxOld = Math.abs(b - a), dx = dxOld;
+        double fx = evaluate(f, x), dfx = evaluate(df, x);
+        for (int it = 0; it < MAX_ITERATIONS; it++) {
+            if (!Double.isFinite(fx)) return x;
+            boolean newtonOutside = !Double.isFinite(dfx) || dfx == 0
+                    || ((x - hi) * dfx - fx) * ((x - lo) * dfx - fx) > 0;
+            if (newtonOutside || Math.abs(2 * fx) > Math.abs(dxOld * dfx)) {
+                dxOld = dx;
+                dx = 0.5 * (hi - lo);
+                x = lo + dx;
+            } else {
+                dxOld = dx;
+                dx = fx / dfx;
+                x -= dx;
+            }
+            if (Math.abs(dx) <= 2 * Math.ulp(x) || fx == 0) return x;
+            fx = evaluate(f, x);
+            dfx = evaluate(df, x);
+            if (fx < 0) lo = x;
+            else hi = x;
+        }
+        return x;
+    }
+
+    /**
+     * Verfahren von Brent: inverse quadratische Interpolation bzw. Sekantenschritt, abgesichert
+     * durch Halbierung. Voraussetzung: f(a) und f(b) haben verschiedene Vorzeichen.
+     */
+    public static double brent(Function f, double a, double b, double fa, double fb) {
+        double c = a, fc = fa, d = b - a, e = d;
+        for (int it = 0; it < MAX_ITERATIONS; it++) {
+            if ((fb > 0) == (fc > 0)) {
+                c = a;
+                fc = fa;
+                d = e = b - a;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b; b = c; c = a;
+                fa = fb; fb = fc; fc = fa;
+            }
+            double tol = 2 * Math.ulp(b);
+            double m = 0.5 * (c - b);
+            if (Math.abs(m) <= tol || fb == 0) {
+                return b;
+            }
+            if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa, p, q;
+                if (a == c) {
+                    // Sekante
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    // inverse quadratische Interpolation
+                    double qa = fa / fc, r = fb / fc;
+                    p = s * (2 * m * qa * (qa - r) - (b - a) * (r - 1));
+                    q = (qa - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) q = -q;
+                else p = -p;
+                if (2 * p < Math.min(3 * m * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = m;
+                }
+            } else {
+                d = m;
+                e = m;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol ? d : Math.copySign(tol, m);
+            fb = evaluate(f, b);
+            if (!Double.isFinite(fb)) return b;
+        }
+        return b;
+    }
+
+    private static double evaluate(Function f, double x) {
+        try {
+            return f.evaluate(x);
+        } catch (ArithmeticException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package Taschenrechner.model;
+
+/**
+ * Zwischenspeicher für die abgetasteten Werte einer Funktion auf einem {@link SampleGrid}.
+ * Wird der Ausschnitt nur verschoben, bleiben die überlappenden Werte erhalten und nur die
+ * neu sichtbar gewordenen Stützstellen werden ausgewertet.
+ */
+public final class SampleCache {
+    private SampleGrid grid;
+    private double[] values = new double[0];
+    private double[] spare = new double[0];
+    private long evaluations; // Anzahl Funktionsauswertungen (Statistik)
+
+    /**
+     * Liefert die Werte von f auf dem Gitter g. Das zurückgegebene Array gehört dem Cache
+     * und ist nur bis zum nächsten Aufruf gültig.
+     */
+    public double[] update(Function f, SampleGrid g) {
+        int[] stale = prepare(g);
+        double[] x = g.xs();
+        for (int r = 0; r < stale.length; r += 2) {
+            for (int i = stale[r]; i < stale[r + 1]; i++) {
+                values[i] = f.evaluate(x[i]);
+            }
+            evaluations += stale[r + 1] - stale[r];
+        }
+        return values;
+    }
+
+    /**
+     * Stellt den Cache auf das Gitter g um und übernimmt alle wiederverwendbaren Werte.
+     *
+     * @return Indexbereiche [von, bis) der Stützstellen, die neu ausgewertet werden müssen,
+     *         paarweise hintereinander (höchstens zwei Bereiche: links und rechts)
+     */
+    int[] prepare(SampleGrid g) {
+        int n = g.size();
+        if (grid == g) {
+            return new int[0];
+        }
+        if (spare.length < n) {
+            spare = new double[n];
+        }
+        int[] stale;
+        if (g.isCompatible(grid)) {
+            long shift = g.getFirstIndex() - grid.getFirstIndex();
+            // Überlappung im neuen Gitter: [lo, hi)
+            long lo = Math.max(0, -shift);
+            long hi = Math.min(n, grid.size() - shift);
+            if (lo < hi) {
+                System.arraycopy(values, (int) (lo + shift), spare, (int) lo, (int) (hi - lo));
+                stale = new int[]{0, (int) lo, (int) hi, n};
+            } else {
+                stale = new int[]{0, n};
+            }
+        } else {
+            stale = new int[]{0, n};
+        }
+        double[] tmp = values;
+        values = spare;
+        spare = tmp;
+        grid = g;
+        return stale;
+    }
+
+    /** Werte des zuletzt vorbereiteten Gitters (nur für den Aufrufer von {@link #prepare}). */
+    double[] values() {
+        return values;
+    }
+
+    void countEvaluations(int count) {
+        evaluations += count;
+    }
+
+    /** Verwirft alle Werte, z.B. wenn sich die Funktion geändert hat. */
+    public void invalidate() {
+        grid = null;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+}
@@ -0,0 +1,82 @@
+package Taschenrechner.model;
+
+/**
+ * Abtastgitter für Funktionsgraphen.
+ * Die Stützstellen liegen auf einem festen Raster x_k = origin + k * step. Solange sich die
+ * Schrittweite nicht ändert (reines Verschieben des Ausschnitts), liegen alte und neue
+ * Stützstellen auf demselben Raster und bereits berechnete Werte können übernommen werden.
+ */
+public final class SampleGrid {
+    // Relative Auflösung, auf die die Schrittweite gerundet wird (2^-20).
+    // Dadurch bleibt die Schrittweite trotz Rundungsrauschen in xMax - xMin beim Verschieben stabil.
+    private static final int STEP_BITS = 20;
+    // Ab dieser Indexgröße ist k * step nicht mehr exakt genug -> Raster am linken Rand verankern
+    private static final double MAX_LATTICE_INDEX = 0x1p52;
+
+    private final double origin;
+    private final double step;
+    private final long firstIndex;
+    private final double[] x;
+
+    private SampleGrid(double origin, double step, long firstIndex, int count) {
+        this.origin = origin;
+        this.step = step;
+        this.firstIndex = firstIndex;
+        this.x = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = origin + (firstIndex + i) * step;
+        }
+    }
+
+    /**
+     * Erzeugt ein Gitter, das [xMin, xMax] mit etwa {@code samples} Stützstellen abdeckt.
+     *
+     * @param xMin    linker Rand
+     * @param xMax    rechter Rand
+     * @param samples gewünschte Anzahl Stützstellen (mindestens 2)
+     */
+    public static SampleGrid forRange(double xMin, double xMax, int samples) {
+        if (!(xMax > xMin) || samples < 2) {
+            throw new IllegalArgumentException("Ungültiger Abtastbereich");
+        }
+        double step = quantizeStep((xMax - xMin) / (samples - 1));
+        double origin = 0.0;
+        if (Math.abs(xMin / step) > MAX_LATTICE_INDEX || Math.abs(xMax / step) > MAX_LATTICE_INDEX) {
+            origin = xMin;
+        }
+        long first = (long) Math.floor((xMin - origin) / step);
+        long last = (long) Math.ceil((xMax - origin) / step);
+        return new SampleGrid(origin, step, first, (int) (last - first + 1));
+    }
+
+    private static double quantizeStep(double raw) {
+        int e = Math.getExponent(raw);
+        return Math.scalb(Math.rint(Math.scalb(raw, STEP_BITS - e)), e - STEP_BITS);
+    }
+
+    /** true, wenn beide Gitter auf demselben Raster liegen und Werte austauschbar sind. */
+    public boolean isCompatible(SampleGrid other) {
+        return other != null && other.step == step && other.origin == origin;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    public long getFirstIndex() {
+        return firstIndex;
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public double x(int i) {
+        return x[i];
+    }
+
+    /** Die Stützstellen selbst; das Array darf nicht verändert werden. */
+    double[] xs() {
+        return x;
+    }
+}
@@ -0,0 +1,466 @@
+package Taschenrechner.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Dünn besetzte Matrix im CSR-Format (Compressed Sparse Row): für jede Zeile i liegen die
+ * Spaltenindizes und Werte ihrer Einträge ≠ 0 aufsteigend sortiert in colIdx/values an den
+ * Positionen rowPtr[i] … rowPtr[i+1] - 1. Der Speicherbedarf wächst mit der Anzahl der
+ * Einträge (nnz), nicht mit rows · cols; eine 1 000 000 × 1 000 000-Matrix mit fünf Einträgen
+ * je Zeile braucht etwa 60 MB.
+ * <p>
+ * Die spaltenweise Form (CSC) entspricht dem CSR-Format der Transponierten. Sie wird beim
+ * ersten Bedarf ({@link #transpose()}, {@link #multiplyTransposed}) einmal erzeugt und dann
+ * aufbewahrt.
+ * <p>
+ * Matrizen sind unveränderlich; neue entstehen über den {@link Builder} (Koordinatenliste),
+ * aus einer dichten {@link Matrix} oder als Ergebnis einer Rechenoperation. Matrix-Vektor- und
+ * Matrix-Matrix-Produkte werden bei ausreichender Größe zeilenweise im Fork-Join-Pool
+ * verteilt.
+ */
+public final class SparseMatrix {
+    // Mindestanzahl Einträge je Teilaufgabe bei parallelen Operationen
+    private static final int PARALLEL_NNZ = 1 << 15;
+
+    private final int rows, cols;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final double[] values;
+    private volatile SparseMatrix transposed;
+
+    private SparseMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /** Neuer Builder für eine rows × cols-Matrix. */
+    public static Builder builder(int rows, int cols) {
+        return new Builder(rows, cols);
+    }
+
+    /**
+     * Sammelt Einträge als Koordinatenliste (COO) in beliebiger Reihenfolge. Mehrfach
+     * angegebene Positionen werden beim {@link #build()} addiert, wie es beim Zusammenbauen
+     * von Finite-Differenzen- oder Finite-Elemente-Matrizen üblich ist.
+     */
+    public static final class Builder {
+        private final int rows, cols;
+        private int[] ri = new int[16], ci = new int[16];
+        private double[] v = new double[16];
+        private int size;
+
+        private Builder(int rows, int cols) {
+            if (rows < 0 || cols < 0) {
+                throw new IllegalArgumentException("Ungültige Matrixgröße: " + rows + " × " + cols);
+            }
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        /** Addiert value an Position (row, col). */
+        public Builder add(int row, int col, double value) {
+            if (row < 0 || col < 0 || row >= rows || col >= cols) {
+                throw new IndexOutOfBoundsException("(" + row + ", " + col + ") außerhalb von " + rows + " × " + cols);
+            }
+            if (size == ri.length) {
+                int capacity = Math.max(16, (int) Math.min(Integer.MAX_VALUE - 8, size * 2L));
+                ri = Arrays.copyOf(ri, capacity);
+                ci = Arrays.copyOf(ci, capacity);
+                v = Arrays.copyOf(v, capacity);
+            }
+            ri[size] = row;
+            ci[size] = col;
+            v[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * Erzeugt die CSR-Matrix: zwei stabile Zählsortierungen (erst nach Spalte, dann nach
+         * Zeile) ergeben in O(nnz + rows + cols) sortierte Zeilen; gleiche Positionen werden
+         * zusammengefasst. Wie bei {@link #fromDense} werden nur Einträge ≠ 0 gespeichert, auch
+         * wenn sich Summen zu 0 aufheben.
+         */
+        public SparseMatrix build() {
+            // nach Spalte
+            int[] byCol = countingOrder(ci, size, cols, null);
+            // stabil nach Zeile, Spaltenordnung innerhalb der Zeile bleibt erhalten
+            int[] order = countingOrder(ri, size, rows, byCol);
+
+            int[] rowPtr = new int[rows + 1];
+            int[] colIdx = new int[size];
+            double[] values = new double[size];
+            int nnz = 0, k = 0;
+            for (int r = 0; r < rows; r++) {
+                rowPtr[r] = nnz;
+                int rowStart = nnz;
+                while (k < size && ri[order[k]] == r) {
+                    int e = order[k++];
+                    if (nnz > rowStart && colIdx[nnz - 1] == ci[e]) {
+                        values[nnz - 1] += v[e];
+                    } else {
+                        colIdx[nnz] = ci[e];
+                        values[nnz] = v[e];
+                        nnz++;
+                    }
+                }
+                // explizite und ausgelöschte Nullen entfernen
+                int kept = rowStart;
+                for (int p = rowStart; p < nnz; p++) {
+                    if (values[p] != 0.0) {
+                        colIdx[kept] = colIdx[p];
+                        values[kept++] = values[p];
+                    }
+                }
+                nnz = kept;
+            }
+            rowPtr[rows] = nnz;
+            return new SparseMatrix(rows, cols, rowPtr, Arrays.copyOf(colIdx, nnz), Arrays.copyOf(values, nnz));
+        }
+
+        /** Reihenfolge der Einträge nach key (stabil bezüglich der Vorgabe in). */
+        private static int[] countingOrder(int[] key, int size, int range, int[] in) {
+            int[] start = new int[range + 1];
+            for (int e = 0; e < size; e++) start[key[e] + 1]++;
+            for (int i = 0; i < range; i++) start[i + 1] += start[i];
+            int[] out = new int[size];
+            for (int k = 0; k < size; k++) {
+                int e = in == null ? k : in[k];
+                out[start[key[e]]++] = e;
+            }
+            return out;
+        }
+    }
+
+    /** Übernimmt alle Einträge ≠ 0 von m. */
+    public static SparseMatrix fromDense(Matrix m) {
+        int rows = m.getRows(), cols = m.getCols();
+        int[] rowPtr = new int[rows + 1];
+        int nnz = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (m.get(i, j) != 0.0) nnz++;
+            }
+            rowPtr[i + 1] = nnz;
+        }
+        int[] colIdx = new int[nnz];
+        double[] values = new double[nnz];
+        int k = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                double a = m.get(i, j);
+                if (a != 0.0) {
+                    colIdx[k] = j;
+                    values[k++] = a;
+                }
+            }
+        }
+        return new SparseMatrix(rows, cols, rowPtr, colIdx, values);
+    }
+
+    /** Einheitsmatrix n × n. */
+    public static SparseMatrix identity(int n) {
+        int[] rowPtr = new int[n + 1];
+        int[] colIdx = new int[n];
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            rowPtr[i + 1] = i + 1;
+            colIdx[i] = i;
+            values[i] = 1.0;
+        }
+        return new SparseMatrix(n, n, rowPtr, colIdx, values);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /** Anzahl gespeicherter Einträge. */
+    public int nonZeros() {
+        return rowPtr[rows];
+    }
+
+    // Zugriff auf die CSR-Arrays für Verfahren im selben Paket (nicht verändern)
+    int[] rowPointers() {
+        return rowPtr;
+    }
+
+    int[] columnIndices() {
+        return colIdx;
+    }
+
+    double[] valueArray() {
+        return values;
+    }
+
+    /** Eintrag (i, j) per binärer Suche in Zeile i. */
+    public double get(int i, int j) {
+        if (i < 0 || j < 0 || i >= rows || j >= cols) {
+            throw new IndexOutOfBoundsException("(" + i + ", " + j + ") außerhalb von " + rows + " × " + cols);
+        }
+        int k = Arrays.binarySearch(colIdx, rowPtr[i], rowPtr[i + 1], j);
+        return k >= 0 ? values[k] : 0.0;
+    }
+
+    /** Hauptdiagonale als Vektor (fehlende Einträge 0). */
+    public double[] diagonal() {
+        int n = Math.min(rows, cols);
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) d[i] = get(i, i);
+        return d;
+    }
+
+    /** Dichte Kopie (nur für kleine Matrizen sinnvoll). */
+    public Matrix toDense() {
+        Matrix m = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                m.set(i, colIdx[k], values[k]);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * y = A · x. Große Matrizen werden in Zeilenbereiche mit etwa gleich vielen Einträgen
+     * zerlegt und parallel berechnet; jede Teilaufgabe schreibt nur ihre eigenen y-Einträge.
+     * @throws IllegalArgumentException wenn x nicht cols Einträge hat
+     */
+    public double[] multiply(double[] x) {
+        if (x == null || x.length != cols) {
+            throw new IllegalArgumentException("Der Vektor muss " + cols + " Einträge haben");
+        }
+        double[] y = new double[rows];
+        multiply(x, y);
+        return y;
+    }
+
+    /** y = A · x in ein vorhandenes Array (für iterative Verfahren ohne neue Arrays je Schritt). */
+    void multiply(double[] x, double[] y) {
+        forRows((from, to) -> {
+            for (int i = from; i < to; i++) {
+                double sum = 0;
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                    sum += values[k] * x[colIdx[k]];
+                }
+                y[i] = sum;
+            }
+        });
+    }
+
+    /**
+     * y = Aᵀ · x über die (einmal erzeugte) CSC-Form, ebenfalls parallel.
+     * @throws IllegalArgumentException wenn x nicht rows Einträge hat
+     */
+    public double[] multiplyTransposed(double[] x) {
+        return transpose().multiply(x);
+    }
+
+    /** A · B mit dichtem B, Ergebnis dicht (z.B. für wenige rechte Seiten). */
+    public Matrix multiply(Matrix b) {
+        if (b.getRows() != cols) {
+            throw new IllegalArgumentException("Die Matrizen sind nicht kompatibel für die Multiplikation.");
+        }
+        int n = b.getCols();
+        double[] bd = b.toFlatArray();
+        double[] c = new double[rows * n];
+        forRows((from, to) -> {
+            for (int i = from; i < to; i++) {
+                int ci = i * n;
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                    double a = values[k];
+                    int bj = colIdx[k] * n;
+                    for (int j = 0; j < n; j++) {
+                        c[ci + j] += a * bd[bj + j];
+                    }
+                }
+            }
+        });
+        return Matrix.wrap(rows, n, c);
+    }
+
+    /** Transponierte (= CSC-Form dieser Matrix), per Zählsortierung in O(nnz + cols). */
+    public SparseMatrix transpose() {
+        SparseMatrix t = transposed;
+        if (t == null) {
+            int nnz = nonZeros();
+            int[] tPtr = new int[cols + 1];
+            for (int k = 0; k < nnz; k++) tPtr[colIdx[k] + 1]++;
+            for (int j = 0; j < cols; j++) tPtr[j + 1] += tPtr[j];
+            int[] next = Arrays.copyOf(tPtr, cols);
+            int[] tIdx = new int[nnz];
+            double[] tVal = new double[nnz];
+            for (int i = 0; i < rows; i++) {
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                    int pos = next[colIdx[k]]++;
+                    tIdx[pos] = i;
+                    tVal[pos] = values[k];
+                }
+            }
+            t = new SparseMatrix(cols, rows, tPtr, tIdx, tVal);
+            t.transposed = this;
+            transposed = t;
+        }
+        return t;
+    }
+
+    /** A + B */
+    public SparseMatrix add(SparseMatrix b) {
+        return combine(b, 1.0);
+    }
+
+    /** A - B */
+    public SparseMatrix sub(SparseMatrix b) {
+        return combine(b, -1.0);
+    }
+
+    /** A + sign · B durch Zusammenführen der sortierten Zeilen in O(nnz(A) + nnz(B)). */
+    private SparseMatrix combine(SparseMatrix b, double sign) {
+        if (rows != b.rows || cols != b.cols) {
+            throw new IllegalArgumentException("Die Matrizen sind nicht kompatibel für die Addition.");
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) nonZeros() + b.nonZeros());
+        int[] ptr = new int[rows + 1];
+        int[] idx = new int[capacity];
+        double[] val = new double[capacity];
+        int nnz = 0;
+        for (int i = 0; i < rows; i++) {
+            int ka = rowPtr[i], ea = rowPtr[i + 1];
+            int kb = b.rowPtr[i], eb = b.rowPtr[i + 1];
+            while (ka < ea || kb < eb) {
+                int ja = ka < ea ? colIdx[ka] : Integer.MAX_VALUE;
+                int jb = kb < eb ? b.colIdx[kb] : Integer.MAX_VALUE;
+                if (ja < jb) {
+                    idx[nnz] = ja;
+                    val[nnz++] = values[ka++];
+                } else if (jb < ja) {
+                    idx[nnz] = jb;
+                    val[nnz++] = sign * b.values[kb++];
+                } else {
+                    idx[nnz] = ja;
+                    val[nnz++] = values[ka++] + sign * b.values[kb++];
+                }
+            }
+            ptr[i + 1] = nnz;
+        }
+        return new SparseMatrix(rows, cols, ptr, Arrays.copyOf(idx, nnz), Arrays.copyOf(val, nnz));
+    }
+
+    /** c · A */
+    public SparseMatrix scale(double c) {
+        double[] v = values.clone();
+        for (int k = 0; k < v.length; k++) v[k] *= c;
+        return new SparseMatrix(rows, cols, rowPtr, colIdx, v);
+    }
+
+    /**
+     * A · B nach Gustavson: Zeile i des Ergebnisses ist die Summe der Zeilen k von B,
+     * gewichtet mit a_ik. Jede Zeile wird in einem dichten Akkumulator der Länge cols(B)
+     * gesammelt, von dem nur die berührten Spalten gelesen und wieder geleert werden. Die
+     * Zeilen werden parallel berechnet und anschließend zusammengesetzt.
+     */
+    public SparseMatrix multiply(SparseMatrix b) {
+        if (cols != b.rows) {
+            throw new IllegalArgumentException("Die Matrizen sind nicht kompatibel für die Multiplikation.");
+        }
+        int n = b.cols;
+        int[][] rowCols = new int[rows][];
+        double[][] rowVals = new double[rows][];
+        forRows((from, to) -> {
+            double[] acc = new double[n];
+            int[] mark = new int[n];
+            Arrays.fill(mark, -1);
+            int[] touched = new int[n];
+            for (int i = from; i < to; i++) {
+                int count = 0;
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                    double a = values[k];
+                    int r = colIdx[k];
+                    for (int kb = b.rowPtr[r]; kb < b.rowPtr[r + 1]; kb++) {
+                        int j = b.colIdx[kb];
+                        if (mark[j] != i) {
+                            mark[j] = i;
+                            touched[count++] = j;
+                            acc[j] = a * b.values[kb];
+                        } else {
+                            acc[j] += a * b.values[kb];
+                        }
+                    }
+                }
+                int[] c = Arrays.copyOf(touched, count);
+                Arrays.sort(c);
+                double[] v = new double[count];
+                for (int t = 0; t < count; t++) v[t] = acc[c[t]];
+                rowCols[i] = c;
+                rowVals[i] = v;
+            }
+        });
+        int[] ptr = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            long next = (long) ptr[i] + rowCols[i].length;
+            if (next > Integer.MAX_VALUE - 8) {
+                throw new ArithmeticException("Das Produkt hat zu viele Einträge");
+            }
+            ptr[i + 1] = (int) next;
+        }
+        int[] idx = new int[ptr[rows]];
+        double[] val = new double[ptr[rows]];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(rowCols[i], 0, idx, ptr[i], rowCols[i].length);
+            System.arraycopy(rowVals[i], 0, val, ptr[i], rowVals[i].length);
+        }
+        return new SparseMatrix(rows, n, ptr, idx, val);
+    }
+
+    private interface RowRange {
+        void run(int from, int to);
+    }
+
+    /**
+     * Führt body für alle Zeilen aus, bei genug Einträgen parallel über Zeilenbereiche mit
+     * etwa gleich vielen Einträgen (nicht gleich vielen Zeilen, damit einzelne dichte Zeilen
+     * die Last nicht verzerren).
+     */
+    private void forRows(RowRange body) {
+        int nnz = nonZeros();
+        if (nnz < 2 * PARALLEL_NNZ || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            body.run(0, rows);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new RowTask(body, 0, rows));
+    }
+
+    private final class RowTask extends RecursiveAction {
+        private final RowRange body;
+        private final int from, to;
+
+        RowTask(RowRange body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < 2 || rowPtr[to] - rowPtr[from] <= PARALLEL_NNZ) {
+                body.run(from, to);
+                return;
+            }
+            // Zeile suchen, bis zu der etwa die Hälfte der Einträge liegt
+            int half = rowPtr[from] + (rowPtr[to] - rowPtr[from]) / 2;
+            int mid = Arrays.binarySearch(rowPtr, from, to + 1, half);
+            if (mid < 0) mid = -mid - 1;
+            mid = Math.max(from + 1, Math.min(to - 1, mid));
+            invokeAll(new RowTask(body, from, mid), new RowTask(body, mid, to));
+        }
+    }
+}
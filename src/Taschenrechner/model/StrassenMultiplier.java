@@ -0,0 +1,236 @@
+package Taschenrechner.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Multiplikation großer quadratischer Matrizen nach Strassen in der Variante von Winograd:
+ * 7 statt 8 Teilprodukte je Halbierung und 15 Additionen, zusammen O(n^2,81) statt O(n³).
+ * Unterhalb von {@value #CUTOFF} Zeilen wird mit dem {@link BlockedMultiplier} weitergerechnet.
+ * <p>
+ * Ungerade Größen werden abgeschält: der gerade (n-1)-Anteil läuft rekursiv, die letzte
+ * Zeile und Spalte sowie der Beitrag des letzten inneren Index werden als schmale Produkte
+ * ergänzt. So ist kein Auffüllen auf Zweierpotenzen nötig.
+ * <p>
+ * Speicher: Die sequentiellen Stufen verwenden die Reihenfolge von Boyer, Dumas, Pernet und
+ * Zhou ("Memory efficient scheduling of Strassen-Winograd's matrix multiplication
+ * algorithm"), die außer den Quadranten von C nur zwei Hilfsmatrizen je Stufe braucht. Alle
+ * Stufen teilen sich einen einmal angelegten Arbeitsspeicher von knapp (2/3)·n² Einträgen.
+ * Steht mehr als ein Kern zur Verfügung, werden die sieben Produkte der obersten Stufe
+ * parallel berechnet; dafür braucht diese Stufe elf eigene Hilfsmatrizen (≈ 2,75·n²).
+ * <p>
+ * Genauigkeit: Strassen-Verfahren sind nur normweise stabil. Für die Winograd-Variante gilt
+ * (Higham, "Accuracy and Stability of Numerical Algorithms", Satz 23.3) mit n₀ = Größe beim
+ * Abbruch der Rekursion und u = 2⁻⁵³
+ * <pre>
+ *   ‖C − Ĉ‖ ≤ [ (n/n₀)^log₂18 · (n₀² + 6n₀) − 6n ] · u · ‖A‖ · ‖B‖ + O(u²)   (Maximumsnorm)
+ * </pre>
+ * gegenüber komponentenweise |C − Ĉ| ≤ n · u · |A| · |B| beim klassischen Produkt. Einzelne
+ * kleine Einträge von C können daher einen größeren relativen Fehler haben als beim
+ * klassischen Produkt.
+ */
+final class StrassenMultiplier {
+    /** Ab dieser Größe (n × n) verwendet {@link Matrix#mult} dieses Verfahren. */
+    static final int THRESHOLD = 1024;
+    /** Größe, unterhalb der klassisch (blockweise) multipliziert wird */
+    static final int CUTOFF = 512;
+
+    private StrassenMultiplier() {
+    }
+
+    /** A · B für quadratische A und B gleicher Größe. */
+    static Matrix multiply(Matrix a, Matrix b) {
+        int n = a.getRows();
+        if (a.getCols() != n || b.getRows() != n || b.getCols() != n) {
+            throw new IllegalArgumentException("Strassen-Multiplikation nur für gleich große quadratische Matrizen");
+        }
+        Matrix c = new Matrix(n, n);
+        if (ForkJoinPool.getCommonPoolParallelism() > 1 && n > 2 * CUTOFF) {
+            ForkJoinPool.commonPool().invoke(new ParallelProduct(a, b, c));
+        } else {
+            multiplyInto(a, b, c, new double[workspace(n)], 0);
+        }
+        return c;
+    }
+
+    /** Benötigter Arbeitsspeicher (Einträge) für {@link #multiplyInto} mit Größe n. */
+    static long workspaceSize(int n) {
+        if (n <= CUTOFF) return 0;
+        if ((n & 1) == 1) return workspaceSize(n - 1);
+        long h = n / 2;
+        return 2 * h * h + workspaceSize(n / 2);
+    }
+
+    private static int workspace(int n) {
+        return Math.toIntExact(workspaceSize(n));
+    }
+
+    /**
+     * C = A · B (C wird überschrieben) für n × n-Matrizen bzw. Ausschnitte. Hilfsmatrizen
+     * liegen in ws ab Position wsOffset.
+     */
+    private static void multiplyInto(Matrix a, Matrix b, Matrix c, double[] ws, int wsOffset) {
+        int n = a.getRows();
+        if (n <= CUTOFF) {
+            fill(c, 0);
+            BlockedMultiplier.multiplyAdd(1.0, a, b, c);
+            return;
+        }
+        if ((n & 1) == 1) {
+            peel(a, b, c, (a2, b2, c2) -> multiplyInto(a2, b2, c2, ws, wsOffset));
+            return;
+        }
+        int h = n / 2;
+        Matrix a11 = a.subMatrix(0, 0, h, h), a12 = a.subMatrix(0, h, h, h);
+        Matrix a21 = a.subMatrix(h, 0, h, h), a22 = a.subMatrix(h, h, h, h);
+        Matrix b11 = b.subMatrix(0, 0, h, h), b12 = b.subMatrix(0, h, h, h);
+        Matrix b21 = b.subMatrix(h, 0, h, h), b22 = b.subMatrix(h, h, h, h);
+        Matrix c11 = c.subMatrix(0, 0, h, h), c12 = c.subMatrix(0, h, h, h);
+        Matrix c21 = c.subMatrix(h, 0, h, h), c22 = c.subMatrix(h, h, h, h);
+        Matrix x = new Matrix(h, h, ws, wsOffset, h);
+        Matrix y = new Matrix(h, h, ws, wsOffset + h * h, h);
+        int next = wsOffset + 2 * h * h;
+
+        // Reihenfolge nach Boyer et al., Tabelle 1 (Kommentar: Bezeichnung bei Winograd)
+        combine(x, a11, -1, a21);                 // S3
+        combine(y, b22, -1, b12);                 // T3
+        multiplyInto(x, y, c21, ws, next);        // P7
+        combine(x, a21, 1, a22);                  // S1
+        combine(y, b12, -1, b11);                 // T1
+        multiplyInto(x, y, c22, ws, next);        // P5
+        combine(x, x, -1, a11);                   // S2
+        combine(y, b22, -1, y);                   // T2
+        multiplyInto(x, y, c12, ws, next);        // P6
+        combine(x, a12, -1, x);                   // S4
+        multiplyInto(x, b22, c11, ws, next);      // P3
+        multiplyInto(a11, b11, x, ws, next);      // P1
+        combine(c12, x, 1, c12);                  // U2 = P1 + P6
+        combine(c21, c12, 1, c21);                // U3 = U2 + P7
+        combine(c12, c12, 1, c22);                // U4 = U2 + P5
+        combine(c22, c21, 1, c22);                // C22 = U3 + P5
+        combine(c12, c12, 1, c11);                // C12 = U4 + P3
+        combine(y, y, -1, b21);                   // T4
+        multiplyInto(a22, y, c11, ws, next);      // P4
+        combine(c21, c21, -1, c11);               // C21 = U3 - P4
+        multiplyInto(a12, b21, c11, ws, next);    // P2
+        combine(c11, x, 1, c11);                  // C11 = P1 + P2
+    }
+
+    private interface EvenProduct {
+        void multiply(Matrix a, Matrix b, Matrix c);
+    }
+
+    /**
+     * Ungerades n: C[0..m, 0..m] = A'·B' über den geraden Anteil m = n - 1, dazu der Beitrag
+     * des letzten inneren Index (Rang-1), die letzte Spalte A · B[:, m] und die letzte Zeile
+     * A[m, :] · B[:, 0..m].
+     */
+    private static void peel(Matrix a, Matrix b, Matrix c, EvenProduct even) {
+        int n = a.getRows(), m = n - 1;
+        Matrix cm = c.subMatrix(0, 0, m, m);
+        even.multiply(a.subMatrix(0, 0, m, m), b.subMatrix(0, 0, m, m), cm);
+        BlockedMultiplier.multiplyAdd(1.0, a.subMatrix(0, m, m, 1), b.subMatrix(m, 0, 1, m), cm);
+        Matrix lastCol = c.subMatrix(0, m, n, 1);
+        fill(lastCol, 0);
+        BlockedMultiplier.multiplyAdd(1.0, a, b.subMatrix(0, m, n, 1), lastCol);
+        Matrix lastRow = c.subMatrix(m, 0, 1, m);
+        fill(lastRow, 0);
+        BlockedMultiplier.multiplyAdd(1.0, a.subMatrix(m, 0, 1, n), b.subMatrix(0, 0, n, m), lastRow);
+    }
+
+    /**
+     * Oberste Stufe mit parallelen Teilprodukten: S1…S4 und T1…T4 werden vorab gebildet, die
+     * sieben Produkte gleichzeitig berechnet (vier davon direkt in die Quadranten von C), jedes
+     * mit eigenem Arbeitsspeicher für die weiteren, sequentiellen Stufen.
+     */
+    private static final class ParallelProduct extends RecursiveAction {
+        private final Matrix a, b, c;
+
+        ParallelProduct(Matrix a, Matrix b, Matrix c) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            int n = a.getRows();
+            if ((n & 1) == 1) {
+                peel(a, b, c, (a2, b2, c2) -> new ParallelProduct(a2, b2, c2).compute());
+                return;
+            }
+            int h = n / 2;
+            Matrix a11 = a.subMatrix(0, 0, h, h), a12 = a.subMatrix(0, h, h, h);
+            Matrix a21 = a.subMatrix(h, 0, h, h), a22 = a.subMatrix(h, h, h, h);
+            Matrix b11 = b.subMatrix(0, 0, h, h), b12 = b.subMatrix(0, h, h, h);
+            Matrix b21 = b.subMatrix(h, 0, h, h), b22 = b.subMatrix(h, h, h, h);
+            Matrix c11 = c.subMatrix(0, 0, h, h), c12 = c.subMatrix(0, h, h, h);
+            Matrix c21 = c.subMatrix(h, 0, h, h), c22 = c.subMatrix(h, h, h, h);
+
+            Matrix s1 = new Matrix(h, h), s2 = new Matrix(h, h), s3 = new Matrix(h, h), s4 = new Matrix(h, h);
+            Matrix t1 = new Matrix(h, h), t2 = new Matrix(h, h), t3 = new Matrix(h, h), t4 = new Matrix(h, h);
+            combine(s1, a21, 1, a22);
+            combine(s2, s1, -1, a11);
+            combine(s3, a11, -1, a21);
+            combine(s4, a12, -1, s2);
+            combine(t1, b12, -1, b11);
+            combine(t2, b22, -1, t1);
+            combine(t3, b22, -1, b12);
+            combine(t4, t2, -1, b21);
+
+            Matrix p1 = new Matrix(h, h), p2 = new Matrix(h, h), p4 = new Matrix(h, h);
+            invokeAll(new Leaf(a11, b11, p1), new Leaf(a12, b21, p2), new Leaf(s4, b22, c11),
+                    new Leaf(a22, t4, p4), new Leaf(s1, t1, c22), new Leaf(s2, t2, c12),
+                    new Leaf(s3, t3, c21));
+
+            combine(c12, p1, 1, c12);     // U2 = P1 + P6
+            combine(c21, c12, 1, c21);    // U3 = U2 + P7
+            combine(c12, c12, 1, c22);    // U4 = U2 + P5
+            combine(c22, c21, 1, c22);    // C22 = U3 + P5
+            combine(c12, c12, 1, c11);    // C12 = U4 + P3
+            combine(c21, c21, -1, p4);    // C21 = U3 - P4
+            combine(c11, p1, 1, p2);      // C11 = P1 + P2
+        }
+    }
+
+    /** Ein Teilprodukt der parallelen Stufe, sequentiell mit eigenem Arbeitsspeicher. */
+    private static final class Leaf extends RecursiveAction {
+        private final Matrix a, b, c;
+
+        Leaf(Matrix a, Matrix b, Matrix c) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            multiplyInto(a, b, c, new double[workspace(a.getRows())], 0);
+        }
+    }
+
+    /** dst = x + sign · y (eintragsweise; dst darf x oder y sein). */
+    private static void combine(Matrix dst, Matrix x, double sign, Matrix y) {
+        double[] d = dst.array(), xd = x.array(), yd = y.array();
+        int rows = dst.getRows(), cols = dst.getCols();
+        for (int i = 0; i < rows; i++) {
+            int di = dst.offset() + i * dst.stride();
+            int xi = x.offset() + i * x.stride();
+            int yi = y.offset() + i * y.stride();
+            if (sign > 0) {
+                for (int j = 0; j < cols; j++) d[di + j] = xd[xi + j] + yd[yi + j];
+            } else {
+                for (int j = 0; j < cols; j++) d[di + j] = xd[xi + j] - yd[yi + j];
+            }
+        }
+    }
+
+    private static void fill(Matrix m, double value) {
+        double[] d = m.array();
+        for (int i = 0; i < m.getRows(); i++) {
+            int start = m.offset() + i * m.stride();
+            Arrays.fill(d, start, start + m.getCols(), value);
+        }
+    }
+}
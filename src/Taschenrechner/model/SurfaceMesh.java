@@ -0,0 +1,146 @@
+package Taschenrechner.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Abgetastete Fläche z = f(x, y) auf einem regelmäßigen n x n Gitter.
+ * Die Abtastung erfolgt einmalig und zeilenweise parallel; Drehen der Ansicht verwendet
+ * dasselbe Gitter weiter und muss nur neu projizieren. Zusätzlich werden normierte
+ * Koordinaten (x, y in [-1, 1], z in [-Z_EXTENT, Z_EXTENT]) und Normalen vorberechnet.
+ */
+public class SurfaceMesh {
+    /** Halbe Höhe der normierten Darstellung im Verhältnis zur Grundfläche. */
+    public static final double Z_EXTENT = 0.6;
+
+    private final int resolution;
+    private final double xMin, xMax, yMin, yMax;
+    private final double[] z;          // Rohwerte, Zeile für Zeile (y-Index * n + x-Index)
+    private final double zLow, zHigh;  // für die Darstellung verwendeter Wertebereich
+    private final float[] nz;          // normierte Höhe je Gitterpunkt (NaN = nicht definiert)
+    private final float[] normals;     // Normalen (nx, ny, nz) je Gitterpunkt, normiert
+
+    /**
+     * Tastet f auf einem resolution x resolution Gitter ab.
+     *
+     * @param resolution Anzahl der Gitterpunkte je Achse (mindestens 2)
+     */
+    public SurfaceMesh(Function2D f, double xMin, double xMax, double yMin, double yMax, int resolution) {
+        if (resolution < 2) {
+            throw new IllegalArgumentException("Auflösung muss mindestens 2 sein");
+        }
+        if (!(xMax > xMin) || !(yMax > yMin)) {
+            throw new IllegalArgumentException("Ungültiger Wertebereich");
+        }
+        this.resolution = resolution;
+        this.xMin = xMin;
+        this.xMax = xMax;
+        this.yMin = yMin;
+        this.yMax = yMax;
+        int n = resolution;
+        z = new double[n * n];
+        double dx = (xMax - xMin) / (n - 1);
+        double dy = (yMax - yMin) / (n - 1);
+        IntStream.range(0, n).parallel().forEach(j -> {
+            double y = yMin + j * dy;
+            for (int i = 0; i < n; i++) {
+                z[j * n + i] = f.evaluate(xMin + i * dx, y);
+            }
+        });
+
+        // Robuster Wertebereich (1%- bis 99%-Quantil), damit einzelne Polstellen nicht alles plätten
+        double[] finite = Arrays.stream(z).filter(Double::isFinite).toArray();
+        if (finite.length == 0) {
+            zLow = -1;
+            zHigh = 1;
+        } else {
+            Arrays.parallelSort(finite);
+            double lo = finite[(int) (0.01 * (finite.length - 1))];
+            double hi = finite[(int) Math.ceil(0.99 * (finite.length - 1))];
+            if (!(hi > lo)) {
+                lo -= 1;
+                hi += 1;
+            }
+            zLow = lo;
+            zHigh = hi;
+        }
+
+        nz = new float[n * n];
+        double scale = 2 * Z_EXTENT / (zHigh - zLow);
+        for (int k = 0; k < z.length; k++) {
+            double v = z[k];
+            if (!Double.isFinite(v) || v < zLow - (zHigh - zLow) || v > zHigh + (zHigh - zLow)) {
+                nz[k] = Float.NaN; // weit außerhalb -> Lücke statt Riesen-Dreieck
+            } else {
+                nz[k] = (float) ((Math.max(zLow, Math.min(zHigh, v)) - zLow) * scale - Z_EXTENT);
+            }
+        }
+
+        normals = new float[3 * n * n];
+        double h = 2.0 / (n - 1); // Gitterabstand in normierten Koordinaten
+        IntStream.range(0, n).parallel().forEach(j -> {
+            for (int i = 0; i < n; i++) {
+                int k = j * n + i;
+                double gx = diff(i > 0 ? k - 1 : k, i < n - 1 ? k + 1 : k, (i > 0 && i < n - 1 ? 2 : 1) * h);
+                double gy = diff(j > 0 ? k - n : k, j < n - 1 ? k + n : k, (j > 0 && j < n - 1 ? 2 : 1) * h);
+                double len = Math.sqrt(gx * gx + gy * gy + 1);
+                if (!Double.isFinite(len)) {
+                    gx = gy = 0;
+                    len = 1;
+                }
+                normals[3 * k] = (float) (-gx / len);
+                normals[3 * k + 1] = (float) (-gy / len);
+                normals[3 * k + 2] = (float) (1 / len);
+            }
+        });
+    }
+
+    private double diff(int a, int b, double dist) {
+        return (nz[b] - nz[a]) / dist;
+    }
+
+    public int getResolution() {
+        return resolution;
+    }
+
+    public double getxMin() {
+        return xMin;
+    }
+
+    public double getxMax() {
+        return xMax;
+    }
+
+    public double getyMin() {
+        return yMin;
+    }
+
+    public double getyMax() {
+        return yMax;
+    }
+
+    /** Unterer Rand des dargestellten z-Bereichs. */
+    public double getzLow() {
+        return zLow;
+    }
+
+    /** Oberer Rand des dargestellten z-Bereichs. */
+    public double getzHigh() {
+        return zHigh;
+    }
+
+    /** Rohwert f(x_i, y_j). */
+    public double getZ(int i, int j) {
+        return z[j * resolution + i];
+    }
+
+    /** Normierte Höhen je Gitterpunkt (Index j * n + i); nicht verändern. */
+    public float[] normalizedHeights() {
+        return nz;
+    }
+
+    /** Normalen (nx, ny, nz) je Gitterpunkt in normierten Koordinaten; nicht verändern. */
+    public float[] normals() {
+        return normals;
+    }
+}
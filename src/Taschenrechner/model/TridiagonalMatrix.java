@@ -0,0 +1,151 @@
+package Taschenrechner.model;
+
+/**
+ * Tridiagonale n × n-Matrix, gespeichert als drei Vektoren: Nebendiagonale unten (n - 1),
+ * Hauptdiagonale (n) und Nebendiagonale oben (n - 1). Damit passen auch Systeme mit Millionen
+ * Unbekannten in den Speicher, die als dichte Matrix n² Einträge bräuchten.
+ * <p>
+ * {@link #solve} verwendet den Thomas-Algorithmus (Gauß ohne Pivotisierung in O(n)), wenn die
+ * Matrix diagonaldominant ist – dann ist er stabil. Andernfalls wird mit der Band-LU von
+ * {@link BandMatrix} mit partieller Pivotisierung gerechnet, ebenfalls in O(n).
+ */
+public class TridiagonalMatrix {
+    private final int n;
+    private final double[] lower, diagonal, upper;
+
+    /**
+     * Matrix aus den drei Diagonalen. Die Arrays werden übernommen, nicht kopiert.
+     * @param lower    a_{i+1,i}, Länge n - 1
+     * @param diagonal a_{i,i}, Länge n
+     * @param upper    a_{i,i+1}, Länge n - 1
+     * @throws IllegalArgumentException bei unpassenden Längen
+     */
+    public TridiagonalMatrix(double[] lower, double[] diagonal, double[] upper) {
+        if (diagonal == null || diagonal.length == 0) {
+            throw new IllegalArgumentException("Die Hauptdiagonale darf nicht leer sein");
+        }
+        n = diagonal.length;
+        if (lower == null || upper == null || lower.length != n - 1 || upper.length != n - 1) {
+            throw new IllegalArgumentException("Die Nebendiagonalen müssen " + (n - 1) + " Einträge haben");
+        }
+        this.lower = lower;
+        this.diagonal = diagonal;
+        this.upper = upper;
+    }
+
+    /** Übernimmt die drei Diagonalen von a; alle anderen Einträge werden ignoriert. */
+    public static TridiagonalMatrix from(Matrix a) {
+        if (a.getRows() != a.getCols()) {
+            throw new IllegalArgumentException("Tridiagonalmatrix muss quadratisch sein");
+        }
+        int n = a.getRows();
+        double[] l = new double[n - 1], d = new double[n], u = new double[n - 1];
+        for (int i = 0; i < n; i++) {
+            d[i] = a.get(i, i);
+            if (i + 1 < n) {
+                l[i] = a.get(i + 1, i);
+                u[i] = a.get(i, i + 1);
+            }
+        }
+        return new TridiagonalMatrix(l, d, u);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public double get(int i, int j) {
+        if (i < 0 || j < 0 || i >= n || j >= n) {
+            throw new IndexOutOfBoundsException("(" + i + ", " + j + ") außerhalb von " + n + " × " + n);
+        }
+        if (i == j) return diagonal[i];
+        if (i == j + 1) return lower[j];
+        if (j == i + 1) return upper[i];
+        return 0.0;
+    }
+
+    /** A · x in O(n). */
+    public double[] multiply(double[] x) {
+        checkLength(x);
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            double sum = diagonal[i] * x[i];
+            if (i > 0) sum += lower[i - 1] * x[i - 1];
+            if (i + 1 < n) sum += upper[i] * x[i + 1];
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    /** true, wenn |a_ii| ≥ |a_i,i-1| + |a_i,i+1| für jede Zeile (schwach diagonaldominant). */
+    public boolean isDiagonallyDominant() {
+        for (int i = 0; i < n; i++) {
+            double off = (i > 0 ? Math.abs(lower[i - 1]) : 0) + (i + 1 < n ? Math.abs(upper[i]) : 0);
+            if (Math.abs(diagonal[i]) < off) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Löst A·x = d in O(n).
+     * @throws IllegalArgumentException wenn d nicht die Länge n hat
+     * @throws ArithmeticException falls die Matrix singulär oder nahe singulär ist
+     */
+    public double[] solve(double[] d) {
+        checkLength(d);
+        if (!isDiagonallyDominant()) {
+            return toBandMatrix().solve(d);
+        }
+        // Thomas-Algorithmus: Vorwärtselimination mit c' (neue obere Diagonale) in x,
+        // danach Rückwärtseinsetzen
+        double[] c = new double[n];
+        double[] x = new double[n];
+        // ein Pivot, das gegenüber seinen Summanden auf Rundungsniveau ausgelöscht ist, gilt
+        // als 0 (schwach diagonaldominante Matrizen wie ((1,-1),(-1,1)) sind singulär)
+        double eps = n * Math.ulp(1.0);
+        double denom = diagonal[0];
+        if (Math.abs(denom) <= eps * Math.abs(diagonal[0])) {
+            throw new ArithmeticException("Matrix ist singulär oder nahe singulär");
+        }
+        if (n > 1) c[0] = upper[0] / denom;
+        x[0] = d[0] / denom;
+        for (int i = 1; i < n; i++) {
+            double l = lower[i - 1];
+            double lc = l * c[i - 1];
+            denom = diagonal[i] - lc;
+            if (Math.abs(denom) <= eps * (Math.abs(diagonal[i]) + Math.abs(lc))) {
+                throw new ArithmeticException("Matrix ist singulär oder nahe singulär");
+            }
+            if (i + 1 < n) c[i] = upper[i] / denom;
+            x[i] = (d[i] - l * x[i - 1]) / denom;
+        }
+        for (int i = n - 2; i >= 0; i--) {
+            x[i] -= c[i] * x[i + 1];
+        }
+        return x;
+    }
+
+    /** Dieselbe Matrix als {@link BandMatrix} mit Bandbreiten 1/1. */
+    public BandMatrix toBandMatrix() {
+        BandMatrix b = new BandMatrix(n, Math.min(1, n - 1), Math.min(1, n - 1));
+        for (int i = 0; i < n; i++) {
+            b.set(i, i, diagonal[i]);
+            if (i + 1 < n) {
+                b.set(i + 1, i, lower[i]);
+                b.set(i, i + 1, upper[i]);
+            }
+        }
+        return b;
+    }
+
+    /** Dichte Kopie (nur für kleine Matrizen sinnvoll). */
+    public Matrix toMatrix() {
+        return toBandMatrix().toMatrix();
+    }
+
+    private void checkLength(double[] x) {
+        if (x == null || x.length != n) {
+            throw new IllegalArgumentException("Der Vektor muss " + n + " Einträge haben");
+        }
+    }
+}
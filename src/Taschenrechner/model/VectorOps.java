@@ -0,0 +1,109 @@
+package Taschenrechner.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Vektoroperationen für die iterativen Löser. Lange Vektoren werden in Stücke fester Größe
+ * ({@value #CHUNK}) geteilt und im Fork-Join-Pool bearbeitet. Skalarprodukte summieren
+ * zuerst je Stück und dann die Teilsummen in fester Reihenfolge, sodass das Ergebnis nicht
+ * von der Anzahl der Threads abhängt und Iterationen reproduzierbar bleiben.
+ */
+final class VectorOps {
+    static final int CHUNK = 1 << 14;
+    // darunter lohnt sich das Verteilen nicht
+    private static final int PARALLEL_LENGTH = 1 << 16;
+
+    private VectorOps() {
+    }
+
+    interface Range {
+        void run(int from, int to);
+    }
+
+    /** Führt body für [0, n) aus, bei langen Vektoren parallel in Stücken zu CHUNK. */
+    static void forRange(int n, Range body) {
+        forRange(n, CHUNK, n, body);
+    }
+
+    /**
+     * Führt body für [0, n) aus, parallel in Stücken zu grain Indizes, sofern der gesamte
+     * Aufwand work (etwa gelesene Einträge) groß genug ist.
+     */
+    static void forRange(int n, int grain, long work, Range body) {
+        if (work < PARALLEL_LENGTH || n <= grain || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            body.run(0, n);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new Chunks(n, grain, body, 0, (n + grain - 1) / grain));
+    }
+
+    private static final class Chunks extends RecursiveAction {
+        private final int n, grain;
+        private final Range body;
+        private final int from, to;
+
+        Chunks(int n, int grain, Range body, int from, int to) {
+            this.n = n;
+            this.grain = grain;
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Chunks(n, grain, body, from, mid), new Chunks(n, grain, body, mid, to));
+                return;
+            }
+            body.run(from * grain, Math.min(n, (from + 1) * grain));
+        }
+    }
+
+    /** x · y */
+    static double dot(double[] x, double[] y) {
+        int n = x.length;
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        double[] partial = new double[Math.max(1, chunks)];
+        forRange(n, (from, to) -> {
+            // Teilsummen immer je CHUNK, auch sequentiell, damit das Ergebnis gleich bleibt
+            for (int c0 = from; c0 < to; c0 += CHUNK) {
+                int c1 = Math.min(to, c0 + CHUNK);
+                double s = 0;
+                for (int i = c0; i < c1; i++) s += x[i] * y[i];
+                partial[c0 / CHUNK] = s;
+            }
+        });
+        double sum = 0;
+        for (double p : partial) sum += p;
+        return sum;
+    }
+
+    /** ‖x‖₂ */
+    static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+
+    /** y += alpha · x */
+    static void axpy(double alpha, double[] x, double[] y) {
+        forRange(y.length, (from, to) -> {
+            for (int i = from; i < to; i++) y[i] += alpha * x[i];
+        });
+    }
+
+    /** y = x + beta · y */
+    static void xpby(double[] x, double beta, double[] y) {
+        forRange(y.length, (from, to) -> {
+            for (int i = from; i < to; i++) y[i] = x[i] + beta * y[i];
+        });
+    }
+
+    /** x *= alpha */
+    static void scale(double alpha, double[] x) {
+        forRange(x.length, (from, to) -> {
+            for (int i = from; i < to; i++) x[i] *= alpha;
+        });
+    }
+}
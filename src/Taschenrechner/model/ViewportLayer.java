@@ -0,0 +1,43 @@
+package Taschenrechner.model;
+
+import java.awt.Color;
+
+/**
+ * Ebene, deren Geometrie vom sichtbaren Ausschnitt abhängt (z.B. implizite oder parametrische
+ * Kurven). Die Geometrie wird für den zuletzt angefragten Ausschnitt zwischengespeichert und
+ * nur bei geändertem Ausschnitt oder geänderter Pixelgröße neu berechnet.
+ */
+public abstract class ViewportLayer extends PlotLayer {
+    private double cXMin, cXMax, cYMin, cYMax;
+    private int cWidth = -1, cHeight = -1;
+    private double[] geometry;
+
+    protected ViewportLayer(String label, Color color) {
+        super(label, color);
+    }
+
+    /**
+     * Liefert die Geometrie für den Ausschnitt (Format siehe {@link #compute}).
+     */
+    public synchronized double[] getGeometry(double xMin, double xMax, double yMin, double yMax,
+                                             int width, int height) {
+        if (geometry == null || xMin != cXMin || xMax != cXMax || yMin != cYMin || yMax != cYMax
+                || width != cWidth || height != cHeight) {
+            geometry = compute(xMin, xMax, yMin, yMax, width, height);
+            cXMin = xMin; cXMax = xMax; cYMin = yMin; cYMax = yMax;
+            cWidth = width; cHeight = height;
+        }
+        return geometry;
+    }
+
+    /** Verwirft die zwischengespeicherte Geometrie. */
+    public synchronized void invalidate() {
+        geometry = null;
+    }
+
+    /**
+     * Berechnet die Geometrie in Weltkoordinaten für einen Ausschnitt von width x height Pixeln.
+     */
+    protected abstract double[] compute(double xMin, double xMax, double yMin, double yMax,
+                                        int width, int height);
+}
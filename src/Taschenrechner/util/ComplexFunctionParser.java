@@ -0,0 +1,235 @@
+package Taschenrechner.util;
+
+import Taschenrechner.model.Complex;
+import Taschenrechner.model.ComplexFunction;
+
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Recursive-descent-Parser für komplexe Funktionen in der Variablen z.
+ * Unterstützt:
+ *   - Zahlen, die imaginäre Einheit i sowie die Konstanten e und pi (auch "3i", "2z", "2(z+1)")
+ *   - Operatoren:  +, -, *, /, ^ (rechtsassoziativ)
+ *   - Funktionen:  exp, ln/log (Hauptzweig), sqrt, sin, cos, tan, conj, abs
+ * <p>
+ * Teilausdrücke ohne z werden bereits beim Parsen ausgewertet, sodass je Auswertung nur
+ * die von z abhängigen Knoten durchlaufen werden.
+ */
+public class ComplexFunctionParser {
+    private static final String[] FUNCTIONS = {"sqrt", "conj", "exp", "sin", "cos", "tan", "abs", "log", "ln"};
+
+    private final String input;
+    private int pos;
+
+    /** Teilausdruck: Funktion und, falls unabhängig von z, ihr konstanter Wert */
+    private record Expr(ComplexFunction f, Complex constant) {
+        static Expr of(Complex c) {
+            return new Expr(z -> c, c);
+        }
+    }
+
+    private ComplexFunctionParser(String input) {
+        this.input = input.replaceAll("\\s+", "").toLowerCase();
+        this.pos = 0;
+    }
+
+    /**
+     * Parst den Ausdruck zu einer Funktion f(z).
+     *
+     * @throws IllegalArgumentException bei ungültiger Eingabe
+     */
+    public static ComplexFunction parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Leerer Ausdruck");
+        }
+        ComplexFunctionParser p = new ComplexFunctionParser(expression);
+        Expr result = p.parseExpression();
+        if (p.pos != p.input.length()) {
+            throw new IllegalArgumentException("Unerwartete Eingabe an Position " + p.pos);
+        }
+        return result.f();
+    }
+
+    // Expression → Term { ('+' | '-') Term }
+    private Expr parseExpression() {
+        Expr result = parseTerm();
+        while (pos < input.length()) {
+            char ch = input.charAt(pos);
+            if (ch == '+') {
+                pos++;
+                result = binary(result, parseTerm(), Complex::add);
+            } else if (ch == '-') {
+                pos++;
+                result = binary(result, parseTerm(), Complex::sub);
+            } else {
+                break;
+            }
+        }
+        return result;
+    }
+
+    // Term → Unary { ('*' | '/') Unary | Unary (implizite Multiplikation) }
+    private Expr parseTerm() {
+        Expr result = parseUnary();
+        while (pos < input.length()) {
+            char ch = input.charAt(pos);
+            if (ch == '*') {
+                pos++;
+                result = binary(result, parseUnary(), Complex::mul);
+            } else if (ch == '/') {
+                pos++;
+                result = binary(result, parseUnary(), Complex::div);
+            } else if (ch == '(' || Character.isLetter(ch)) {
+                result = binary(result, parsePower(), Complex::mul);
+            } else {
+                break;
+            }
+        }
+        return result;
+    }
+
+    // Unary → ('+' | '-') Unary | Power
+    private Expr parseUnary() {
+        if (match('+')) {
+            return parseUnary();
+        }
+        if (match('-')) {
+            return unary(parseUnary(), w -> new Complex(-w.re(), -w.im()));
+        }
+        return parsePower();
+    }
+
+    // Power → Primary [ '^' Unary ]
+    private Expr parsePower() {
+        Expr base = parsePrimary();
+        if (match('^')) {
+            Expr exponent = parseUnary();
+            // Ganzzahlige konstante Exponenten per Multiplikation (exakt und schneller als exp/log)
+            if (exponent.constant() != null && exponent.constant().im() == 0) {
+                double e = exponent.constant().re();
+                if (e == Math.rint(e) && Math.abs(e) <= 64) {
+                    int n = (int) e;
+                    return unary(base, w -> integerPower(w, n));
+                }
+            }
+            return binary(base, exponent, Complex::pow);
+        }
+        return base;
+    }
+
+    // Primary → Zahl | 'i' | 'z' | 'e' | 'pi' | Funktion '(' Expression ')' | '(' Expression ')'
+    private Expr parsePrimary() {
+        if (pos >= input.length()) {
+            throw new IllegalArgumentException("Unerwartetes Ende des Ausdrucks");
+        }
+        char ch = input.charAt(pos);
+        if (ch == '(') {
+            pos++;
+            Expr inner = parseExpression();
+            expect(')');
+            return inner;
+        }
+        if (Character.isDigit(ch) || ch == '.') {
+            return Expr.of(new Complex(parseNumber(), 0));
+        }
+        for (String name : FUNCTIONS) {
+            if (input.startsWith(name + "(", pos)) {
+                pos += name.length() + 1;
+                Expr arg = parseExpression();
+                expect(')');
+                return unary(arg, function(name));
+            }
+        }
+        if (input.startsWith("pi", pos)) {
+            pos += 2;
+            return Expr.of(new Complex(Math.PI, 0));
+        }
+        pos++;
+        return switch (ch) {
+            case 'z' -> new Expr(z -> z, null);
+            case 'i' -> Expr.of(new Complex(0, 1));
+            case 'e' -> Expr.of(new Complex(Math.E, 0));
+            default -> throw new IllegalArgumentException(
+                    "Ungültiges Token an Position " + (pos - 1) + ": '" + ch + "'");
+        };
+    }
+
+    private static UnaryOperator<Complex> function(String name) {
+        return switch (name) {
+            case "sqrt" -> Complex::sqrt;
+            case "conj" -> Complex::conj;
+            case "exp" -> Complex::exp;
+            case "sin" -> Complex::sin;
+            case "cos" -> Complex::cos;
+            case "tan" -> w -> w.sin().div(w.cos());
+            case "abs" -> w -> new Complex(w.abs(), 0);
+            case "log", "ln" -> Complex::log;
+            default -> throw new IllegalArgumentException("Unbekannte Funktion: " + name);
+        };
+    }
+
+    /** w^n durch binäres Potenzieren, negative n über den Kehrwert */
+    private static Complex integerPower(Complex w, int n) {
+        Complex result = new Complex(1, 0);
+        Complex base = w;
+        for (int k = Math.abs(n); k > 0; k >>= 1) {
+            if ((k & 1) != 0) {
+                result = result.mul(base);
+            }
+            base = base.mul(base);
+        }
+        return n < 0 ? new Complex(1, 0).div(result) : result;
+    }
+
+    private static Expr unary(Expr a, UnaryOperator<Complex> op) {
+        if (a.constant() != null) {
+            return Expr.of(op.apply(a.constant()));
+        }
+        ComplexFunction f = a.f();
+        return new Expr(z -> op.apply(f.evaluate(z)), null);
+    }
+
+    private static Expr binary(Expr a, Expr b, BinaryOperator<Complex> op) {
+        if (a.constant() != null && b.constant() != null) {
+            return Expr.of(op.apply(a.constant(), b.constant()));
+        }
+        ComplexFunction fa = a.f(), fb = b.f();
+        if (a.constant() != null) {
+            Complex ca = a.constant();
+            return new Expr(z -> op.apply(ca, fb.evaluate(z)), null);
+        }
+        if (b.constant() != null) {
+            Complex cb = b.constant();
+            return new Expr(z -> op.apply(fa.evaluate(z), cb), null);
+        }
+        return new Expr(z -> op.apply(fa.evaluate(z), fb.evaluate(z)), null);
+    }
+
+    private double parseNumber() {
+        int start = pos;
+        while (pos < input.length() && (Character.isDigit(input.charAt(pos)) || input.charAt(pos) == '.')) {
+            pos++;
+        }
+        String numStr = input.substring(start, pos);
+        try {
+            return Double.parseDouble(numStr);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültige Zahl: " + numStr);
+        }
+    }
+
+    private boolean match(char c) {
+        if (pos < input.length() && input.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!match(c)) {
+            throw new IllegalArgumentException("Erwartet '" + c + "' an Position " + pos);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package Taschenrechner.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Liest zwei Spalten einer CSV-Datei (z.B. Messdaten mit zig Millionen Zeilen) in primitive
+ * double-Arrays. Die Datei wird abschnittsweise per Memory-Mapping gelesen, jeder Abschnitt
+ * am Stück in einen festen Byte-Puffer kopiert und direkt auf den Bytes geparst, ohne Strings
+ * je Zeile zu erzeugen. Der zusätzliche Speicher ist damit unabhängig von der Dateigröße.
+ * Ein erster Durchlauf zählt die Zeilen, sodass die Arrays genau einmal in passender Größe
+ * angelegt werden.
+ * <p>
+ * Das Trennzeichen wird an der ersten Zeile erkannt (Tabulator, Semikolon oder Komma); bei
+ * Semikolon ist auch das Dezimalkomma erlaubt. Zeilen, in denen eine der beiden Spalten keine
+ * Zahl ist (z.B. die Kopfzeile), werden übersprungen.
+ */
+public class CsvDataReader {
+    // Größe der gemappten Abschnitte; jeder wird in einen wiederverwendeten Puffer kopiert
+    private static final int WINDOW = 1 << 24;
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Ergebnis: die ersten {@code size} Einträge von x und y sind gültig.
+     * @param skipped Anzahl übersprungener Zeilen
+     */
+    public record Columns(double[] x, double[] y, int size, long skipped) {
+    }
+
+    /** Liest die ersten beiden Spalten. */
+    public static Columns read(Path file) throws IOException {
+        return read(file, 0, 1);
+    }
+
+    /**
+     * Liest die Spalten xColumn und yColumn (ab 0 gezählt).
+     * @throws IllegalArgumentException bei ungültigen Spalten, zu vielen Zeilen oder
+     *                                  Zeilen, die länger als ein Abschnitt sind
+     */
+    public static Columns read(Path file, int xColumn, int yColumn) throws IOException {
+        if (xColumn < 0 || yColumn < 0 || xColumn == yColumn) {
+            throw new IllegalArgumentException("Ungültige Spaltenauswahl: " + xColumn + ", " + yColumn);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long lines = countLines(channel);
+            if (lines > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Zu viele Zeilen: " + lines);
+            }
+            Parser parser = new Parser((int) lines, xColumn, yColumn);
+            forEachWindow(channel, parser::parseLines);
+            return new Columns(parser.xs, parser.ys, parser.size, parser.skipped);
+        }
+    }
+
+    private interface WindowHandler {
+        /** Verarbeitet die vollständigen Zeilen in buf[0, end). */
+        void handle(byte[] buf, int end);
+    }
+
+    /** Mappt die Datei in Abschnitten, die jeweils an einem Zeilenende aufhören. */
+    private static void forEachWindow(FileChannel channel, WindowHandler handler) throws IOException {
+        long size = channel.size();
+        byte[] buf = new byte[(int) Math.min(WINDOW, size)];
+        long pos = 0;
+        while (pos < size) {
+            int len = (int) Math.min(WINDOW, size - pos);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+            mapped.get(buf, 0, len);
+            int end = len;
+            if (pos + len < size) {
+                while (end > 0 && buf[end - 1] != '\n') end--;
+                if (end == 0) {
+                    throw new IllegalArgumentException("Zeile länger als " + WINDOW + " Bytes");
+                }
+            }
+            handler.handle(buf, end);
+            pos += end;
+        }
+    }
+
+    private static long countLines(FileChannel channel) throws IOException {
+        long[] count = {0};
+        forEachWindow(channel, (buf, end) -> {
+            long n = 0;
+            for (int i = 0; i < end; i++) {
+                if (buf[i] == '\n') n++;
+            }
+            // letzte Zeile ohne Zeilenumbruch
+            if (end > 0 && buf[end - 1] != '\n') n++;
+            count[0] += n;
+        });
+        return count[0];
+    }
+
+    private static final class Parser {
+        final double[] xs, ys;
+        final int xColumn, yColumn;
+        int size;
+        long skipped;
+        byte separator; // 0 = noch nicht erkannt
+        byte decimal = '.';
+
+        Parser(int capacity, int xColumn, int yColumn) {
+            xs = new double[capacity];
+            ys = new double[capacity];
+            this.xColumn = xColumn;
+            this.yColumn = yColumn;
+        }
+
+        void parseLines(byte[] buf, int end) {
+            int lineStart = 0;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && buf[lineEnd] != '\n') lineEnd++;
+                int contentEnd = lineEnd;
+                if (contentEnd > lineStart && buf[contentEnd - 1] == '\r') contentEnd--;
+                if (contentEnd > lineStart) {
+                    if (separator == 0) detectSeparator(buf, lineStart, contentEnd);
+                    parseLine(buf, lineStart, contentEnd);
+                }
+                lineStart = lineEnd + 1;
+            }
+        }
+
+        private void detectSeparator(byte[] buf, int from, int to) {
+            separator = ',';
+            for (int i = from; i < to; i++) {
+                byte b = buf[i];
+                if (b == '\t') {
+                    separator = '\t';
+                    return;
+                }
+                if (b == ';') {
+                    separator = ';';
+                }
+            }
+            if (separator == ';') {
+                decimal = ',';
+            }
+        }
+
+        private void parseLine(byte[] buf, int from, int to) {
+            double x = Double.NaN, y = Double.NaN;
+            int column = 0, fieldStart = from;
+            for (int i = from; i <= to; i++) {
+                if (i == to || buf[i] == separator) {
+                    if (column == xColumn) x = parseNumber(buf, fieldStart, i, decimal);
+                    else if (column == yColumn) y = parseNumber(buf, fieldStart, i, decimal);
+                    column++;
+                    fieldStart = i + 1;
+                    if (column > xColumn && column > yColumn) break;
+                }
+            }
+            if (Double.isFinite(x) && Double.isFinite(y)) {
+                xs[size] = x;
+                ys[size] = y;
+                size++;
+            } else {
+                skipped++;
+            }
+        }
+    }
+
+    /**
+     * Parst eine Dezimalzahl aus buf[from, to) oder liefert NaN. Der häufige Fall (höchstens 15
+     * signifikante Stellen, kleiner Exponent) wird exakt gerundet direkt berechnet; alles
+     * andere geht über {@link Double#parseDouble(String)}.
+     */
+    static double parseNumber(byte[] buf, int from, int to, byte decimal) {
+        while (from < to && (buf[from] == ' ' || buf[from] == '"')) from++;
+        while (to > from && (buf[to - 1] == ' ' || buf[to - 1] == '"')) to--;
+        if (from >= to) return Double.NaN;
+
+        int i = from;
+        boolean negative = false;
+        byte b = buf[i];
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0, exponent = 0;
+        boolean anyDigit = false;
+        for (; i < to; i++) {
+            b = buf[i];
+            if (b < '0' || b > '9') break;
+            anyDigit = true;
+            if (mantissa != 0 || b != '0') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+            }
+            if (digits > 15) return slowParse(buf, from, to, decimal);
+        }
+        if (i < to && buf[i] == decimal) {
+            for (i++; i < to; i++) {
+                b = buf[i];
+                if (b < '0' || b > '9') break;
+                anyDigit = true;
+                if (mantissa != 0 || b != '0') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                }
+                exponent--;
+                if (digits > 15) return slowParse(buf, from, to, decimal);
+            }
+        }
+        if (!anyDigit) return slowParse(buf, from, to, decimal);
+        if (i < to && (buf[i] == 'e' || buf[i] == 'E')) {
+            i++;
+            boolean expNegative = false;
+            if (i < to && (buf[i] == '-' || buf[i] == '+')) {
+                expNegative = buf[i] == '-';
+                i++;
+            }
+            int e = 0, expDigits = 0;
+            for (; i < to; i++) {
+                b = buf[i];
+                if (b < '0' || b > '9' || expDigits > 5) break;
+                e = e * 10 + (b - '0');
+                expDigits++;
+            }
+            if (expDigits == 0) return Double.NaN;
+            exponent += expNegative ? -e : e;
+        }
+        if (i != to) return slowParse(buf, from, to, decimal);
+
+        // Clinger: Mantisse < 2^53 und |Exponent| <= 22 sind beide exakt darstellbar
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent < POW10.length) {
+            value = mantissa * POW10[exponent];
+        } else if (exponent < 0 && -exponent < POW10.length) {
+            value = mantissa / POW10[-exponent];
+        } else {
+            return slowParse(buf, from, to, decimal);
+        }
+        return negative ? -value : value;
+    }
+
+    private static double slowParse(byte[] buf, int from, int to, byte decimal) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            byte b = buf[from + i];
+            bytes[i] = b == decimal ? (byte) '.' : b;
+        }
+        try {
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package Taschenrechner.util;
 
 import Taschenrechner.model.Function;
+import Taschenrechner.model.Function2D;
+import Taschenrechner.model.FunctionND;
+import Taschenrechner.model.FunctionNode;
+import Taschenrechner.model.ParameterSet;
+import Taschenrechner.model.ParsedFunction;
 import Taschenrechner.model.PolynomialFunction;
 
 /**
@@ -8,19 +13,100 @@ import Taschenrechner.model.PolynomialFunction;
  * Funktionen wie sin, cos, tan, sqrt, log, ln unterstützt und runde Klammern korrekt auswertet.
  * Dieser Parser verwendet einen rekursiven Abstieg-Algorithmus.
  * Dieser Parser wird für die Darstellung von Graphen in der GUI benötigt.
+ * <p>
+ * Das Ergebnis ist ein Funktionsbaum ({@link FunctionNode}) über frei wählbaren Variablen;
+ * {@link #parse(String)} liefert wie bisher eine Funktion in x, {@link #parse2D(String)} eine
+ * Funktion in x und y (z.B. für implizite Kurven), {@link #parseND(String, String...)} eine
+ * Funktion beliebig vieler Variablen (z.B. x1 bis x10 für mehrdimensionale Integrale).
+ * <p>
+ * Wird ein {@link ParameterSet} übergeben, werden alle übrigen einzelnen Buchstaben (außer e)
+ * als freie Parameter an dessen Slots gebunden, z.B. a, b, c in "a*sin(b*x)+c".
  */
 public class FunctionParser {
 
     public static Function parse(String expression) throws IllegalArgumentException {
+        return parse(expression, "x");
+    }
+
+    /**
+     * Parst eine Funktion in einer beliebig benannten Variablen, z.B. "cos(t)" mit variable "t"
+     * für parametrische und Polarkurven.
+     */
+    public static Function parse(String expression, String variable) throws IllegalArgumentException {
+        return parse(expression, variable, null);
+    }
+
+    /**
+     * Parst eine Funktion in einer Variablen mit freien Parametern aus {@code parameters}
+     * (null = keine Parameter erlaubt).
+     */
+    public static Function parse(String expression, String variable, ParameterSet parameters)
+            throws IllegalArgumentException {
+        FunctionNode root = parseTree(expression, parameters, variable);
+        // Rein polynomiale Funktionen als Polynom zurückgeben (exakte Ableitung)
+        if (root instanceof FunctionNode.Polynomial p) {
+            return p.getPolynomial();
+        }
+        return new ParsedFunction(root, variable);
+    }
+
+    /**
+     * Parst eine Funktion zweier Variablen x und y, z.B. "x^2+y^2-1".
+     */
+    public static Function2D parse2D(String expression) throws IllegalArgumentException {
+        return parse2D(expression, null);
+    }
+
+    /** Wie {@link #parse2D(String)}, mit freien Parametern aus {@code parameters}. */
+    public static Function2D parse2D(String expression, ParameterSet parameters) throws IllegalArgumentException {
+        return new ParsedFunction(parseTree(expression, parameters, "x", "y"), "x", "y");
+    }
+
+    /**
+     * Parst eine Funktion der angegebenen Variablen, z.B. "x1*x2+x3^2" mit "x1", "x2", "x3".
+     * Beim Auswerten werden die Werte in dieser Reihenfolge übergeben.
+     */
+    public static FunctionND parseND(String expression, String... variables) throws IllegalArgumentException {
+        return parseND(expression, null, variables);
+    }
+
+    /** Wie {@link #parseND(String, String...)}, mit freien Parametern aus {@code parameters}. */
+    public static FunctionND parseND(String expression, ParameterSet parameters, String... variables)
+            throws IllegalArgumentException {
+        if (variables.length == 0) {
+            throw new IllegalArgumentException("Mindestens eine Variable erforderlich");
+        }
+        return new ParsedFunction(parseTree(expression, parameters, variables), variables);
+    }
+
+    /**
+     * Parst den Ausdruck in einen Funktionsbaum. Die Variablen erhalten ihren Index in der
+     * übergebenen Reihenfolge (Groß-/Kleinschreibung wird ignoriert).
+     *
+     * @param expression Funktionsterm
+     * @param variables  Namen der erlaubten Variablen, z.B. "x", "y"
+     */
+    public static FunctionNode parseTree(String expression, String... variables) throws IllegalArgumentException {
+        return parseTree(expression, null, variables);
+    }
+
+    /**
+     * Wie {@link #parseTree(String, String...)}; übrige Buchstaben werden als Parameter an
+     * Slots in {@code parameters} gebunden (null = keine Parameter erlaubt).
+     */
+    public static FunctionNode parseTree(String expression, ParameterSet parameters, String... variables)
+            throws IllegalArgumentException {
         if (expression == null || expression.isEmpty()) {
             throw new IllegalArgumentException("Leerer Ausdruck");
         }
-        // Leerzeichen entfernen und implizite Multiplikation einfügen
+        // Leerzeichen entfernen (implizite Multiplikation wie "2(x+1)" erkennt der Parser selbst)
         expression = expression.replaceAll("\\s+", "");
-        expression = expression.replaceAll("(?<=[0-9xX)])\\(", "*(");
+        if (expression.isEmpty()) {
+            throw new IllegalArgumentException("Leerer Ausdruck");
+        }
 
-        Parser parser = new Parser(expression);
-        Function f = parser.parseExpression();
+        Parser parser = new Parser(expression, variables, parameters);
+        FunctionNode f = parser.parseExpression();
         if (parser.pos != expression.length()) {
             throw new IllegalArgumentException("Unerwartete Eingabe an Position " + parser.pos);
         }
@@ -29,37 +115,26 @@ public class FunctionParser {
 
     private static class Parser {
         private final String input;
+        private final String[] variables;
+        private final ParameterSet parameters;
         private int pos;
 
-        public Parser(String input) {
+        public Parser(String input, String[] variables, ParameterSet parameters) {
             this.input = input;
+            this.variables = variables;
+            this.parameters = parameters;
             this.pos = 0;
         }
 
         // Expression -> Term { ('+' | '-') Term }
-        public Function parseExpression() {
-            Function result = parseTerm();
+        public FunctionNode parseExpression() {
+            FunctionNode result = parseTerm();
             while (pos < input.length()) {
                 char ch = input.charAt(pos);
-                if (ch == '+') {
+                if (ch == '+' || ch == '-') {
                     pos++;
-                    Function term = parseTerm();
-                    if (result instanceof PolynomialFunction && term instanceof PolynomialFunction) {
-                        result = PolynomialFunction.add((PolynomialFunction) result, (PolynomialFunction) term);
-                    } else {
-                        Function old = result;
-                        result = (double x) -> old.evaluate(x) + term.evaluate(x);
-                    }
-                }
-                else if (ch == '-') {
-                    pos++;
-                    Function term = parseTerm();
-                    if (result instanceof PolynomialFunction && term instanceof PolynomialFunction) {
-                        result = PolynomialFunction.subtract((PolynomialFunction) result, (PolynomialFunction) term);
-                    } else {
-                        Function old = result;
-                        result = (double x) -> old.evaluate(x) - term.evaluate(x);
-                    }
+                    FunctionNode term = parseTerm();
+                    result = combine(ch, result, term);
                 }
                 else {
                     break;
@@ -68,25 +143,19 @@ public class FunctionParser {
             return result;
         }
 
-        // Term -> Unary { ('*' | '/') Unary }
-        private Function parseTerm() {
-            Function result = parseUnary();
+        // Term -> Unary { ('*' | '/') Unary | '(' Expr ')' }
+        private FunctionNode parseTerm() {
+            FunctionNode result = parseUnary();
             while (pos < input.length()) {
                 char op = input.charAt(pos);
                 if (op == '*' || op == '/') {
                     pos++;
-                    Function right = parseUnary();
-                    if (op == '*') {
-                        if (result instanceof PolynomialFunction && right instanceof PolynomialFunction) {
-                            result = PolynomialFunction.multiply((PolynomialFunction) result, (PolynomialFunction) right);
-                        } else {
-                            Function old = result;
-                            result = (double x) -> old.evaluate(x) * right.evaluate(x);
-                        }
-                    } else {
-                        Function old = result;
-                        result = (double x) -> old.evaluate(x) / right.evaluate(x);
-                    }
+                    FunctionNode right = parseUnary();
+                    result = combine(op, result, right);
+                } else if (op == '(') {
+                    // implizite Multiplikation, z.B. 2(x+1) oder (x-1)(x+1)
+                    FunctionNode right = parsePower();
+                    result = combine('*', result, right);
                 } else {
                     break;
                 }
@@ -94,28 +163,48 @@ public class FunctionParser {
             return result;
         }
 
+        /**
+         * Verknüpft zwei Teilbäume. Polynome in derselben Variablen werden bei +, - und *
+         * direkt zusammengefasst, alles andere wird ein Operatorknoten.
+         */
+        private FunctionNode combine(char op, FunctionNode left, FunctionNode right) {
+            if (op != '/' && left instanceof FunctionNode.Polynomial a
+                    && right instanceof FunctionNode.Polynomial b
+                    && (a.getIndex() < 0 || b.getIndex() < 0 || a.getIndex() == b.getIndex())) {
+                int index = Math.max(a.getIndex(), b.getIndex());
+                PolynomialFunction p = a.getPolynomial();
+                PolynomialFunction q = b.getPolynomial();
+                PolynomialFunction r = switch (op) {
+                    case '+' -> PolynomialFunction.add(p, q);
+                    case '-' -> PolynomialFunction.subtract(p, q);
+                    default -> PolynomialFunction.multiply(p, q);
+                };
+                return new FunctionNode.Polynomial(r, index);
+            }
+            return new FunctionNode.Binary(op, left, right);
+        }
+
         // Unary -> ('+' | '-') Unary | Power
-        private Function parseUnary() {
+        private FunctionNode parseUnary() {
             if (pos < input.length() && input.charAt(pos) == '+') {
                 pos++;
                 return parseUnary();
             }
             if (pos < input.length() && input.charAt(pos) == '-') {
                 pos++;
-                Function inner = parseUnary();
-                return (double x) -> -inner.evaluate(x);
+                FunctionNode inner = parseUnary();
+                return new FunctionNode.Negation(inner);
             }
             return parsePower();
         }
 
         // Power -> Primary [ '^' Unary ]
-        private Function parsePower() {
-            Function base = parsePrimary();
+        private FunctionNode parsePower() {
+            FunctionNode base = parsePrimary();
             while (pos < input.length() && input.charAt(pos) == '^') {
                 pos++; // '^' überspringen
-                Function exponent = parseUnary();
-                Function oldBase = base;
-                base = (double x) -> Math.pow(oldBase.evaluate(x), exponent.evaluate(x));
+                FunctionNode exponent = parseUnary();
+                base = new FunctionNode.Binary('^', base, exponent);
             }
             return base;
         }
@@ -136,99 +225,32 @@ public class FunctionParser {
         // | Zahl
         // | 'x'
         // | 'e'
-        public Function parsePrimary() {
+        // | Parameter (einzelner Buchstabe, falls ein ParameterSet übergeben wurde)
+        public FunctionNode parsePrimary() {
             if (pos >= input.length()) {
                 throw new IllegalArgumentException("Unerwartetes Ende des Ausdrucks");
             }
 
-            // sqrt(x)
-            if (input.startsWith("sqrt", pos)) {
-                pos += 4; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.sqrt(inner.evaluate(x));
-            }
-            // ln(x)
-            if (input.startsWith("ln", pos)
-                    && pos + 2 < input.length()
-                    && input.charAt(pos + 2) == '(') {
-                pos += 2; expect('(');
-                Function inner = parseExpression();
+            // Funktionsaufrufe: sqrt, ln, lg, log, sin, cos, tan, arcsin, arccos, arctan
+            FunctionNode.UnaryFunction function = matchFunction();
+            if (function != null) {
+                pos += function.getSymbol().length(); expect('(');
+                FunctionNode inner = parseExpression();
                 expect(')');
-                return (double x) -> Math.log(inner.evaluate(x));
-            }
-            // lg(x)
-            if (input.startsWith("lg", pos)
-                    && pos + 2 < input.length()
-                    && input.charAt(pos + 2) == '(') {
-                pos += 2; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.log(inner.evaluate(x)) / Math.log(2);
-            }
-            // log(x)
-            if (input.startsWith("log", pos)
-                    && pos + 3 < input.length()
-                    && input.charAt(pos + 3) == '(') {
-                pos += 3; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.log10(inner.evaluate(x));
-            }
-            // sin(x)
-            if (input.startsWith("sin", pos)) {
-                pos += 3; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.sin(inner.evaluate(x));
-            }
-            // cos(x)
-            if (input.startsWith("cos", pos)) {
-                pos += 3; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.cos(inner.evaluate(x));
-            }
-            // tan(x)
-            if (input.startsWith("tan", pos)) {
-                pos += 3; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.tan(inner.evaluate(x));
-            }
-            // arcsin(x)
-            if (input.startsWith("arcsin", pos)) {
-                pos += 6; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.asin(inner.evaluate(x));
-            }
-            // arccos(x)
-            if (input.startsWith("arccos", pos)) {
-                pos += 6; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.acos(inner.evaluate(x));
-            }
-            // arctan(x)
-            if (input.startsWith("arctan", pos)) {
-                pos += 6; expect('(');
-                Function inner = parseExpression();
-                expect(')');
-                return (double x) -> Math.atan(inner.evaluate(x));
+                return new FunctionNode.Call(function, inner);
             }
 
             // Klammerausdruck rund
             if (input.charAt(pos) == '(') {
                 pos++;
-                Function expr = parseExpression();
+                FunctionNode expr = parseExpression();
                 expect(')');
                 return expr;
             }
             // Klammerausdruck geschweift
             if (input.charAt(pos) == '{') {
                 pos++;
-                Function expr = parseExpression();
+                FunctionNode expr = parseExpression();
                 expect('}');
                 return expr;
             }
@@ -236,19 +258,35 @@ public class FunctionParser {
             // Zahl (konstantes Polynom)
             if (Character.isDigit(input.charAt(pos)) || input.charAt(pos) == '.') {
                 double num = parseNumber();
-                return new PolynomialFunction(num);
+                return new FunctionNode.Polynomial(new PolynomialFunction(num), -1);
             }
 
-            // Variable 'x'
-            if (input.charAt(pos) == 'x' || input.charAt(pos) == 'X') {
-                pos++;
-                return new PolynomialFunction(1, 0);
+            // Variablen (z.B. 'x', 'y'); als Polynom, damit Polynome zusammengefasst werden können.
+            // Der längste passende Name gewinnt, damit "x10" nicht als "x1" gefolgt von 0 gilt.
+            int variable = -1;
+            for (int i = 0; i < variables.length; i++) {
+                String name = variables[i];
+                if (input.regionMatches(true, pos, name, 0, name.length())
+                        && (variable < 0 || name.length() > variables[variable].length())) {
+                    variable = i;
+                }
+            }
+            if (variable >= 0) {
+                pos += variables[variable].length();
+                return new FunctionNode.Polynomial(new PolynomialFunction(1, 0), variable);
             }
 
             // Euler'sche Zahl 'e'
             if (input.charAt(pos) == 'e') {
                 pos++;
-                return new PolynomialFunction(Math.E);
+                return new FunctionNode.Polynomial(new PolynomialFunction(Math.E), -1);
+            }
+
+            // Freier Parameter
+            if (parameters != null && Character.isLetter(input.charAt(pos))) {
+                String name = String.valueOf(input.charAt(pos));
+                pos++;
+                return new FunctionNode.Parameter(parameters, parameters.slot(name));
             }
 
             throw new IllegalArgumentException(
@@ -256,6 +294,30 @@ public class FunctionParser {
             );
         }
 
+        /**
+         * Sucht an der aktuellen Position einen Funktionsnamen. ln, lg und log zählen nur mit
+         * direkt folgender Klammer als Funktion.
+         */
+        private FunctionNode.UnaryFunction matchFunction() {
+            // längere Namen zuerst, damit "arcsin" nicht als "sin" erkannt wird
+            FunctionNode.UnaryFunction best = null;
+            for (FunctionNode.UnaryFunction f : FunctionNode.UnaryFunction.values()) {
+                String sym = f.getSymbol();
+                if (!input.startsWith(sym, pos)) continue;
+                boolean needsParen = f == FunctionNode.UnaryFunction.LN
+                        || f == FunctionNode.UnaryFunction.LG
+                        || f == FunctionNode.UnaryFunction.LOG;
+                if (needsParen && (pos + sym.length() >= input.length()
+                        || input.charAt(pos + sym.length()) != '(')) {
+                    continue;
+                }
+                if (best == null || sym.length() > best.getSymbol().length()) {
+                    best = f;
+                }
+            }
+            return best;
+        }
+
         private void expect(char c) {
             if (pos >= input.length() || input.charAt(pos) != c) {
                 throw new IllegalArgumentException("Erwartetes '" + c + "' an Position " + pos);
@@ -1,6 +1,8 @@
 package Taschenrechner.view;
 
 import Taschenrechner.model.Complex;
+import Taschenrechner.model.ComplexFunction;
+import Taschenrechner.util.ComplexFunctionParser;
 import Taschenrechner.util.ComplexParser;
 
 import javax.swing.*;
@@ -12,11 +14,16 @@ import java.awt.*;
  * - Operatoren: +, -, *, /
  * - Funktionen: conj(z), abs(z)
  * <p>
+ * Zusätzlich lassen sich komplexe Funktionen f(z) (siehe {@link ComplexFunctionParser})
+ * per Domain Coloring über einem Ausschnitt der Zahlenebene darstellen.
+ * <p>
  * Ergebnis wird immer mit drei Nachkommastellen formatiert, z.B. "4,000" statt "4".
  */
 public class ComplexPanel extends JPanel {
     private final JTextField inputField;
     private final JTextArea outputArea;
+    private final JTextField functionField;
+    private final DomainColoringPanel domainColoringPanel;
 
     public ComplexPanel() {
         setLayout(new BorderLayout(10, 10));
@@ -36,8 +43,28 @@ public class ComplexPanel extends JPanel {
         topPanel.add(inputField);
         topPanel.add(calcButton);
 
-        // Mittlerer Bereich: Ausgabe
-        outputArea = new JTextArea(8, 40);
+        // Zweite Zeile: Funktion f(z) für das Domain Coloring
+        JPanel plotPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 10));
+        plotPanel.setBackground(UIManager.getColor("control"));
+        JLabel functionLabel = new JLabel("f(z) =");
+        functionLabel.setForeground(UIManager.getColor("text"));
+        functionLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        functionField = new JTextField(25);
+        functionField.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        JButton plotButton = new JButton("Plotten");
+        plotButton.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        plotPanel.add(functionLabel);
+        plotPanel.add(functionField);
+        plotPanel.add(plotButton);
+
+        JPanel northPanel = new JPanel(new GridLayout(2, 1));
+        northPanel.add(topPanel);
+        northPanel.add(plotPanel);
+
+        domainColoringPanel = new DomainColoringPanel();
+
+        // Unterer Bereich: Ausgabe
+        outputArea = new JTextArea(6, 40);
         outputArea.setFont(new Font("Courier New", Font.PLAIN, 14));
         outputArea.setEditable(false);
         outputArea.setBackground(UIManager.getColor("nimbusLightBackground"));
@@ -50,10 +77,13 @@ public class ComplexPanel extends JPanel {
                 JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,
                 JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
 
-        add(topPanel, BorderLayout.NORTH);
-        add(scrollPane, BorderLayout.CENTER);
+        add(northPanel, BorderLayout.NORTH);
+        add(domainColoringPanel, BorderLayout.CENTER);
+        add(scrollPane, BorderLayout.SOUTH);
 
         calcButton.addActionListener(e -> evaluateInput());
+        plotButton.addActionListener(e -> plotFunction());
+        functionField.addActionListener(e -> plotFunction());
     }
 
     private void evaluateInput() {
@@ -91,6 +121,19 @@ public class ComplexPanel extends JPanel {
         }
     }
 
+    /** Parst f(z) und zeigt die Funktion über |Re|, |Im| ≤ 2 an. */
+    private void plotFunction() {
+        String text = functionField.getText().trim();
+        try {
+            ComplexFunction f = ComplexFunctionParser.parse(text);
+            domainColoringPanel.setFunction(f, text, 2);
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this,
+                    "Ungültige Funktion: " + ex.getMessage(),
+                    "Fehler", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     /**
      * Formatiert eine Complex-Zahl mit genau drei Nachkommastellen, z.B. "4,000 + 0,000i".
      */
@@ -0,0 +1,120 @@
+package Taschenrechner.view;
+
+import Taschenrechner.model.ComplexFunction;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+
+/**
+ * Darstellung einer komplexen Funktion w = f(z) per Domain Coloring (siehe
+ * {@link DomainColoringRenderer}). Ziehen verschiebt den Ausschnitt, das Mausrad zoomt
+ * um die Mausposition. Der Ausschnitt hat stets quadratische Pixel.
+ */
+public class DomainColoringPanel extends JPanel {
+    private final DomainColoringRenderer renderer = new DomainColoringRenderer();
+    private ComplexFunction function;
+    private String label = "";
+
+    // Ausschnitt: Mittelpunkt und Einheiten pro Pixel
+    private double centerX = 0, centerY = 0;
+    private double scale = 0.01;
+    private double pendingRadius;   // > 0: Maßstab beim nächsten Zeichnen aus der Panelgröße setzen
+    private long lastRenderNanos;
+
+    private int lastX, lastY;
+
+    public DomainColoringPanel() {
+        setBackground(new Color(30, 30, 30));
+
+        MouseAdapter panHandler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                centerX -= (e.getX() - lastX) * scale;
+                centerY += (e.getY() - lastY) * scale;
+                lastX = e.getX();
+                lastY = e.getY();
+                repaint();
+            }
+        };
+        addMouseListener(panHandler);
+        addMouseMotionListener(panHandler);
+        addMouseWheelListener(e -> {
+            double factor = Math.pow(1.15, e.getPreciseWheelRotation());
+            double newScale = Math.max(1e-12, Math.min(1e6, scale * factor));
+            // Punkt unter dem Mauszeiger bleibt fest
+            double mx = e.getX() - getWidth() / 2.0, my = e.getY() - getHeight() / 2.0;
+            centerX += mx * (scale - newScale);
+            centerY -= my * (scale - newScale);
+            scale = newScale;
+            repaint();
+        });
+    }
+
+    /**
+     * Setzt die darzustellende Funktion und den Ausschnitt: die kürzere Bildseite umfasst
+     * [-radius, radius] um den Ursprung.
+     */
+    public void setFunction(ComplexFunction function, String label, double radius) {
+        this.function = function;
+        this.label = label;
+        this.centerX = 0;
+        this.centerY = 0;
+        this.pendingRadius = radius;
+        renderer.invalidate();
+        repaint();
+    }
+
+    public ComplexFunction getFunction() {
+        return function;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        int w = getWidth(), h = getHeight();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        g2.setColor(new Color(230, 230, 230));
+        if (function == null || w <= 0 || h <= 0) {
+            g2.drawString("Keine Funktion – f(z) eingeben und plotten", 20, 30);
+            return;
+        }
+
+        if (pendingRadius > 0) {
+            scale = 2 * pendingRadius / Math.min(w, h);
+            pendingRadius = 0;
+        }
+        double xMin = centerX - w / 2.0 * scale, xMax = centerX + w / 2.0 * scale;
+        double yMin = centerY - h / 2.0 * scale, yMax = centerY + h / 2.0 * scale;
+        long start = System.nanoTime();
+        BufferedImage img = renderer.render(function, xMin, xMax, yMin, yMax, w, h);
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > 1_000_000) {
+            lastRenderNanos = elapsed; // Treffer im Zwischenspeicher nicht mitzählen
+        }
+        g2.drawImage(img, 0, 0, null);
+
+        // Achsen
+        g2.setColor(new Color(255, 255, 255, 110));
+        int ax = (int) Math.round((0 - xMin) / scale);
+        int ay = (int) Math.round((yMax - 0) / scale);
+        if (ax >= 0 && ax < w) g2.drawLine(ax, 0, ax, h);
+        if (ay >= 0 && ay < h) g2.drawLine(0, ay, w, ay);
+
+        g2.setColor(Color.WHITE);
+        g2.drawString(String.format("f(z) = %s    Re ∈ [%.3g, %.3g]   Im ∈ [%.3g, %.3g]",
+                label, xMin, xMax, yMin, yMax), 10, 20);
+        g2.drawString(String.format("%d×%d px, %.1f ms – Ziehen zum Verschieben, Scrollen zum Zoomen",
+                w, h, lastRenderNanos / 1e6), 10, h - 10);
+    }
+}
@@ -0,0 +1,112 @@
+package Taschenrechner.view;
+
+import Taschenrechner.model.Complex;
+import Taschenrechner.model.ComplexFunction;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.stream.IntStream;
+
+/**
+ * Domain Coloring für komplexe Funktionen: Farbton = arg f(z), Helligkeit = |f(z)|
+ * (Nullstellen dunkel, Polstellen hell, dazu Höhenringe bei Zweierpotenzen des Betrags).
+ * <p>
+ * Die Pixel werden in horizontalen Streifen parallel direkt in das int-Raster eines
+ * BufferedImage geschrieben. Das Bild wird je Funktion, Ausschnitt und Größe zwischengespeichert;
+ * ein erneutes Zeichnen ohne Änderung kostet daher keine Auswertung.
+ */
+class DomainColoringRenderer {
+    private static final int UNDEFINED = 0x808080;
+
+    private BufferedImage image;
+    private int[] pixels;
+
+    // Schlüssel des zwischengespeicherten Bildes
+    private ComplexFunction cachedFunction;
+    private double cachedXMin, cachedXMax, cachedYMin, cachedYMax;
+
+    /**
+     * Liefert das Bild von f über [xMin, xMax] × [yMin, yMax] (y nach oben) in w × h Pixeln.
+     *
+     * @return das (wiederverwendete) Bild; gültig bis zum nächsten Aufruf mit anderem Ausschnitt
+     */
+    BufferedImage render(ComplexFunction f, double xMin, double xMax, double yMin, double yMax, int w, int h) {
+        if (image != null && image.getWidth() == w && image.getHeight() == h && f == cachedFunction
+                && xMin == cachedXMin && xMax == cachedXMax && yMin == cachedYMin && yMax == cachedYMax) {
+            return image;
+        }
+        if (image == null || image.getWidth() != w || image.getHeight() != h) {
+            image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        }
+        int[] raster = pixels;
+        double dx = (xMax - xMin) / w;
+        double dy = (yMax - yMin) / h;
+        int bands = Math.max(1, Math.min(h, Runtime.getRuntime().availableProcessors() * 4));
+        int bandHeight = (h + bands - 1) / bands;
+        IntStream.range(0, bands).parallel().forEach(band -> {
+            int y1 = Math.min(h, (band + 1) * bandHeight);
+            for (int py = band * bandHeight; py < y1; py++) {
+                double im = yMax - (py + 0.5) * dy;
+                int row = py * w;
+                for (int px = 0; px < w; px++) {
+                    raster[row + px] = color(f, new Complex(xMin + (px + 0.5) * dx, im));
+                }
+            }
+        });
+        cachedFunction = f;
+        cachedXMin = xMin;
+        cachedXMax = xMax;
+        cachedYMin = yMin;
+        cachedYMax = yMax;
+        return image;
+    }
+
+    /** Verwirft das zwischengespeicherte Bild. */
+    void invalidate() {
+        cachedFunction = null;
+    }
+
+    private static int color(ComplexFunction f, Complex z) {
+        Complex w;
+        try {
+            w = f.evaluate(z);
+        } catch (ArithmeticException e) {
+            return 0xFFFFFF; // Division durch Null: Polstelle
+        }
+        double re = w.re(), im = w.im();
+        if (Double.isNaN(re) || Double.isNaN(im)) {
+            return UNDEFINED;
+        }
+        double r = Math.hypot(re, im);
+        if (r == Double.POSITIVE_INFINITY) {
+            return 0xFFFFFF;
+        }
+        // Farbton aus dem Argument (rot = positiv reell), Helligkeit r/(1+r) mit Ringen
+        double hue = Math.atan2(im, re) / (2 * Math.PI);
+        if (hue < 0) hue += 1;
+        double ring = Math.log(r) * (1 / Math.log(2));
+        ring -= Math.floor(ring);
+        double value = (0.1 + 0.9 * r / (1 + r)) * (0.8 + 0.2 * ring);
+        double saturation = r > 1 ? Math.min(1, 2 / (1 + r / 4)) : 1; // Pole gehen ins Weiße über
+        return hsv(hue, saturation, value);
+    }
+
+    /** HSV nach RGB (alle Komponenten in [0, 1]) */
+    private static int hsv(double h, double s, double v) {
+        double h6 = h * 6;
+        int sector = (int) h6;
+        double f = h6 - sector;
+        double p = v * (1 - s), q = v * (1 - s * f), t = v * (1 - s * (1 - f));
+        double r, g, b;
+        switch (sector % 6) {
+            case 0 -> { r = v; g = t; b = p; }
+            case 1 -> { r = q; g = v; b = p; }
+            case 2 -> { r = p; g = v; b = t; }
+            case 3 -> { r = p; g = q; b = v; }
+            case 4 -> { r = t; g = p; b = v; }
+            default -> { r = v; g = p; b = q; }
+        }
+        return ((int) (r * 255 + 0.5) << 16) | ((int) (g * 255 + 0.5) << 8) | (int) (b * 255 + 0.5);
+    }
+}
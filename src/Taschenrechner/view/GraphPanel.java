@@ -2,21 +2,76 @@ package Taschenrechner.view;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Line2D;
-import Taschenrechner.model.Function;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import Taschenrechner.model.DoubleDouble;
 import Taschenrechner.model.GraphModel;
+import Taschenrechner.model.SampleCache;
 
 /**
  * Moderner GraphPanel mit Zoom (Mausrad), transparenten Gitterlinien, dynamischer Skalierung
  * und lokalem Flag für das Anzeigen der Ableitung. Zusätzliche Easter‐Egg‐Funktion.
+ * <p>
+ * Gezeichnet wird in zwei Ebenen: Gitter, Achsen und Beschriftungen liegen in einem
+ * zwischengespeicherten Hintergrundbild, das nur bei geändertem Ausschnitt oder geänderter
+ * Größe neu aufgebaut wird. Die Kurven werden pro Pixelspalte auf Minimum/Maximum reduziert
+ * und als ein Path2D je zusammenhängendem Abschnitt gezeichnet. Das Zeichnen selbst übernimmt
+ * der {@link PlotRenderer}, den auch der {@link PlotExporter} ohne Bildschirm verwendet.
+ * <p>
+ * Navigation: Ziehen mit der Maus verschiebt den Ausschnitt (mit Nachlauf beim Loslassen),
+ * das Mausrad zoomt animiert um die Mausposition. Die Animation läuft über einen Swing-Timer
+ * im Takt der Bildwiederholrate; überschreitet ein Frame sein Zeitbudget, wird während der
+ * Bewegung mit weniger Stützstellen pro Pixel gezeichnet. Beim Verschieben werden nur die
+ * neu sichtbaren Stützstellen ausgewertet (siehe {@link SampleCache}).
+ * <p>
+ * Tiefes Zoomen: Wird der Ausschnitt so klein, dass doubles die Pixel nicht mehr sauber
+ * auflösen, wird automatisch ein Bezugspunkt in {@link DoubleDouble}-Genauigkeit gesetzt. Der
+ * Ausschnitt (xMin … yMax) ist dann relativ zu diesem Bezugspunkt, und Funktionen werden in
+ * DoubleDouble ausgewertet. Beim Herauszoomen wird der Bezugspunkt wieder aufgelöst, sodass
+ * normale Darstellungen mit voller double-Geschwindigkeit laufen.
  */
 public class GraphPanel extends JPanel {
     private GraphModel graphModel;
     private double xMin, xMax, yMin, yMax;
+    // Bezugspunkt beim tiefen Zoomen (null = Ausschnitt in absoluten Koordinaten)
+    private DoubleDouble originX, originY;
     private boolean showDerivativeFlag = false; // lokal gesteuert durch Checkbox
     private boolean showEasterEgg = false;      // Easter‐Egg‐Flag
+    private boolean intervalMode = false;       // garantierte Darstellung per Intervallarithmetik
+    private boolean markPoints = false;         // Nullstellen, Extrema und Schnittpunkte markieren
 
     private static final double ZOOM_FACTOR = 1.2;
+    private static final int SAMPLES_PER_PIXEL = 4; // Stützstellen pro Pixelspalte
+    private static final double ZOOM_TIME_CONSTANT_MS = 60.0; // Annäherung an den Ziel-Ausschnitt
+    private static final double KINETIC_DECAY_PER_MS = 0.996; // Abbremsen des Nachlaufs
+    private static final double KINETIC_MIN_SPEED = 0.02;      // Pixel pro ms
+    private static final double DEEP_ZOOM_ULPS = 64;       // Pixelgröße in ulps, ab der DoubleDouble nötig wird
+    private static final double MAX_ZOOM_RELATIVE = 1e-29; // kleinste Pixelgröße relativ zum Betrag
+    private static final double MIN_PIXEL_SIZE = Double.MIN_NORMAL * 1e3; // absolute Grenze (nahe 0)
+
+    // Stützstellen pro Pixel (wird während der Bewegung an das Frame-Budget angepasst)
+    private int samplesPerPixel = SAMPLES_PER_PIXEL;
+
+    // Animation: Ziel-Ausschnitt beim Zoomen, Geschwindigkeit beim Nachlauf
+    private final Timer animator;
+    private final long frameBudgetNanos;
+    private boolean zoomAnimating = false;
+    private double targetXMin, targetXMax, targetYMin, targetYMax;
+    private double velocityX, velocityY; // Pixel pro ms
+    private long lastTickNanos;
+
+    // Ziehen mit der Maus
+    private boolean dragging = false;
+    private int lastDragX, lastDragY;
+    private long lastDragNanos;
+
+    // Zwischengespeicherte Hintergrundebene (Gitter, Achsen, Beschriftungen)
+    private BufferedImage backgroundLayer;
+    private int bgWidth = -1, bgHeight = -1;
+    private double bgScale, bgXMin, bgXMax, bgYMin, bgYMax;
 
     public GraphPanel(GraphModel graphModel) {
         this.graphModel = graphModel;
@@ -24,12 +79,73 @@ public class GraphPanel extends JPanel {
         this.xMax = graphModel.getxMax();
         this.yMin = graphModel.getyMin();
         this.yMax = graphModel.getyMax();
-        setBackground(new Color(30, 30, 30));
+        setBackground(PlotRenderer.BACKGROUND);
+
+        int frameMs = Math.max(5, 1000 / detectRefreshRate());
+        frameBudgetNanos = frameMs * 1_000_000L * 3 / 4;
+        animator = new Timer(frameMs, e -> animationTick());
+        animator.setCoalesce(true);
+
+        addMouseWheelListener(this::handleWheel);
+        MouseAdapter dragHandler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                stopAnimation();
+                dragging = true;
+                lastDragX = e.getX();
+                lastDragY = e.getY();
+                lastDragNanos = System.nanoTime();
+                velocityX = velocityY = 0;
+                setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR));
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                long now = System.nanoTime();
+                int dx = e.getX() - lastDragX;
+                int dy = e.getY() - lastDragY;
+                panByPixels(dx, dy);
+                double dtMs = Math.max(1.0, (now - lastDragNanos) / 1e6);
+                // Geschwindigkeit geglättet mitführen, damit der Nachlauf nicht ruckelt
+                velocityX = 0.6 * (dx / dtMs) + 0.4 * velocityX;
+                velocityY = 0.6 * (dy / dtMs) + 0.4 * velocityY;
+                lastDragX = e.getX();
+                lastDragY = e.getY();
+                lastDragNanos = now;
+                repaint();
+            }
 
-        addMouseWheelListener(e -> {
-            if (e.getWheelRotation() < 0) zoom(1.0 / ZOOM_FACTOR);
-            else zoom(ZOOM_FACTOR);
-        });
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragging = false;
+                setCursor(Cursor.getDefaultCursor());
+                // Zu lange stillgehalten -> kein Nachlauf
+                if ((System.nanoTime() - lastDragNanos) / 1e6 > 50) {
+                    velocityX = velocityY = 0;
+                }
+                if (Math.hypot(velocityX, velocityY) > KINETIC_MIN_SPEED) {
+                    startAnimation();
+                } else {
+                    restoreQuality();
+                }
+            }
+        };
+        addMouseListener(dragHandler);
+        addMouseMotionListener(dragHandler);
+    }
+
+    /** Bildwiederholrate des Bildschirms (60 Hz, falls unbekannt oder headless). */
+    private static int detectRefreshRate() {
+        try {
+            if (!GraphicsEnvironment.isHeadless()) {
+                int rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                        .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+                if (rate != java.awt.DisplayMode.REFRESH_RATE_UNKNOWN && rate > 0) {
+                    return rate;
+                }
+            }
+        } catch (Exception ignored) {}
+        return 60;
     }
 
     public void setShowDerivative(boolean flag) {
@@ -37,24 +153,202 @@ public class GraphPanel extends JPanel {
         repaint();
     }
 
+    /**
+     * Schaltet die garantierte Darstellung ein: Funktionen mit Intervallauswertung werden dann
+     * pixelgenau über {@link Taschenrechner.model.IntervalPlotter} gezeichnet statt abgetastet.
+     */
+    public void setIntervalMode(boolean intervalMode) {
+        this.intervalMode = intervalMode;
+        repaint();
+    }
+
+    /** Markiert Nullstellen, Extrema und Schnittpunkte im sichtbaren Bereich. */
+    public void setMarkPoints(boolean markPoints) {
+        this.markPoints = markPoints;
+        repaint();
+    }
+
     /** Setter für den Easter‐Egg‐Modus */
     public void setShowEasterEgg(boolean show) {
         this.showEasterEgg = show;
         repaint();
     }
 
-    private void zoom(double factor) {
-        double centerX = (xMin + xMax) / 2.0;
-        double centerY = (yMin + yMax) / 2.0;
-        double halfWidth = (xMax - xMin) / 2.0 * factor;
-        double halfHeight = (yMax - yMin) / 2.0 * factor;
-        xMin = centerX - halfWidth;
-        xMax = centerX + halfWidth;
-        yMin = centerY - halfHeight;
-        yMax = centerY + halfHeight;
+    /** Mausrad: animierter Zoom, bei dem der Punkt unter dem Mauszeiger fest bleibt. */
+    private void handleWheel(MouseWheelEvent e) {
+        double factor = Math.pow(ZOOM_FACTOR, e.getPreciseWheelRotation());
+        zoomAt(e.getX(), e.getY(), factor);
+    }
+
+    /**
+     * Zoomt um den Pixel (px, py). Mehrere Mausrad-Ereignisse während einer laufenden
+     * Animation werden auf den Ziel-Ausschnitt aufaddiert.
+     */
+    private void zoomAt(int px, int py, double factor) {
+        int w = Math.max(1, getWidth()), h = Math.max(1, getHeight());
+        if (!zoomAnimating) {
+            targetXMin = xMin; targetXMax = xMax;
+            targetYMin = yMin; targetYMax = yMax;
+        }
+        velocityX = velocityY = 0;
+        double fx = px / (double) w;
+        double fy = py / (double) h;
+        double ax = targetXMin + fx * (targetXMax - targetXMin);
+        double ay = targetYMax - fy * (targetYMax - targetYMin);
+        double newWidth = (targetXMax - targetXMin) * factor;
+        double newHeight = (targetYMax - targetYMin) * factor;
+        // Auch DoubleDouble hat eine Grenze (etwa 32 Stellen); um den Ursprung herum wäre die
+        // relative Grenze 0, dort verhindert MIN_PIXEL_SIZE subnormale Breiten und NaN
+        if (factor < 1 && (newWidth / w < Math.max(MAX_ZOOM_RELATIVE * Math.abs(offsetX() + ax), MIN_PIXEL_SIZE)
+                || newHeight / h < Math.max(MAX_ZOOM_RELATIVE * Math.abs(offsetY() + ay), MIN_PIXEL_SIZE))) {
+            return;
+        }
+        targetXMin = ax - fx * newWidth;
+        targetXMax = targetXMin + newWidth;
+        targetYMax = ay + fy * newHeight;
+        targetYMin = targetYMax - newHeight;
+        zoomAnimating = true;
+        startAnimation();
+    }
+
+    /** Verschiebt den Ausschnitt um (dx, dy) Pixel (Inhalt folgt der Maus). */
+    private void panByPixels(double dx, double dy) {
+        int w = Math.max(1, getWidth()), h = Math.max(1, getHeight());
+        double shiftX = -dx * (xMax - xMin) / w;
+        double shiftY = dy * (yMax - yMin) / h;
+        xMin += shiftX; xMax += shiftX;
+        yMin += shiftY; yMax += shiftY;
+        if (zoomAnimating) {
+            targetXMin += shiftX; targetXMax += shiftX;
+            targetYMin += shiftY; targetYMax += shiftY;
+        }
+    }
+
+    /** Bezugspunkt als double (0, solange nicht tief gezoomt wird) */
+    private double offsetX() {
+        return originX == null ? 0 : originX.doubleValue();
+    }
+
+    private double offsetY() {
+        return originY == null ? 0 : originY.doubleValue();
+    }
+
+    /**
+     * Setzt oder verschiebt den DoubleDouble-Bezugspunkt, falls der Ausschnitt es erfordert:
+     * Eine Pixelbreite (-höhe) von weniger als DEEP_ZOOM_ULPS ulps des absoluten Mittelpunkts
+     * schaltet auf relative Koordinaten um, ab der vierfachen Größe wird zurückgeschaltet.
+     */
+    private void updateDeepZoom(int w, int h) {
+        double cx = 0.5 * (xMin + xMax), cy = 0.5 * (yMin + yMax);
+        double pixelW = (xMax - xMin) / w, pixelH = (yMax - yMin) / h;
+        double ulpX = Math.ulp(offsetX() + cx), ulpY = Math.ulp(offsetY() + cy);
+        boolean needed = pixelW < DEEP_ZOOM_ULPS * ulpX || pixelH < DEEP_ZOOM_ULPS * ulpY;
+        if (originX == null) {
+            if (needed) {
+                originX = DoubleDouble.valueOf(cx);
+                originY = DoubleDouble.valueOf(cy);
+                shiftView(-cx, -cy);
+            }
+        } else if (!needed && pixelW > 4 * DEEP_ZOOM_ULPS * ulpX && pixelH > 4 * DEEP_ZOOM_ULPS * ulpY) {
+            double ox = originX.doubleValue(), oy = originY.doubleValue();
+            originX = originY = null;
+            shiftView(ox, oy);
+        } else if (Math.abs(cx) > 1024 * (xMax - xMin) || Math.abs(cy) > 1024 * (yMax - yMin)) {
+            // Weit verschoben: Bezugspunkt nachführen, damit die relativen Werte klein bleiben
+            originX = originX.add(cx);
+            originY = originY.add(cy);
+            shiftView(-cx, -cy);
+        }
+    }
+
+    /** Verschiebt Ausschnitt und Zoom-Ziel um (dx, dy) Welteinheiten. */
+    private void shiftView(double dx, double dy) {
+        xMin += dx; xMax += dx;
+        yMin += dy; yMax += dy;
+        targetXMin += dx; targetXMax += dx;
+        targetYMin += dy; targetYMax += dy;
+    }
+
+    private void startAnimation() {
+        if (!animator.isRunning()) {
+            lastTickNanos = System.nanoTime();
+            animator.start();
+        }
+    }
+
+    private void stopAnimation() {
+        animator.stop();
+        zoomAnimating = false;
+        velocityX = velocityY = 0;
+    }
+
+    /** Ein Frame der Animation: Zoom-Annäherung und/oder Nachlauf. */
+    private void animationTick() {
+        long now = System.nanoTime();
+        double dtMs = Math.min(100.0, (now - lastTickNanos) / 1e6);
+        lastTickNanos = now;
+        boolean active = false;
+
+        if (zoomAnimating) {
+            // Exponentielle Annäherung; linear interpoliert bleibt der Ankerpunkt fest
+            double t = 1.0 - Math.exp(-dtMs / ZOOM_TIME_CONSTANT_MS);
+            xMin += (targetXMin - xMin) * t;
+            xMax += (targetXMax - xMax) * t;
+            yMin += (targetYMin - yMin) * t;
+            yMax += (targetYMax - yMax) * t;
+            double eps = 1e-3 * (targetXMax - targetXMin);
+            if (Math.abs(targetXMin - xMin) < eps && Math.abs(targetXMax - xMax) < eps
+                    && Math.abs(targetYMin - yMin) < 1e-3 * (targetYMax - targetYMin)
+                    && Math.abs(targetYMax - yMax) < 1e-3 * (targetYMax - targetYMin)) {
+                xMin = targetXMin; xMax = targetXMax;
+                yMin = targetYMin; yMax = targetYMax;
+                zoomAnimating = false;
+            } else {
+                active = true;
+            }
+        }
+
+        if (!dragging && Math.hypot(velocityX, velocityY) > KINETIC_MIN_SPEED) {
+            panByPixels(velocityX * dtMs, velocityY * dtMs);
+            double decay = Math.pow(KINETIC_DECAY_PER_MS, dtMs);
+            velocityX *= decay;
+            velocityY *= decay;
+            active = true;
+        }
+
+        if (!active) {
+            animator.stop();
+            velocityX = velocityY = 0;
+            restoreQuality();
+        }
         repaint();
     }
 
+    private boolean isInteracting() {
+        return dragging || animator.isRunning();
+    }
+
+    /** Nach Ende der Bewegung wieder mit voller Stützstellendichte zeichnen. */
+    private void restoreQuality() {
+        if (samplesPerPixel != SAMPLES_PER_PIXEL) {
+            samplesPerPixel = SAMPLES_PER_PIXEL;
+            repaint();
+        }
+    }
+
+    /**
+     * Passt die Stützstellendichte während der Bewegung an das Frame-Budget an:
+     * zu langsam -> halbieren, deutlich schneller als nötig -> wieder verdoppeln.
+     */
+    private void adaptQuality(long frameNanos) {
+        if (!isInteracting()) return;
+        if (frameNanos > frameBudgetNanos && samplesPerPixel > 1) {
+            samplesPerPixel /= 2;
+        } else if (frameNanos < frameBudgetNanos / 4 && samplesPerPixel < SAMPLES_PER_PIXEL) {
+            samplesPerPixel *= 2;
+        }
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -65,11 +359,12 @@ public class GraphPanel extends JPanel {
                 RenderingHints.VALUE_ANTIALIAS_ON);
 
         int w = getWidth(), h = getHeight();
-        g2.setColor(getBackground());
-        g2.fillRect(0, 0, w, h);
+        if (w > 0 && h > 0 && xMax > xMin && yMax > yMin) {
+            updateDeepZoom(w, h);
+        }
 
-        // 1) Gitter & Achsen zeichnen
-        drawGridAndAxes(g2, w, h);
+        // 1) Gitter & Achsen aus dem Cache zeichnen (wird nur bei Bedarf neu aufgebaut)
+        g2.drawImage(getBackgroundLayer(g2, w, h), 0, 0, w, h, null);
 
         // 2) Easter‐Egg? Falls ja, Texte unten rechts und ggf. oben links malen, dann return
         if (showEasterEgg) {
@@ -99,126 +394,64 @@ public class GraphPanel extends JPanel {
             return;
         }
 
-        // 3) Funktion plotten (Standardfarbe) und evtl. Ableitung
-        g2.setStroke(new BasicStroke(2f));
-        g2.setColor(new Color(68, 175, 240)); // Hellblau
-        plotFunction(g2, graphModel.getFunction(), w, h);
-
-        if (showDerivativeFlag && graphModel.getDerivative() != null) {
-            g2.setColor(new Color(240, 65, 65)); // Rot für Ableitung
-            plotFunction(g2, graphModel.getDerivative(), w, h);
-        }
+        // 3) Alle sichtbaren Funktionen (in ihrer Farbe) und evtl. ihre Ableitungen plotten
+        long frameStart = System.nanoTime();
+        newRenderer(w, h).drawCurves(PlotCanvas.of(g2), graphModel, samplesPerPixel,
+                showDerivativeFlag, intervalMode, markPoints);
+        adaptQuality(System.nanoTime() - frameStart);
     }
 
-    private void drawGridAndAxes(Graphics2D g2, int w, int h) {
-        Color gridColor = new Color(80, 80, 80, 80);
-        Color axisColor = new Color(200, 200, 200);
-        Color labelColor = new Color(230, 230, 230);
-        g2.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-
-        double xRange = xMax - xMin;
-        double yRange = yMax - yMin;
-        double xStep = niceStep(xRange / 10.0);
-        double yStep = niceStep(yRange / 10.0);
-
-        // Vertikale Gitterlinien
-        for (double x = Math.ceil(xMin / xStep) * xStep; x <= xMax; x += xStep) {
-            int px = mapX(x, w);
-            g2.setColor(gridColor);
-            g2.drawLine(px, 0, px, h);
+    /**
+     * Liefert die Hintergrundebene für den aktuellen Ausschnitt. Das Bild wird in
+     * Geräteauflösung gerendert (HiDPI) und nur neu erzeugt, wenn sich Größe, Skalierung
+     * oder Wertebereich geändert haben.
+     */
+    private BufferedImage getBackgroundLayer(Graphics2D target, int w, int h) {
+        AffineTransform tx = target.getTransform();
+        double scale = Math.max(1.0, tx.getScaleX());
+        if (backgroundLayer != null && bgWidth == w && bgHeight == h && bgScale == scale
+                && bgXMin == xMin && bgXMax == xMax && bgYMin == yMin && bgYMax == yMax) {
+            return backgroundLayer;
         }
-        // Horizontale Gitterlinien
-        for (double y = Math.ceil(yMin / yStep) * yStep; y <= yMax; y += yStep) {
-            int py = mapY(y, h);
-            g2.setColor(gridColor);
-            g2.drawLine(0, py, w, py);
-        }
-
-        // Achsen
-        int xAxisPx = mapY(0, h);
-        int yAxisPx = mapX(0, w);
-        g2.setColor(axisColor);
-        g2.setStroke(new BasicStroke(2f));
-        g2.draw(new Line2D.Double(0, xAxisPx, w, xAxisPx));
-        g2.draw(new Line2D.Double(yAxisPx, 0, yAxisPx, h));
-
-        // Pfeilspitzen
-        int arrowSize = 6;
-        g2.draw(new Line2D.Double(w - arrowSize, xAxisPx - arrowSize, w, xAxisPx));
-        g2.draw(new Line2D.Double(w - arrowSize, xAxisPx + arrowSize, w, xAxisPx));
-        g2.draw(new Line2D.Double(yAxisPx - arrowSize, arrowSize, yAxisPx, 0));
-        g2.draw(new Line2D.Double(yAxisPx + arrowSize, arrowSize, yAxisPx, 0));
-
-        // Achsenbeschriftungen „x“ und „y“
-        g2.setColor(labelColor);
-        g2.drawString("x", w - 15, xAxisPx - 10);
-        g2.drawString("y", yAxisPx + 10, 15);
-
-        // Zahlenbeschriftungen unten (x) und links (y)
-        for (double x = Math.ceil(xMin / xStep) * xStep; x <= xMax; x += xStep) {
-            int px = mapX(x, w);
-            g2.drawLine(px, xAxisPx - 3, px, xAxisPx + 3);
-            String label = formatLabel(x);
-            g2.drawString(label, px - g2.getFontMetrics().stringWidth(label) / 2, xAxisPx + 15);
+        int iw = Math.max(1, (int) Math.ceil(w * scale));
+        int ih = Math.max(1, (int) Math.ceil(h * scale));
+        if (backgroundLayer == null || backgroundLayer.getWidth() != iw || backgroundLayer.getHeight() != ih) {
+            backgroundLayer = new BufferedImage(iw, ih, BufferedImage.TYPE_INT_RGB);
         }
-        for (double y = Math.ceil(yMin / yStep) * yStep; y <= yMax; y += yStep) {
-            int py = mapY(y, h);
-            g2.drawLine(yAxisPx - 3, py, yAxisPx + 3, py);
-            if (Math.abs(y) > 1e-6) {
-                String label = formatLabel(y);
-                g2.drawString(label, yAxisPx + 5, py + g2.getFontMetrics().getAscent() / 2);
-            }
-        }
-    }
-
-    private double niceStep(double rawStep) {
-        double exponent = Math.floor(Math.log10(rawStep));
-        double mantissa = rawStep / Math.pow(10, exponent);
-        double niceMantissa;
-        if (mantissa <= 1) niceMantissa = 1;
-        else if (mantissa <= 2) niceMantissa = 2;
-        else if (mantissa <= 5) niceMantissa = 5;
-        else niceMantissa = 10;
-        return niceMantissa * Math.pow(10, exponent);
-    }
-
-    private String formatLabel(double value) {
-        if (Math.abs(value - Math.round(value)) < 1e-6) {
-            return String.format("%.0f", value);
-        } else {
-            return String.format("%.2f", value);
-        }
-    }
-
-    private void plotFunction(Graphics2D g2, Function func, int w, int h) {
-        boolean first = true;
-        int prevX = 0, prevY = 0;
-
-        for (int i = 0; i < w; i++) {
-            double x = xMin + i * (xMax - xMin) / (w - 1);
-            double y = func.evaluate(x);
-            int px = mapX(x, w);
-            int py = mapY(y, h);
-
-            if (!first) {
-                g2.drawLine(prevX, prevY, px, py);
-            }
-            first = false;
-            prevX = px;
-            prevY = py;
+        Graphics2D bg = backgroundLayer.createGraphics();
+        try {
+            bg.scale(scale, scale);
+            bg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            bg.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            bg.setColor(getBackground());
+            bg.fillRect(0, 0, w, h);
+            newRenderer(w, h).drawGridAndAxes(PlotCanvas.of(bg));
+        } finally {
+            bg.dispose();
         }
+        bgWidth = w;
+        bgHeight = h;
+        bgScale = scale;
+        bgXMin = xMin;
+        bgXMax = xMax;
+        bgYMin = yMin;
+        bgYMax = yMax;
+        return backgroundLayer;
     }
 
-    private int mapX(double x, int width) {
-        return (int) ((x - xMin) / (xMax - xMin) * width);
+    /** Renderer für den aktuellen Ausschnitt (samt Bezugspunkt) */
+    private PlotRenderer newRenderer(int w, int h) {
+        return new PlotRenderer(xMin, xMax, yMin, yMax, originX, originY, w, h);
     }
 
-    private int mapY(double y, int height) {
-        return (int) ((yMax - y) / (yMax - yMin) * height);
+    public GraphModel getGraphModel() {
+        return graphModel;
     }
 
     public void updateGraphModel(GraphModel newModel) {
+        stopAnimation();
         this.graphModel = newModel;
+        this.originX = this.originY = null;
         this.xMin = newModel.getxMin();
         this.xMax = newModel.getxMax();
         this.yMin = newModel.getyMin();
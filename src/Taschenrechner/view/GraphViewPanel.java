@@ -1,16 +1,60 @@
 package Taschenrechner.view;
 
+import Taschenrechner.model.ParameterSet;
+import Taschenrechner.model.PlotLayer;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.util.List;
 
 /**
  * GraphViewPanel mit Input-Bereich, Zoom-Hinweis, Checkbox und Listener für Ableitung.
+ * Über die Modus-Auswahl wird festgelegt, wie die Eingabe interpretiert wird
+ * (Funktionsgraph y = f(x), implizite Kurve f(x, y) = 0, parametrische Kurve oder Polarkurve).
+ * Parametrische Kurven werden als "x(t); y(t)", Polarkurven als "r(t)" eingegeben, jeweils
+ * optional gefolgt von "; tMin; tMax" (Standard: 0 bis 2π).
+ * Im Modus z = f(x, y) wird statt des GraphPanel ein {@link SurfacePanel} angezeigt; die Eingabe
+ * ist "f(x, y)" optional gefolgt von "; min; max" für den x- und y-Bereich (Standard: -5 bis 5).
+ * Unter dem Graphen werden alle geplotteten Funktionen in ihrer Farbe aufgelistet und lassen
+ * sich einzeln ein-/ausblenden oder entfernen. Freie Parameter (z.B. a, b in "a*sin(b*x)")
+ * erhalten darunter je einen Schieberegler.
  */
 public class GraphViewPanel extends JPanel {
+    public static final String MODE_EXPLICIT = "y = f(x)";
+    public static final String MODE_IMPLICIT = "f(x, y) = 0";
+    public static final String MODE_PARAMETRIC = "(x(t), y(t))";
+    public static final String MODE_POLAR = "r(t), Polar";
+    public static final String MODE_SURFACE = "z = f(x, y)";
+
+    private final JComboBox<String> modeSelector;
     private final JTextField functionInput;
     private final JButton plotButton;
+    private final JButton addButton;
+    private final JButton loadDataButton;
+    private final JButton integrateButton;
     private final JCheckBox derivativeCheckBox;
+    private final JPanel functionListPanel;
+    private final JPanel parameterPanel;
+    private final SurfacePanel surfacePanel;
+    private final CardLayout plotCards;
+    private final JPanel plotArea;
+
+    /** Rückmeldungen aus der Funktionsliste an den Controller. */
+    public interface FunctionListListener {
+        void visibilityChanged(PlotLayer layer, boolean visible);
+
+        void removeRequested(PlotLayer layer);
+    }
+
+    /** Rückmeldung der Parameter-Schieberegler. */
+    public interface ParameterListener {
+        void parameterChanged(int slot, double value);
+    }
+
+    // Schieberegler: Wertebereich [-SLIDER_RANGE, SLIDER_RANGE] in Schritten von 1/SLIDER_STEPS
+    private static final int SLIDER_RANGE = 10;
+    private static final int SLIDER_STEPS = 100;
 
     public GraphViewPanel(GraphPanel graphPanel) {
         setLayout(new BorderLayout());
@@ -19,6 +63,9 @@ public class GraphViewPanel extends JPanel {
         JPanel inputPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 10));
         inputPanel.setBackground(UIManager.getColor("control"));
 
+        modeSelector = new JComboBox<>(new String[]{MODE_EXPLICIT, MODE_IMPLICIT, MODE_PARAMETRIC, MODE_POLAR, MODE_SURFACE});
+        modeSelector.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+
         JLabel label = new JLabel("Funktion f(x): ");
         label.setForeground(UIManager.getColor("text"));
         label.setFont(new Font("Segoe UI", Font.PLAIN, 16));
@@ -34,24 +81,167 @@ public class GraphViewPanel extends JPanel {
         plotButton.setForeground(UIManager.getColor("text"));
         plotButton.setFont(new Font("Segoe UI", Font.PLAIN, 16));
 
+        addButton = new JButton("Hinzufügen");
+        addButton.setBackground(UIManager.getColor("nimbusLightBackground"));
+        addButton.setForeground(UIManager.getColor("text"));
+        addButton.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+
+        loadDataButton = new JButton("Daten laden…");
+        loadDataButton.setBackground(UIManager.getColor("nimbusLightBackground"));
+        loadDataButton.setForeground(UIManager.getColor("text"));
+        loadDataButton.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        loadDataButton.setToolTipText("Messreihe (x, y) aus einer CSV-Datei einblenden");
+
+        integrateButton = new JButton("Fläche ∫…");
+        integrateButton.setBackground(UIManager.getColor("nimbusLightBackground"));
+        integrateButton.setForeground(UIManager.getColor("text"));
+        integrateButton.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        integrateButton.setToolTipText("Integral einer Funktion über [a, b] berechnen und die Fläche schattieren");
+
         derivativeCheckBox = new JCheckBox("Ableitung anzeigen");
         derivativeCheckBox.setBackground(UIManager.getColor("control"));
         derivativeCheckBox.setForeground(UIManager.getColor("text"));
         derivativeCheckBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         derivativeCheckBox.addActionListener(e -> graphPanel.setShowDerivative(derivativeCheckBox.isSelected()));
 
-        JLabel zoomHint = new JLabel("Scrollen zum Zoomen");
+        // Garantierte Darstellung: keine verpassten Spitzen, keine Linien über Polstellen
+        JCheckBox intervalCheckBox = new JCheckBox("Intervall-Modus");
+        intervalCheckBox.setBackground(UIManager.getColor("control"));
+        intervalCheckBox.setForeground(UIManager.getColor("text"));
+        intervalCheckBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        intervalCheckBox.setToolTipText("Funktionen pixelgenau per Intervallarithmetik zeichnen");
+        intervalCheckBox.addActionListener(e -> graphPanel.setIntervalMode(intervalCheckBox.isSelected()));
+        JCheckBox pointsCheckBox = new JCheckBox("Punkte markieren");
+        pointsCheckBox.setBackground(UIManager.getColor("control"));
+        pointsCheckBox.setForeground(UIManager.getColor("text"));
+        pointsCheckBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        pointsCheckBox.setToolTipText("Nullstellen (N), Hoch-/Tiefpunkte (H/T) und Schnittpunkte (S) anzeigen");
+        pointsCheckBox.addActionListener(e -> graphPanel.setMarkPoints(pointsCheckBox.isSelected()));
+        functionListPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        functionListPanel.setBackground(UIManager.getColor("control"));
+        parameterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        parameterPanel.setBackground(UIManager.getColor("control"));
+
+        // 2D-Graph und 3D-Fläche teilen sich den mittleren Bereich
+        surfacePanel = new SurfacePanel();
+        plotCards = new CardLayout();
+        plotArea = new JPanel(plotCards);
+        plotArea.add(graphPanel, "2d");
+        plotArea.add(surfacePanel, "3d");
+
+        modeSelector.addActionListener(e -> {
+            String mode = getPlotMode();
+            label.setText(switch (mode) {
+                case MODE_IMPLICIT -> "Funktion f(x, y): ";
+                case MODE_PARAMETRIC -> "x(t); y(t): ";
+                case MODE_POLAR -> "r(t): ";
+                case MODE_SURFACE -> "z = f(x, y): ";
+                default -> "Funktion f(x): ";
+            });
+            derivativeCheckBox.setEnabled(MODE_EXPLICIT.equals(mode));
+            boolean surface = MODE_SURFACE.equals(mode);
+            addButton.setEnabled(!surface);
+            loadDataButton.setEnabled(!surface);
+            integrateButton.setEnabled(!surface);
+            functionListPanel.setVisible(!surface);
+            parameterPanel.setVisible(!surface && parameterPanel.getComponentCount() > 0);
+            plotCards.show(plotArea, surface ? "3d" : "2d");
+        });
+
+        JLabel zoomHint = new JLabel("Scrollen zum Zoomen, Ziehen zum Verschieben");
         zoomHint.setForeground(new Color(200, 200, 200));
         zoomHint.setFont(new Font("Segoe UI", Font.ITALIC, 12));
 
+        inputPanel.add(modeSelector);
         inputPanel.add(label);
         inputPanel.add(functionInput);
         inputPanel.add(plotButton);
+        inputPanel.add(addButton);
+        inputPanel.add(loadDataButton);
+        inputPanel.add(integrateButton);
         inputPanel.add(derivativeCheckBox);
+        inputPanel.add(intervalCheckBox);
+        inputPanel.add(pointsCheckBox);
         inputPanel.add(zoomHint);
 
         add(inputPanel, BorderLayout.NORTH);
-        add(graphPanel, BorderLayout.CENTER);
+        add(plotArea, BorderLayout.CENTER);
+        JPanel southPanel = new JPanel(new BorderLayout());
+        southPanel.add(functionListPanel, BorderLayout.CENTER);
+        southPanel.add(parameterPanel, BorderLayout.SOUTH);
+        add(southPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Baut die Schieberegler für die freien Parameter neu auf. Jede Bewegung meldet den neuen
+     * Wert sofort an den Listener; die Funktionen werden dabei nicht neu geparst.
+     */
+    public void showParameters(ParameterSet parameters, ParameterListener listener) {
+        parameterPanel.removeAll();
+        for (int slot = 0; slot < parameters.size(); slot++) {
+            int s = slot;
+            JLabel name = new JLabel(parameters.getName(slot) + " =");
+            name.setForeground(UIManager.getColor("text"));
+            name.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+
+            double value = Math.max(-SLIDER_RANGE, Math.min(SLIDER_RANGE, parameters.get(slot)));
+            JSlider slider = new JSlider(-SLIDER_RANGE * SLIDER_STEPS, SLIDER_RANGE * SLIDER_STEPS,
+                    (int) Math.round(value * SLIDER_STEPS));
+            slider.setBackground(UIManager.getColor("control"));
+            slider.setPreferredSize(new Dimension(160, slider.getPreferredSize().height));
+
+            JLabel valueLabel = new JLabel(String.format("%.2f", value));
+            valueLabel.setForeground(UIManager.getColor("text"));
+            valueLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+            valueLabel.setPreferredSize(new Dimension(50, valueLabel.getPreferredSize().height));
+
+            slider.addChangeListener(e -> {
+                double v = slider.getValue() / (double) SLIDER_STEPS;
+                valueLabel.setText(String.format("%.2f", v));
+                listener.parameterChanged(s, v);
+            });
+
+            parameterPanel.add(name);
+            parameterPanel.add(slider);
+            parameterPanel.add(valueLabel);
+        }
+        parameterPanel.setVisible(parameters.size() > 0 && !MODE_SURFACE.equals(getPlotMode()));
+        parameterPanel.revalidate();
+        parameterPanel.repaint();
+    }
+
+    /**
+     * Baut die Funktionsliste neu auf: je Funktion eine Checkbox in Kurvenfarbe
+     * (Sichtbarkeit) und ein Button zum Entfernen.
+     */
+    public void showFunctions(List<? extends PlotLayer> functions, FunctionListListener listener) {
+        functionListPanel.removeAll();
+        for (PlotLayer gf : functions) {
+            JCheckBox box = new JCheckBox(gf.getLabel(), gf.isVisible());
+            box.setBackground(UIManager.getColor("control"));
+            box.setForeground(gf.getColor());
+            box.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+            box.addActionListener(e -> listener.visibilityChanged(gf, box.isSelected()));
+
+            JButton remove = new JButton("×");
+            remove.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            remove.setMargin(new Insets(0, 4, 0, 4));
+            remove.addActionListener(e -> listener.removeRequested(gf));
+
+            functionListPanel.add(box);
+            functionListPanel.add(remove);
+        }
+        functionListPanel.revalidate();
+        functionListPanel.repaint();
+    }
+
+    /** Gewählter Modus, siehe {@link #MODE_EXPLICIT}, {@link #MODE_IMPLICIT}, {@link #MODE_PARAMETRIC}, {@link #MODE_POLAR}, {@link #MODE_SURFACE}. */
+    public String getPlotMode() {
+        return (String) modeSelector.getSelectedItem();
+    }
+
+    public SurfacePanel getSurfacePanel() {
+        return surfacePanel;
     }
 
     public String getFunctionInput() {
@@ -62,10 +252,28 @@ public class GraphViewPanel extends JPanel {
         plotButton.addActionListener(listener);
     }
 
+    public void addAddButtonListener(ActionListener listener) {
+        addButton.addActionListener(listener);
+    }
+
     public boolean isDerivativeSelected() {
         return derivativeCheckBox.isSelected();
     }
 
+    public void addLoadDataButtonListener(ActionListener listener) {
+        loadDataButton.addActionListener(listener);
+    }
+
+    public void addIntegrateButtonListener(ActionListener listener) {
+        integrateButton.addActionListener(listener);
+    }
+
+    /** Sperrt den Laden-Knopf, solange eine Datei eingelesen wird. */
+    public void setLoadingData(boolean loading) {
+        loadDataButton.setEnabled(!loading);
+        loadDataButton.setText(loading ? "Lade…" : "Daten laden…");
+    }
+
     public void addDerivativeCheckboxListener(ActionListener listener) {
         derivativeCheckBox.addActionListener(listener);
     }
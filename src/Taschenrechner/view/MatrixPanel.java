@@ -6,7 +6,8 @@ import java.awt.event.ActionListener;
 
 /**
  * Haupt-Panel für den Matrix-Modus:
- * - Dropdown-Auswahl: A+B, A-B, A×B, Zeilen-Stufen-Form(A), LGS lösen(A|b), Transponieren(A)
+ * - Dropdown-Auswahl: A+B, A-B, A×B, Zeilen-Stufen-Form(A), LGS lösen(A|b), A·X = B lösen,
+ *   Ausgleichsrechnung(A|b), Transponieren(A), Determinante(A), Inverse(A), Rang(A)
  * - Je nach Auswahl erscheint 1 oder 2 EditableMatrixPanel
  * - Ausgabe erfolgt in MatrixDisplayPanel (LaTeX-ähnliche große Klammern)
  */
@@ -33,7 +34,12 @@ public class MatrixPanel extends JPanel {
                 "A × B",
                 "Zeilen-Stufen-Form (A)",
                 "LGS lösen (A|b)",
-                "Transponieren (A)"
+                "A·X = B lösen",
+                "Ausgleichsrechnung (A|b)",
+                "Transponieren (A)",
+                "Determinante (A)",
+                "Inverse (A)",
+                "Rang (A)"
         });
         top.add(comboOperation);
         btnCompute = new JButton("Berechnen");
@@ -75,7 +81,8 @@ public class MatrixPanel extends JPanel {
         String op = (String) comboOperation.getSelectedItem();
         boolean zweimatr = op.equals("A + B")
                 || op.equals("A - B")
-                || op.equals("A × B");
+                || op.equals("A × B")
+                || op.equals("A·X = B lösen");
         panB.setVisible(zweimatr);
         revalidate();
         repaint();
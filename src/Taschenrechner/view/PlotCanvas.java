@@ -0,0 +1,93 @@
+package Taschenrechner.view;
+
+import java.awt.*;
+import java.awt.geom.Line2D;
+
+/**
+ * Zeichenfläche für den {@link PlotRenderer}. Enthält nur die wenigen Operationen, die der
+ * Graph braucht, sodass derselbe Zeichencode auf den Bildschirm, in ein {@link java.awt.image.BufferedImage}
+ * oder als SVG-Text ausgegeben werden kann (siehe {@link SvgCanvas}).
+ */
+interface PlotCanvas {
+
+    void setColor(Color color);
+
+    void setStrokeWidth(float width);
+
+    void setFont(Font font);
+
+    void drawLine(double x1, double y1, double x2, double y2);
+
+    /** Zeichnet den Umriss einer Form (z.B. einen Path2D mit vielen Teilpfaden). */
+    void draw(Shape shape);
+
+    /** Füllt eine Form (mit Kantenglättung, falls eingeschaltet). */
+    void fill(Shape shape);
+
+    /** Füllt eine Form pixelgenau, d.h. ohne Kantenglättung. */
+    void fillCrisp(Shape shape);
+
+    void drawString(String text, double x, double y);
+
+    double stringWidth(String text);
+
+    double getAscent();
+
+    /** Zeichenfläche, die direkt in einen Graphics2D-Kontext zeichnet. */
+    static PlotCanvas of(Graphics2D g2) {
+        return new PlotCanvas() {
+            @Override
+            public void setColor(Color color) {
+                g2.setColor(color);
+            }
+
+            @Override
+            public void setStrokeWidth(float width) {
+                g2.setStroke(new BasicStroke(width));
+            }
+
+            @Override
+            public void setFont(Font font) {
+                g2.setFont(font);
+            }
+
+            @Override
+            public void drawLine(double x1, double y1, double x2, double y2) {
+                g2.draw(new Line2D.Double(x1, y1, x2, y2));
+            }
+
+            @Override
+            public void draw(Shape shape) {
+                g2.draw(shape);
+            }
+
+            @Override
+            public void fill(Shape shape) {
+                g2.fill(shape);
+            }
+
+            @Override
+            public void fillCrisp(Shape shape) {
+                Object aa = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                g2.fill(shape);
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, aa);
+            }
+
+            @Override
+            public void drawString(String text, double x, double y) {
+                g2.drawString(text, (float) x, (float) y);
+            }
+
+            @Override
+            public double stringWidth(String text) {
+                return g2.getFontMetrics().stringWidth(text);
+            }
+
+            @Override
+            public double getAscent() {
+                return g2.getFontMetrics().getAscent();
+            }
+        };
+    }
+}
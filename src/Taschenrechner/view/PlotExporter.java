@@ -0,0 +1,218 @@
+package Taschenrechner.view;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import Taschenrechner.model.Function;
+import Taschenrechner.model.GraphFunction;
+import Taschenrechner.model.GraphModel;
+
+/**
+ * Exportiert Graphen ohne Bildschirm als PNG, SVG oder CSV, z.B. für Stapelverarbeitung.
+ * Gezeichnet wird mit demselben {@link PlotRenderer} wie im {@link GraphPanel}; Ausschnitt und
+ * Ableitungsanzeige kommen aus dem {@link GraphModel}. Es werden keine Swing-Komponenten
+ * erzeugt, der Export funktioniert daher auch mit {@code java.awt.headless=true}.
+ * <p>
+ * Die {@code submit...}-Methoden verteilen die Aufträge auf einen festen Pool von
+ * Arbeitsthreads. Ein Modell speichert seine Abtastwerte zwischen und wird deshalb während
+ * eines Auftrags gesperrt: Aufträge für verschiedene Modelle laufen parallel, Aufträge für
+ * dasselbe Modell nacheinander. Ein Modell, das gerade in einem GraphPanel angezeigt wird,
+ * sollte nicht gleichzeitig exportiert werden.
+ * <p>
+ * CSV wird in Blöcken von {@value #CSV_CHUNK} Zeilen berechnet und geschrieben, sodass auch
+ * Millionen von Stützstellen mit konstantem Speicher auskommen.
+ */
+public class PlotExporter implements AutoCloseable {
+    /** Zeilen pro CSV-Block */
+    public static final int CSV_CHUNK = 4096;
+
+    private static final int SAMPLES_PER_PIXEL = 4;
+
+    private final ExecutorService pool;
+
+    /** Exporter mit einem Arbeitsthread je Prozessorkern. */
+    public PlotExporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public PlotExporter(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Mindestens ein Arbeitsthread erforderlich");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "PlotExporter-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Rendert das Modell im Hintergrund als PNG der Größe width × height nach target. */
+    public Future<Path> submitPng(GraphModel model, int width, int height, Path target) {
+        return pool.submit(() -> {
+            synchronized (model) {
+                try (OutputStream out = Files.newOutputStream(target)) {
+                    writePng(model, width, height, out);
+                }
+            }
+            return target;
+        });
+    }
+
+    /** Schreibt das Modell im Hintergrund als SVG der Größe width × height nach target. */
+    public Future<Path> submitSvg(GraphModel model, int width, int height, Path target) {
+        return pool.submit(() -> {
+            synchronized (model) {
+                try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                    writeSvg(model, width, height, out);
+                }
+            }
+            return target;
+        });
+    }
+
+    /** Schreibt im Hintergrund {@code samples} Stützstellen je Funktion als CSV nach target. */
+    public Future<Path> submitCsv(GraphModel model, long samples, Path target) {
+        return pool.submit(() -> {
+            synchronized (model) {
+                try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                    writeCsv(model, samples, out);
+                }
+            }
+            return target;
+        });
+    }
+
+    /** Nimmt keine neuen Aufträge mehr an; laufende Aufträge werden noch beendet. */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /** Rendert das Modell in ein neues Bild (Hintergrund, Gitter, Achsen und Kurven). */
+    public static BufferedImage render(GraphModel model, int width, int height) {
+        checkSize(width, height);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setColor(PlotRenderer.BACKGROUND);
+            g2.fillRect(0, 0, width, height);
+            draw(PlotCanvas.of(g2), model, width, height);
+        } finally {
+            g2.dispose();
+        }
+        return image;
+    }
+
+    public static void writePng(GraphModel model, int width, int height, OutputStream out) throws IOException {
+        ImageIO.write(render(model, width, height), "png", out);
+    }
+
+    /** Schreibt das Modell als SVG; die Elemente werden direkt beim Zeichnen ausgegeben. */
+    public static void writeSvg(GraphModel model, int width, int height, Writer out) throws IOException {
+        checkSize(width, height);
+        try {
+            SvgCanvas canvas = new SvgCanvas(out, width, height, PlotRenderer.BACKGROUND);
+            draw(canvas, model, width, height);
+            canvas.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Schreibt x und die Werte aller sichtbaren Funktionen (bei eingeschalteter Ableitung auch
+     * f') an {@code samples} gleichabständigen Stellen im x-Bereich des Modells. Nicht
+     * definierte Werte bleiben leer.
+     */
+    public static void writeCsv(GraphModel model, long samples, Writer out) throws IOException {
+        if (samples < 2) {
+            throw new IllegalArgumentException("Mindestens zwei Stützstellen erforderlich");
+        }
+        List<Function> columns = new ArrayList<>();
+        StringBuilder row = new StringBuilder("x");
+        for (GraphFunction gf : model.getFunctions()) {
+            if (!gf.isVisible()) continue;
+            columns.add(gf.getFunction());
+            appendField(row.append(','), gf.getLabel());
+            if (model.isShowDerivative()) {
+                columns.add(gf.getDerivative());
+                appendField(row.append(','), gf.getLabel() + " (Ableitung)");
+            }
+        }
+        Writer w = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        w.append(row).append('\n');
+
+        double xMin = model.getxMin();
+        double step = (model.getxMax() - xMin) / (samples - 1);
+        double[] xs = new double[CSV_CHUNK];
+        double[][] values = new double[columns.size()][CSV_CHUNK];
+        for (long start = 0; start < samples; start += CSV_CHUNK) {
+            int n = (int) Math.min(CSV_CHUNK, samples - start);
+            for (int i = 0; i < n; i++) {
+                xs[i] = xMin + (start + i) * step;
+            }
+            // spaltenweise auswerten: eine Funktion über den ganzen Block
+            for (int c = 0; c < columns.size(); c++) {
+                Function f = columns.get(c);
+                double[] v = values[c];
+                for (int i = 0; i < n; i++) {
+                    try {
+                        v[i] = f.evaluate(xs[i]);
+                    } catch (ArithmeticException e) {
+                        v[i] = Double.NaN;
+                    }
+                }
+            }
+            row.setLength(0);
+            for (int i = 0; i < n; i++) {
+                row.append(xs[i]);
+                for (double[] v : values) {
+                    row.append(',');
+                    if (Double.isFinite(v[i])) row.append(v[i]);
+                }
+                row.append('\n');
+            }
+            w.append(row);
+        }
+        w.flush();
+    }
+
+    private static void draw(PlotCanvas canvas, GraphModel model, int width, int height) {
+        PlotRenderer renderer = new PlotRenderer(model.getxMin(), model.getxMax(),
+                model.getyMin(), model.getyMax(), null, null, width, height);
+        renderer.drawGridAndAxes(canvas);
+        renderer.drawCurves(canvas, model, SAMPLES_PER_PIXEL, model.isShowDerivative(), false, false);
+    }
+
+    /** Setzt ein CSV-Feld in Anführungszeichen, falls es Komma, Anführungszeichen oder Zeilenumbruch enthält. */
+    private static void appendField(StringBuilder sb, String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+            sb.append(field);
+        } else {
+            sb.append('"').append(field.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static void checkSize(int width, int height) {
+        if (width < 2 || height < 2) {
+            throw new IllegalArgumentException("Ungültige Bildgröße: " + width + " × " + height);
+        }
+    }
+}
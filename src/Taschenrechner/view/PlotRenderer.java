@@ -0,0 +1,488 @@
+package Taschenrechner.view;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import Taschenrechner.model.DataSeries;
+import Taschenrechner.model.DoubleDouble;
+import Taschenrechner.model.Function;
+import Taschenrechner.model.GraphFunction;
+import Taschenrechner.model.GraphModel;
+import Taschenrechner.model.ImplicitCurve;
+import Taschenrechner.model.IntegralArea;
+import Taschenrechner.model.Integrator;
+import Taschenrechner.model.ParametricCurve;
+import Taschenrechner.model.RootFinder;
+import Taschenrechner.model.SampleGrid;
+
+/**
+ * Zeichnet Gitter, Achsen und Kurven eines {@link GraphModel} für einen festen Ausschnitt in
+ * eine {@link PlotCanvas}. Wird vom {@link GraphPanel} für jedes Bild neu erzeugt und vom
+ * {@link PlotExporter} ohne Bildschirm verwendet, sodass Bildschirm, PNG und SVG identisch
+ * aussehen.
+ * <p>
+ * Beim tiefen Zoomen ist der Ausschnitt relativ zum Bezugspunkt (originX, originY), siehe
+ * {@link GraphPanel}; ohne Bezugspunkt sind beide null.
+ */
+final class PlotRenderer {
+    /** Hintergrundfarbe des Graphen */
+    static final Color BACKGROUND = new Color(30, 30, 30);
+
+    private static final Color GRID_COLOR = new Color(80, 80, 80, 80);
+    private static final Color AXIS_COLOR = new Color(200, 200, 200);
+    private static final Color LABEL_COLOR = new Color(230, 230, 230);
+    private static final Font LABEL_FONT = new Font("Segoe UI", Font.PLAIN, 12);
+    private static final double POINT_RADIUS = 5;
+    private static final int AREA_ALPHA = 70;
+
+    private final double xMin, xMax, yMin, yMax;
+    private final DoubleDouble originX, originY;
+    private final int w, h;
+
+    PlotRenderer(double xMin, double xMax, double yMin, double yMax,
+                 DoubleDouble originX, DoubleDouble originY, int w, int h) {
+        this.xMin = xMin;
+        this.xMax = xMax;
+        this.yMin = yMin;
+        this.yMax = yMax;
+        this.originX = originX;
+        this.originY = originY;
+        this.w = w;
+        this.h = h;
+    }
+
+    /** Bezugspunkt als double (0, solange nicht tief gezoomt wird) */
+    private double offsetX() {
+        return originX == null ? 0 : originX.doubleValue();
+    }
+
+    private double offsetY() {
+        return originY == null ? 0 : originY.doubleValue();
+    }
+
+    void drawGridAndAxes(PlotCanvas g2) {
+        g2.setFont(LABEL_FONT);
+        g2.setStrokeWidth(1f);
+
+        double xRange = xMax - xMin;
+        double yRange = yMax - yMin;
+        double xStep = niceStep(xRange / 10.0);
+        double yStep = niceStep(yRange / 10.0);
+
+        // Vertikale Gitterlinien
+        g2.setColor(GRID_COLOR);
+        for (double x = Math.ceil(xMin / xStep) * xStep; x <= xMax; x += xStep) {
+            int px = mapX(x);
+            g2.drawLine(px, 0, px, h);
+        }
+        // Horizontale Gitterlinien
+        for (double y = Math.ceil(yMin / yStep) * yStep; y <= yMax; y += yStep) {
+            int py = mapY(y);
+            g2.drawLine(0, py, w, py);
+        }
+
+        // Achsen
+        // Beim tiefen Zoomen liegen die Achsen relativ zum Bezugspunkt (meist außerhalb)
+        int xAxisPx = (int) Math.max(-1, Math.min(h + 1, mapYExact(-offsetY())));
+        int yAxisPx = (int) Math.max(-1, Math.min(w + 1, (-offsetX() - xMin) / (xMax - xMin) * w));
+        g2.setColor(AXIS_COLOR);
+        g2.setStrokeWidth(2f);
+        g2.drawLine(0, xAxisPx, w, xAxisPx);
+        g2.drawLine(yAxisPx, 0, yAxisPx, h);
+
+        // Pfeilspitzen
+        int arrowSize = 6;
+        g2.drawLine(w - arrowSize, xAxisPx - arrowSize, w, xAxisPx);
+        g2.drawLine(w - arrowSize, xAxisPx + arrowSize, w, xAxisPx);
+        g2.drawLine(yAxisPx - arrowSize, arrowSize, yAxisPx, 0);
+        g2.drawLine(yAxisPx + arrowSize, arrowSize, yAxisPx, 0);
+
+        // Achsenbeschriftungen „x“ und „y“
+        g2.setColor(LABEL_COLOR);
+        g2.drawString("x", w - 15, xAxisPx - 10);
+        g2.drawString("y", yAxisPx + 10, 15);
+
+        // Zahlenbeschriftungen unten (x) und links (y); beim tiefen Zoomen am Bildrand
+        int xLabelPx = xAxisPx, yLabelPx = yAxisPx;
+        if (originX != null) {
+            xLabelPx = Math.max(0, Math.min(h - 20, xAxisPx));
+            yLabelPx = Math.max(0, Math.min(w - 70, yAxisPx));
+            g2.drawString("Bezugspunkt: x₀ = " + originX.toString(30) + ",  y₀ = " + originY.toString(30)
+                    + "  (Beschriftung relativ)", 10, h - 30);
+        }
+        int ascent = (int) g2.getAscent();
+        for (double x = Math.ceil(xMin / xStep) * xStep; x <= xMax; x += xStep) {
+            int px = mapX(x);
+            g2.drawLine(px, xLabelPx - 3, px, xLabelPx + 3);
+            String label = formatLabel(x, xStep);
+            g2.drawString(label, px - (int) g2.stringWidth(label) / 2, xLabelPx + 15);
+        }
+        for (double y = Math.ceil(yMin / yStep) * yStep; y <= yMax; y += yStep) {
+            int py = mapY(y);
+            g2.drawLine(yLabelPx - 3, py, yLabelPx + 3, py);
+            if (Math.abs(y) > 1e-6 || originY != null) {
+                String label = formatLabel(y, yStep);
+                g2.drawString(label, yLabelPx + 5, py + ascent / 2);
+            }
+        }
+    }
+
+    /**
+     * Zeichnet alle sichtbaren Ebenen des Modells: zuerst schattierte Integralflächen und
+     * Messreihen (damit Kurven darüber liegen), dann Funktionsgraphen (abgetastet oder bei
+     * {@code intervalMode} garantiert), auf Wunsch ihre Ableitungen, implizite und
+     * parametrische Kurven. Mit {@code markPoints} werden zusätzlich Nullstellen, Extrema und
+     * Schnittpunkte ({@link RootFinder}) markiert, außer beim tiefen Zoomen.
+     */
+    void drawCurves(PlotCanvas g2, GraphModel model, int samplesPerPixel,
+                    boolean showDerivative, boolean intervalMode, boolean markPoints) {
+        if (w < 2 || !(xMax > xMin) || !(yMax > yMin)) return;
+        SampleGrid grid = SampleGrid.forRange(xMin, xMax, w * samplesPerPixel);
+        model.sample(grid, showDerivative, originX, originY);
+        // Ebenen ohne DoubleDouble-Auswertung erhalten den absoluten Ausschnitt
+        double offX = offsetX(), offY = offsetY();
+        double absXMin = offX + xMin, absXMax = offX + xMax;
+        double absYMin = offY + yMin, absYMax = offY + yMax;
+        for (IntegralArea area : model.getIntegralAreas()) {
+            if (area.isVisible()) drawArea(g2, area, absXMin, absXMax);
+        }
+        g2.setStrokeWidth(1.5f);
+        for (DataSeries series : model.getDataSeries()) {
+            if (!series.isVisible()) continue;
+            g2.setColor(series.getColor());
+            plotPolyline(g2, series.getGeometry(absXMin, absXMax, absYMin, absYMax, w, h));
+        }
+        g2.setStrokeWidth(2f);
+        for (GraphFunction gf : model.getFunctions()) {
+            if (!gf.isVisible()) continue;
+            g2.setColor(gf.getColor());
+            if (intervalMode && gf.supportsIntervals()) {
+                plotSpans(g2, gf.getIntervalSpans(absXMin, absXMax, absYMin, absYMax, w, h));
+            } else {
+                plotSamples(g2, grid, gf.getSampledValues());
+            }
+            if (showDerivative) {
+                g2.setColor(gf.getDerivativeColor());
+                plotSamples(g2, grid, gf.getSampledDerivativeValues());
+            }
+        }
+        for (ImplicitCurve curve : model.getImplicitCurves()) {
+            if (!curve.isVisible()) continue;
+            g2.setColor(curve.getColor());
+            plotSegments(g2, curve.getGeometry(absXMin, absXMax, absYMin, absYMax, w, h));
+        }
+        for (ParametricCurve curve : model.getParametricCurves()) {
+            if (!curve.isVisible()) continue;
+            g2.setColor(curve.getColor());
+            plotPolyline(g2, curve.getGeometry(absXMin, absXMax, absYMin, absYMax, w, h));
+        }
+        drawAreaValues(g2, model.getIntegralAreas());
+        if (markPoints && originX == null) {
+            drawPoints(g2, RootFinder.analyze(model, grid));
+        }
+    }
+
+    /**
+     * Füllt die Fläche zwischen Kurve und x-Achse im sichtbaren Teil von [a, b] (eine
+     * Auswertung je Pixelspalte; nicht definierte Stellen unterbrechen die Fläche) und schreibt
+     * den Wert des Integrals darüber.
+     */
+    private void drawArea(PlotCanvas g2, IntegralArea area, double absXMin, double absXMax) {
+        double a = Math.min(area.getA(), area.getB()), b = Math.max(area.getA(), area.getB());
+        double from = Math.max(a, absXMin), to = Math.min(b, absXMax);
+        if (!(to > from)) return;
+        double sx = w / (xMax - xMin), sy = h / (yMax - yMin);
+        double y0 = offsetY() + yMax;
+        double limit = 10.0 * h;
+        double axisPy = Math.max(-limit, Math.min(limit, y0 * sy));
+        double pxFrom = (from - absXMin) * sx, pxTo = (to - absXMin) * sx;
+        int columns = Math.max(1, (int) Math.ceil(pxTo - pxFrom));
+
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, 2 * columns + 8);
+        Function f = area.getFunction().getFunction();
+        double runStart = Double.NaN, lastPx = Double.NaN;
+        for (int i = 0; i <= columns; i++) {
+            double x = i == columns ? to : from + i * (to - from) / columns;
+            double y;
+            try {
+                y = f.evaluate(x);
+            } catch (ArithmeticException e) {
+                y = Double.NaN;
+            }
+            double px = (x - absXMin) * sx;
+            if (!Double.isFinite(y)) {
+                if (!Double.isNaN(runStart)) {
+                    path.lineTo(lastPx, axisPy);
+                    path.closePath();
+                    runStart = Double.NaN;
+                }
+                continue;
+            }
+            double py = Math.max(-limit, Math.min(limit, (y0 - y) * sy));
+            if (Double.isNaN(runStart)) {
+                path.moveTo(px, axisPy);
+                runStart = px;
+            }
+            path.lineTo(px, py);
+            lastPx = px;
+        }
+        if (!Double.isNaN(runStart)) {
+            path.lineTo(lastPx, axisPy);
+            path.closePath();
+        }
+        Color c = area.getColor();
+        g2.setColor(new Color(c.getRed(), c.getGreen(), c.getBlue(), AREA_ALPHA));
+        g2.fill(path);
+    }
+
+    /**
+     * Listet die Werte der sichtbaren Integralflächen links oben in ihrer Farbe auf, z.B.
+     * "∫ f(x) = x^2 von 0 bis 1 = 0.333333333333" ("≈", falls die Toleranz nicht erreicht wurde).
+     */
+    private void drawAreaValues(PlotCanvas g2, List<IntegralArea> areas) {
+        g2.setFont(LABEL_FONT);
+        double y = 8 + g2.getAscent();
+        for (IntegralArea area : areas) {
+            if (!area.isVisible()) continue;
+            Integrator.Result result = area.getResult();
+            String value = Double.isFinite(result.value())
+                    ? formatSignificant(result.value(), 12) : "nicht definiert";
+            g2.setColor(area.getColor());
+            g2.drawString(area.getLabel() + (result.converged() ? " = " : " ≈ ") + value, 8, y);
+            y += g2.getAscent() + 6;
+        }
+    }
+
+    /** Auf die angegebene Zahl signifikanter Stellen gerundet, ohne Nullen am Ende. */
+    private static String formatSignificant(double value, int digits) {
+        if (value == 0) return "0";
+        BigDecimal d = new BigDecimal(value).round(new MathContext(digits)).stripTrailingZeros();
+        double magnitude = Math.abs(value);
+        return magnitude >= 1e-6 && magnitude < 1e12 ? d.toPlainString() : d.toString();
+    }
+
+    /**
+     * Markiert die Punkte als Ring mit Beschriftung, z.B. "N(1.414 | 0)". Nachkommastellen
+     * nach Pixelgröße, sodass die Angabe nicht genauer wirkt als die Darstellung.
+     */
+    private void drawPoints(PlotCanvas g2, List<RootFinder.Point> points) {
+        int decimals = (int) Math.max(0, Math.min(10, Math.ceil(-Math.log10((xMax - xMin) / w)) + 1));
+        String format = "%." + decimals + "f";
+        g2.setFont(LABEL_FONT);
+        g2.setStrokeWidth(2f);
+        for (RootFinder.Point p : points) {
+            if (p.y() < yMin || p.y() > yMax) continue;
+            double px = (p.x() - xMin) / (xMax - xMin) * w;
+            double py = mapYExact(p.y());
+            String prefix = switch (p.kind()) {
+                case ROOT -> "N";
+                case MAXIMUM -> "H";
+                case MINIMUM -> "T";
+                case INTERSECTION -> "S";
+            };
+            String label = prefix + "(" + String.format(format, p.x() + 0.0) + " | "
+                    + String.format(format, p.y() + 0.0) + ")";
+            g2.setColor(p.first().getColor());
+            g2.draw(new Ellipse2D.Double(px - POINT_RADIUS, py - POINT_RADIUS, 2 * POINT_RADIUS, 2 * POINT_RADIUS));
+            g2.setColor(LABEL_COLOR);
+            // Beschriftung bei Hochpunkten oberhalb, sonst unterhalb des Rings
+            double ty = p.kind() == RootFinder.Kind.MAXIMUM ? py - POINT_RADIUS - 4 : py + POINT_RADIUS + 4 + g2.getAscent();
+            g2.drawString(label, px + POINT_RADIUS, ty);
+        }
+    }
+
+    private static double niceStep(double rawStep) {
+        double exponent = Math.floor(Math.log10(rawStep));
+        double mantissa = rawStep / Math.pow(10, exponent);
+        double niceMantissa;
+        if (mantissa <= 1) niceMantissa = 1;
+        else if (mantissa <= 2) niceMantissa = 2;
+        else if (mantissa <= 5) niceMantissa = 5;
+        else niceMantissa = 10;
+        return niceMantissa * Math.pow(10, exponent);
+    }
+
+    private String formatLabel(double value, double step) {
+        if (originX != null) {
+            // Abstand zum Bezugspunkt (Rundungsrest der Schrittweite bei 0 unterdrücken)
+            if (Math.abs(value) < 1e-6 * step) return "+0";
+            int digits = 2 + (int) Math.ceil(Math.log10(Math.max(Math.abs(value), step) / step));
+            return String.format("%+." + Math.min(17, digits) + "g", value);
+        }
+        if (Math.abs(value - Math.round(value)) < 1e-6) {
+            return String.format("%.0f", value);
+        } else {
+            return String.format("%.2f", value);
+        }
+    }
+
+    /**
+     * Plottet abgetastete Funktionswerte. Die Stützstellen werden ihren Pixelspalten zugeordnet
+     * und dort auf Eintritts-, Minimal-, Maximal- und Austrittswert reduziert; jeder
+     * zusammenhängende Abschnitt wird als Teilpfad eines einzigen Path2D gezeichnet. Nicht
+     * endliche Werte und Sprünge über den sichtbaren Bereich hinweg (Polstellen) trennen die
+     * Abschnitte.
+     */
+    private void plotSamples(PlotCanvas g2, SampleGrid grid, double[] values) {
+        double colWidth = (xMax - xMin) / w;
+        double limit = 10.0 * h; // Pixelkoordinaten begrenzen, damit Java2D nicht überläuft
+
+        ColumnDecimator dec = new ColumnDecimator(new Path2D.Double(Path2D.WIND_NON_ZERO, 4 * w));
+        double prevPy = Double.NaN;
+        long currentCol = Long.MIN_VALUE;
+        for (int i = 0; i < grid.size(); i++) {
+            long col = (long) Math.floor((grid.x(i) - xMin) / colWidth);
+            if (col != currentCol) {
+                dec.endColumn();
+                dec.beginColumn(col + 0.5);
+                currentCol = col;
+            }
+            double py = mapYExact(values[i]);
+            if (!Double.isFinite(py)) {
+                dec.breakSegment();
+                prevPy = Double.NaN;
+                continue;
+            }
+            py = Math.max(-limit, Math.min(limit, py));
+            if (!Double.isNaN(prevPy) && isJump(prevPy, py, h)) {
+                dec.breakSegment();
+            }
+            dec.add(py);
+            prevPy = py;
+        }
+        dec.endColumn();
+        g2.draw(dec.path);
+    }
+
+    /** Füllt die Pixelbereiche (Spalte, obere Zeile, untere Zeile) der Intervall-Darstellung. */
+    private static void plotSpans(PlotCanvas g2, int[] spans) {
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, spans.length / 3 * 5);
+        for (int i = 0; i + 2 < spans.length; i += 3) {
+            path.append(new Rectangle(spans[i], spans[i + 1], 1, spans[i + 2] - spans[i + 1] + 1), false);
+        }
+        g2.fillCrisp(path);
+    }
+
+    /** Zeichnet Liniensegmente (x1, y1, x2, y2 in Weltkoordinaten) als einen Pfad. */
+    private void plotSegments(PlotCanvas g2, double[] segments) {
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, segments.length / 2);
+        double sx = w / (xMax - xMin);
+        double sy = h / (yMax - yMin);
+        double x0 = offsetX() + xMin, y0 = offsetY() + yMax;
+        double lastX = Double.NaN, lastY = Double.NaN;
+        for (int i = 0; i + 3 < segments.length; i += 4) {
+            double x1 = (segments[i] - x0) * sx, y1 = (y0 - segments[i + 1]) * sy;
+            double x2 = (segments[i + 2] - x0) * sx, y2 = (y0 - segments[i + 3]) * sy;
+            // aneinanderhängende Segmente ohne erneutes moveTo fortsetzen
+            if (x1 != lastX || y1 != lastY) {
+                path.moveTo(x1, y1);
+            }
+            path.lineTo(x2, y2);
+            lastX = x2;
+            lastY = y2;
+        }
+        g2.draw(path);
+    }
+
+    /** Zeichnet einen Polygonzug (x, y paarweise, NaN-Paar = Unterbrechung) als einen Pfad. */
+    private void plotPolyline(PlotCanvas g2, double[] points) {
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, points.length / 2);
+        double sx = w / (xMax - xMin);
+        double sy = h / (yMax - yMin);
+        double limit = 10.0 * Math.max(w, h); // Pixelkoordinaten begrenzen
+        double x0 = offsetX() + xMin, y0 = offsetY() + yMax;
+        boolean penDown = false;
+        for (int i = 0; i + 1 < points.length; i += 2) {
+            if (Double.isNaN(points[i])) {
+                penDown = false;
+                continue;
+            }
+            double px = Math.max(-limit, Math.min(limit, (points[i] - x0) * sx));
+            double py = Math.max(-limit, Math.min(limit, (y0 - points[i + 1]) * sy));
+            if (penDown) {
+                path.lineTo(px, py);
+            } else {
+                path.moveTo(px, py);
+                penDown = true;
+            }
+        }
+        g2.draw(path);
+    }
+
+    /**
+     * Reduziert die Stützstellen einer Pixelspalte auf höchstens vier Pfadpunkte
+     * (Eintritt, Minimum und Maximum in Auftretensreihenfolge, Austritt).
+     */
+    private static final class ColumnDecimator {
+        final Path2D.Double path;
+        private double px;
+        private boolean penDown;
+        private int count;
+        private double first, last, min, max;
+        private int minIdx, maxIdx;
+
+        ColumnDecimator(Path2D.Double path) {
+            this.path = path;
+        }
+
+        void beginColumn(double px) {
+            this.px = px;
+            count = 0;
+        }
+
+        void add(double py) {
+            if (count == 0) {
+                first = min = max = py;
+                minIdx = maxIdx = 0;
+            } else {
+                if (py < min) { min = py; minIdx = count; }
+                if (py > max) { max = py; maxIdx = count; }
+            }
+            last = py;
+            count++;
+        }
+
+        /** Schließt die bisherigen Werte der Spalte ab und beginnt einen neuen Teilpfad. */
+        void breakSegment() {
+            endColumn();
+            penDown = false;
+            count = 0;
+        }
+
+        void endColumn() {
+            if (count == 0) return;
+            if (penDown) {
+                path.lineTo(px, first);
+            } else {
+                path.moveTo(px, first);
+                penDown = true;
+            }
+            double a = minIdx <= maxIdx ? min : max;
+            double b = minIdx <= maxIdx ? max : min;
+            if (a != first) path.lineTo(px, a);
+            if (b != a) path.lineTo(px, b);
+            if (last != b) path.lineTo(px, last);
+            count = 0;
+        }
+    }
+
+    /** Sprung von ober- nach unterhalb des sichtbaren Bereichs (oder umgekehrt), z.B. bei tan. */
+    private static boolean isJump(double fromPy, double toPy, int h) {
+        return (fromPy < 0 && toPy > h) || (fromPy > h && toPy < 0);
+    }
+
+    private int mapX(double x) {
+        return (int) ((x - xMin) / (xMax - xMin) * w);
+    }
+
+    private int mapY(double y) {
+        return (int) ((yMax - y) / (yMax - yMin) * h);
+    }
+
+    private double mapYExact(double y) {
+        return (yMax - y) / (yMax - yMin) * h;
+    }
+}
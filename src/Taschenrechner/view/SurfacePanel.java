@@ -0,0 +1,88 @@
+package Taschenrechner.view;
+
+import Taschenrechner.model.SurfaceMesh;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * Darstellung einer Fläche z = f(x, y) (siehe {@link SurfaceMesh}) mit dem
+ * {@link SurfaceRenderer}. Ziehen mit der Maus dreht die Ansicht, das Mausrad zoomt.
+ * Beim Drehen wird das bereits abgetastete Gitter nur neu projiziert.
+ */
+public class SurfacePanel extends JPanel {
+    private final SurfaceRenderer renderer = new SurfaceRenderer();
+    private SurfaceMesh mesh;
+    private double azimuth = -0.6;
+    private double elevation = 0.5;
+    private double zoom = 1.0;
+    private long lastRenderNanos;
+
+    private int lastX, lastY;
+
+    public SurfacePanel() {
+        setBackground(new Color(30, 30, 30));
+
+        MouseAdapter rotateHandler = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                azimuth += (e.getX() - lastX) * 0.01;
+                elevation = Math.max(-1.5, Math.min(1.5, elevation + (e.getY() - lastY) * 0.01));
+                lastX = e.getX();
+                lastY = e.getY();
+                repaint();
+            }
+        };
+        addMouseListener(rotateHandler);
+        addMouseMotionListener(rotateHandler);
+        addMouseWheelListener(e -> {
+            zoom = Math.max(0.2, Math.min(10, zoom * Math.pow(1.1, -e.getPreciseWheelRotation())));
+            repaint();
+        });
+    }
+
+    /** Setzt die darzustellende Fläche (null = leer). */
+    public void setMesh(SurfaceMesh mesh) {
+        this.mesh = mesh;
+        repaint();
+    }
+
+    public SurfaceMesh getMesh() {
+        return mesh;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        int w = getWidth(), h = getHeight();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        g2.setColor(new Color(230, 230, 230));
+        if (mesh == null || w <= 0 || h <= 0) {
+            g2.drawString("Keine Fläche – Funktion f(x, y) eingeben und plotten", 20, 30);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Image img = renderer.render(mesh, w, h, azimuth, elevation, zoom, getBackground().getRGB());
+        lastRenderNanos = System.nanoTime() - start;
+        g2.drawImage(img, 0, 0, null);
+
+        g2.setColor(new Color(230, 230, 230));
+        g2.drawString(String.format("x ∈ [%.2f, %.2f]   y ∈ [%.2f, %.2f]   z ∈ [%.3g, %.3g]",
+                mesh.getxMin(), mesh.getxMax(), mesh.getyMin(), mesh.getyMax(),
+                mesh.getzLow(), mesh.getzHigh()), 10, 20);
+        g2.setColor(new Color(200, 200, 200));
+        g2.drawString(String.format("%d×%d Gitter, %.1f ms – Ziehen zum Drehen, Scrollen zum Zoomen",
+                mesh.getResolution(), mesh.getResolution(), lastRenderNanos / 1e6), 10, h - 10);
+    }
+}
@@ -0,0 +1,169 @@
+package Taschenrechner.view;
+
+import Taschenrechner.model.SurfaceMesh;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Software-Rasterer für {@link SurfaceMesh}: projiziert das Gitter orthografisch, schattiert
+ * die Eckpunkte (Höhenfarbe × Lambert-Beleuchtung) und rastert je Gitterzelle zwei Dreiecke
+ * mit Tiefenpuffer direkt in das int-Raster eines BufferedImage.
+ * <p>
+ * Projektion und Schattierung laufen zeilenweise parallel, das Rastern parallel in
+ * horizontalen Bildstreifen (jeder Streifen besitzt seine Pixel exklusiv, daher ohne Sperren).
+ * Beim Drehen wird nur neu projiziert, das abgetastete Gitter bleibt unverändert.
+ */
+class SurfaceRenderer {
+    private BufferedImage image;
+    private int[] pixels;
+    private float[] depth;
+
+    // Projektion je Gitterpunkt
+    private float[] sx = new float[0], sy = new float[0], sd = new float[0];
+    private float[] cr = new float[0], cg = new float[0], cb = new float[0];
+
+    /**
+     * Rendert die Fläche.
+     *
+     * @param azimuth   Drehung um die z-Achse (Bogenmaß)
+     * @param elevation Neigung der Blickrichtung über der x-y-Ebene (Bogenmaß)
+     * @param zoom      Vergrößerungsfaktor (1 = Fläche füllt etwa das Bild)
+     * @return das (wiederverwendete) Bild; gültig bis zum nächsten Aufruf
+     */
+    BufferedImage render(SurfaceMesh mesh, int w, int h, double azimuth, double elevation,
+                         double zoom, int background) {
+        ensureBuffers(w, h, mesh.getResolution());
+        Arrays.fill(pixels, background);
+        Arrays.fill(depth, Float.POSITIVE_INFINITY);
+
+        project(mesh, w, h, azimuth, elevation, zoom);
+
+        int n = mesh.getResolution();
+        float[] nz = mesh.normalizedHeights();
+        int bands = Math.max(1, Math.min(h, Runtime.getRuntime().availableProcessors() * 4));
+        int bandHeight = (h + bands - 1) / bands;
+        IntStream.range(0, bands).parallel().forEach(band -> {
+            int y0 = band * bandHeight;
+            int y1 = Math.min(h, y0 + bandHeight);
+            if (y0 >= y1) return;
+            for (int j = 0; j < n - 1; j++) {
+                for (int i = 0; i < n - 1; i++) {
+                    int k00 = j * n + i, k10 = k00 + 1, k01 = k00 + n, k11 = k01 + 1;
+                    float minY = Math.min(Math.min(sy[k00], sy[k10]), Math.min(sy[k01], sy[k11]));
+                    float maxY = Math.max(Math.max(sy[k00], sy[k10]), Math.max(sy[k01], sy[k11]));
+                    if (maxY < y0 || minY >= y1) continue; // auch NaN-Zellen fallen hier heraus
+                    if (Float.isNaN(nz[k00]) || Float.isNaN(nz[k10]) || Float.isNaN(nz[k01]) || Float.isNaN(nz[k11])) {
+                        continue;
+                    }
+                    triangle(k00, k10, k11, w, y0, y1);
+                    triangle(k00, k11, k01, w, y0, y1);
+                }
+            }
+        });
+        return image;
+    }
+
+    private void ensureBuffers(int w, int h, int n) {
+        if (image == null || image.getWidth() != w || image.getHeight() != h) {
+            image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            depth = new float[w * h];
+        }
+        int count = n * n;
+        if (sx.length != count) {
+            sx = new float[count]; sy = new float[count]; sd = new float[count];
+            cr = new float[count]; cg = new float[count]; cb = new float[count];
+        }
+    }
+
+    /** Projiziert alle Gitterpunkte und berechnet ihre schattierte Farbe. */
+    private void project(SurfaceMesh mesh, int w, int h, double az, double el, double zoom) {
+        int n = mesh.getResolution();
+        float[] nz = mesh.normalizedHeights();
+        float[] normals = mesh.normals();
+        double ca = Math.cos(az), sa = Math.sin(az), ce = Math.cos(el), se = Math.sin(el);
+        double scale = zoom * Math.min(w, h) * 0.36;
+        double cx = w / 2.0, cy = h / 2.0;
+
+        // Licht von vorne oben links (Kamerasystem: rechts, oben, Blickrichtung)
+        double lr = -0.35, lu = 0.55, lf = -0.75;
+        double len = Math.sqrt(lr * lr + lu * lu + lf * lf);
+        lr /= len; lu /= len; lf /= len;
+        // zurück ins gedrehte Weltsystem (p' = Rz * p) und dann ins Weltsystem (Rz^-1)
+        double px = lr, py = lu * se + lf * ce, pz = lu * ce - lf * se;
+        double lx = px * ca + py * sa, ly = -px * sa + py * ca, lz = pz;
+
+        IntStream.range(0, n).parallel().forEach(j -> {
+            double y = -1 + 2.0 * j / (n - 1);
+            for (int i = 0; i < n; i++) {
+                int k = j * n + i;
+                double x = -1 + 2.0 * i / (n - 1);
+                double z = nz[k];
+                double xr = x * ca - y * sa;
+                double yr = x * sa + y * ca;
+                double up = yr * se + z * ce;
+                double d = yr * ce - z * se;
+                sx[k] = (float) (cx + scale * xr);
+                sy[k] = (float) (cy - scale * up);
+                sd[k] = (float) d;
+
+                double shade = normals[3 * k] * lx + normals[3 * k + 1] * ly + normals[3 * k + 2] * lz;
+                double intensity = 0.25 + 0.75 * Math.abs(shade);
+                double t = Double.isNaN(z) ? 0 : (z + SurfaceMesh.Z_EXTENT) / (2 * SurfaceMesh.Z_EXTENT);
+                heightColor(t, k, intensity);
+            }
+        });
+    }
+
+    /** Farbverlauf blau -> cyan -> grün -> gelb -> rot über die normierte Höhe t in [0, 1]. */
+    private void heightColor(double t, int k, double intensity) {
+        double r, g, b;
+        if (t < 0.25) { r = 0.15; g = 0.3 + 2.4 * t; b = 0.95; }
+        else if (t < 0.5) { r = 0.15; g = 0.9; b = 0.95 - 3.2 * (t - 0.25); }
+        else if (t < 0.75) { r = 0.15 + 3.2 * (t - 0.5); g = 0.9; b = 0.15; }
+        else { r = 0.95; g = 0.9 - 2.8 * (t - 0.75); b = 0.15; }
+        cr[k] = (float) (255 * r * intensity);
+        cg[k] = (float) (255 * g * intensity);
+        cb[k] = (float) (255 * b * intensity);
+    }
+
+    /** Rastert ein Dreieck (Gouraud-Schattierung, Tiefentest) innerhalb der Zeilen [y0, y1). */
+    private void triangle(int a, int b, int c, int w, int y0, int y1) {
+        float ax = sx[a], ay = sy[a], bx = sx[b], by = sy[b], qx = sx[c], qy = sy[c];
+        float area = (bx - ax) * (qy - ay) - (by - ay) * (qx - ax);
+        if (Math.abs(area) < 1e-6f) return;
+        int minX = Math.max(0, (int) Math.floor(Math.min(ax, Math.min(bx, qx))));
+        int maxX = Math.min(w - 1, (int) Math.ceil(Math.max(ax, Math.max(bx, qx))));
+        int minY = Math.max(y0, (int) Math.floor(Math.min(ay, Math.min(by, qy))));
+        int maxY = Math.min(y1 - 1, (int) Math.ceil(Math.max(ay, Math.max(by, qy))));
+        if (minX > maxX || minY > maxY) return;
+
+        float inv = 1f / area;
+        // Kantenfunktionen w0 (gegenüber a), w1 (gegenüber b), w2 (gegenüber c) und ihre x-Schritte
+        float e0x = (by - qy), e1x = (qy - ay), e2x = (ay - by);
+        float da = sd[a], db = sd[b], dc = sd[c];
+        for (int y = minY; y <= maxY; y++) {
+            float pyc = y + 0.5f;
+            float pxc = minX + 0.5f;
+            float w0 = (qx - bx) * (pyc - by) - (qy - by) * (pxc - bx);
+            float w1 = (ax - qx) * (pyc - qy) - (ay - qy) * (pxc - qx);
+            float w2 = (bx - ax) * (pyc - ay) - (by - ay) * (pxc - ax);
+            int row = y * w;
+            for (int x = minX; x <= maxX; x++, w0 += e0x, w1 += e1x, w2 += e2x) {
+                float l0 = w0 * inv, l1 = w1 * inv, l2 = w2 * inv;
+                if (l0 < 0 || l1 < 0 || l2 < 0) continue;
+                float d = l0 * da + l1 * db + l2 * dc;
+                int idx = row + x;
+                if (d >= depth[idx]) continue;
+                depth[idx] = d;
+                int r = (int) (l0 * cr[a] + l1 * cr[b] + l2 * cr[c]);
+                int g = (int) (l0 * cg[a] + l1 * cg[b] + l2 * cg[c]);
+                int bl = (int) (l0 * cb[a] + l1 * cb[b] + l2 * cb[c]);
+                pixels[idx] = (Math.min(255, r) << 16) | (Math.min(255, g) << 8) | Math.min(255, bl);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package Taschenrechner.view;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.PathIterator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Zeichenfläche, die jede Operation sofort als SVG-Element in einen Writer schreibt. Es wird
+ * nichts zwischengespeichert außer dem gerade geschriebenen Pfad; Koordinaten werden auf
+ * 1/100 Pixel gerundet. Textbreiten werden ohne Bildschirm über die Font-Metrik berechnet.
+ */
+final class SvgCanvas implements PlotCanvas {
+    private static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+
+    private final Writer out;
+    private final StringBuilder buf = new StringBuilder(256);
+    private Color color = Color.BLACK;
+    private float strokeWidth = 1f;
+    private Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+
+    /** Schreibt den SVG-Kopf samt Hintergrundfläche. */
+    SvgCanvas(Writer out, int width, int height, Color background) {
+        this.out = out;
+        buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width)
+                .append("\" height=\"").append(height)
+                .append("\" viewBox=\"0 0 ").append(width).append(' ').append(height).append("\">\n")
+                .append("<rect width=\"100%\" height=\"100%\"");
+        appendPaint("fill", background);
+        buf.append("/>\n");
+        flush();
+    }
+
+    /** Schließt das Dokument ab (der Writer selbst bleibt offen). */
+    void finish() {
+        buf.append("</svg>\n");
+        flush();
+    }
+
+    @Override
+    public void setColor(Color color) {
+        this.color = color;
+    }
+
+    @Override
+    public void setStrokeWidth(float width) {
+        this.strokeWidth = width;
+    }
+
+    @Override
+    public void setFont(Font font) {
+        this.font = font;
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {
+        buf.append("<line x1=\"");
+        appendNumber(x1);
+        buf.append("\" y1=\"");
+        appendNumber(y1);
+        buf.append("\" x2=\"");
+        appendNumber(x2);
+        buf.append("\" y2=\"");
+        appendNumber(y2);
+        buf.append('"');
+        appendStroke();
+        buf.append("/>\n");
+        flush();
+    }
+
+    @Override
+    public void draw(Shape shape) {
+        if (!appendPath(shape)) return;
+        buf.append(" fill=\"none\"");
+        appendStroke();
+        buf.append("/>\n");
+        flush();
+    }
+
+    @Override
+    public void fill(Shape shape) {
+        if (!appendPath(shape)) return;
+        appendPaint("fill", color);
+        buf.append("/>\n");
+        flush();
+    }
+
+    @Override
+    public void fillCrisp(Shape shape) {
+        if (!appendPath(shape)) return;
+        appendPaint("fill", color);
+        buf.append(" shape-rendering=\"crispEdges\"/>\n");
+        flush();
+    }
+
+    @Override
+    public void drawString(String text, double x, double y) {
+        buf.append("<text x=\"");
+        appendNumber(x);
+        buf.append("\" y=\"");
+        appendNumber(y);
+        buf.append("\" font-family=\"").append(font.getFamily()).append(", sans-serif\" font-size=\"")
+                .append(font.getSize()).append('"');
+        appendPaint("fill", color);
+        buf.append('>');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> buf.append("&lt;");
+                case '>' -> buf.append("&gt;");
+                case '&' -> buf.append("&amp;");
+                default -> buf.append(c);
+            }
+        }
+        buf.append("</text>\n");
+        flush();
+    }
+
+    @Override
+    public double stringWidth(String text) {
+        return font.getStringBounds(text, FRC).getWidth();
+    }
+
+    @Override
+    public double getAscent() {
+        return font.getLineMetrics("0", FRC).getAscent();
+    }
+
+    /** Schreibt "<path d=..." ohne Abschluss; false, falls die Form leer ist. */
+    private boolean appendPath(Shape shape) {
+        PathIterator it = shape.getPathIterator(null);
+        if (it.isDone()) return false;
+        buf.append("<path d=\"");
+        double[] c = new double[6];
+        for (; !it.isDone(); it.next()) {
+            switch (it.currentSegment(c)) {
+                case PathIterator.SEG_MOVETO -> appendCommand('M', c, 1);
+                case PathIterator.SEG_LINETO -> appendCommand('L', c, 1);
+                case PathIterator.SEG_QUADTO -> appendCommand('Q', c, 2);
+                case PathIterator.SEG_CUBICTO -> appendCommand('C', c, 3);
+                case PathIterator.SEG_CLOSE -> buf.append('Z');
+                default -> { }
+            }
+            // lange Pfade stückweise ausgeben, statt sie komplett im Speicher aufzubauen
+            if (buf.length() > 8192) flush();
+        }
+        buf.append('"');
+        return true;
+    }
+
+    private void appendCommand(char cmd, double[] c, int points) {
+        buf.append(cmd);
+        for (int p = 0; p < points; p++) {
+            if (p > 0) buf.append(' ');
+            appendNumber(c[2 * p]);
+            buf.append(',');
+            appendNumber(c[2 * p + 1]);
+        }
+    }
+
+    private void appendStroke() {
+        appendPaint("stroke", color);
+        buf.append(" stroke-width=\"");
+        appendNumber(strokeWidth);
+        buf.append('"');
+    }
+
+    private void appendPaint(String attribute, Color c) {
+        buf.append(' ').append(attribute).append("=\"#")
+                .append(String.format("%06x", c.getRGB() & 0xFFFFFF)).append('"');
+        if (c.getAlpha() < 255) {
+            buf.append(' ').append(attribute).append("-opacity=\"");
+            appendNumber(c.getAlpha() / 255.0);
+            buf.append('"');
+        }
+    }
+
+    /** Auf zwei Nachkommastellen gerundet, ohne Exponentenschreibweise und ohne ".0". */
+    private void appendNumber(double v) {
+        long hundredths = Math.round(v * 100);
+        if (hundredths < 0) {
+            buf.append('-');
+            hundredths = -hundredths;
+        }
+        buf.append(hundredths / 100);
+        long frac = hundredths % 100;
+        if (frac != 0) {
+            buf.append('.').append((char) ('0' + frac / 10));
+            if (frac % 10 != 0) buf.append((char) ('0' + frac % 10));
+        }
+    }
+
+    private void flush() {
+        try {
+            out.append(buf);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buf.setLength(0);
+    }
+}